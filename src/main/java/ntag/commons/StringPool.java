@@ -0,0 +1,107 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.commons;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe pool, which deduplicates equal strings, e.g. the artists, albums and
+ * directories of a scan. Unlike <code>String.intern</code> the pool is released with
+ * its owner. The pool stops growing at its maximum size, further values are returned
+ * unchanged.
+ */
+public final class StringPool {
+
+  public static final int DEFAULT_MAX_SIZE = 100000;
+
+  private final Map<String, String> values = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final int maxSize;
+
+  public StringPool() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  public StringPool(int maxSize) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be greater than 0");
+    }
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Returns the pooled instance of the given value. Null and empty values
+   * are returned unchanged and not counted.
+   *
+   * @param value the value or null
+   * @return the pooled instance, which equals the value
+   */
+  public String intern(String value) {
+    if (value == null || value.isEmpty()) {
+      return value;
+    }
+    String pooled = values.get(value);
+    if (pooled != null) {
+      hits.increment();
+      return pooled;
+    }
+    misses.increment();
+    if (values.size() >= maxSize) {
+      return value;
+    }
+    pooled = values.putIfAbsent(value, value);
+    return pooled == null ? value : pooled;
+  }
+
+  public int size() {
+    return values.size();
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * @return the ratio of the lookups, which returned a pooled instance, from 0 to 1
+   */
+  public double getHitRatio() {
+    long hitCount = hits.sum();
+    long total = hitCount + misses.sum();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  public void clear() {
+    values.clear();
+    hits.reset();
+    misses.reset();
+  }
+
+  @Override
+  public String toString() {
+    return "%d values, %d hits, %d misses, hit ratio %.1f%%".formatted(size(), getHits(), getMisses(), getHitRatio() * 100);
+  }
+}
@@ -31,14 +31,21 @@ import ntag.fx.scene.control.tableview.TagFileTableColumn.ColumnType;
 import ntag.io.NTagProperties;
 import ntag.model.TagFile;
 
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.logging.Logger;
 
 
 public class NTagViewModel {
 
+  private static final Logger LOGGER = Logger.getLogger(NTagViewModel.class.getName());
+
   // ***
   //
   // Properties
@@ -235,12 +242,94 @@ public class NTagViewModel {
     });
   }
 
+  /**
+   * Recalculates playtime and file size of all files, e.g. after the
+   * header informations of files have been loaded.
+   */
+  public void updateFileProperties() {
+    calcFileProperties();
+    calcSelectedFileProperties();
+  }
+
+  /**
+   * Returns the changed paths, which are not listed or whose size or modification time
+   * differ from the listed file. The files written by ourselves are skipped this way
+   * without reading their tags.
+   *
+   * @param attributes the current attributes of the changed paths
+   * @return the paths, which must be read
+   */
+  public List<Path> getModifiedPaths(Map<Path, BasicFileAttributes> attributes) {
+    final Map<Path, TagFile> index = new HashMap<>();
+    for (TagFile file : files) {
+      index.put(file.getPath(), file);
+    }
+    final List<Path> modifiedPaths = new ArrayList<>();
+    for (Map.Entry<Path, BasicFileAttributes> entry : attributes.entrySet()) {
+      TagFile file = index.get(entry.getKey());
+      if (file == null || file.getSize() != entry.getValue().size()
+          || file.getModifiedMillis() != entry.getValue().lastModifiedTime().toMillis()) {
+        modifiedPaths.add(entry.getKey());
+      }
+    }
+    return modifiedPaths;
+  }
+
+  /**
+   * Applies external file changes to the file list with minimal add, replace and
+   * remove operations. Files with unsaved changes are not replaced.
+   *
+   * @param changedFiles created or modified files
+   * @param deletedPaths deleted files or directories
+   * @param maxFiles     maximum number of files in the list
+   * @return the removed files
+   */
+  public List<TagFile> updateFiles(List<TagFile> changedFiles, Set<Path> deletedPaths, int maxFiles) {
+    final List<TagFile> removedFiles = new ArrayList<>();
+    if (!deletedPaths.isEmpty()) {
+      for (TagFile file : files) {
+        for (Path deletedPath : deletedPaths) {
+          if (file.getPath().startsWith(deletedPath)) {
+            removedFiles.add(file);
+            break;
+          }
+        }
+      }
+      files.removeAll(removedFiles);
+    }
+    if (!changedFiles.isEmpty()) {
+      final Map<Path, Integer> index = new HashMap<>();
+      for (int i = 0; i < files.size(); i++) {
+        index.put(files.get(i).getPath(), i);
+      }
+      for (TagFile changedFile : changedFiles) {
+        Integer i = index.get(changedFile.getPath());
+        if (i == null) {
+          if (files.size() < maxFiles) {
+            files.add(changedFile);
+          }
+        } else if (isUnchanged(files.get(i), changedFile)) {
+          // nothing to do, e.g. the file has been written by ourselves
+        } else if (files.get(i).isDirty()) {
+          LOGGER.warning("Ignoring external change of file with unsaved changes: " + changedFile.getPath());
+        } else {
+          files.set(i, changedFile);
+        }
+      }
+    }
+    return removedFiles;
+  }
+
   // ***
   //
   // hidden implementation
   //
   // ***
 
+  private static boolean isUnchanged(TagFile file, TagFile changedFile) {
+    return file.getSize() == changedFile.getSize() && file.getModifiedMillis() == changedFile.getModifiedMillis();
+  }
+
   private void calcFileProperties() {
     long playtime = 0;
     long fileSize = 0;
@@ -21,19 +21,31 @@ package ntag.fx.scene;
 
 import static ntag.fx.util.FxUtil.openURI;
 import java.io.File;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.collections.ListChangeListener.Change;
 import javafx.concurrent.Worker.State;
+import javafx.concurrent.WorkerStateEvent;
 import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
@@ -52,6 +64,7 @@ import javafx.stage.DirectoryChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.WindowEvent;
+import javafx.util.Duration;
 import javafx.util.converter.IntegerStringConverter;
 import ntag.fx.scene.control.button.ButtonLink;
 import ntag.fx.scene.control.converter.FileSizeConverter;
@@ -63,20 +76,29 @@ import ntag.fx.scene.dialog.AbstractDialogController;
 import ntag.fx.scene.dialog.DialogResponse;
 import ntag.fx.scene.dialog.DialogResult;
 import ntag.fx.scene.dialog.ProgressDialog;
+import ntag.fx.util.BatchedListUpdater;
 import ntag.fx.util.FxUtil;
 import ntag.fx.util.ToggleSplitPane;
 import ntag.io.NTagProperties;
 import ntag.io.Resources;
+import ntag.io.TagCache;
+import ntag.io.TagFileReader;
+import ntag.io.util.DirectoryWatcher;
 import ntag.model.TagFile;
 import ntag.task.AdjustArtworkTask;
+import ntag.task.DiscoverTagFilesTask;
+import ntag.task.ReadAudioHeadersTask;
 import ntag.task.ReadTagFilesTask;
 import ntag.task.RenameFilesTask;
+import ntag.task.TagFileLoader;
 import ntag.task.WriteTagFilesTask;
 
 
 @SuppressWarnings("FieldMayBeFinal")
 public class NTagWindowController extends AbstractDialogController<NTagViewModel> {
 
+  private static final Logger LOGGER = Logger.getLogger(NTagWindowController.class.getName());
+
   // ***
   //
   // Instance Attributes
@@ -84,6 +106,13 @@ public class NTagWindowController extends AbstractDialogController<NTagViewModel
   // ***
 
   private NTagProperties appProperties = NTagProperties.instance();
+  private TagCache tagCache;
+  private DirectoryWatcher directoryWatcher;
+  // incremented on the JavaFX Application Thread, whenever the watcher is stopped
+  private int watchGeneration;
+  private ReadTagFilesTask readTask;
+  private ReadAudioHeadersTask headerTask;
+  private TagFileLoader tagFileLoader;
 
   // ***
   //
@@ -222,7 +251,11 @@ public class NTagWindowController extends AbstractDialogController<NTagViewModel
   @Override
   public void initialize(URL location, ResourceBundle resources) {
     // Toolbar
-    EditorProperty.getChangedObjects().addListener((Change<? extends TagFile> change) -> saveButton.setDisable(EditorProperty.getChangedObjects().isEmpty()));    
+    EditorProperty.getChangedObjects().addListener((Change<? extends TagFile> change) -> {
+      saveButton.setDisable(EditorProperty.getChangedObjects().isEmpty());
+      // rebinds the rows of changed and saved files
+      tagFileTableView.refresh();
+    });
     // Statusbar
     directoryLink.textProperty().bind(appProperties.lastDirectoryProperty());
     filterLink.setUserData(NTagFilterMode.All);
@@ -249,23 +282,26 @@ public class NTagWindowController extends AbstractDialogController<NTagViewModel
   public void readFiles(List<Path> pathList) {
     // Register special LogHandler
     appProperties.getActionLogHandler().clear();
+    cancelReading();
+    stopWatchingDirectories();
+    closeTagFileLoader();
     final int maxDepth = scanSubfoldersCheckBox.isSelected() ? appProperties.getMaxDepth() : 1;
-    ReadTagFilesTask task = new ReadTagFilesTask(pathList, appProperties.getMaxFiles(), maxDepth);
+    if (appProperties.isWindowedLoading() && stage.getModality() == Modality.NONE) {
+      readFilesWindowed(pathList, maxDepth);
+      return;
+    }
+    ReadTagFilesTask task = new ReadTagFilesTask(pathList, appProperties.getMaxFiles(), maxDepth, appProperties.getScannerThreads());
+    task.setTagCache(getTagCache());
+    task.setDeferHeader(appProperties.isTagsFirst());
+    if (appProperties.isProgressiveLoading() && stage.getModality() == Modality.NONE) {
+      readFilesProgressive(task, pathList, maxDepth);
+      return;
+    }
     ProgressDialog<List<TagFile>> dialog = new ProgressDialog<>(task);
     Thread th = new Thread(task);
     th.start();
     dialog.showAndWait();
-    if (task.getState() == State.FAILED) {
-      FxUtil.showException("Directory scanning errors", task.getException());
-    } else if (task.hasErrors()) {
-      if (appProperties.isShowDirectoryScanErrors()) {
-        FxUtil.showErrors("Directory scanning errors", task.getErrors());        
-      } else {
-        FxUtil.showNotification(
-          "%d errors occurred while scanning this directory, please check the logging tab.".formatted(
-          task.getErrors().size()), stage, 5000);
-      }      
-    } 
+    showReadErrors(task);
     if (!task.isCancelled()) {
       List<TagFile> result = task.getValue();
       if (result == null || result.isEmpty()) {
@@ -274,6 +310,8 @@ public class NTagWindowController extends AbstractDialogController<NTagViewModel
         viewModel.getFiles().setAll(result);
       }
       EditorProperty.getChangedObjects().clear();
+      watchDirectories(pathList, maxDepth);
+      readAudioHeaders();
     }
   }
 
@@ -325,7 +363,8 @@ public class NTagWindowController extends AbstractDialogController<NTagViewModel
     // Register special LogHandler
     appProperties.getActionLogHandler().clear();
 
-    WriteTagFilesTask task = new WriteTagFilesTask(EditorProperty.getChangedObjects());
+    WriteTagFilesTask task = new WriteTagFilesTask(EditorProperty.getChangedObjects(), appProperties.getWriterThreads());
+    task.setWritersPerDevice(appProperties.getWritersPerDevice());
     ProgressDialog<Integer> dialog = new ProgressDialog<>(task);
     Thread th = new Thread(task);
     th.start();
@@ -375,6 +414,9 @@ public class NTagWindowController extends AbstractDialogController<NTagViewModel
     } else {
       return;
     }
+    if (!loadCompletely(adjArtworkViewModel.getFiles())) {
+      return;
+    }
     AdjustArtworkTask task = new AdjustArtworkTask(adjArtworkViewModel);
     ProgressDialog<List<TagFile>> dialog = new ProgressDialog<>(task);
     Thread th = new Thread(task);
@@ -385,6 +427,11 @@ public class NTagWindowController extends AbstractDialogController<NTagViewModel
     } else if (task.hasErrors()) {
       FxUtil.showErrors("Artwork Errors", task.getErrors());
     }
+    // the unsaved edits of the adjusted files have been written with the artwork
+    viewModel.getUpdatedFiles().addAll(task.getUpdatedFiles());
+    EditorProperty.getChangedObjects().removeAll(task.getUpdatedFiles());
+    // clean files have been adjusted too, their rows aren't rebound by the editor
+    refreshSelection();
   }
 
   @SuppressWarnings("unused")
@@ -421,7 +468,7 @@ public class NTagWindowController extends AbstractDialogController<NTagViewModel
         files.addAll(viewModel.getSelectedFiles());
       }
     }
-    if (files.isEmpty()) {
+    if (files.isEmpty() || !loadCompletely(files)) {
       return;
     }
     int trackNumber = 1;
@@ -454,6 +501,9 @@ public class NTagWindowController extends AbstractDialogController<NTagViewModel
     } else {
       return;
     }
+    if (!loadCompletely(renameFilesViewModel.getFiles())) {
+      return;
+    }
     RenameFilesTask task = new RenameFilesTask(renameFilesViewModel);
     ProgressDialog<List<TagFile>> dialog = new ProgressDialog<>(task);
     Thread th = new Thread(task);
@@ -499,6 +549,9 @@ public class NTagWindowController extends AbstractDialogController<NTagViewModel
 
   @Override
   public void onCloseRequest(final WindowEvent event) {
+    cancelReading();
+    stopWatchingDirectories();
+    closeTagFileLoader();
     appProperties.saveMainWindowState(this);
     appProperties.getActionLogHandler().close();
   }
@@ -509,7 +562,282 @@ public class NTagWindowController extends AbstractDialogController<NTagViewModel
   //
   // ***
 
+  /**
+   * Reads the files without blocking the window. The read files are added to the
+   * file list in batches every 100 ms, a cancelled scan keeps the files read so far.
+   */
+  private void readFilesProgressive(ReadTagFilesTask task, List<Path> pathList, int maxDepth) {
+    viewModel.getFiles().clear();
+    EditorProperty.getChangedObjects().clear();
+    final BatchedListUpdater<TagFile> updater = new BatchedListUpdater<>(viewModel.getFiles(), Duration.millis(100));
+    task.setTagFileConsumer(updater::add);
+    final EventHandler<WorkerStateEvent> finishHandler = event -> {
+      updater.stop();
+      if (readTask == task) {
+        readTask = null;
+      }
+      showReadErrors(task);
+      if (task.getState() == State.SUCCEEDED) {
+        watchDirectories(pathList, maxDepth);
+        readAudioHeaders();
+      }
+    };
+    task.addEventHandler(WorkerStateEvent.WORKER_STATE_SUCCEEDED, finishHandler);
+    task.addEventHandler(WorkerStateEvent.WORKER_STATE_CANCELLED, finishHandler);
+    task.addEventHandler(WorkerStateEvent.WORKER_STATE_FAILED, finishHandler);
+    readTask = task;
+    updater.start();
+    new ProgressDialog<>(task, Modality.NONE).show();
+    Thread th = new Thread(task);
+    th.setDaemon(true);
+    th.start();
+  }
+
+  /**
+   * Discovers all files without a file limit, but reads only the files of the
+   * visible table rows. The playtime of the other files is read in the background.
+   */
+  private void readFilesWindowed(List<Path> pathList, int maxDepth) {
+    DiscoverTagFilesTask task = new DiscoverTagFilesTask(pathList, Integer.MAX_VALUE, maxDepth);
+    ProgressDialog<List<TagFile>> dialog = new ProgressDialog<>(task);
+    Thread th = new Thread(task);
+    th.start();
+    dialog.showAndWait();
+    if (task.getState() == State.FAILED) {
+      FxUtil.showException("Directory scanning errors", task.getException());
+      return;
+    }
+    if (task.isCancelled()) {
+      return;
+    }
+    tagFileLoader = new TagFileLoader(appProperties.getScannerThreads(), appProperties.getWindowedPrefetch(), getTagCache());
+    tagFileLoader.setOnLoaded(completedFiles -> {
+      tagFileTableView.refresh();
+      viewModel.updateFileProperties();
+      if (!Collections.disjoint(completedFiles, viewModel.getSelectedFiles())) {
+        refreshSelection();
+      }
+    });
+    tagFileLoader.setOnFailed(errors -> FxUtil.showNotification(
+        "%d files could not be loaded, please check the logging tab.".formatted(errors.size()), stage, 5000));
+    tagFileTableView.setTagFileLoader(tagFileLoader);
+    viewModel.getFiles().setAll(task.getValue());
+    EditorProperty.getChangedObjects().clear();
+    tagFileLoader.loadAggregates(task.getValue());
+    watchDirectories(pathList, maxDepth);
+  }
+
+  /**
+   * Reads the files, which are not loaded yet in windowed mode, before they are
+   * processed by an action depending on their metadata.
+   *
+   * @return false, if reading has been cancelled or failed
+   */
+  private boolean loadCompletely(List<TagFile> files) {
+    final Map<Path, TagFile> stubs = new LinkedHashMap<>();
+    for (TagFile tagFile : files) {
+      if (!tagFile.isLoaded()) {
+        stubs.put(tagFile.getPath(), tagFile);
+      }
+    }
+    if (stubs.isEmpty()) {
+      return true;
+    }
+    ReadTagFilesTask task = new ReadTagFilesTask(new ArrayList<>(stubs.keySet()), stubs.size(), 0, appProperties.getScannerThreads());
+    task.setTagCache(getTagCache());
+    ProgressDialog<List<TagFile>> dialog = new ProgressDialog<>(task);
+    Thread th = new Thread(task);
+    th.start();
+    dialog.showAndWait();
+    showReadErrors(task);
+    if (task.getState() != State.SUCCEEDED) {
+      return false;
+    }
+    for (TagFile tagFile : task.getValue()) {
+      TagFile stub = stubs.get(tagFile.getPath());
+      if (stub != null && !stub.isLoaded() && !stub.isDirty()) {
+        stub.copyFrom(tagFile.getRecord());
+      }
+    }
+    tagFileTableView.refresh();
+    viewModel.updateFileProperties();
+    return true;
+  }
+
+  private void closeTagFileLoader() {
+    if (tagFileLoader != null) {
+      tagFileTableView.setTagFileLoader(null);
+      tagFileLoader.close();
+      tagFileLoader = null;
+      saveTagCache();
+    }
+  }
+
+  private TagCache getTagCache() {
+    if (appProperties.isTagCacheEnabled() && tagCache == null) {
+      tagCache = new TagCache(appProperties.getHomeDir().resolve(TagCache.CACHE_FILENAME), appProperties.getTagCacheMaxEntries());
+    }
+    return appProperties.isTagCacheEnabled() ? tagCache : null;
+  }
+
+  private void saveTagCache() {
+    if (tagCache != null) {
+      try {
+        tagCache.save();
+      } catch (IOException e) {
+        LOGGER.log(Level.WARNING, "Cannot save tag cache", e);
+      }
+    }
+  }
+
+  /**
+   * Second phase of the "tags first" read mode: reads the deferred audio headers
+   * of the displayed files in the background.
+   */
+  private void readAudioHeaders() {
+    if (!appProperties.isTagsFirst() || viewModel.getFiles().stream().allMatch(TagFile::isHeaderLoaded)) {
+      return;
+    }
+    final ReadAudioHeadersTask task = new ReadAudioHeadersTask(viewModel.getFiles(), appProperties.getScannerThreads());
+    task.setTagCache(getTagCache());
+    task.setOnLoaded(completedFiles -> {
+      // clean rows show the snapshot wrappers, which don't observe the record
+      tagFileTableView.refresh();
+      viewModel.updateFileProperties();
+      if (!Collections.disjoint(completedFiles, viewModel.getSelectedFiles())) {
+        refreshSelection();
+      }
+    });
+    final EventHandler<WorkerStateEvent> finishHandler = event -> {
+      if (headerTask == task) {
+        headerTask = null;
+      }
+      if (task.getState() == State.FAILED) {
+        FxUtil.showException("Audio header errors", task.getException());
+      } else if (task.hasErrors()) {
+        FxUtil.showNotification(
+          "%d errors occurred while reading the audio headers, please check the logging tab.".formatted(
+          task.getErrors().size()), stage, 5000);
+      }
+    };
+    task.addEventHandler(WorkerStateEvent.WORKER_STATE_SUCCEEDED, finishHandler);
+    task.addEventHandler(WorkerStateEvent.WORKER_STATE_FAILED, finishHandler);
+    headerTask = task;
+    new ProgressDialog<>(task, Modality.NONE).show();
+    Thread th = new Thread(task);
+    th.setDaemon(true);
+    th.start();
+  }
+
+  private void cancelReading() {
+    if (readTask != null) {
+      readTask.cancel();
+      readTask = null;
+    }
+    if (headerTask != null) {
+      headerTask.cancel();
+      headerTask = null;
+    }
+  }
+
+  private void showReadErrors(ReadTagFilesTask task) {
+    if (task.getState() == State.FAILED) {
+      FxUtil.showException("Directory scanning errors", task.getException());
+    } else if (task.hasErrors()) {
+      if (appProperties.isShowDirectoryScanErrors()) {
+        FxUtil.showErrors("Directory scanning errors", task.getErrors());
+      } else {
+        FxUtil.showNotification(
+          "%d errors occurred while scanning this directory, please check the logging tab.".formatted(
+          task.getErrors().size()), stage, 5000);
+      }
+    }
+  }
+
+  private void watchDirectories(List<Path> pathList, int maxDepth) {
+    stopWatchingDirectories();
+    if (!appProperties.isWatchDirectories()) {
+      return;
+    }
+    try {
+      final int generation = watchGeneration;
+      directoryWatcher = new DirectoryWatcher(pathList, maxDepth, appProperties.getWatchDebounceMillis(),
+          (changed, deleted) -> readChangedFiles(generation, changed, deleted));
+      directoryWatcher.start();
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Cannot watch directories " + pathList, e);
+      directoryWatcher = null;
+    }
+  }
+
+  private void stopWatchingDirectories() {
+    // a batch, which has already been reported by the closed watcher, is ignored
+    watchGeneration++;
+    if (directoryWatcher != null) {
+      try {
+        directoryWatcher.close();
+      } catch (IOException e) {
+        LOGGER.log(Level.WARNING, "Cannot close directory watcher", e);
+      }
+      directoryWatcher = null;
+    }
+  }
+
+  /**
+   * Called from the watcher thread, reads the changed files and applies the
+   * changes to the file list on the JavaFX Application Thread. The changes are
+   * dropped, if the watcher of the given generation has been stopped meanwhile,
+   * e.g. because another directory has been opened.
+   */
+  private void readChangedFiles(int generation, Set<Path> changed, Set<Path> deleted) {
+    final Map<Path, BasicFileAttributes> attributes = new LinkedHashMap<>();
+    for (Path path : changed) {
+      try {
+        attributes.put(path, Files.readAttributes(path, BasicFileAttributes.class));
+      } catch (IOException e) {
+        LOGGER.log(Level.WARNING, "Cannot read changed file " + path, e);
+      }
+    }
+    // the file list is compared on the JavaFX Application Thread, which owns it
+    final FutureTask<List<Path>> modifiedPaths = new FutureTask<>(() ->
+        generation == watchGeneration ? viewModel.getModifiedPaths(attributes) : List.of());
+    Platform.runLater(modifiedPaths);
+    final List<Path> modified;
+    try {
+      modified = modifiedPaths.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    } catch (ExecutionException e) {
+      LOGGER.log(Level.WARNING, "Cannot compare the changed files", e);
+      return;
+    }
+    final TagFileReader reader = new TagFileReader();
+    reader.setTagCache(tagCache);
+    final List<TagFile> changedFiles = new ArrayList<>();
+    for (Path path : modified) {
+      try {
+        changedFiles.add(reader.createTagFile(path));
+      } catch (Exception e) {
+        LOGGER.log(Level.WARNING, "Cannot read changed file " + path, e);
+      }
+    }
+    if (changedFiles.isEmpty() && deleted.isEmpty()) {
+      return;
+    }
+    Platform.runLater(() -> {
+      if (generation != watchGeneration) {
+        return;
+      }
+      // the windowed mode lists all discovered files, like DiscoverTagFilesTask
+      final int maxFiles = tagFileLoader != null ? Integer.MAX_VALUE : appProperties.getMaxFiles();
+      List<TagFile> removedFiles = viewModel.updateFiles(changedFiles, deleted, maxFiles);
+      EditorProperty.getChangedObjects().removeAll(removedFiles);
+    });
+  }
+
   private void refreshSelection() {
+    tagFileTableView.refresh();
     if (!viewModel.getSelectedFiles().isEmpty()) {
       ArrayList<TagFile> selection = new ArrayList<>(viewModel.getSelectedFiles());
       viewModel.getSelectedFiles().clear();
@@ -33,7 +33,7 @@ public class ArtworkEditorProperty extends EditorProperty<ArtworkTag> {
 
   private static final Logger LOGGER = Logger.getLogger(ArtworkEditorProperty.class.getName());
 
-  private final static EmptyCheck<ArtworkTag> emptyArtworkCheck = (ArtworkTag value) -> value == null || value.getImageData() == null;
+  private final static EmptyCheck<ArtworkTag> emptyArtworkCheck = (ArtworkTag value) -> value == null || value.getImageHash() == null;
 
   // ***
   //
@@ -75,7 +75,7 @@ public class ArtworkEditorProperty extends EditorProperty<ArtworkTag> {
       getTooltip().setText("%s%n%d x %d Pixel%n%d %s".formatted(artwork.getImageType().getFormat(), //
               artwork.getWidth(), //
               artwork.getHeight(), //
-              artwork.getImageData().length / unit, //
+              artwork.getSize() / unit, //
               binaryUnit ? "KiB" : "KB"));
     } catch (IOException e) {
       LOGGER.log(Level.SEVERE, "ImageIO Error", e);
@@ -286,8 +286,8 @@ public class EditorProperty<T> {
         if (oldValue == null || !oldValue.equals(newValue)) {
           getSetter().invoke(object, newValue);
           if (!changedObjects.contains(object)) {
-            changedObjects.add(object);
             object.setDirty(true);
+            changedObjects.add(object);
           }
         }
       }
@@ -53,6 +53,7 @@ import ntag.io.TagFileReader;
 import ntag.io.util.FileUtil;
 import ntag.model.Genre;
 import ntag.model.TagFile;
+import ntag.model.TagRecord;
 import org.jaudiotagger.audio.mp3.MP3File;
 import org.jaudiotagger.tag.TagField;
 import org.jaudiotagger.tag.id3.ID3v23Tag;
@@ -522,8 +523,16 @@ public class TagEditorControl extends TabPane implements Initializable {
     TagFile selectedFile = viewModel.getSelectedFiles().getFirst();
     TagField tagField = tagTableView.getSelectionModel().getSelectedItem();
     try {
+      // keep the unsaved edits, while the record is read again from the retained AudioFile
+      TagRecord edits = new TagRecord();
+      edits.copyFrom(selectedFile.getRecord());
       selectedFile.removeTag(tagField);
       new TagFileReader().updateTagFile(selectedFile, false);
+      selectedFile.getRecord().copyChangedFieldsFrom(edits);
+      selectedFile.updateProperties();
+      if (!EditorProperty.getChangedObjects().contains(selectedFile)) {
+        EditorProperty.getChangedObjects().add(selectedFile);
+      }
       viewModel.getSelectedFiles().clear();
       viewModel.getSelectedFiles().add(selectedFile);
     } catch (Exception e) {
@@ -549,7 +558,7 @@ public class TagEditorControl extends TabPane implements Initializable {
       return;
     }
     try {
-      selectedFile.getAudioFile().commit();
+      selectedFile.openAudioFile().commit();
       new TagFileReader().updateTagFile(selectedFile, false);
       viewModel.getSelectedFiles().clear();
       viewModel.getSelectedFiles().add(selectedFile);
@@ -567,10 +576,10 @@ public class TagEditorControl extends TabPane implements Initializable {
   private void handleNewTagAction(final ActionEvent event) {
     TagFile selectedFile = viewModel.getSelectedFiles().getFirst();
     try {
-      if (!TagFieldInputDialogs.showNewTagFieldWizard(selectedFile.getAudioFile())) {
+      if (!TagFieldInputDialogs.showNewTagFieldWizard(selectedFile.openAudioFile())) {
         return;
       }
-      selectedFile.getAudioFile().commit();
+      selectedFile.openAudioFile().commit();
       new TagFileReader().updateTagFile(selectedFile, false);
       viewModel.getSelectedFiles().clear();
       viewModel.getSelectedFiles().add(selectedFile);
@@ -584,7 +593,6 @@ public class TagEditorControl extends TabPane implements Initializable {
   @SuppressWarnings("unused")
   private void handleChangeID3Version(final ActionEvent event) {
     TagFile selectedFile = viewModel.getSelectedFiles().getFirst();
-    MP3File mp3 = (MP3File) selectedFile.getAudioFile();
     boolean changed = false;
     if (id3v23MenuItem.isSelected() && !selectedFile.getTaggingSystem().equals(ID3v23Tag.class.getSimpleName())) {
       // mp3.setTag(mp3.convertTag(mp3.getTagOrCreateDefault(), ID3V2Version.ID3_V23));
@@ -595,6 +603,7 @@ public class TagEditorControl extends TabPane implements Initializable {
     }
     if (changed) {
       try {
+        MP3File mp3 = (MP3File) selectedFile.openAudioFile();
         mp3.commit();
         new TagFileReader().updateTagFile(selectedFile, false);
         viewModel.getSelectedFiles().clear();
@@ -25,11 +25,13 @@ import javafx.scene.control.TableColumn;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.util.Callback;
 import ntag.io.Resources;
+import ntag.model.TagFile;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -39,41 +41,43 @@ public class TagFileTableColumn extends TableColumn<Object, Object> {
 
   public enum ColumnType {
 
-    ROW(30, "row", null), //
-    STATUS(80, "status", StatusTableCell.class), //
-    FILENAME(300, "name", null), //
-    EXTENSION(40, "extension", null), //
-    DIRECTORY(300, "directory", null), //
-    TITLE(200, "title", null), //
-    ARTIST(150, "artist", null), //
-    ALBUM(150, "album", null), //
-    ALBUM_ARTIST(150, "albumArtist", null), //
-    GENRE(100, "genre", null), //
-    YEAR(50, "year", null), //
-    DATE(100, "date", LocalDateTableCell.class), //
-    DISC(50, "disc", null), //
-    TRACK(50, "track", null), //
-    COMPOSER(150, "composer", null), //
-    COMMENT(200, "comment", null), //
-    RATING(80, "rating", RatingTableCell.class), //
-    PLAYTIME(80, "playtime", PlaytimeTableCell.class), //
-    SIZE(80, "size", FileSizeTableCell.class), //
-    FORMAT(100, "audioFormat", null), //
-    BITRATE(80, "bitrate", BitrateTableCell.class), //
-    VBR(40, "vbr", BooleanTableCell.class), //
-    CREATED(140, "created", LocalDateTimeTableCell.class), //
-    MODIFIED(140, "modified", LocalDateTimeTableCell.class);
+    ROW(30, "row", null, null), //
+    STATUS(80, "status", StatusTableCell.class, TagFile::getStatus), //
+    FILENAME(300, "name", null, TagFile::getName), //
+    EXTENSION(40, "extension", null, TagFile::getExtension), //
+    DIRECTORY(300, "directory", null, TagFile::getDirectory), //
+    TITLE(200, "title", null, TagFile::getTitle), //
+    ARTIST(150, "artist", null, TagFile::getArtist), //
+    ALBUM(150, "album", null, TagFile::getAlbum), //
+    ALBUM_ARTIST(150, "albumArtist", null, TagFile::getAlbumArtist), //
+    GENRE(100, "genre", null, TagFile::getGenre), //
+    YEAR(50, "year", null, TagFile::getYear), //
+    DATE(100, "date", LocalDateTableCell.class, TagFile::getDate), //
+    DISC(50, "disc", null, TagFile::getDisc), //
+    TRACK(50, "track", null, TagFile::getTrack), //
+    COMPOSER(150, "composer", null, TagFile::getComposer), //
+    COMMENT(200, "comment", null, TagFile::getComment), //
+    RATING(80, "rating", RatingTableCell.class, TagFile::getRating), //
+    PLAYTIME(80, "playtime", PlaytimeTableCell.class, TagFile::getPlaytime), //
+    SIZE(80, "size", FileSizeTableCell.class, TagFile::getSize), //
+    FORMAT(100, "audioFormat", null, TagFile::getAudioFormat), //
+    BITRATE(80, "bitrate", BitrateTableCell.class, TagFile::getBitrate), //
+    VBR(40, "vbr", BooleanTableCell.class, TagFile::isVbr), //
+    CREATED(140, "created", LocalDateTimeTableCell.class, TagFile::getCreated), //
+    MODIFIED(140, "modified", LocalDateTimeTableCell.class, TagFile::getModified);
 
     private final double width;
     private final String property;
     private final String label;
     private final Class<? extends TableCell<Object, ?>> tableCellClass;
+    private final Function<TagFile, Object> getter;
 
-    ColumnType(double width, String property, Class<? extends TableCell<Object, ?>> tableCellClass) {
+    ColumnType(double width, String property, Class<? extends TableCell<Object, ?>> tableCellClass, Function<TagFile, Object> getter) {
       this.width = width;
       this.label = Resources.get("ntag", "lbl_" + this.name().toLowerCase());
       this.property = property;
       this.tableCellClass = tableCellClass;
+      this.getter = getter;
     }
 
     public static List<ColumnType> getSortedValues() {
@@ -97,6 +101,14 @@ public class TagFileTableColumn extends TableColumn<Object, Object> {
     public Class<? extends TableCell<Object, ?>> getTableCellClass() {
       return tableCellClass;
     }
+
+    /**
+     * @param tagFile the file of the row
+     * @return the column value read by the getter, no property is created
+     */
+    public Object getValue(TagFile tagFile) {
+      return getter.apply(tagFile);
+    }
   }
 
   // ***
@@ -136,7 +148,17 @@ public class TagFileTableColumn extends TableColumn<Object, Object> {
     if (type == ColumnType.ROW) {
       this.setCellValueFactory(column -> new ReadOnlyObjectWrapper<>(column.getTableView().getItems().indexOf(column.getValue()) + 1));
     } else {
-      this.setCellValueFactory(new PropertyValueFactory<>(type.getProperty()));
+      // Only edited rows are bound to the properties of the TagFile, so the table shows
+      // further changes immediately. All other rows read the plain values, which avoids
+      // creating the properties for every displayed file. The table is refreshed, if
+      // files are changed or saved.
+      final PropertyValueFactory<Object, Object> propertyValueFactory = new PropertyValueFactory<>(type.getProperty());
+      this.setCellValueFactory(column -> {
+        if (column.getValue() instanceof TagFile tagFile && !tagFile.isDirty()) {
+          return new ReadOnlyObjectWrapper<>(type.getValue(tagFile));
+        }
+        return propertyValueFactory.call(column);
+      });
     }
     Class<? extends TableCell<Object, ?>> tableCellClass = type.getTableCellClass();
 
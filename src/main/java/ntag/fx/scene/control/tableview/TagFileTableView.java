@@ -26,8 +26,10 @@ import javafx.collections.ListChangeListener.Change;
 import javafx.collections.ObservableList;
 import javafx.scene.control.SelectionMode;
 import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableRow;
 import ntag.fx.scene.NTagViewModel;
 import ntag.model.TagFile;
+import ntag.task.TagFileLoader;
 
 import java.net.URI;
 
@@ -59,6 +61,19 @@ public class TagFileTableView extends EnhancedTableView<TagFile> {
     return selectedFiles;
   }
 
+  // *** TagFileLoader, loads the files of the visible rows in windowed mode
+
+  private TagFileLoader tagFileLoader;
+
+  @SuppressWarnings("unused")
+  public TagFileLoader getTagFileLoader() {
+    return tagFileLoader;
+  }
+
+  public void setTagFileLoader(TagFileLoader tagFileLoader) {
+    this.tagFileLoader = tagFileLoader;
+  }
+
   // ***
   //
   // Construction
@@ -72,6 +87,15 @@ public class TagFileTableView extends EnhancedTableView<TagFile> {
 
     selectedFilesListener = (Change<? extends TagFile> change) -> onSelectedFilesChanged();
     this.selectedFiles.addListener(selectedFilesListener);
+    this.setRowFactory(tableView -> new TableRow<>() {
+      @Override
+      protected void updateItem(TagFile item, boolean empty) {
+        super.updateItem(item, empty);
+        if (!empty && item != null && !item.isLoaded() && tagFileLoader != null) {
+          tagFileLoader.request(getTableView().getItems(), getIndex());
+        }
+      }
+    });
     this.setOnMousePressed(mouseEvent -> {
       if (mouseEvent.isPrimaryButtonDown() && mouseEvent.getClickCount() == 2) {
         TagFile tagFile = getSelectionModel().getSelectedItem();
@@ -33,10 +33,22 @@ import ntag.fx.util.FxUtil;
 public class ProgressDialog<T> extends Dialog<Task<T>> {
 
   public ProgressDialog(Task<T> task) {
+    this(task, Modality.APPLICATION_MODAL);
+  }
+
+  /**
+   * Creates a progress dialog for the given task. Use <code>Modality.NONE</code>
+   * and <code>show()</code>, if the application should remain usable while the
+   * task is running.
+   *
+   * @param task     the observed task
+   * @param modality modality of the dialog
+   */
+  public ProgressDialog(Task<T> task, Modality modality) {
     if (task == null) {
       throw new IllegalArgumentException("task cannot be null");
     }
-    initModality(Modality.APPLICATION_MODAL);
+    initModality(modality);
     setGraphic(new ImageView(new Image("icons/toolbox_task.png")));
     getDialogPane().getButtonTypes().addAll(ButtonType.CANCEL);
     setResizable(true);
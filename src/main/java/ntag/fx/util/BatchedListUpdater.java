@@ -0,0 +1,104 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.fx.util;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.collections.ObservableList;
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects items produced by a background thread and adds them to an observable
+ * list on the JavaFX Application Thread. The items are coalesced into one
+ * <code>addAll</code> per interval, so the list listeners and the table are
+ * updated once per batch instead of once per item.
+ *
+ * @param <T> item type
+ */
+public class BatchedListUpdater<T> {
+
+  private final ObservableList<T> target;
+  private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+  private final Timeline timeline;
+  private volatile boolean stopped;
+
+  public BatchedListUpdater(ObservableList<T> target, Duration interval) {
+    if (target == null) {
+      throw new IllegalArgumentException("target cannot be null");
+    }
+    if (interval == null) {
+      throw new IllegalArgumentException("interval cannot be null");
+    }
+    this.target = target;
+    this.timeline = new Timeline(new KeyFrame(interval, event -> flush()));
+    this.timeline.setCycleCount(Animation.INDEFINITE);
+  }
+
+  /**
+   * Adds an item to the next batch. May be called from any thread.
+   *
+   * @param item the item to add
+   */
+  public void add(T item) {
+    if (!stopped) {
+      queue.add(item);
+    }
+  }
+
+  /**
+   * Starts the periodic updates. Must be called on the JavaFX Application Thread.
+   */
+  public void start() {
+    timeline.play();
+  }
+
+  /**
+   * Stops the periodic updates and adds the remaining items. Items added
+   * afterwards are ignored. Must be called on the JavaFX Application Thread.
+   */
+  public void stop() {
+    stopped = true;
+    timeline.stop();
+    flush();
+  }
+
+  // ***
+  //
+  // hidden implementation
+  //
+  // ***
+
+  private void flush() {
+    List<T> batch = new ArrayList<>();
+    T item;
+    while ((item = queue.poll()) != null) {
+      batch.add(item);
+    }
+    if (!batch.isEmpty()) {
+      target.addAll(batch);
+    }
+  }
+}
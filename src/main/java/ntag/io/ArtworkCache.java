@@ -0,0 +1,117 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.io;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory cache of artwork image data with a global byte budget. The entries are
+ * keyed by the image hash, so files sharing the same cover share one entry. The least
+ * recently used entries are evicted, if the budget is exceeded. Evicted data is read
+ * again from the audiofile on the next access.
+ */
+public class ArtworkCache {
+
+  private static ArtworkCache instance;
+
+  public static synchronized ArtworkCache instance() {
+    if (instance == null) {
+      instance = new ArtworkCache(NTagProperties.instance().getArtworkCacheMegabytes() * 1024L * 1024L);
+    }
+    return instance;
+  }
+
+  // ***
+  //
+  // Instance Attributes
+  //
+  // ***
+
+  private final LinkedHashMap<ByteBuffer, byte[]> entries = new LinkedHashMap<>(256, 0.75f, true);
+  private final long maxBytes;
+  private long bytes;
+
+  // ***
+  //
+  // Construction
+  //
+  // ***
+
+  public ArtworkCache(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  // ***
+  //
+  // public API
+  //
+  // ***
+
+  /**
+   * @param imageHash hash of the image data
+   * @return the cached image data or null
+   */
+  public synchronized byte[] get(byte[] imageHash) {
+    return imageHash == null ? null : entries.get(ByteBuffer.wrap(imageHash));
+  }
+
+  /**
+   * Adds the image data and evicts the least recently used entries, until the
+   * cache fits into the byte budget. Data larger than the budget is not cached.
+   *
+   * @param imageHash hash of the image data
+   * @param data      the image data
+   */
+  public synchronized void put(byte[] imageHash, byte[] data) {
+    if (imageHash == null || data == null || data.length > maxBytes) {
+      return;
+    }
+    byte[] previous = entries.put(ByteBuffer.wrap(imageHash), data);
+    bytes += data.length - (previous == null ? 0 : previous.length);
+    Iterator<Map.Entry<ByteBuffer, byte[]>> iterator = entries.entrySet().iterator();
+    while (bytes > maxBytes && iterator.hasNext()) {
+      bytes -= iterator.next().getValue().length;
+      iterator.remove();
+    }
+  }
+
+  public synchronized void clear() {
+    entries.clear();
+    bytes = 0;
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * @return the number of cached bytes
+   */
+  public synchronized long getBytes() {
+    return bytes;
+  }
+
+  public long getMaxBytes() {
+    return maxBytes;
+  }
+}
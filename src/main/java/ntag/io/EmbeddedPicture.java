@@ -0,0 +1,57 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.io;
+
+import java.awt.Dimension;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * An embedded picture, which has been located in an audiofile without reading
+ * its image data.
+ */
+interface EmbeddedPicture {
+
+  /**
+   * @return MIME type of the image or null, if unknown
+   */
+  String mimeType();
+
+  /**
+   * @return length of the image data
+   */
+  int dataLength();
+
+  /**
+   * @return dimension of the image or null, if unknown
+   */
+  default Dimension dimension() {
+    return null;
+  }
+
+  /**
+   * Reads the image data of this picture.
+   *
+   * @param filePath the audiofile, which has been read
+   * @return the image data
+   * @throws IOException on IO Errors
+   */
+  byte[] readData(Path filePath) throws IOException;
+}
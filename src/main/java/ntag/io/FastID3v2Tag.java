@@ -0,0 +1,468 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.io;
+
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.id3.ID3v23Tag;
+import org.jaudiotagger.tag.id3.ID3v24Tag;
+import org.jaudiotagger.tag.id3.framebody.FrameBodyPOPM;
+import org.jaudiotagger.tag.images.Artwork;
+import org.jaudiotagger.tag.images.ArtworkFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The frames of an ID3v23 or ID3v24 tag, which are used by the <code>TagFileReader</code>,
+ * parsed directly from the memory mapped tag region of a MP3 file. Unlike jaudiotagger
+ * no object graph of the whole tag is built: only the text frames, the POPM frames and
+ * the first APIC frame with image data are decoded, all other frames are skipped.<br>
+ * <br>
+ * The values equal those of <code>Tag.getFirst</code>. Tags, which need more than a
+ * plain parser (unsynchronisation, extended header, compressed, encrypted or grouped
+ * frames, frame ids of another ID3 version) or which are malformed, are not read.
+ * <code>read</code> returns null for them and the caller falls back to jaudiotagger.
+ */
+final class FastID3v2Tag {
+
+  public static final Logger LOGGER = Logger.getLogger(FastID3v2Tag.class.getName());
+
+  private static final int HEADER_LENGTH = 10;
+  private static final int FRAME_HEADER_LENGTH = 10;
+  private static final int TAG_FLAG_UNSYNCHRONISATION = 0x80;
+  private static final int TAG_FLAG_EXTENDED_HEADER = 0x40;
+  // ID3v23: compression, encryption, grouping identity
+  private static final int ID3V23_UNSUPPORTED_FRAME_FLAGS = 0x80 | 0x40 | 0x20;
+  // ID3v24: grouping identity, compression, encryption, unsynchronisation, data length indicator
+  private static final int ID3V24_UNSUPPORTED_FRAME_FLAGS = 0x40 | 0x08 | 0x04 | 0x02 | 0x01;
+  private static final String LINKED_IMAGE_MIME = "-->";
+
+  private final int majorVersion;
+  private final Map<FieldKey, String> values = new EnumMap<>(FieldKey.class);
+  private final Map<String, String> dateValues = new HashMap<>(8);
+  private final List<FrameBodyPOPM> ratings = new ArrayList<>(2);
+  private String genre;
+  private Artwork frontCover;
+  private int artworkCount;
+
+  private FastID3v2Tag(int majorVersion) {
+    this.majorVersion = majorVersion;
+  }
+
+  /**
+   * Reads the ID3v2 tag at the beginning of the given MP3 file.
+   *
+   * @param filePath the absolut path of the MP3 file
+   * @return the tag or null, if the file contains no ID3v23/ID3v24 tag or the tag
+   * must be read by jaudiotagger
+   * @throws IOException on IO Errors
+   */
+  static FastID3v2Tag read(final Path filePath) throws IOException {
+    if (filePath == null) {
+      throw new IllegalArgumentException("filePath cannot be null");
+    }
+    try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+      final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+      while (header.hasRemaining()) {
+        if (channel.read(header, header.position()) < 0) {
+          return null;
+        }
+      }
+      if (header.get(0) != 'I' || header.get(1) != 'D' || header.get(2) != '3') {
+        return null;
+      }
+      final int majorVersion = header.get(3);
+      if (majorVersion != ID3v23Tag.MAJOR_VERSION && majorVersion != ID3v24Tag.MAJOR_VERSION) {
+        return null;
+      }
+      if ((header.get(5) & (TAG_FLAG_UNSYNCHRONISATION | TAG_FLAG_EXTENDED_HEADER)) != 0) {
+        return unsupported(filePath, "tag flags");
+      }
+      final int tagSize = readSyncSafeInteger(header, 6);
+      if (tagSize < 0 || HEADER_LENGTH + (long) tagSize > channel.size()) {
+        return unsupported(filePath, "tag size");
+      }
+      final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_LENGTH + tagSize);
+      final FastID3v2Tag tag = new FastID3v2Tag(majorVersion);
+      return tag.readFrames(buffer) ? tag : unsupported(filePath, "frames");
+    }
+  }
+
+  /**
+   * @return the simple class name of the equivalent jaudiotagger tag
+   */
+  String getTaggingSystem() {
+    return majorVersion == ID3v24Tag.MAJOR_VERSION ? ID3v24Tag.class.getSimpleName() : ID3v23Tag.class.getSimpleName();
+  }
+
+  int getMajorVersion() {
+    return majorVersion;
+  }
+
+  /**
+   * Returns the first value of the given key like <code>Tag.getFirst</code>. Only the
+   * keys, which are dispatched by <code>TagFields</code>, are supported.
+   *
+   * @param key field key
+   * @return the value or an empty string
+   */
+  String getFirst(FieldKey key) {
+    final String value = values.get(key);
+    return value == null ? "" : value;
+  }
+
+  /**
+   * @return the text of the first TCON frame or null
+   */
+  String getGenre() {
+    return genre;
+  }
+
+  /**
+   * @param id TDRL, TDOR, TDRC, TYER or TDAT
+   * @return true, if the tag contains the date frame
+   */
+  boolean hasDateFrame(String id) {
+    return dateValues.containsKey(id);
+  }
+
+  /**
+   * @param id TDRL, TDOR, TDRC, TYER or TDAT
+   * @return the text of the first date frame with the given id or null
+   */
+  String getDateValue(String id) {
+    return dateValues.get(id);
+  }
+
+  /**
+   * @return the POPM frames, the play counters are not read
+   */
+  List<FrameBodyPOPM> getRatings() {
+    return ratings;
+  }
+
+  /**
+   * @return the first embedded image with data or null
+   */
+  Artwork getFrontCover() {
+    return frontCover;
+  }
+
+  /**
+   * @return the number of APIC frames
+   */
+  int getArtworkCount() {
+    return artworkCount;
+  }
+
+  // ***
+  //
+  // hidden implementation
+  //
+  // ***
+
+  private static FastID3v2Tag unsupported(Path filePath, String reason) {
+    if (LOGGER.isLoggable(Level.FINE)) {
+      LOGGER.fine("Unsupported %s, falling back to jaudiotagger: %s".formatted(reason, filePath));
+    }
+    return null;
+  }
+
+  private boolean readFrames(ByteBuffer buffer) {
+    final int unsupportedFlags = majorVersion == ID3v24Tag.MAJOR_VERSION ? ID3V24_UNSUPPORTED_FRAME_FLAGS : ID3V23_UNSUPPORTED_FRAME_FLAGS;
+    final int end = buffer.limit();
+    int pos = HEADER_LENGTH;
+    while (pos + FRAME_HEADER_LENGTH <= end) {
+      if (buffer.get(pos) == 0) {
+        // padding
+        return true;
+      }
+      final String id = readFrameId(buffer, pos);
+      if (id == null) {
+        return false;
+      }
+      final int size = majorVersion == ID3v24Tag.MAJOR_VERSION ? readSyncSafeInteger(buffer, pos + 4) : buffer.getInt(pos + 4);
+      final int start = pos + FRAME_HEADER_LENGTH;
+      if (size < 0 || size > end - start || (buffer.get(pos + 9) & unsupportedFlags) != 0) {
+        return false;
+      }
+      // empty frames are skipped like in jaudiotagger
+      if (size > 0 && !readFrame(id, buffer.slice(start, size))) {
+        return false;
+      }
+      pos = start + size;
+    }
+    return true;
+  }
+
+  private boolean readFrame(String id, ByteBuffer body) {
+    return switch (id) {
+      case "TIT2" -> putText(FieldKey.TITLE, body);
+      case "TPE1" -> putText(FieldKey.ARTIST, body);
+      case "TALB" -> putText(FieldKey.ALBUM, body);
+      case "TPE2" -> putText(FieldKey.ALBUM_ARTIST, body);
+      case "TCOM" -> putText(FieldKey.COMPOSER, body);
+      case "TCMP" -> putText(FieldKey.IS_COMPILATION, body);
+      case "TLAN" -> putText(FieldKey.LANGUAGE, body);
+      case "COMM" -> putLanguageText(FieldKey.COMMENT, body);
+      case "USLT" -> putLanguageText(FieldKey.LYRICS, body);
+      case "TRCK" -> putNumberTotal(FieldKey.TRACK, FieldKey.TRACK_TOTAL, body);
+      case "TPOS" -> putNumberTotal(FieldKey.DISC_NO, FieldKey.DISC_TOTAL, body);
+      case "TCON" -> readGenre(body);
+      case "TDRL", "TDOR", "TDRC" -> majorVersion == ID3v24Tag.MAJOR_VERSION && putDate(id, body);
+      case "TYER", "TDAT" -> majorVersion == ID3v23Tag.MAJOR_VERSION && putDate(id, body);
+      // converted by jaudiotagger into the date frames of the other version
+      case "TIME", "TRDA", "TORY", "TDEN", "TDTG" -> false;
+      case "POPM" -> readRating(body);
+      case "APIC" -> readArtwork(body);
+      default -> true;
+    };
+  }
+
+  /**
+   * Like <code>AbstractFrameBodyTextInfo.getValues</code>: the first of the null
+   * separated values of the first frame.
+   */
+  private boolean putText(FieldKey key, ByteBuffer body) {
+    if (values.containsKey(key)) {
+      return true;
+    }
+    final String text = decodeText(body, 1);
+    if (text == null) {
+      return false;
+    }
+    values.put(key, firstValue(text));
+    return true;
+  }
+
+  /**
+   * COMM and USLT: encoding, language, description and text.
+   */
+  private boolean putLanguageText(FieldKey key, ByteBuffer body) {
+    if (values.containsKey(key)) {
+      return true;
+    }
+    final int encoding = readEncoding(body);
+    if (encoding < 0 || body.limit() < 4) {
+      return false;
+    }
+    final int descriptionEnd = findTerminator(body, 4, encoding);
+    if (descriptionEnd < 0) {
+      return false;
+    }
+    values.put(key, firstValue(decode(body, descriptionEnd + terminatorLength(encoding), body.limit(), encoding)));
+    return true;
+  }
+
+  /**
+   * Like <code>AbstractFrameBodyNumberTotal</code>: "number/total" of the first frame.
+   */
+  private boolean putNumberTotal(FieldKey numberKey, FieldKey totalKey, ByteBuffer body) {
+    if (values.containsKey(numberKey)) {
+      return true;
+    }
+    final String text = decodeText(body, 1);
+    if (text == null) {
+      return false;
+    }
+    final String value = firstValue(text);
+    final int separator = value.indexOf('/');
+    values.put(numberKey, separator < 0 ? value : value.substring(0, separator));
+    values.put(totalKey, separator < 0 ? "" : value.substring(separator + 1));
+    return true;
+  }
+
+  private boolean readGenre(ByteBuffer body) {
+    if (genre != null) {
+      return true;
+    }
+    final String text = decodeText(body, 1);
+    if (text == null) {
+      return false;
+    }
+    genre = withoutTrailingNulls(text);
+    return true;
+  }
+
+  private boolean putDate(String id, ByteBuffer body) {
+    if (dateValues.containsKey(id)) {
+      return true;
+    }
+    final String text = decodeText(body, 1);
+    if (text == null) {
+      return false;
+    }
+    dateValues.put(id, withoutTrailingNulls(text));
+    return true;
+  }
+
+  /**
+   * POPM: e-mail to user, rating and play counter.
+   */
+  private boolean readRating(ByteBuffer body) {
+    final int emailEnd = findTerminator(body, 0, 0);
+    if (emailEnd < 0) {
+      return false;
+    }
+    final String email = decode(body, 0, emailEnd, 0);
+    final int ratingPos = emailEnd + 1;
+    final int rating = ratingPos < body.limit() ? body.get(ratingPos) & 0xFF : 0;
+    ratings.add(new FrameBodyPOPM(email, rating, 0));
+    return true;
+  }
+
+  /**
+   * APIC: encoding, MIME type, picture type, description and picture data. Only the
+   * data of the first image with data is copied, like <code>TagFileReader</code> uses it.
+   */
+  private boolean readArtwork(ByteBuffer body) {
+    final int encoding = readEncoding(body);
+    if (encoding < 0) {
+      return false;
+    }
+    final int mimeEnd = findTerminator(body, 1, 0);
+    if (mimeEnd < 0 || mimeEnd + 1 >= body.limit()) {
+      return false;
+    }
+    final int pictureType = body.get(mimeEnd + 1) & 0xFF;
+    final int descriptionStart = mimeEnd + 2;
+    final int descriptionEnd = findTerminator(body, descriptionStart, encoding);
+    if (descriptionEnd < 0) {
+      return false;
+    }
+    artworkCount++;
+    final String mimeType = decode(body, 1, mimeEnd, 0);
+    final int dataStart = descriptionEnd + terminatorLength(encoding);
+    if (frontCover == null && dataStart < body.limit() && !LINKED_IMAGE_MIME.equals(mimeType)) {
+      final byte[] data = new byte[body.limit() - dataStart];
+      body.get(dataStart, data);
+      frontCover = ArtworkFactory.getNew();
+      frontCover.setMimeType(mimeType);
+      frontCover.setPictureType(pictureType);
+      frontCover.setDescription(decode(body, descriptionStart, descriptionEnd, encoding));
+      frontCover.setBinaryData(data);
+    }
+    return true;
+  }
+
+  /**
+   * Decodes the text of a frame, which starts with the encoding byte.
+   *
+   * @return the text or null, if the encoding is invalid
+   */
+  private static String decodeText(ByteBuffer body, int start) {
+    final int encoding = readEncoding(body);
+    return encoding < 0 ? null : decode(body, start, body.limit(), encoding);
+  }
+
+  private static int readEncoding(ByteBuffer body) {
+    final int encoding = body.limit() > 0 ? body.get(0) : -1;
+    return encoding >= 0 && encoding <= 3 ? encoding : -1;
+  }
+
+  private static String decode(ByteBuffer body, int from, int to, int encoding) {
+    if (from >= to) {
+      return "";
+    }
+    final byte[] bytes = new byte[to - from];
+    body.get(from, bytes);
+    final String text = new String(bytes, charset(encoding));
+    // UTF-16 values after the first one start with their own byte order mark
+    return encoding == 1 ? text.replace("\uFEFF", "").replace("\uFFFE", "") : text;
+  }
+
+  private static Charset charset(int encoding) {
+    return switch (encoding) {
+      case 1 -> StandardCharsets.UTF_16;
+      case 2 -> StandardCharsets.UTF_16BE;
+      case 3 -> StandardCharsets.UTF_8;
+      default -> StandardCharsets.ISO_8859_1;
+    };
+  }
+
+  private static int terminatorLength(int encoding) {
+    return encoding == 1 || encoding == 2 ? 2 : 1;
+  }
+
+  /**
+   * @return the position of the null terminator or -1
+   */
+  private static int findTerminator(ByteBuffer body, int from, int encoding) {
+    final int step = terminatorLength(encoding);
+    for (int i = from; i + step <= body.limit(); i += step) {
+      if (body.get(i) == 0 && (step == 1 || body.get(i + 1) == 0)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static String firstValue(String text) {
+    final int index = text.indexOf('\0');
+    return index < 0 ? text : text.substring(0, index);
+  }
+
+  private static String withoutTrailingNulls(String text) {
+    int end = text.length();
+    while (end > 0 && text.charAt(end - 1) == '\0') {
+      end--;
+    }
+    return text.substring(0, end);
+  }
+
+  private static String readFrameId(ByteBuffer buffer, int pos) {
+    final char[] id = new char[4];
+    for (int i = 0; i < id.length; i++) {
+      final char c = (char) buffer.get(pos + i);
+      if ((c < 'A' || c > 'Z') && (c < '0' || c > '9')) {
+        return null;
+      }
+      id[i] = c;
+    }
+    return new String(id);
+  }
+
+  /**
+   * @return the value of the 28 bit sync safe integer or -1, if a byte has its high bit set
+   */
+  private static int readSyncSafeInteger(ByteBuffer buffer, int pos) {
+    int value = 0;
+    for (int i = 0; i < 4; i++) {
+      final int b = buffer.get(pos + i);
+      if ((b & 0x80) != 0) {
+        return -1;
+      }
+      value = (value << 7) | b;
+    }
+    return value;
+  }
+}
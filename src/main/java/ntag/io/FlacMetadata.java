@@ -0,0 +1,302 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.io;
+
+import org.jaudiotagger.audio.SupportedFileFormat;
+import org.jaudiotagger.audio.exceptions.CannotReadException;
+import org.jaudiotagger.tag.flac.FlacTag;
+import org.jaudiotagger.tag.vorbiscomment.VorbisCommentReader;
+import org.jaudiotagger.tag.vorbiscomment.VorbisCommentTag;
+
+import java.awt.Dimension;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The metadata blocks of a FLAC file, read directly with a <code>FileChannel</code>.
+ * Unlike jaudiotagger the PICTURE blocks are recorded by offset and length, their
+ * image data is read only by <code>Picture.readData</code>. The STREAMINFO block
+ * provides the audio header, the VORBIS_COMMENT block is parsed by jaudiotagger, so
+ * the tag values equal those of a <code>FlacTag</code> read by <code>AudioFileIO</code>.<br>
+ * <br>
+ * Files, which don't start with the FLAC stream marker (e.g. with a leading ID3 tag)
+ * or contain invalid blocks, are not read. <code>read</code> returns null for them
+ * and the caller falls back to jaudiotagger.
+ */
+final class FlacMetadata {
+
+  public static final Logger LOGGER = Logger.getLogger(FlacMetadata.class.getName());
+
+  private static final int MARKER_LENGTH = 4;
+  private static final int BLOCK_HEADER_LENGTH = 4;
+  private static final int BLOCK_STREAMINFO = 0;
+  private static final int BLOCK_VORBIS_COMMENT = 4;
+  private static final int BLOCK_PICTURE = 6;
+  private static final int BLOCK_INVALID = 127;
+  private static final int STREAMINFO_LENGTH = 34;
+  private static final String LINKED_IMAGE_MIME = "-->";
+
+  /**
+   * A PICTURE block, whose image data hasn't been read.
+   *
+   * @param pictureType ID3 picture type, e.g. 3 for the front cover
+   * @param mimeType    MIME type or "-->" for a linked image
+   * @param description description
+   * @param width       width in pixels, 0 if unknown
+   * @param height      height in pixels, 0 if unknown
+   * @param dataOffset  file position of the image data
+   * @param dataLength  length of the image data
+   */
+  record Picture(int pictureType, String mimeType, String description, int width, int height,
+                 long dataOffset, int dataLength) implements EmbeddedPicture {
+
+    /**
+     * @return true, if the block contains image data and not the URL of a linked image
+     */
+    boolean hasData() {
+      return dataLength > 0 && !LINKED_IMAGE_MIME.equals(mimeType);
+    }
+
+    @Override
+    public Dimension dimension() {
+      return width > 0 && height > 0 ? new Dimension(width, height) : null;
+    }
+
+    @Override
+    public byte[] readData(Path filePath) throws IOException {
+      try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+        return readFully(channel, dataOffset, dataLength).array();
+      }
+    }
+  }
+
+  private final List<Picture> pictures = new ArrayList<>(2);
+  private VorbisCommentTag vorbisCommentTag;
+  private int sampleRate;
+  private int channels;
+  private int bitsPerSample;
+  private long totalSamples;
+  private long audioDataLength;
+
+  private FlacMetadata() {
+  }
+
+  /**
+   * Reads the metadata blocks of the given FLAC file.
+   *
+   * @param filePath the absolut path of the FLAC file
+   * @return the metadata or null, if the file must be read by jaudiotagger
+   * @throws IOException on IO Errors
+   */
+  static FlacMetadata read(final Path filePath) throws IOException {
+    if (filePath == null) {
+      throw new IllegalArgumentException("filePath cannot be null");
+    }
+    try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+      final long size = channel.size();
+      if (size < MARKER_LENGTH + BLOCK_HEADER_LENGTH + STREAMINFO_LENGTH) {
+        return null;
+      }
+      final ByteBuffer marker = readFully(channel, 0, MARKER_LENGTH);
+      if (marker.get(0) != 'f' || marker.get(1) != 'L' || marker.get(2) != 'a' || marker.get(3) != 'C') {
+        return null;
+      }
+      final FlacMetadata metadata = new FlacMetadata();
+      return metadata.readBlocks(channel, filePath) ? metadata : unsupported(filePath);
+    } catch (EOFException | CannotReadException e) {
+      LOGGER.log(Level.FINE, "Invalid metadata block in " + filePath, e);
+      return null;
+    }
+  }
+
+  /**
+   * @return the tag of the VORBIS_COMMENT block without the pictures
+   */
+  FlacTag getTag() {
+    return new FlacTag(vorbisCommentTag != null ? vorbisCommentTag : VorbisCommentTag.createNewTag(), Collections.emptyList());
+  }
+
+  List<Picture> getPictures() {
+    return Collections.unmodifiableList(pictures);
+  }
+
+  /**
+   * @return the first picture with image data or null
+   */
+  Picture getFrontCover() {
+    for (Picture picture : pictures) {
+      if (picture.hasData()) {
+        return picture;
+      }
+    }
+    return null;
+  }
+
+  int getSampleRate() {
+    return sampleRate;
+  }
+
+  int getChannels() {
+    return channels;
+  }
+
+  int getBitsPerSample() {
+    return bitsPerSample;
+  }
+
+  long getTotalSamples() {
+    return totalSamples;
+  }
+
+  /**
+   * @return the playtime in seconds, computed from the total samples of the stream
+   */
+  int getTrackLength() {
+    return (int) Math.round((double) totalSamples / sampleRate);
+  }
+
+  /**
+   * @return the average bitrate in kbit/s like jaudiotagger computes it
+   */
+  int getBitRate() {
+    final float preciseLength = (float) totalSamples / sampleRate;
+    return preciseLength > 0 ? (int) ((audioDataLength / 1000 * 8) / preciseLength) : 0;
+  }
+
+  /**
+   * @return the display name of the format like <code>AudioHeader.getFormat</code>
+   */
+  String getFormat() {
+    return SupportedFileFormat.FLAC.getDisplayName();
+  }
+
+  // ***
+  //
+  // hidden implementation
+  //
+  // ***
+
+  private static FlacMetadata unsupported(Path filePath) {
+    if (LOGGER.isLoggable(Level.FINE)) {
+      LOGGER.fine("Unsupported metadata blocks, falling back to jaudiotagger: " + filePath);
+    }
+    return null;
+  }
+
+  private boolean readBlocks(FileChannel channel, Path filePath) throws IOException, CannotReadException {
+    final long size = channel.size();
+    long pos = MARKER_LENGTH;
+    boolean streamInfo = false;
+    boolean last = false;
+    while (!last) {
+      final ByteBuffer header = readFully(channel, pos, BLOCK_HEADER_LENGTH);
+      last = (header.get(0) & 0x80) != 0;
+      final int type = header.get(0) & 0x7F;
+      final int length = ((header.get(1) & 0xFF) << 16) | ((header.get(2) & 0xFF) << 8) | (header.get(3) & 0xFF);
+      final long start = pos + BLOCK_HEADER_LENGTH;
+      if (type == BLOCK_INVALID || start + length > size) {
+        return false;
+      }
+      if (type == BLOCK_STREAMINFO) {
+        if (length != STREAMINFO_LENGTH || !readStreamInfo(readFully(channel, start, length))) {
+          return false;
+        }
+        streamInfo = true;
+      } else if (type == BLOCK_VORBIS_COMMENT && vorbisCommentTag == null) {
+        vorbisCommentTag = new VorbisCommentReader().read(readFully(channel, start, length).array(), false, filePath);
+      } else if (type == BLOCK_PICTURE && !readPicture(channel, start, length)) {
+        return false;
+      }
+      pos = start + length;
+    }
+    audioDataLength = size - pos;
+    return streamInfo;
+  }
+
+  /**
+   * STREAMINFO: block sizes, frame sizes, 20 bits sample rate, 3 bits channels - 1,
+   * 5 bits bits per sample - 1, 36 bits total samples and the MD5 signature.
+   */
+  private boolean readStreamInfo(ByteBuffer block) {
+    final int b12 = block.get(12) & 0xFF;
+    final int b13 = block.get(13) & 0xFF;
+    sampleRate = ((block.get(10) & 0xFF) << 12) | ((block.get(11) & 0xFF) << 4) | (b12 >> 4);
+    channels = ((b12 >> 1) & 0x07) + 1;
+    bitsPerSample = (((b12 & 0x01) << 4) | (b13 >> 4)) + 1;
+    totalSamples = ((long) (b13 & 0x0F) << 32) | (block.getInt(14) & 0xFFFFFFFFL);
+    return sampleRate > 0 && totalSamples > 0;
+  }
+
+  /**
+   * PICTURE: picture type, MIME type, description, width, height, color depth,
+   * number of colors and the image data. All lengths and numbers are big endian.
+   */
+  private boolean readPicture(FileChannel channel, long start, int length) throws IOException {
+    final long end = start + length;
+    if (length < 32) {
+      return false;
+    }
+    final ByteBuffer typeAndMime = readFully(channel, start, 8);
+    final int pictureType = typeAndMime.getInt(0);
+    final int mimeLength = typeAndMime.getInt(4);
+    long pos = start + 8;
+    if (mimeLength < 0 || pos + mimeLength + 4 > end) {
+      return false;
+    }
+    final ByteBuffer mime = readFully(channel, pos, mimeLength + 4);
+    final String mimeType = new String(mime.array(), 0, mimeLength, StandardCharsets.ISO_8859_1);
+    final int descriptionLength = mime.getInt(mimeLength);
+    pos += mimeLength + 4;
+    if (descriptionLength < 0 || pos + descriptionLength + 20 > end) {
+      return false;
+    }
+    final ByteBuffer description = readFully(channel, pos, descriptionLength + 20);
+    final int width = description.getInt(descriptionLength);
+    final int height = description.getInt(descriptionLength + 4);
+    final int dataLength = description.getInt(descriptionLength + 16);
+    pos += descriptionLength + 20;
+    if (dataLength < 0 || pos + dataLength > end) {
+      return false;
+    }
+    pictures.add(new Picture(pictureType, mimeType,
+        new String(description.array(), 0, descriptionLength, StandardCharsets.UTF_8), width, height, pos, dataLength));
+    return true;
+  }
+
+  private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new EOFException("Unexpected end of file at position " + (position + buffer.position()));
+      }
+    }
+    return buffer;
+  }
+}
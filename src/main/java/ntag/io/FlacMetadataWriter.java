@@ -0,0 +1,237 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.io;
+
+import org.jaudiotagger.audio.flac.FlacTagCreator;
+import org.jaudiotagger.tag.flac.FlacTag;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes the VORBIS_COMMENT and PICTURE blocks of a FLAC file. Like jaudiotagger the
+ * space of the existing VORBIS_COMMENT, PICTURE and PADDING blocks is reused and only
+ * the metadata blocks are overwritten, as long as the new blocks fit. Otherwise the
+ * audio frames are shifted to make room for the new blocks and a PADDING block sized
+ * by the <code>PaddingPolicy</code>, instead of the fixed 4000 bytes of jaudiotagger.
+ * So a file is rewritten only once, later edits fit into the reserved padding.<br>
+ * <br>
+ * Files, which don't start with the FLAC stream marker (e.g. with a leading ID3 tag)
+ * or contain invalid blocks, are not written. <code>write</code> returns null for them
+ * and the caller falls back to jaudiotagger.
+ */
+final class FlacMetadataWriter {
+
+  public static final Logger LOGGER = Logger.getLogger(FlacMetadataWriter.class.getName());
+
+  private static final int MARKER_LENGTH = 4;
+  private static final int BLOCK_HEADER_LENGTH = 4;
+  private static final int BLOCK_STREAMINFO = 0;
+  private static final int BLOCK_PADDING = 1;
+  private static final int BLOCK_VORBIS_COMMENT = 4;
+  private static final int BLOCK_PICTURE = 6;
+  private static final int BLOCK_INVALID = 127;
+  private static final int MAX_BLOCK_LENGTH = 0xFFFFFF;
+  private static final int LAST_BLOCK_FLAG = 0x80;
+  private static final int SHIFT_BUFFER_SIZE = 1024 * 1024;
+
+  private FlacMetadataWriter() {
+  }
+
+  /**
+   * Writes the given tag to the FLAC file.
+   *
+   * @param filePath the absolut path of the FLAC file
+   * @param tag      the tag to write
+   * @param policy   padding policy, which is applied, if the file must be rewritten
+   * @return the layout of the written tag or null, if the file must be written by jaudiotagger
+   * @throws IOException on IO Errors
+   */
+  static TagLayout write(final Path filePath, final FlacTag tag, final PaddingPolicy policy) throws IOException {
+    if (filePath == null) {
+      throw new IllegalArgumentException("filePath cannot be null");
+    }
+    if (tag == null) {
+      throw new IllegalArgumentException("tag cannot be null");
+    }
+    if (policy == null) {
+      throw new IllegalArgumentException("policy cannot be null");
+    }
+    try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      final ByteBuffer marker = readFully(channel, 0, MARKER_LENGTH);
+      if (marker.get(0) != 'f' || marker.get(1) != 'L' || marker.get(2) != 'a' || marker.get(3) != 'C') {
+        return null;
+      }
+      // the STREAMINFO, APPLICATION, SEEKTABLE and CUESHEET blocks are kept
+      final List<ByteBuffer> keptBlocks = new ArrayList<>(4);
+      final long audioStart = readBlocks(channel, keptBlocks);
+      if (audioStart < 0) {
+        LOGGER.fine(() -> "Unsupported metadata blocks in " + filePath);
+        return null;
+      }
+      // with padding, the tag blocks never carry the last block flag, it is set by writeBlocks
+      final ByteBuffer tagBlocks = new FlacTagCreator().convertMetadata(tag, true);
+      int keptLength = 0;
+      for (ByteBuffer block : keptBlocks) {
+        keptLength += block.limit();
+      }
+      final long available = audioStart - MARKER_LENGTH - keptLength;
+      if (available > Integer.MAX_VALUE) {
+        return null;
+      }
+      final int availableSize = (int) available;
+      // a gap behind the tag blocks needs the header of a padding block
+      final int requiredSize = tagBlocks.limit() == availableSize ? availableSize : tagBlocks.limit() + BLOCK_HEADER_LENGTH;
+      final int writtenSize;
+      if (requiredSize <= availableSize) {
+        writtenSize = availableSize;
+      } else {
+        writtenSize = policy.getTagSize(requiredSize, 0);
+        shift(channel, audioStart, writtenSize - (long) availableSize);
+      }
+      writeBlocks(channel, keptBlocks, tagBlocks, writtenSize - tagBlocks.limit());
+      return new TagLayout("FLAC", requiredSize, availableSize, writtenSize);
+    } catch (EOFException e) {
+      LOGGER.log(Level.FINE, "Invalid metadata block in " + filePath, e);
+      return null;
+    }
+  }
+
+  // ***
+  //
+  // hidden implementation
+  //
+  // ***
+
+  /**
+   * Reads the blocks, which are not replaced by the tag.
+   *
+   * @return the start of the audio frames or -1, if the blocks are not supported
+   */
+  private static long readBlocks(FileChannel channel, List<ByteBuffer> keptBlocks) throws IOException {
+    long pos = MARKER_LENGTH;
+    boolean last = false;
+    while (!last) {
+      final ByteBuffer header = readFully(channel, pos, BLOCK_HEADER_LENGTH);
+      last = (header.get(0) & LAST_BLOCK_FLAG) != 0;
+      final int type = header.get(0) & 0x7F;
+      final int length = ((header.get(1) & 0xFF) << 16) | ((header.get(2) & 0xFF) << 8) | (header.get(3) & 0xFF);
+      if (type == BLOCK_INVALID || (pos == MARKER_LENGTH) != (type == BLOCK_STREAMINFO)) {
+        return -1;
+      }
+      if (type != BLOCK_PADDING && type != BLOCK_VORBIS_COMMENT && type != BLOCK_PICTURE) {
+        final ByteBuffer block = readFully(channel, pos, BLOCK_HEADER_LENGTH + length);
+        block.put(0, (byte) type);
+        keptBlocks.add(block.rewind());
+      }
+      pos += BLOCK_HEADER_LENGTH + length;
+    }
+    return pos;
+  }
+
+  /**
+   * Writes the kept blocks, the tag blocks and the padding behind the stream marker.
+   * The last block gets the last-metadata-block flag.
+   */
+  private static void writeBlocks(FileChannel channel, List<ByteBuffer> keptBlocks, ByteBuffer tagBlocks,
+                                  int padding) throws IOException {
+    final List<ByteBuffer> blocks = new ArrayList<>(keptBlocks);
+    if (tagBlocks.limit() > 0) {
+      blocks.add(tagBlocks);
+    }
+    int remaining = padding;
+    while (remaining > 0) {
+      // don't leave less than a block header for the next padding block
+      int length = Math.min(remaining - BLOCK_HEADER_LENGTH, MAX_BLOCK_LENGTH);
+      if (remaining - BLOCK_HEADER_LENGTH - length > 0 && remaining - BLOCK_HEADER_LENGTH - length < BLOCK_HEADER_LENGTH) {
+        length -= BLOCK_HEADER_LENGTH;
+      }
+      final ByteBuffer block = ByteBuffer.allocate(BLOCK_HEADER_LENGTH + length);
+      block.put(0, (byte) BLOCK_PADDING);
+      block.put(1, (byte) (length >>> 16));
+      block.put(2, (byte) (length >>> 8));
+      block.put(3, (byte) length);
+      blocks.add(block);
+      remaining -= BLOCK_HEADER_LENGTH + length;
+    }
+    // the tag blocks may contain several blocks, find the header of the last one
+    final ByteBuffer lastBuffer = blocks.getLast();
+    final int lastHeader = findLastHeader(lastBuffer);
+    lastBuffer.put(lastHeader, (byte) (lastBuffer.get(lastHeader) | LAST_BLOCK_FLAG));
+    long pos = MARKER_LENGTH;
+    for (ByteBuffer block : blocks) {
+      block.rewind();
+      while (block.hasRemaining()) {
+        pos += channel.write(block, pos);
+      }
+    }
+  }
+
+  private static int findLastHeader(ByteBuffer blocks) {
+    int pos = 0;
+    int last = 0;
+    while (pos < blocks.limit()) {
+      last = pos;
+      pos += BLOCK_HEADER_LENGTH + (((blocks.get(pos + 1) & 0xFF) << 16) | ((blocks.get(pos + 2) & 0xFF) << 8) | (blocks.get(pos + 3) & 0xFF));
+    }
+    return last;
+  }
+
+  /**
+   * Moves the audio frames from the given position to the end of the file by the given
+   * offset. The frames are copied backwards, so the file is not truncated on errors.
+   */
+  private static void shift(FileChannel channel, long start, long offset) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(SHIFT_BUFFER_SIZE);
+    long pos = channel.size();
+    while (pos > start) {
+      final int length = (int) Math.min(SHIFT_BUFFER_SIZE, pos - start);
+      pos -= length;
+      buffer.clear().limit(length);
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, pos + buffer.position()) < 0) {
+          throw new EOFException("Unexpected end of file at position " + (pos + buffer.position()));
+        }
+      }
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer, pos + offset + buffer.position());
+      }
+    }
+  }
+
+  private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new EOFException("Unexpected end of file at position " + (position + buffer.position()));
+      }
+    }
+    return buffer;
+  }
+}
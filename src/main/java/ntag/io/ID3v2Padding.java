@@ -0,0 +1,126 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.io;
+
+import org.jaudiotagger.audio.mp3.MP3File;
+import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
+import org.jaudiotagger.tag.id3.ID3v23Tag;
+import org.jaudiotagger.tag.id3.ID3v24Tag;
+
+/**
+ * Applies a <code>PaddingPolicy</code> to a single commit of an <code>MP3File</code>.
+ * jaudiotagger overwrites the tag region in place, as long as the tag fits into the
+ * space before the audio data, otherwise it shifts the whole audio data and reserves
+ * only 100 bytes of padding. So the ID3v2 tag is replaced by a copy, which calculates
+ * its size with the policy, while the file is committed. Afterwards the original tag
+ * is restored.
+ */
+final class ID3v2Padding {
+
+  private final MP3File file;
+  private final AbstractID3v2Tag tag;
+  private final PaddingPolicy policy;
+  private int requiredSize = -1;
+  private int availableSize;
+  private int tagSize;
+
+  private ID3v2Padding(MP3File file, AbstractID3v2Tag tag, PaddingPolicy policy) {
+    this.file = file;
+    this.tag = tag;
+    this.policy = policy;
+  }
+
+  /**
+   * Replaces the ID3v2 tag of the file by a padded copy.
+   *
+   * @param file   the file to commit
+   * @param policy the padding policy
+   * @return the installed padding or null, if the file has no ID3v2.3 or ID3v2.4 tag
+   */
+  static ID3v2Padding install(MP3File file, PaddingPolicy policy) {
+    if (file == null) {
+      throw new IllegalArgumentException("file cannot be null");
+    }
+    if (policy == null) {
+      throw new IllegalArgumentException("policy cannot be null");
+    }
+    final AbstractID3v2Tag tag = file.getID3v2Tag();
+    final ID3v2Padding padding = new ID3v2Padding(file, tag, policy);
+    if (tag instanceof ID3v24Tag v24Tag) {
+      file.setID3v2TagOnly(padding.new PaddedID3v24Tag(v24Tag));
+    } else if (tag instanceof ID3v23Tag v23Tag) {
+      file.setID3v2TagOnly(padding.new PaddedID3v23Tag(v23Tag));
+    } else {
+      return null;
+    }
+    return padding;
+  }
+
+  /**
+   * Restores the original tag of the file.
+   */
+  void uninstall() {
+    file.setID3v2Tag(tag);
+  }
+
+  /**
+   * @return the layout of the written tag or null, if the tag has not been written
+   */
+  TagLayout getLayout() {
+    return requiredSize < 0 ? null : new TagLayout("ID3v2", requiredSize, availableSize, tagSize);
+  }
+
+  // ***
+  //
+  // hidden implementation
+  //
+  // ***
+
+  private int calculateTagSize(int requiredSize, int availableSize) {
+    this.requiredSize = requiredSize;
+    this.availableSize = availableSize;
+    this.tagSize = policy.getTagSize(requiredSize, availableSize);
+    return tagSize;
+  }
+
+  private final class PaddedID3v23Tag extends ID3v23Tag {
+
+    PaddedID3v23Tag(ID3v23Tag copyObject) {
+      super(copyObject);
+    }
+
+    @Override
+    protected int calculateTagSize(int tagSize, int audioStart) {
+      return ID3v2Padding.this.calculateTagSize(tagSize, audioStart);
+    }
+  }
+
+  private final class PaddedID3v24Tag extends ID3v24Tag {
+
+    PaddedID3v24Tag(ID3v24Tag copyObject) {
+      super(copyObject);
+    }
+
+    @Override
+    protected int calculateTagSize(int tagSize, int audioStart) {
+      return ID3v2Padding.this.calculateTagSize(tagSize, audioStart);
+    }
+  }
+}
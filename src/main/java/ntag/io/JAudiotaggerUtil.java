@@ -26,16 +26,26 @@ import org.jaudiotagger.audio.AudioFileIO;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
 import org.jaudiotagger.audio.exceptions.ReadOnlyFileException;
+import org.jaudiotagger.audio.mp3.MP3AudioHeader;
 import org.jaudiotagger.audio.mp3.MP3File;
 import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.TagException;
 import org.jaudiotagger.tag.TagField;
+import org.jaudiotagger.tag.TagNotFoundException;
 import org.jaudiotagger.tag.TagTextField;
 import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
+import org.jaudiotagger.tag.id3.ID3SyncSafeInteger;
+import org.jaudiotagger.tag.id3.ID3v11Tag;
 import org.jaudiotagger.tag.id3.ID3v1Tag;
+import org.jaudiotagger.tag.id3.ID3v22Tag;
 import org.jaudiotagger.tag.id3.ID3v23Tag;
 import org.jaudiotagger.tag.id3.ID3v24Tag;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -78,6 +88,94 @@ public final class JAudiotaggerUtil {
     }
   }
 
+  /**
+   * Reads only the ID3v2 tag or, if not present, the ID3v1 tag of the given MP3 file.
+   * Unlike <code>MP3File</code> this doesn't search and decode the first MPEG frame
+   * and the Xing/VBRI header, so the audio header informations are not available.
+   *
+   * @param filePath the absolut path of the MP3 file
+   * @return the tag or null, if the file contains no ID3 tag
+   * @throws NTagException on Tagging or IO Errors
+   */
+  public static Tag readMP3Tag(final Path filePath) throws NTagException {
+    if (!Files.exists(filePath)) {
+      String msg = "The file '%s' does not exists.".formatted(filePath.toString());
+      TagFileReader.LOGGER.severe(msg);
+      throw new NTagException(msg);
+    }
+    final String fileName = filePath.getFileName().toString();
+    try (RandomAccessFile file = new RandomAccessFile(filePath.toFile(), "r")) {
+      final AbstractID3v2Tag v2tag = readID3v2Tag(file.getChannel(), fileName);
+      if (v2tag != null) {
+        return v2tag;
+      }
+      try {
+        return new ID3v11Tag(file, fileName);
+      } catch (TagNotFoundException e) {
+        try {
+          return new ID3v1Tag(file, fileName);
+        } catch (TagNotFoundException ignored) {
+          return null;
+        }
+      }
+    } catch (IOException e) {
+      TagFileReader.LOGGER.log(Level.SEVERE, "An IO error occured while reading the tag of " + filePath, e);
+      throw new NTagException("An IO error occured while reading the audiofile.", e);
+    } catch (TagException e) {
+      TagFileReader.LOGGER.log(Level.SEVERE, "Invalid ID3v2 tag detected while reading " + filePath, e);
+      throw new NTagException("Invalid ID3v2 tag detected while reading the audiofile.", e);
+    }
+  }
+
+  /**
+   * Reads only the audio header of the given MP3 file. The ID3v2 tag is skipped by
+   * its size, so the search for the first MPEG frame starts behind the tag and the
+   * tag itself isn't parsed.
+   *
+   * @param filePath the absolut path of the MP3 file
+   * @return the audio header
+   * @throws NTagException on Tagging or IO Errors
+   */
+  public static MP3AudioHeader readMP3AudioHeader(final Path filePath) throws NTagException {
+    if (!Files.exists(filePath)) {
+      String msg = "The file '%s' does not exists.".formatted(filePath.toString());
+      TagFileReader.LOGGER.severe(msg);
+      throw new NTagException(msg);
+    }
+    final File file = filePath.toFile();
+    try {
+      return new MP3AudioHeader(file, AbstractID3v2Tag.getV2TagSizeIfExists(file));
+    } catch (IOException e) {
+      TagFileReader.LOGGER.log(Level.SEVERE, "An IO error occured while reading the audio header of " + filePath, e);
+      throw new NTagException("An IO error occured while reading the audiofile.", e);
+    } catch (InvalidAudioFrameException e) {
+      TagFileReader.LOGGER.log(Level.SEVERE, "Invalid audio frames detected while reading the audio header of " + filePath, e);
+      throw new NTagException("Invalid audio frames detected while reading the audiofile.", e);
+    }
+  }
+
+  private static AbstractID3v2Tag readID3v2Tag(final FileChannel channel, final String fileName) throws IOException, TagException {
+    final ByteBuffer header = ByteBuffer.allocate(AbstractID3v2Tag.TAG_HEADER_LENGTH);
+    channel.read(header, 0);
+    header.flip();
+    if (header.limit() < AbstractID3v2Tag.TAG_HEADER_LENGTH
+            || header.get(0) != 'I' || header.get(1) != 'D' || header.get(2) != '3') {
+      return null;
+    }
+    final byte majorVersion = header.get(AbstractID3v2Tag.FIELD_TAG_MAJOR_VERSION_POS);
+    header.position(AbstractID3v2Tag.FIELD_TAG_SIZE_POS);
+    final int size = ID3SyncSafeInteger.bufferToValue(header) + AbstractID3v2Tag.TAG_HEADER_LENGTH;
+    final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size, channel.size()));
+    channel.read(buffer, 0);
+    buffer.rewind();
+    return switch (majorVersion) {
+      case ID3v22Tag.MAJOR_VERSION -> new ID3v22Tag(buffer, fileName);
+      case ID3v23Tag.MAJOR_VERSION -> new ID3v23Tag(buffer, fileName);
+      case ID3v24Tag.MAJOR_VERSION -> new ID3v24Tag(buffer, fileName);
+      default -> null;
+    };
+  }
+
   /**
    * Creates or returns the AbstractID3v2Tag from the given MP3File
    *
@@ -139,8 +237,11 @@ public final class JAudiotaggerUtil {
   }
 
   public static String createGenre(TagField field) {
-    if (field != null) {
-      String genreString = ((TagTextField) field).getContent();
+    return createGenre(field != null ? ((TagTextField) field).getContent() : null);
+  }
+
+  public static String createGenre(String genreString) {
+    if (genreString != null) {
       // prüfen ob das genre als zahl gespeichert ist
       List<Integer> idList = parseGenreIDs(genreString);
       if (idList.isEmpty()) {
@@ -0,0 +1,454 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.io;
+
+import org.jaudiotagger.audio.AudioHeader;
+import org.jaudiotagger.audio.exceptions.CannotReadException;
+import org.jaudiotagger.audio.exceptions.InvalidBoxHeaderException;
+import org.jaudiotagger.audio.exceptions.NullBoxIdException;
+import org.jaudiotagger.audio.generic.Utils;
+import org.jaudiotagger.audio.mp4.EncoderType;
+import org.jaudiotagger.audio.mp4.Mp4AudioHeader;
+import org.jaudiotagger.audio.mp4.atom.*;
+import org.jaudiotagger.tag.mp4.Mp4FieldKey;
+import org.jaudiotagger.tag.mp4.Mp4Tag;
+import org.jaudiotagger.tag.mp4.field.*;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The audio header and the iTunes metadata of a MP4 file (M4A, M4B), read directly
+ * with a <code>FileChannel</code>. The reader seeks over the box headers and reads
+ * only the boxes it needs: mvhd, mdhd and stsd of the first track and the items of
+ * moov/udta/meta/ilst. The media data, the sample tables and the chapter tracks of
+ * audiobooks are skipped. The covr items are recorded by offset and length, their
+ * image data is read only by <code>Cover.readData</code>.<br>
+ * <br>
+ * The boxes and items are parsed by the jaudiotagger classes, which are used by
+ * <code>AudioFileIO</code>, so the header and the tag values are equal. Files, which
+ * jaudiotagger rejects (e.g. videos) or which contain invalid boxes, are not read.
+ * <code>read</code> returns null for them and the caller falls back to jaudiotagger.
+ */
+final class Mp4Metadata {
+
+  public static final Logger LOGGER = Logger.getLogger(Mp4Metadata.class.getName());
+
+  private static final int BOX_HEADER_LENGTH = 8;
+  private static final int FULL_BOX_FLAGS_LENGTH = 4;
+  private static final int COVER_DATA_OFFSET = 8;
+
+  /**
+   * A data box of the covr item, whose image data hasn't been read.
+   *
+   * @param fieldType  image type of the data box
+   * @param dataOffset file position of the image data
+   * @param dataLength length of the image data
+   */
+  record Cover(Mp4FieldType fieldType, long dataOffset, int dataLength) implements EmbeddedPicture {
+
+    @Override
+    public String mimeType() {
+      return Mp4TagCoverField.getMimeTypeForImageType(fieldType);
+    }
+
+    @Override
+    public byte[] readData(Path filePath) throws IOException {
+      try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+        return readFully(channel, dataOffset, dataLength).array();
+      }
+    }
+  }
+
+  /**
+   * Location of a box within the file.
+   */
+  private record Box(String id, long start, long dataStart, long end) {
+
+    long dataLength() {
+      return end - dataStart;
+    }
+  }
+
+  private final Mp4AudioHeader audioHeader = new Mp4AudioHeader();
+  private final Mp4Tag tag = new Mp4Tag();
+  private final List<Cover> covers = new ArrayList<>(1);
+
+  private Mp4Metadata() {
+  }
+
+  /**
+   * Reads the audio header and the metadata of the given MP4 file.
+   *
+   * @param filePath the absolut path of the MP4 file
+   * @return the metadata or null, if the file must be read by jaudiotagger
+   * @throws IOException on IO Errors
+   */
+  static Mp4Metadata read(final Path filePath) throws IOException {
+    if (filePath == null) {
+      throw new IllegalArgumentException("filePath cannot be null");
+    }
+    try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+      final Mp4Metadata metadata = new Mp4Metadata();
+      return metadata.readBoxes(channel) ? metadata : unsupported(filePath);
+    } catch (EOFException | CannotReadException | NullBoxIdException | InvalidBoxHeaderException e) {
+      LOGGER.log(Level.FINE, "Invalid box in " + filePath, e);
+      return null;
+    }
+  }
+
+  /**
+   * @return the audio header like <code>AudioFile.getAudioHeader</code>
+   */
+  AudioHeader getAudioHeader() {
+    return audioHeader;
+  }
+
+  /**
+   * @return the tag of the ilst box without the covr items
+   */
+  Mp4Tag getTag() {
+    return tag;
+  }
+
+  List<Cover> getCovers() {
+    return Collections.unmodifiableList(covers);
+  }
+
+  /**
+   * @return the first cover with image data or null
+   */
+  Cover getFrontCover() {
+    for (Cover cover : covers) {
+      if (cover.dataLength() > 0) {
+        return cover;
+      }
+    }
+    return null;
+  }
+
+  // ***
+  //
+  // hidden implementation
+  //
+  // ***
+
+  private static Mp4Metadata unsupported(Path filePath) {
+    if (LOGGER.isLoggable(Level.FINE)) {
+      LOGGER.fine("Unsupported MP4 boxes, falling back to jaudiotagger: " + filePath);
+    }
+    return null;
+  }
+
+  private boolean readBoxes(FileChannel channel) throws IOException, CannotReadException {
+    final long size = channel.size();
+    Box ftyp = null;
+    Box moov = null;
+    for (Box box = readBox(channel, 0, size); box != null && (ftyp == null || moov == null);
+         box = readBox(channel, box.end(), size)) {
+      if (ftyp == null && "ftyp".equals(box.id())) {
+        ftyp = box;
+      } else if (moov == null && "moov".equals(box.id())) {
+        moov = box;
+      }
+    }
+    if (ftyp == null || moov == null) {
+      return false;
+    }
+    audioHeader.setBrand(readFtyp(channel, ftyp));
+    return readAudioHeader(channel, moov) && readTag(channel, moov);
+  }
+
+  private static String readFtyp(FileChannel channel, Box ftyp) throws IOException, CannotReadException {
+    final Mp4FtypBox box = new Mp4FtypBox(createHeader(channel, ftyp), readData(channel, ftyp));
+    box.processData();
+    return box.getMajorBrand();
+  }
+
+  /**
+   * Fills the audio header like <code>Mp4InfoReader</code> from the movie header and
+   * the first track, which must be a sound track. The further tracks may be chapters,
+   * but no video.
+   */
+  private boolean readAudioHeader(FileChannel channel, Box moov) throws IOException, CannotReadException {
+    final Box mvhd = findBox(channel, moov, "mvhd");
+    final Box trak = findBox(channel, moov, "trak");
+    final Box mdia = findBox(channel, trak, "mdia");
+    final Box mdhd = findBox(channel, mdia, "mdhd");
+    final Box minf = findBox(channel, mdia, "minf");
+    if (mvhd == null || mdhd == null || minf == null || findBox(channel, minf, "smhd") == null) {
+      return false;
+    }
+    audioHeader.setPreciseLength(new Mp4MvhdBox(createHeader(channel, mvhd), readData(channel, mvhd)).getPreciseLength());
+    audioHeader.setSamplingRate(new Mp4MdhdBox(createHeader(channel, mdhd), readData(channel, mdhd)).getSampleRate());
+    final Box stbl = findBox(channel, minf, "stbl");
+    if (stbl == null) {
+      return false;
+    }
+    final Box stsd = findBox(channel, stbl, "stsd");
+    if (stsd != null) {
+      readSampleDescription(createHeader(channel, stsd), readData(channel, stsd));
+    }
+    if (audioHeader.getChannelNumber() == -1) {
+      audioHeader.setChannelNumber(2);
+    }
+    if (audioHeader.getBitRateAsNumber() == -1) {
+      audioHeader.setBitRate(128);
+    }
+    if (audioHeader.getBitsPerSample() == -1) {
+      audioHeader.setBitsPerSample(16);
+    }
+    if (audioHeader.getEncodingType().isEmpty()) {
+      audioHeader.setEncodingType(EncoderType.AAC.getDescription());
+    }
+    audioHeader.setFormat(audioHeader.getEncodingType());
+    for (Box box = readBox(channel, trak.end(), moov.end()); box != null; box = readBox(channel, box.end(), moov.end())) {
+      if ("trak".equals(box.id()) && isVideoTrack(channel, box)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void readSampleDescription(Mp4BoxHeader stsdHeader, ByteBuffer stsd) throws IOException, CannotReadException {
+    new Mp4StsdBox(stsdHeader, stsd).processData();
+    final int position = stsd.position();
+    Mp4BoxHeader header = Mp4BoxHeader.seekWithinLevel(stsd, "mp4a");
+    if (header != null) {
+      final ByteBuffer mp4a = stsd.slice();
+      new Mp4Mp4aBox(header, mp4a).processData();
+      header = Mp4BoxHeader.seekWithinLevel(mp4a, "esds");
+      if (header != null) {
+        setEsds(new Mp4EsdsBox(header, mp4a.slice()), EncoderType.AAC);
+      }
+      return;
+    }
+    stsd.position(position);
+    header = Mp4BoxHeader.seekWithinLevel(stsd, "drms");
+    if (header != null) {
+      new Mp4DrmsBox(header, stsd).processData();
+      header = Mp4BoxHeader.seekWithinLevel(stsd, "esds");
+      if (header != null) {
+        setEsds(new Mp4EsdsBox(header, stsd.slice()), EncoderType.DRM_AAC);
+      }
+      return;
+    }
+    stsd.position(position);
+    header = Mp4BoxHeader.seekWithinLevel(stsd, "alac");
+    if (header != null) {
+      new Mp4AlacBox(header, stsd).processData();
+      header = Mp4BoxHeader.seekWithinLevel(stsd, "alac");
+      if (header != null) {
+        final Mp4AlacBox alac = new Mp4AlacBox(header, stsd);
+        alac.processData();
+        audioHeader.setEncodingType(EncoderType.APPLE_LOSSLESS.getDescription());
+        audioHeader.setChannelNumber(alac.getChannels());
+        audioHeader.setBitRate(alac.getBitRate() / Utils.KILOBYTE_MULTIPLIER);
+        audioHeader.setBitsPerSample(alac.getSampleSize());
+      }
+    }
+  }
+
+  private void setEsds(Mp4EsdsBox esds, EncoderType encoderType) {
+    audioHeader.setBitRate(esds.getAvgBitrate() / Utils.KILOBYTE_MULTIPLIER);
+    audioHeader.setChannelNumber(esds.getNumberOfChannels());
+    audioHeader.setKind(esds.getKind());
+    audioHeader.setProfile(esds.getAudioProfile());
+    audioHeader.setEncodingType(encoderType.getDescription());
+  }
+
+  private static boolean isVideoTrack(FileChannel channel, Box trak) throws IOException {
+    final Box mdia = findBox(channel, trak, "mdia");
+    final Box minf = findBox(channel, mdia, "minf");
+    return findBox(channel, mdia, "mdhd") != null && findBox(channel, minf, "vmhd") != null;
+  }
+
+  /**
+   * Reads the ilst items like <code>Mp4TagReader</code>, except the image data of the covr items.
+   */
+  private boolean readTag(FileChannel channel, Box moov) throws IOException, CannotReadException {
+    final Box udta = findBox(channel, moov, "udta");
+    final Box meta = findBox(channel, udta != null ? udta : moov, "meta");
+    if (meta == null) {
+      return true;
+    }
+    if (meta.dataLength() < FULL_BOX_FLAGS_LENGTH || readFully(channel, meta.dataStart(), 1).get(0) != 0) {
+      return false;
+    }
+    final Box ilst = findBox(channel, new Box(meta.id(), meta.start(), meta.dataStart() + FULL_BOX_FLAGS_LENGTH, meta.end()), "ilst");
+    if (ilst == null) {
+      return true;
+    }
+    for (Box item = readBox(channel, ilst.dataStart(), ilst.end()); item != null; item = readBox(channel, item.end(), ilst.end())) {
+      if (Mp4FieldKey.ARTWORK.getFieldName().equals(item.id())) {
+        readCovers(channel, item);
+      } else if (!readField(channel, item)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void readCovers(FileChannel channel, Box covr) throws IOException {
+    for (Box box = readBox(channel, covr.dataStart(), covr.end()); box != null; box = readBox(channel, box.end(), covr.end())) {
+      if ("data".equals(box.id()) && box.dataLength() >= COVER_DATA_OFFSET) {
+        final ByteBuffer flags = readFully(channel, box.dataStart(), 4);
+        final int type = ((flags.get(1) & 0xFF) << 16) | ((flags.get(2) & 0xFF) << 8) | (flags.get(3) & 0xFF);
+        covers.add(new Cover(Mp4FieldType.getFieldType(type), box.dataStart() + COVER_DATA_OFFSET,
+            toLength(box.dataLength() - COVER_DATA_OFFSET)));
+      }
+    }
+  }
+
+  /**
+   * Creates the field of an ilst item by the same rules as <code>Mp4TagReader</code>.
+   *
+   * @return false, if the item contains image data, which isn't a covr item
+   */
+  private boolean readField(FileChannel channel, Box item) throws IOException {
+    final ByteBuffer buffer = readFully(channel, item.start(), toLength(item.end() - item.start()));
+    final Mp4BoxHeader header = new Mp4BoxHeader(buffer);
+    final ByteBuffer raw = buffer.slice();
+    final String id = header.getId();
+    if ("----".equals(id)) {
+      try {
+        tag.addField(new Mp4TagReverseDnsField(header, raw));
+      } catch (Exception e) {
+        tag.addField(new Mp4TagRawBinaryField(header, raw));
+      }
+      return true;
+    }
+    if (raw.remaining() < 16 || !"data".equals(Utils.getString(raw, 4, 4, StandardCharsets.ISO_8859_1))) {
+      tag.addField(new Mp4TagRawBinaryField(header, raw));
+      return true;
+    }
+    raw.position(0);
+    final Mp4FieldType fieldType = Mp4FieldType.getFieldType(Utils.getIntBE(raw, 9, 11));
+    if (Mp4FieldKey.TRACK.getFieldName().equals(id)) {
+      tag.addField(new Mp4TrackField(id, raw));
+    } else if (Mp4FieldKey.DISCNUMBER.getFieldName().equals(id)) {
+      tag.addField(new Mp4DiscNoField(id, raw));
+    } else if (Mp4FieldKey.GENRE.getFieldName().equals(id)) {
+      tag.addField(new Mp4GenreField(id, raw));
+    } else if (Mp4FieldType.isCoverArtType(fieldType)) {
+      return false;
+    } else if (fieldType == Mp4FieldType.TEXT) {
+      tag.addField(new Mp4TagTextField(id, raw));
+    } else if (fieldType == Mp4FieldType.IMPLICIT) {
+      tag.addField(new Mp4TagTextNumberField(id, raw));
+    } else if (fieldType == Mp4FieldType.INTEGER) {
+      tag.addField(new Mp4TagByteField(id, raw));
+    } else if (!isKnownField(id)) {
+      tag.addField(new Mp4TagBinaryField(id, raw));
+    }
+    return true;
+  }
+
+  /**
+   * Known fields with an unexpected type are ignored, unknown fields are kept as binary fields.
+   */
+  private static boolean isKnownField(String id) {
+    for (Mp4FieldKey key : Mp4FieldKey.values()) {
+      if (key.getFieldName().equals(id)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Mp4BoxHeader createHeader(FileChannel channel, Box box) throws IOException {
+    return new Mp4BoxHeader(readFully(channel, box.start(), BOX_HEADER_LENGTH));
+  }
+
+  private static ByteBuffer readData(FileChannel channel, Box box) throws IOException {
+    return readFully(channel, box.dataStart(), toLength(box.dataLength()));
+  }
+
+  private static int toLength(long length) throws EOFException {
+    if (length > Integer.MAX_VALUE) {
+      throw new EOFException("Box length %d exceeds the buffer size".formatted(length));
+    }
+    return (int) length;
+  }
+
+  /**
+   * Returns the first child box with the given id.
+   *
+   * @param parent the parent box or null
+   * @return the child box or null
+   */
+  private static Box findBox(FileChannel channel, Box parent, String id) throws IOException {
+    if (parent == null) {
+      return null;
+    }
+    for (Box box = readBox(channel, parent.dataStart(), parent.end()); box != null; box = readBox(channel, box.end(), parent.end())) {
+      if (id.equals(box.id())) {
+        return box;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Reads the box header at the given position. Supports 64 bit sizes and a size of 0,
+   * which extends the box to the end of its parent.
+   *
+   * @return the box or null, if there is no further box before the limit
+   */
+  private static Box readBox(FileChannel channel, long position, long limit) throws IOException {
+    if (position + BOX_HEADER_LENGTH > limit) {
+      return null;
+    }
+    final ByteBuffer header = readFully(channel, position, BOX_HEADER_LENGTH);
+    long size = header.getInt(0) & 0xFFFFFFFFL;
+    final String id = new String(header.array(), 4, 4, StandardCharsets.ISO_8859_1);
+    long dataStart = position + BOX_HEADER_LENGTH;
+    if (size == 1) {
+      size = readFully(channel, dataStart, 8).getLong(0);
+      dataStart += 8;
+    } else if (size == 0) {
+      size = limit - position;
+    }
+    if (size < dataStart - position || size > limit - position) {
+      throw new EOFException("Invalid size %d of box '%s' at position %d".formatted(size, id, position));
+    }
+    return new Box(id, position, dataStart, position + size);
+  }
+
+  private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new EOFException("Unexpected end of file at position " + (position + buffer.position()));
+      }
+    }
+    return buffer.rewind();
+  }
+}
@@ -233,6 +233,77 @@ public class NTagProperties {
     return preferences.getInteger("Scanner", "files", 1000);
   }
 
+  public int getScannerThreads() {
+    return Math.max(1, preferences.getInteger("Scanner", "threads", 4));
+  }
+
+  public boolean isProgressiveLoading() {
+    return preferences.getBoolean("Scanner", "progressive", true);
+  }
+
+  public boolean isTagsFirst() {
+    return preferences.getBoolean("Scanner", "tags_first", false);
+  }
+
+  public boolean isFastID3v2() {
+    return preferences.getBoolean("Scanner", "fast_id3v2", false);
+  }
+
+  public boolean isFastFlac() {
+    return preferences.getBoolean("Scanner", "fast_flac", true);
+  }
+
+  public boolean isFastMp4() {
+    return preferences.getBoolean("Scanner", "fast_mp4", true);
+  }
+
+  public boolean isReleaseAudioFile() {
+    return preferences.getBoolean("Scanner", "release_audiofile", true);
+  }
+
+  public boolean isWindowedLoading() {
+    return preferences.getBoolean("Scanner", "windowed", false);
+  }
+
+  public int getWindowedPrefetch() {
+    return Math.max(0, preferences.getInteger("Scanner", "windowed_prefetch", 50));
+  }
+
+  public boolean isWatchDirectories() {
+    return preferences.getBoolean("Scanner", "watch_directories", true);
+  }
+
+  public int getWatchDebounceMillis() {
+    return Math.max(0, preferences.getInteger("Scanner", "watch_debounce", 500));
+  }
+
+  public int getWriterThreads() {
+    return Math.max(1, preferences.getInteger("Writer", "threads", 4));
+  }
+
+  public int getWritersPerDevice() {
+    return Math.max(1, preferences.getInteger("Writer", "threads_per_device", 1));
+  }
+
+  public PaddingPolicy getPaddingPolicy() {
+    int minPadding = Math.max(0, preferences.getInteger("Writer", "padding_min_kb", 16)) * 1024;
+    int maxPadding = Math.max(minPadding, preferences.getInteger("Writer", "padding_max_kb", 64) * 1024);
+    int percent = Math.max(0, preferences.getInteger("Writer", "padding_percent", 10));
+    return new PaddingPolicy(minPadding, maxPadding, percent);
+  }
+
+  public boolean isTagCacheEnabled() {
+    return preferences.getBoolean("Cache", "enabled", true);
+  }
+
+  public int getTagCacheMaxEntries() {
+    return Math.max(0, preferences.getInteger("Cache", "entries", 50000));
+  }
+
+  public int getArtworkCacheMegabytes() {
+    return Math.max(0, preferences.getInteger("Cache", "artwork_mb", 64));
+  }
+
   public boolean isID3v11() {
     return preferences.getBoolean("MP3", "ID3v11", false);
   }
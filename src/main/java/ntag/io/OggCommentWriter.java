@@ -0,0 +1,204 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.io;
+
+import org.jaudiotagger.audio.ogg.OggVorbisCommentTagCreator;
+import org.jaudiotagger.audio.ogg.util.OggCRCFactory;
+import org.jaudiotagger.tag.Tag;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Overwrites the comment header of an Ogg Vorbis file in place. jaudiotagger always
+ * copies the whole file, because a comment header of another size changes the page
+ * layout and all following pages must be renumbered. If the new comment header isn't
+ * larger than the existing one, it is padded with zero bytes behind the framing bit to
+ * the existing size, so the pages keep their segment tables and only the page data and
+ * the checksums of the header pages are overwritten.<br>
+ * <br>
+ * A larger comment header can't be written in place, <code>write</code> returns a layout,
+ * which isn't in place, and the caller falls back to jaudiotagger. Files with an unexpected
+ * page structure are not written, <code>write</code> returns null for them.
+ */
+final class OggCommentWriter {
+
+  public static final Logger LOGGER = Logger.getLogger(OggCommentWriter.class.getName());
+
+  private static final int PAGE_HEADER_LENGTH = 27;
+  private static final int CRC_OFFSET = 22;
+  private static final int SERIAL_OFFSET = 14;
+  private static final int CONTINUED_PACKET_FLAG = 0x01;
+  private static final int COMMENT_HEADER_TYPE = 3;
+  private static final int MAX_LACING_VALUE = 255;
+
+  private record Page(long start, int serial, int flags, byte[] segments, long dataStart, long end) {
+  }
+
+  private record Span(long position, int length) {
+  }
+
+  private OggCommentWriter() {
+  }
+
+  /**
+   * Writes the given tag to the Ogg Vorbis file, if the new comment header fits into the existing one.
+   *
+   * @param filePath the absolut path of the Ogg Vorbis file
+   * @param tag      the tag to write
+   * @return the layout of the comment header or null, if the file must be written by jaudiotagger
+   * @throws IOException on IO Errors
+   */
+  static TagLayout write(final Path filePath, final Tag tag) throws IOException {
+    if (filePath == null) {
+      throw new IllegalArgumentException("filePath cannot be null");
+    }
+    if (tag == null) {
+      throw new IllegalArgumentException("tag cannot be null");
+    }
+    try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      // the first page contains only the identification header
+      final Page first = readPage(channel, 0);
+      if (first == null) {
+        return null;
+      }
+      final List<Page> headerPages = new ArrayList<>();
+      final List<Span> commentSpans = new ArrayList<>();
+      if (!readHeaderPages(channel, first, headerPages, commentSpans)) {
+        LOGGER.fine(() -> "Unsupported page structure in " + filePath);
+        return null;
+      }
+      final int availableSize = commentSpans.stream().mapToInt(Span::length).sum();
+      final ByteBuffer header = readFully(channel, commentSpans.getFirst().position(), 1);
+      if (header.get(0) != COMMENT_HEADER_TYPE) {
+        return null;
+      }
+      final ByteBuffer comment = new OggVorbisCommentTagCreator().convert(tag);
+      final int requiredSize = comment.limit();
+      if (requiredSize > availableSize) {
+        return new TagLayout("Vorbis comment", requiredSize, availableSize, requiredSize);
+      }
+      // pad the comment header with zero bytes behind the framing bit
+      final ByteBuffer padded = ByteBuffer.allocate(availableSize).put(comment.rewind()).rewind();
+      for (Span span : commentSpans) {
+        padded.limit(padded.position() + span.length());
+        long pos = span.position();
+        while (padded.hasRemaining()) {
+          pos += channel.write(padded, pos);
+        }
+      }
+      for (Page page : headerPages) {
+        updateChecksum(channel, page);
+      }
+      return new TagLayout("Vorbis comment", requiredSize, availableSize, availableSize);
+    } catch (EOFException e) {
+      LOGGER.log(Level.FINE, "Invalid Ogg page in " + filePath, e);
+      return null;
+    }
+  }
+
+  // ***
+  //
+  // hidden implementation
+  //
+  // ***
+
+  /**
+   * Reads the pages of the comment and setup headers behind the first page and collects
+   * the file positions of the comment header. The setup header must end its page.
+   *
+   * @return false, if the page structure is not supported
+   */
+  private static boolean readHeaderPages(FileChannel channel, Page first, List<Page> headerPages,
+                                         List<Span> commentSpans) throws IOException {
+    long pos = first.end();
+    int packet = 0;
+    while (packet < 2) {
+      final Page page = readPage(channel, pos);
+      if (page == null || page.serial() != first.serial()
+          || (headerPages.isEmpty() && (page.flags() & CONTINUED_PACKET_FLAG) != 0)) {
+        return false;
+      }
+      headerPages.add(page);
+      long dataPos = page.dataStart();
+      final byte[] segments = page.segments();
+      for (int i = 0; i < segments.length; i++) {
+        if (packet == 2) {
+          // audio data on the last header page
+          return false;
+        }
+        final int length = segments[i] & 0xFF;
+        if (packet == 0 && length > 0) {
+          commentSpans.add(new Span(dataPos, length));
+        }
+        dataPos += length;
+        if (length < MAX_LACING_VALUE) {
+          packet++;
+        }
+      }
+      pos = page.end();
+    }
+    return !commentSpans.isEmpty();
+  }
+
+  private static Page readPage(FileChannel channel, long start) throws IOException {
+    final ByteBuffer header = readFully(channel, start, PAGE_HEADER_LENGTH);
+    if (header.get(0) != 'O' || header.get(1) != 'g' || header.get(2) != 'g' || header.get(3) != 'S') {
+      return null;
+    }
+    final int serial = header.order(ByteOrder.LITTLE_ENDIAN).getInt(SERIAL_OFFSET);
+    final int count = header.get(PAGE_HEADER_LENGTH - 1) & 0xFF;
+    final byte[] segments = readFully(channel, start + PAGE_HEADER_LENGTH, count).array();
+    long length = 0;
+    for (byte segment : segments) {
+      length += segment & 0xFF;
+    }
+    final long dataStart = start + PAGE_HEADER_LENGTH + count;
+    return new Page(start, serial, header.get(5) & 0xFF, segments, dataStart, dataStart + length);
+  }
+
+  private static void updateChecksum(FileChannel channel, Page page) throws IOException {
+    final ByteBuffer bytes = readFully(channel, page.start(), (int) (page.end() - page.start()));
+    bytes.putInt(CRC_OFFSET, 0);
+    final ByteBuffer crc = ByteBuffer.wrap(OggCRCFactory.computeCRC(bytes.array()));
+    while (crc.hasRemaining()) {
+      channel.write(crc, page.start() + CRC_OFFSET + crc.position());
+    }
+  }
+
+  private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new EOFException("Unexpected end of file at position " + (position + buffer.position()));
+      }
+    }
+    return buffer;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.io;
+
+/**
+ * Decides how much free space is reserved behind a tag, when the tag has to be
+ * rewritten together with the whole audiofile. The padding is a percentage of
+ * the tag size, limited to a minimum and a maximum, so later edits like
+ * additional lyrics or a larger cover fit into the reserved space and only the
+ * tag region has to be overwritten.
+ *
+ * @param minPadding minimum padding in bytes
+ * @param maxPadding maximum padding in bytes
+ * @param percent    padding as percentage of the tag size
+ */
+public record PaddingPolicy(int minPadding, int maxPadding, int percent) {
+
+  public static final PaddingPolicy DEFAULT = new PaddingPolicy(16 * 1024, 64 * 1024, 10);
+
+  public PaddingPolicy {
+    if (minPadding < 0) {
+      throw new IllegalArgumentException("minPadding cannot be negative");
+    }
+    if (maxPadding < minPadding) {
+      throw new IllegalArgumentException("maxPadding cannot be less than minPadding");
+    }
+    if (percent < 0) {
+      throw new IllegalArgumentException("percent cannot be negative");
+    }
+  }
+
+  /**
+   * @param tagSize size of the tag without padding
+   * @return the padding for a tag of the given size
+   */
+  public int getPadding(int tagSize) {
+    long padding = (long) tagSize * percent / 100;
+    return (int) Math.min(maxPadding, Math.max(minPadding, padding));
+  }
+
+  /**
+   * Returns the size of the tag including its padding. A tag, which fits into the
+   * available space, keeps that space and can be written in place.
+   *
+   * @param requiredSize  size of the tag without padding
+   * @param availableSize space of the existing tag including its padding
+   * @return the size of the tag to write
+   */
+  public int getTagSize(int requiredSize, int availableSize) {
+    if (requiredSize <= availableSize) {
+      return availableSize;
+    }
+    return (int) Math.min(Integer.MAX_VALUE, (long) requiredSize + getPadding(requiredSize));
+  }
+}
@@ -0,0 +1,410 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.io;
+
+import ntag.io.util.ImageUtil.ImageType;
+import ntag.model.ArtworkTag;
+import ntag.model.AudioFormat;
+import ntag.model.ReadEvent;
+import ntag.model.TagRecord;
+
+import java.awt.Dimension;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Persistent cache of the metadata and header informations read from audiofiles.
+ * An entry is only valid as long as size and last modified time of the audiofile
+ * are unchanged. The least recently used entries are evicted, if the cache exceeds
+ * the maximum number of entries. Artwork data is not cached, only its descriptor, the
+ * data is read from the audiofile on first access.
+ */
+public class TagCache {
+
+  public static final Logger LOGGER = Logger.getLogger(TagCache.class.getName());
+
+  public static final String CACHE_FILENAME = "tagcache.bin";
+
+  private static final int MAGIC = 0x4E544147; // NTAG
+  private static final int VERSION = 4;
+
+  // ***
+  //
+  // Instance Attributes
+  //
+  // ***
+
+  private final Path cacheFile;
+  private final int maxEntries;
+  private final LinkedHashMap<String, Entry> entries;
+  private boolean loaded;
+  private boolean modified;
+
+  // ***
+  //
+  // Construction
+  //
+  // ***
+
+  public TagCache(Path cacheFile, int maxEntries) {
+    if (cacheFile == null) {
+      throw new IllegalArgumentException("cacheFile cannot be null");
+    }
+    if (maxEntries < 0) {
+      throw new IllegalArgumentException("maxEntries cannot be negative");
+    }
+    this.cacheFile = cacheFile;
+    this.maxEntries = maxEntries;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        return size() > TagCache.this.maxEntries;
+      }
+    };
+  }
+
+  // ***
+  //
+  // public API
+  //
+  // ***
+
+  public Path getCacheFile() {
+    return cacheFile;
+  }
+
+  /**
+   * Returns a new <code>TagRecord</code> restored from the cache or null, if the file
+   * is not cached or has been changed since it was cached. Only the metadata and header
+   * informations are restored, the file informations must be filled by the caller.
+   *
+   * @param path the absolut path of the media file
+   * @param attr the current attributes of the media file
+   * @return TagRecord or null
+   */
+  public TagRecord get(Path path, BasicFileAttributes attr) {
+    final String key = path.toString();
+    final Entry entry;
+    synchronized (this) {
+      ensureLoaded();
+      entry = entries.get(key);
+      if (entry == null) {
+        return null;
+      }
+      if (entry.size() != attr.size() || entry.modified() != attr.lastModifiedTime().toMillis()) {
+        entries.remove(key);
+        modified = true;
+        return null;
+      }
+    }
+    try {
+      return readTagRecord(path, entry.data());
+    } catch (IOException | RuntimeException e) {
+      LOGGER.log(Level.WARNING, "Invalid cache entry for file " + key, e);
+      remove(path);
+      return null;
+    }
+  }
+
+  /**
+   * Adds or replaces the cache entry of the given <code>TagRecord</code>.
+   *
+   * @param tagRecord the TagRecord to cache
+   * @param attr    the attributes of the media file at the time it was read
+   */
+  public void put(TagRecord tagRecord, BasicFileAttributes attr) {
+    final byte[] data;
+    try {
+      data = writeTagRecord(tagRecord);
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Cannot cache file " + tagRecord.getPath(), e);
+      return;
+    }
+    synchronized (this) {
+      ensureLoaded();
+      entries.put(tagRecord.getPath().toString(), new Entry(attr.size(), attr.lastModifiedTime().toMillis(), data));
+      modified = true;
+    }
+  }
+
+  public synchronized void remove(Path path) {
+    ensureLoaded();
+    if (entries.remove(path.toString()) != null) {
+      modified = true;
+    }
+  }
+
+  public synchronized void clear() {
+    entries.clear();
+    loaded = true;
+    modified = true;
+  }
+
+  public synchronized int size() {
+    ensureLoaded();
+    return entries.size();
+  }
+
+  /**
+   * Writes the cache to disk, if it has been modified since it was loaded.
+   *
+   * @throws IOException on IO Errors
+   */
+  public synchronized void save() throws IOException {
+    if (!modified) {
+      return;
+    }
+    Path tempFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(entries.size());
+      for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+        Entry entry = mapEntry.getValue();
+        out.writeUTF(mapEntry.getKey());
+        out.writeLong(entry.size());
+        out.writeLong(entry.modified());
+        out.writeInt(entry.data().length);
+        out.write(entry.data());
+      }
+    }
+    Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+    modified = false;
+    if (LOGGER.isLoggable(Level.INFO)) {
+      LOGGER.info("Saved %d entries to tag cache %s".formatted(entries.size(), cacheFile));
+    }
+  }
+
+  // ***
+  //
+  // hidden implementation
+  //
+  // ***
+
+  private void ensureLoaded() {
+    if (loaded) {
+      return;
+    }
+    loaded = true;
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Unknown file format");
+      }
+      int version = in.readInt();
+      if (version != VERSION) {
+        LOGGER.info("Discarding tag cache with version %d".formatted(version));
+        modified = true;
+        return;
+      }
+      int count = in.readInt();
+      for (int i = 0; i < count; i++) {
+        String key = in.readUTF();
+        long size = in.readLong();
+        long lastModified = in.readLong();
+        byte[] data = new byte[in.readInt()];
+        in.readFully(data);
+        entries.put(key, new Entry(size, lastModified, data));
+      }
+      if (LOGGER.isLoggable(Level.INFO)) {
+        LOGGER.info("Loaded %d entries from tag cache %s".formatted(entries.size(), cacheFile));
+      }
+    } catch (NoSuchFileException e) {
+      // first start or cache has been deleted
+    } catch (IOException | RuntimeException e) {
+      LOGGER.log(Level.WARNING, "Discarding invalid tag cache " + cacheFile, e);
+      entries.clear();
+      modified = true;
+    }
+  }
+
+  private static byte[] writeTagRecord(TagRecord tagRecord) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream(512);
+    DataOutputStream out = new DataOutputStream(bos);
+    // header
+    writeString(out, tagRecord.getAudioFormat() == null ? null : tagRecord.getAudioFormat().name());
+    out.writeBoolean(tagRecord.isVbr());
+    out.writeBoolean(tagRecord.isLossless());
+    out.writeLong(tagRecord.getBitrate());
+    out.writeLong(tagRecord.getSamplingRate());
+    out.writeLong(tagRecord.getPlaytime());
+    writeString(out, tagRecord.getChannels());
+    writeString(out, tagRecord.getCodec());
+    writeString(out, tagRecord.getEncoder());
+    writeString(out, tagRecord.getTaggingSystem());
+    // the file informations are created on first access, only the events are cached
+    out.writeInt(tagRecord.getEvents().size());
+    for (ReadEvent event : tagRecord.getEvents()) {
+      out.writeUTF(event.type().name());
+      writeString(out, event.subject());
+      writeString(out, event.value());
+      writeString(out, event.detail());
+    }
+    // metadata
+    writeString(out, tagRecord.getTitle());
+    writeString(out, tagRecord.getArtist());
+    writeString(out, tagRecord.getAlbum());
+    writeString(out, tagRecord.getAlbumArtist());
+    writeString(out, tagRecord.getComposer());
+    writeString(out, tagRecord.getGenre());
+    writeString(out, tagRecord.getComment());
+    writeString(out, tagRecord.getLanguage());
+    writeString(out, tagRecord.getLyrics());
+    writeInteger(out, tagRecord.getYear());
+    writeInteger(out, tagRecord.getTrack());
+    writeInteger(out, tagRecord.getTrackTotal());
+    writeInteger(out, tagRecord.getDisc());
+    writeInteger(out, tagRecord.getDiscTotal());
+    writeInteger(out, tagRecord.getRating());
+    out.writeBoolean(tagRecord.getDate() != null);
+    if (tagRecord.getDate() != null) {
+      out.writeLong(tagRecord.getDate().toEpochDay());
+    }
+    out.writeBoolean(tagRecord.isCompilation());
+    out.writeBoolean(tagRecord.isSingleArtwork());
+    // artwork
+    ArtworkTag artwork = tagRecord.getArtwork();
+    // a lazily located picture is stored without its hash, so its data isn't read
+    final boolean hashPending = artwork != null && artwork.isImageHashPending();
+    out.writeBoolean(artwork != null && (hashPending || artwork.getImageHash() != null));
+    if (artwork != null && (hashPending || artwork.getImageHash() != null)) {
+      out.writeUTF(artwork.getImageType().name());
+      out.writeBoolean(hashPending);
+      if (!hashPending) {
+        out.writeInt(artwork.getImageHash().length);
+        out.write(artwork.getImageHash());
+      }
+      out.writeInt(artwork.getSize());
+      Dimension dimension = hashPending ? artwork.getKnownDimension() : artwork.getDimension();
+      out.writeInt(dimension == null ? 0 : dimension.width);
+      out.writeInt(dimension == null ? 0 : dimension.height);
+    }
+    out.flush();
+    return bos.toByteArray();
+  }
+
+  private static TagRecord readTagRecord(Path path, byte[] data) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+    final TagRecord tagRecord = new TagRecord();
+    tagRecord.setPath(path);
+    // header
+    String audioFormat = readString(in);
+    tagRecord.setAudioFormat(audioFormat == null ? null : AudioFormat.valueOf(audioFormat));
+    tagRecord.setVbr(in.readBoolean());
+    tagRecord.setLossless(in.readBoolean());
+    tagRecord.setBitrate(in.readLong());
+    tagRecord.setSamplingRate(in.readLong());
+    tagRecord.setPlaytime(in.readLong());
+    tagRecord.setChannels(readString(in));
+    tagRecord.setCodec(readString(in));
+    tagRecord.setEncoder(readString(in));
+    tagRecord.setTaggingSystem(readString(in));
+    tagRecord.setInfosLoader(TagFileReader::readInfos);
+    int eventCount = in.readInt();
+    for (int i = 0; i < eventCount; i++) {
+      tagRecord.addEvent(new ReadEvent(ReadEvent.Type.valueOf(in.readUTF()), readString(in), readString(in), readString(in)));
+    }
+    // metadata
+    tagRecord.setTitle(readString(in));
+    tagRecord.setArtist(readString(in));
+    tagRecord.setAlbum(readString(in));
+    tagRecord.setAlbumArtist(readString(in));
+    tagRecord.setComposer(readString(in));
+    tagRecord.setGenre(readString(in));
+    tagRecord.setComment(readString(in));
+    tagRecord.setLanguage(readString(in));
+    tagRecord.setLyrics(readString(in));
+    tagRecord.setYear(readInteger(in));
+    tagRecord.setTrack(readInteger(in));
+    tagRecord.setTrackTotal(readInteger(in));
+    tagRecord.setDisc(readInteger(in));
+    tagRecord.setDiscTotal(readInteger(in));
+    tagRecord.setRating(readInteger(in));
+    tagRecord.setDate(in.readBoolean() ? LocalDate.ofEpochDay(in.readLong()) : null);
+    tagRecord.setCompilation(in.readBoolean());
+    tagRecord.setSingleArtwork(in.readBoolean());
+    // artwork
+    if (in.readBoolean()) {
+      ImageType imageType = ImageType.valueOf(in.readUTF());
+      boolean hashPending = in.readBoolean();
+      byte[] imageHash = null;
+      if (!hashPending) {
+        imageHash = new byte[in.readInt()];
+        in.readFully(imageHash);
+      }
+      int size = in.readInt();
+      Dimension dimension = new Dimension(in.readInt(), in.readInt());
+      ArtworkTag.Loader loader = () -> TagFileReader.readArtworkData(tagRecord);
+      tagRecord.setArtwork(hashPending ? new ArtworkTag(imageType, size, dimension, loader)
+          : new ArtworkTag(imageHash, imageType, size, dimension, loader));
+    }
+    tagRecord.clearChangedFields();
+    return tagRecord;
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+    } else {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeInt(value);
+    }
+  }
+
+  private static Integer readInteger(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readInt() : null;
+  }
+
+  private record Entry(long size, long modified, byte[] data) {
+  }
+}
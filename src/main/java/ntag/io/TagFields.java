@@ -0,0 +1,203 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.io;
+
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.TagField;
+import org.jaudiotagger.tag.id3.AbstractID3v2Frame;
+import org.jaudiotagger.tag.id3.ID3v23Tag;
+import org.jaudiotagger.tag.id3.ID3v24Tag;
+import org.jaudiotagger.tag.id3.TyerTdatAggregatedFrame;
+import org.jaudiotagger.tag.id3.framebody.AbstractFrameBodyNumberTotal;
+import org.jaudiotagger.tag.id3.framebody.AbstractFrameBodyTextInfo;
+import org.jaudiotagger.tag.id3.framebody.FrameBodyUnsupported;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The metadata values of an ID3v2 tag, which have been collected by iterating the frames
+ * once. Each frame is dispatched on its frame id, instead of resolving every
+ * <code>FieldKey</code> with a separate <code>Tag.getFirst</code> lookup, which maps the
+ * key and collects the values of the frame list each time. The values equal those of
+ * <code>Tag.getFirst</code>.<br>
+ * <br>
+ * Only ID3v23 and ID3v24 tags are dispatched. Other tags already keep their fields in
+ * a map by key (e.g. Vorbis comments), so for them and for keys, whose lookup has
+ * special cases in jaudiotagger (year, genre, rating), <code>getFirst</code> delegates
+ * to the tag.
+ */
+final class TagFields {
+
+  private final Tag tag;
+  private final Map<FieldKey, String> values = new EnumMap<>(FieldKey.class);
+  private final Map<String, AbstractID3v2Frame> dateFrames = new HashMap<>(8);
+  private final boolean id3;
+  private TyerTdatAggregatedFrame tyerTdatFrame;
+
+  private TagFields(Tag tag) {
+    this.tag = tag;
+    this.id3 = tag instanceof ID3v23Tag || tag instanceof ID3v24Tag;
+    if (id3) {
+      readID3Frames(tag.getFields());
+    }
+  }
+
+  /**
+   * Collects the values of the given tag.
+   *
+   * @param tag jaudiotagger tag
+   * @return the collected values
+   */
+  static TagFields read(Tag tag) {
+    if (tag == null) {
+      throw new IllegalArgumentException("tag cannot be null");
+    }
+    return new TagFields(tag);
+  }
+
+  /**
+   * Returns the first value of the given key like <code>Tag.getFirst</code>.
+   *
+   * @param key field key
+   * @return the value or an empty string
+   */
+  String getFirst(FieldKey key) {
+    if (!isDispatched(key)) {
+      return tag.getFirst(key);
+    }
+    return values.containsKey(key) ? values.get(key) : "";
+  }
+
+  Tag getTag() {
+    return tag;
+  }
+
+  /**
+   * Returns the first ID3 date frame (TDRL, TDOR, TDRC, TYER or TDAT) with the given
+   * id like <code>AbstractID3v2Tag.getFirstField</code>.
+   *
+   * @param id frame id
+   * @return the frame or null
+   */
+  AbstractID3v2Frame getDateFrame(String id) {
+    return dateFrames.get(id);
+  }
+
+  /**
+   * Returns true, if the ID3 date frame exists and its body is supported, like
+   * <code>AbstractID3v2Tag.hasFrameAndBody</code>.
+   *
+   * @param id frame id
+   * @return true, if the frame can be read
+   */
+  boolean hasDateFrameAndBody(String id) {
+    AbstractID3v2Frame frame = dateFrames.get(id);
+    return frame != null && !(frame.getBody() instanceof FrameBodyUnsupported);
+  }
+
+  /**
+   * @return the ID3v23 frame, which aggregates the TYER and TDAT frames, or null
+   */
+  TyerTdatAggregatedFrame getTyerTdatFrame() {
+    return tyerTdatFrame;
+  }
+
+  // ***
+  //
+  // hidden implementation
+  //
+  // ***
+
+  private boolean isDispatched(FieldKey key) {
+    return id3 && switch (key) {
+      case TITLE, ARTIST, ALBUM, ALBUM_ARTIST, COMPOSER, TRACK, TRACK_TOTAL, DISC_NO, DISC_TOTAL, COMMENT,
+           LYRICS, IS_COMPILATION, LANGUAGE -> true;
+      default -> false;
+    };
+  }
+
+  private void readID3Frames(Iterator<TagField> fields) {
+    while (fields.hasNext()) {
+      TagField field = fields.next();
+      if (field instanceof TyerTdatAggregatedFrame aggregatedFrame) {
+        if (tyerTdatFrame == null) {
+          tyerTdatFrame = aggregatedFrame;
+        }
+        continue;
+      }
+      if (!(field instanceof AbstractID3v2Frame frame)) {
+        continue;
+      }
+      switch (frame.getId()) {
+        case "TIT2" -> putFrameValue(FieldKey.TITLE, frame);
+        case "TPE1" -> putFrameValue(FieldKey.ARTIST, frame);
+        case "TALB" -> putFrameValue(FieldKey.ALBUM, frame);
+        case "TPE2" -> putFrameValue(FieldKey.ALBUM_ARTIST, frame);
+        case "TCOM" -> putFrameValue(FieldKey.COMPOSER, frame);
+        case "COMM" -> putFrameValue(FieldKey.COMMENT, frame);
+        case "USLT" -> putFrameValue(FieldKey.LYRICS, frame);
+        case "TCMP" -> putFrameValue(FieldKey.IS_COMPILATION, frame);
+        case "TLAN" -> putFrameValue(FieldKey.LANGUAGE, frame);
+        case "TRCK" -> putNumberTotal(FieldKey.TRACK, FieldKey.TRACK_TOTAL, frame);
+        case "TPOS" -> putNumberTotal(FieldKey.DISC_NO, FieldKey.DISC_TOTAL, frame);
+        case "TDRL", "TDOR", "TDRC", "TYER", "TDAT" -> dateFrames.putIfAbsent(frame.getId(), frame);
+        default -> {
+          // not used by the reader
+        }
+      }
+    }
+  }
+
+  /**
+   * Like <code>AbstractID3v2Tag.doGetValues</code>: the first value of the first frame,
+   * which has a value at all.
+   */
+  private void putFrameValue(FieldKey key, AbstractID3v2Frame frame) {
+    if (values.containsKey(key)) {
+      return;
+    }
+    if (frame.getBody() instanceof AbstractFrameBodyTextInfo body) {
+      List<String> frameValues = body.getValues();
+      if (!frameValues.isEmpty()) {
+        values.put(key, frameValues.getFirst());
+      }
+    } else {
+      values.put(key, frame.getBody().getUserFriendlyValue());
+    }
+  }
+
+  /**
+   * Like <code>AbstractID3v2Tag.getValue</code> for number and total fields, which
+   * are read from the first frame only.
+   */
+  private void putNumberTotal(FieldKey numberKey, FieldKey totalKey, AbstractID3v2Frame frame) {
+    if (values.containsKey(numberKey)) {
+      return;
+    }
+    AbstractFrameBodyNumberTotal body = (AbstractFrameBodyNumberTotal) frame.getBody();
+    values.put(numberKey, body.getNumberAsText());
+    values.put(totalKey, body.getTotalAsText());
+  }
+}
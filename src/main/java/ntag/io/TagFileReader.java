@@ -20,10 +20,16 @@
 package ntag.io;
 
 import ntag.NTagException;
+import ntag.commons.StringPool;
+import ntag.io.util.DateParser;
+import ntag.io.util.ImageUtil.ImageType;
 import ntag.io.util.RatingConverter;
 import ntag.model.ArtworkTag;
 import ntag.model.AudioFormat;
+import ntag.model.ReadEvent;
+import ntag.model.ReadEvent.Type;
 import ntag.model.TagFile;
+import ntag.model.TagRecord;
 import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.AudioHeader;
 import org.jaudiotagger.audio.mp3.MP3AudioHeader;
@@ -42,27 +48,24 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+/**
+ * Reads the metadata of audiofiles into <code>TagRecord</code>s. The reader keeps
+ * only its configuration, diagnostics of a read operation are stored as read events
+ * in the returned record. So a configured reader can be shared by several threads.
+ * Configure the reader before it is shared, the setters are not synchronized.
+ */
 public class TagFileReader {
 
   public static final Logger LOGGER = Logger.getLogger(TagFileReader.class.getName());
 
-  // ***
-  //
-  // Instance Attributes
-  //
-  // ***
-
-  private final List<DateTimeFormatter> TDRL_FRAME_FORMATTERS = new ArrayList<>();
+  private static final String[] ID3V24_DATE_FRAMES = {"TDRL", "TDOR", "TDRC"};
 
   // ***
   //
@@ -70,14 +73,6 @@ public class TagFileReader {
   //
   // ***
 
-  // *** Infos
-
-  private StringBuilder infos = null;
-
-  public StringBuilder getInfos() {
-    return infos;
-  }
-
   // *** TDRL: Release-Datum (ID3v24)
 
   private boolean useTDRL = false;
@@ -116,6 +111,90 @@ public class TagFileReader {
     this.useTDRC = useTDRC;
   }
 
+  // *** Tag Cache
+
+  private TagCache tagCache;
+
+  public TagCache getTagCache() {
+    return tagCache;
+  }
+
+  public void setTagCache(TagCache tagCache) {
+    this.tagCache = tagCache;
+  }
+
+  // *** Tags first: defer the MP3 audio header analysis
+
+  private boolean deferHeader = false;
+
+  public boolean isDeferHeader() {
+    return deferHeader;
+  }
+
+  public void setDeferHeader(boolean deferHeader) {
+    this.deferHeader = deferHeader;
+  }
+
+  // *** Release the AudioFile after reading
+
+  private boolean releaseAudioFile = false;
+
+  public boolean isReleaseAudioFile() {
+    return releaseAudioFile;
+  }
+
+  public void setReleaseAudioFile(boolean releaseAudioFile) {
+    this.releaseAudioFile = releaseAudioFile;
+  }
+
+  // *** Tags first: parse ID3v23/ID3v24 tags without jaudiotagger
+
+  private boolean fastID3v2 = false;
+
+  public boolean isFastID3v2() {
+    return fastID3v2;
+  }
+
+  public void setFastID3v2(boolean fastID3v2) {
+    this.fastID3v2 = fastID3v2;
+  }
+
+  // *** Read FLAC metadata blocks without jaudiotagger, if the AudioFile is released
+
+  private boolean fastFlac = true;
+
+  public boolean isFastFlac() {
+    return fastFlac;
+  }
+
+  public void setFastFlac(boolean fastFlac) {
+    this.fastFlac = fastFlac;
+  }
+
+  // *** Read MP4 boxes without jaudiotagger, if the AudioFile is released
+
+  private boolean fastMp4 = true;
+
+  public boolean isFastMp4() {
+    return fastMp4;
+  }
+
+  public void setFastMp4(boolean fastMp4) {
+    this.fastMp4 = fastMp4;
+  }
+
+  // *** String pool, which deduplicates the low cardinality values of a scan
+
+  private StringPool stringPool;
+
+  public StringPool getStringPool() {
+    return stringPool;
+  }
+
+  public void setStringPool(StringPool stringPool) {
+    this.stringPool = stringPool;
+  }
+
   // *** ID3 Rating Mail
 
   private String ratingEMail;
@@ -142,12 +221,10 @@ public class TagFileReader {
     setUseTDOR(appProps.isID3ReleaseDateTDOR());
     setUseTDRL(appProps.isID3ReleaseDateTDRL());
     setUseTDRC(appProps.isID3ReleaseDateTDRC());
-
-    // TDRC FORMATTER
-    TDRL_FRAME_FORMATTERS.add(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss", Locale.UK));
-    TDRL_FRAME_FORMATTERS.add(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm", Locale.UK));
-    TDRL_FRAME_FORMATTERS.add(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH", Locale.UK));
-    TDRL_FRAME_FORMATTERS.add(TagFileConst.ISO_DATE_FORMAT);
+    setReleaseAudioFile(appProps.isReleaseAudioFile());
+    setFastID3v2(appProps.isFastID3v2());
+    setFastFlac(appProps.isFastFlac());
+    setFastMp4(appProps.isFastMp4());
   }
 
   // ***
@@ -168,53 +245,192 @@ public class TagFileReader {
    * @throws IOException   on IO Errors
    */
   public TagFile createTagFile(Path filePath) throws NTagException, IOException {
-    infos = new StringBuilder(1000);
-    infos.append("Reading: '").append(filePath.getFileName()).append("' from ").append(filePath.getParent());
-    // call jaudiotagger API
-    final AudioFile audioFile = JAudiotaggerUtil.readAudioFile(filePath);
-    final TagFile tagFile = new TagFile();
-    tagFile.setPath(filePath);
-    tagFile.setAudioFile(audioFile);
+    return new TagFile(readTagRecord(filePath));
+  }
 
-    updateTagFile(tagFile, false);
+  /**
+   * Reads the metadata of an audiofile into a <code>TagRecord</code>, like
+   * <code>createTagFile</code>, but without any JavaFX property or status.
+   * Used by batch processing, which doesn't display the files.
+   *
+   * @param filePath the absolut path of the media file
+   * @return TagRecord
+   * @throws NTagException on Tagging Errors
+   * @throws IOException   on IO Errors
+   */
+  public TagRecord readTagRecord(Path filePath) throws NTagException, IOException {
+    BasicFileAttributes fileAttr = null;
+    if (tagCache != null) {
+      fileAttr = Files.readAttributes(filePath, BasicFileAttributes.class);
+      final TagRecord cachedRecord = tagCache.get(filePath, fileAttr);
+      if (cachedRecord != null) {
+        fillFileInformation(cachedRecord, fileAttr);
+        internStrings(cachedRecord);
+        log(cachedRecord, "cached");
+        return cachedRecord;
+      }
+    }
+    if (deferHeader && AudioFormat.getTypeByExtension(getExtension(filePath)) == AudioFormat.MP3) {
+      final TagRecord tagRecord = readTagRecordWithoutHeader(filePath, fileAttr);
+      internStrings(tagRecord);
+      tagRecord.clearChangedFields();
+      log(tagRecord, "header deferred");
+      return tagRecord;
+    }
+    TagRecord tagRecord = null;
+    if (releaseAudioFile) {
+      final AudioFormat audioFormat = AudioFormat.getTypeByExtension(getExtension(filePath));
+      if (fastFlac && audioFormat == AudioFormat.FLAC) {
+        tagRecord = readFlacTagRecord(filePath, fileAttr);
+      } else if (fastMp4 && audioFormat == AudioFormat.MP4) {
+        tagRecord = readMp4TagRecord(filePath, fileAttr);
+      }
+    }
+    if (tagRecord == null) {
+      // call jaudiotagger API
+      final AudioFile audioFile = JAudiotaggerUtil.readAudioFile(filePath);
+      tagRecord = new TagRecord();
+      tagRecord.setPath(filePath);
+      tagRecord.setAudioFile(audioFile);
+      updateTagRecord(tagRecord, false);
+    }
+    internStrings(tagRecord);
+    tagRecord.clearChangedFields();
 
-    if (LOGGER.isLoggable(Level.INFO)) {
-      LOGGER.info(infos.toString());
+    if (tagCache != null) {
+      tagCache.put(tagRecord, fileAttr);
+    }
+    if (releaseAudioFile) {
+      tagRecord.releaseAudioFile();
     }
-    return tagFile;
+
+    log(tagRecord, null);
+    return tagRecord;
   }
 
-  public void updateTagFile(final TagFile tagFile, boolean reload) throws IOException, NTagException {
-    if (infos == null) {
-      infos = new StringBuilder(1000);
+  /**
+   * Reads only the audio header of a file, whose tag has been read with a deferred
+   * header. The tag isn't parsed again: the returned record contains the metadata of
+   * the given record and the header informations, so that it is complete for the tag
+   * cache. The file is read completely, if it isn't a MP3 file or has been modified
+   * since the tag has been read.
+   *
+   * @param tagRecord record read with a deferred header
+   * @return a new record with the header informations
+   * @throws NTagException on Tagging Errors
+   * @throws IOException   on IO Errors
+   */
+  public TagRecord readAudioHeader(final TagRecord tagRecord) throws NTagException, IOException {
+    if (tagRecord == null) {
+      throw new IllegalArgumentException("tagRecord cannot be null");
+    }
+    final Path filePath = tagRecord.getPath();
+    final BasicFileAttributes fileAttr = Files.readAttributes(filePath, BasicFileAttributes.class);
+    if (tagCache != null) {
+      final TagRecord cachedRecord = tagCache.get(filePath, fileAttr);
+      if (cachedRecord != null) {
+        fillFileInformation(cachedRecord, fileAttr);
+        internStrings(cachedRecord);
+        log(cachedRecord, "cached");
+        return cachedRecord;
+      }
     }
+    if (tagRecord.getAudioFormat() != AudioFormat.MP3 || tagRecord.getSize() != fileAttr.size()
+        || tagRecord.getModifiedMillis() != fileAttr.lastModifiedTime().toMillis()) {
+      return readTagRecord(filePath);
+    }
+    final MP3AudioHeader header = JAudiotaggerUtil.readMP3AudioHeader(filePath);
+    final TagRecord headerRecord = new TagRecord();
+    headerRecord.setPath(filePath);
+    fillFileInformation(headerRecord, fileAttr);
+    headerRecord.copyFrom(tagRecord);
+    fillHeaderInformation(headerRecord, header);
+    headerRecord.setHeaderLoaded(true);
+    headerRecord.setInfosLoader(TagFileReader::readInfos);
+    internStrings(headerRecord);
+    // unsaved edits must not be cached as the content of the file
+    if (tagCache != null && !tagRecord.hasPendingChanges()) {
+      tagCache.put(headerRecord, fileAttr);
+    }
+    log(headerRecord, "header");
+    return headerRecord;
+  }
+
+  /**
+   * Creates a <code>TagFile</code>, which contains only the file informations of the
+   * given audiofile. Header informations and metadata must be added later with
+   * <code>TagFile.copyFrom</code>.
+   *
+   * @param filePath the absolut path of the media file
+   * @param fileAttr the attributes of the media file
+   * @return TagFile, which is not loaded
+   */
+  public TagFile createStubTagFile(Path filePath, BasicFileAttributes fileAttr) {
+    final TagRecord tagRecord = new TagRecord();
+    tagRecord.setPath(filePath);
+    tagRecord.setLoaded(false);
+    fillFileInformation(tagRecord, fileAttr);
+    tagRecord.setAudioFormat(AudioFormat.getTypeByExtension(tagRecord.getExtension()));
+    internStrings(tagRecord);
+    return new TagFile(tagRecord);
+  }
+
+  /**
+   * Reads the metadata of the given <code>TagFile</code> again and updates its
+   * properties and status.
+   *
+   * @param tagFile the file to update
+   * @param reload  true, to read the audiofile again instead of using the retained AudioFile
+   * @throws NTagException on Tagging Errors
+   * @throws IOException   on IO Errors
+   */
+  public void updateTagFile(final TagFile tagFile, boolean reload) throws IOException, NTagException {
+    updateTagRecord(tagFile.getRecord(), reload);
+    tagFile.updateProperties();
+  }
+
+  /**
+   * Reads the metadata of the given <code>TagRecord</code> again. The file informations
+   * are created on first access by <code>TagRecord.getInfos</code>.
+   *
+   * @param tagRecord the record to update
+   * @param reload    true, to read the audiofile again instead of using the retained AudioFile
+   * @throws NTagException on Tagging Errors
+   * @throws IOException   on IO Errors
+   */
+  public void updateTagRecord(final TagRecord tagRecord, boolean reload) throws IOException, NTagException {
     final AudioFile audioFile;
     if (reload) {
-      audioFile = JAudiotaggerUtil.readAudioFile(tagFile.getPath());
+      audioFile = JAudiotaggerUtil.readAudioFile(tagRecord.getPath());
     } else {
-      audioFile = tagFile.getAudioFile();
+      audioFile = tagRecord.openAudioFile();
     }
-    fillFileInformation(tagFile);
+    fillFileInformation(tagRecord);
+    tagRecord.clearEvents();
+    tagRecord.setInfosLoader(TagFileReader::readInfos);
     if (audioFile instanceof MP3File mp3File) {
       // header
-      fillHeaderInformation(tagFile, mp3File);
+      fillHeaderInformation(tagRecord, mp3File);
       // metadata
       if (mp3File.hasID3v2Tag()) {
         AbstractID3v2Tag tag = mp3File.getID3v2Tag();
-        fillCommonMetaInformationen(tagFile, tag, false);
-        fillAdvancedMetaInformationen(tagFile, tag);
+        TagFields fields = TagFields.read(tag);
+        fillCommonMetaInformationen(tagRecord, fields, false);
+        fillAdvancedMetaInformationen(tagRecord, tag, fields);
       } else {
-        fillCommonMetaInformationen(tagFile, audioFile.getTag(), true);
+        fillCommonMetaInformationen(tagRecord, audioFile.getTag(), true);
       }
-      // create Info String
-      tagFile.setInfos(createInfoString(mp3File).toString());
     } else {
       // header
-      fillHeaderInformation(tagFile, audioFile);
+      fillHeaderInformation(tagRecord, audioFile);
       // metadata
-      fillCommonMetaInformationen(tagFile, audioFile.getTag(), true);
-      // create Info String
-      tagFile.setInfos(createInfoString(audioFile).toString());
+      fillCommonMetaInformationen(tagRecord, audioFile.getTag(), true);
+    }
+    if (reload) {
+      // removed tag fields of the former AudioFile are lost
+      tagRecord.clearPendingChanges();
+    } else {
+      tagRecord.clearChangedFields();
     }
   }
 
@@ -224,79 +440,301 @@ public class TagFileReader {
   //
   // ***
 
+  /**
+   * Reads only the tag of a MP3 file. The header informations and the info string
+   * remain empty until the file is read again without deferring the header. The
+   * file isn't added to the tag cache, because the cache entries must be complete.
+   * ID3v23/ID3v24 tags are parsed by <code>FastID3v2Tag</code>, if enabled.
+   */
+  private TagRecord readTagRecordWithoutHeader(Path filePath, BasicFileAttributes fileAttr) throws IOException, NTagException {
+    final FastID3v2Tag fastTag = fastID3v2 ? readFastID3v2Tag(filePath) : null;
+    final Tag tag = fastTag == null ? JAudiotaggerUtil.readMP3Tag(filePath) : null;
+    final TagRecord tagRecord = new TagRecord();
+    tagRecord.setPath(filePath);
+    tagRecord.setHeaderLoaded(false);
+    if (fileAttr == null) {
+      fillFileInformation(tagRecord);
+    } else {
+      fillFileInformation(tagRecord, fileAttr);
+    }
+    tagRecord.setAudioFormat(AudioFormat.MP3);
+    if (fastTag != null) {
+      fillFastMetaInformationen(tagRecord, fastTag);
+    } else if (tag instanceof AbstractID3v2Tag v2tag) {
+      TagFields fields = TagFields.read(v2tag);
+      fillCommonMetaInformationen(tagRecord, fields, false);
+      fillAdvancedMetaInformationen(tagRecord, v2tag, fields);
+    } else {
+      fillCommonMetaInformationen(tagRecord, tag, true);
+    }
+    tagRecord.setInfosLoader(TagFileReader::readInfos);
+    return tagRecord;
+  }
+
+  /**
+   * Reads a FLAC file by its metadata blocks without retaining an AudioFile. The image
+   * data of the PICTURE blocks isn't read, the front cover is loaded on first access.
+   *
+   * @return the record or null, if the file must be read by jaudiotagger
+   */
+  private TagRecord readFlacTagRecord(Path filePath, BasicFileAttributes fileAttr) throws IOException {
+    final FlacMetadata flac;
+    try {
+      flac = FlacMetadata.read(filePath);
+    } catch (IOException e) {
+      LOGGER.log(Level.FINE, "Cannot read FLAC metadata of " + filePath, e);
+      return null;
+    }
+    if (flac == null) {
+      return null;
+    }
+    final TagRecord tagRecord = createReleasedTagRecord(filePath, fileAttr);
+    fillHeaderInformation(tagRecord, flac);
+    fillCommonMetaInformationen(tagRecord, flac.getTag(), true);
+    createArtworkTag(tagRecord, flac.getFrontCover(), flac.getPictures().size());
+    return tagRecord;
+  }
+
+  /**
+   * Reads a MP4 file by its boxes without retaining an AudioFile. The media data and
+   * the sample tables aren't read, the front cover is loaded on first access.
+   *
+   * @return the record or null, if the file must be read by jaudiotagger
+   */
+  private TagRecord readMp4TagRecord(Path filePath, BasicFileAttributes fileAttr) throws IOException {
+    final Mp4Metadata mp4;
+    try {
+      mp4 = Mp4Metadata.read(filePath);
+    } catch (IOException e) {
+      LOGGER.log(Level.FINE, "Cannot read MP4 boxes of " + filePath, e);
+      return null;
+    }
+    if (mp4 == null) {
+      return null;
+    }
+    final TagRecord tagRecord = createReleasedTagRecord(filePath, fileAttr);
+    fillHeaderInformation(tagRecord, mp4.getAudioHeader());
+    fillCommonMetaInformationen(tagRecord, mp4.getTag(), true);
+    createArtworkTag(tagRecord, mp4.getFrontCover(), mp4.getCovers().size());
+    return tagRecord;
+  }
+
+  private TagRecord createReleasedTagRecord(Path filePath, BasicFileAttributes fileAttr) throws IOException {
+    final TagRecord tagRecord = new TagRecord();
+    tagRecord.setPath(filePath);
+    if (fileAttr == null) {
+      fillFileInformation(tagRecord);
+    } else {
+      fillFileInformation(tagRecord, fileAttr);
+    }
+    tagRecord.setInfosLoader(TagFileReader::readInfos);
+    return tagRecord;
+  }
+
+  /**
+   * Returns null on IO errors, so that jaudiotagger reads the file and reports the error.
+   */
+  private static FastID3v2Tag readFastID3v2Tag(Path filePath) {
+    try {
+      return FastID3v2Tag.read(filePath);
+    } catch (IOException e) {
+      LOGGER.log(Level.FINE, "Cannot read ID3v2 tag of " + filePath, e);
+      return null;
+    }
+  }
+
+  /**
+   * Replaces the values, which repeat across many files, with their pooled instances.
+   */
+  private void internStrings(TagRecord tagRecord) {
+    if (stringPool == null) {
+      return;
+    }
+    tagRecord.setDirectory(stringPool.intern(tagRecord.getDirectory()));
+    tagRecord.setExtension(stringPool.intern(tagRecord.getExtension()));
+    tagRecord.setArtist(stringPool.intern(tagRecord.getArtist()));
+    tagRecord.setAlbumArtist(stringPool.intern(tagRecord.getAlbumArtist()));
+    tagRecord.setAlbum(stringPool.intern(tagRecord.getAlbum()));
+    tagRecord.setGenre(stringPool.intern(tagRecord.getGenre()));
+    tagRecord.setComposer(stringPool.intern(tagRecord.getComposer()));
+    tagRecord.setLanguage(stringPool.intern(tagRecord.getLanguage()));
+    tagRecord.setCodec(stringPool.intern(tagRecord.getCodec()));
+    tagRecord.setChannels(stringPool.intern(tagRecord.getChannels()));
+    tagRecord.setEncoder(stringPool.intern(tagRecord.getEncoder()));
+    tagRecord.setTaggingSystem(stringPool.intern(tagRecord.getTaggingSystem()));
+  }
+
+  private static void log(TagRecord tagRecord, String source) {
+    if (!LOGGER.isLoggable(Level.FINE)) {
+      return;
+    }
+    final StringBuilder sb = new StringBuilder("Reading: '").append(tagRecord.getName()).append("' from ").append(tagRecord.getDirectory());
+    if (source != null) {
+      sb.append(" (").append(source).append(')');
+    }
+    for (ReadEvent event : tagRecord.getEvents()) {
+      sb.append('\n').append(event.getMessage());
+    }
+    LOGGER.fine(sb.toString());
+  }
+
+  private static String getExtension(Path filePath) {
+    final String name = filePath.getFileName().toString();
+    final int index = name.lastIndexOf('.');
+    return index < 0 ? "" : name.substring(index);
+  }
+
+  private void fillFileInformation(TagRecord tagRecord) throws IOException {
+    fillFileInformation(tagRecord, Files.readAttributes(tagRecord.getPath(), BasicFileAttributes.class));
+  }
+
   @edu.umd.cs.findbugs.annotations.SuppressFBWarnings("NP_NULL_ON_SOME_PATH_FROM_RETURN_VALUE")
-  private void fillFileInformation(TagFile tagFile) throws IOException {
-    tagFile.setName(tagFile.getPath().getFileName().toString());
-    tagFile.setExtension(tagFile.getName().substring(tagFile.getName().lastIndexOf('.')));
-    tagFile.setDirectory(tagFile.getPath().getParent().toString());
-    BasicFileAttributes fileAttr = Files.readAttributes(tagFile.getPath(), BasicFileAttributes.class);
-    tagFile.setSize(fileAttr.size());
-    tagFile.setCreated(LocalDateTime.ofInstant(fileAttr.creationTime().toInstant(), ZoneId.systemDefault()));
-    tagFile.setModified(LocalDateTime.ofInstant(fileAttr.lastModifiedTime().toInstant(), ZoneId.systemDefault()));
-    tagFile.setReadOnly(!Files.isWritable(tagFile.getPath()));
-  }
-
-  private void fillHeaderInformation(TagFile tagFile, MP3File audioFile) {
-    MP3AudioHeader header = audioFile.getMP3AudioHeader();
-    tagFile.setVbr(header.isVariableBitRate());
-    tagFile.setLossless(header.isLossless());
-    tagFile.setBitrate(header.getBitRateAsNumber());
-    tagFile.setSamplingRate(header.getSampleRateAsNumber());
-    tagFile.setChannels(trim(header.getChannels(), 30));
-    tagFile.setAudioFormat(AudioFormat.MP3);
-    tagFile.setCodec(trim(header.getFormat(), 30));
-    tagFile.setEncoder(trim(header.getEncoder(), 30));
-    tagFile.setPlaytime(header.getTrackLength());
-  }
-
-  private void fillHeaderInformation(TagFile tagFile, AudioFile audioFile) {
-    AudioHeader header = audioFile.getAudioHeader();
-    tagFile.setVbr(header.isVariableBitRate());
-    tagFile.setLossless(header.isLossless());
-    tagFile.setBitrate(header.getBitRateAsNumber());
-    tagFile.setSamplingRate(header.getSampleRateAsNumber());
-    tagFile.setChannels(trim(header.getChannels(), 30));
-    tagFile.setAudioFormat(AudioFormat.getTypeByExtension(tagFile.getExtension()));
-    tagFile.setCodec(trim(header.getFormat(), 30));
-    tagFile.setEncoder("");
-    tagFile.setPlaytime(header.getTrackLength());
-  }
-
-  private void fillCommonMetaInformationen(TagFile tagFile, Tag tag, boolean generic) {
-    if (tag != null) {
-      tagFile.setTaggingSystem(tag.getClass().getSimpleName());
-      tagFile.setTitle(trim(tag.getFirst(FieldKey.TITLE), 150));
-      tagFile.setArtist(trim(tag.getFirst(FieldKey.ARTIST), 150));
-      tagFile.setAlbum(trim(tag.getFirst(FieldKey.ALBUM), 150));
-      tagFile.setAlbumArtist(trim(tag.getFirst(FieldKey.ALBUM_ARTIST), 150));
-      tagFile.setGenre(JAudiotaggerUtil.createGenre(tag.getFirstField(FieldKey.GENRE)));
-      tagFile.setComposer(trim(tag.getFirst(FieldKey.COMPOSER), 150));
-      tagFile.setTrack(JAudiotaggerUtil.parseInt(tag.getFirst(FieldKey.TRACK)));
-      tagFile.setTrackTotal(JAudiotaggerUtil.parseInt(tag.getFirst(FieldKey.TRACK_TOTAL)));
-      tagFile.setDisc(JAudiotaggerUtil.parseInt(tag.getFirst(FieldKey.DISC_NO)));
-      tagFile.setDiscTotal(JAudiotaggerUtil.parseInt(tag.getFirst(FieldKey.DISC_TOTAL)));
-      tagFile.setComment(trim(tag.getFirst(FieldKey.COMMENT), 150));
-      tagFile.setLyrics(trim(tag.getFirst(FieldKey.LYRICS), 10000));
-      tagFile.setCompilation(isBooleanStringTrue(tag.getFirst(FieldKey.IS_COMPILATION)));
-      tagFile.setLanguage(tag.getFirst(FieldKey.LANGUAGE));
-      createArtworkTag(tagFile, tag.getArtworkList());
+  private void fillFileInformation(TagRecord tagRecord, BasicFileAttributes fileAttr) {
+    tagRecord.setName(tagRecord.getPath().getFileName().toString());
+    tagRecord.setExtension(tagRecord.getName().substring(tagRecord.getName().lastIndexOf('.')));
+    tagRecord.setDirectory(tagRecord.getPath().getParent().toString());
+    tagRecord.setSize(fileAttr.size());
+    tagRecord.setCreatedMillis(fileAttr.creationTime().toMillis());
+    tagRecord.setModifiedMillis(fileAttr.lastModifiedTime().toMillis());
+    tagRecord.setReadOnly(!Files.isWritable(tagRecord.getPath()));
+  }
+
+  private void fillHeaderInformation(TagRecord tagRecord, MP3File audioFile) {
+    fillHeaderInformation(tagRecord, audioFile.getMP3AudioHeader());
+  }
+
+  private void fillHeaderInformation(TagRecord tagRecord, MP3AudioHeader header) {
+    tagRecord.setVbr(header.isVariableBitRate());
+    tagRecord.setLossless(header.isLossless());
+    tagRecord.setBitrate(header.getBitRateAsNumber());
+    tagRecord.setSamplingRate(header.getSampleRateAsNumber());
+    tagRecord.setChannels(trim(header.getChannels(), 30));
+    tagRecord.setAudioFormat(AudioFormat.MP3);
+    tagRecord.setCodec(trim(header.getFormat(), 30));
+    tagRecord.setEncoder(trim(header.getEncoder(), 30));
+    tagRecord.setPlaytime(header.getTrackLength());
+  }
+
+  private void fillHeaderInformation(TagRecord tagRecord, AudioFile audioFile) {
+    fillHeaderInformation(tagRecord, audioFile.getAudioHeader());
+  }
+
+  private void fillHeaderInformation(TagRecord tagRecord, AudioHeader header) {
+    tagRecord.setVbr(header.isVariableBitRate());
+    tagRecord.setLossless(header.isLossless());
+    tagRecord.setBitrate(header.getBitRateAsNumber());
+    tagRecord.setSamplingRate(header.getSampleRateAsNumber());
+    tagRecord.setChannels(trim(header.getChannels(), 30));
+    tagRecord.setAudioFormat(AudioFormat.getTypeByExtension(tagRecord.getExtension()));
+    tagRecord.setCodec(trim(header.getFormat(), 30));
+    tagRecord.setEncoder("");
+    tagRecord.setPlaytime(header.getTrackLength());
+  }
+
+  private void fillHeaderInformation(TagRecord tagRecord, FlacMetadata flac) {
+    tagRecord.setVbr(true);
+    tagRecord.setLossless(true);
+    tagRecord.setBitrate(flac.getBitRate());
+    tagRecord.setSamplingRate(flac.getSampleRate());
+    tagRecord.setChannels(String.valueOf(flac.getChannels()));
+    tagRecord.setAudioFormat(AudioFormat.getTypeByExtension(tagRecord.getExtension()));
+    tagRecord.setCodec(trim(flac.getFormat(), 30));
+    tagRecord.setEncoder("");
+    tagRecord.setPlaytime(flac.getTrackLength());
+  }
+
+  private void fillCommonMetaInformationen(TagRecord tagRecord, Tag tag, boolean generic) {
+    fillCommonMetaInformationen(tagRecord, tag != null ? TagFields.read(tag) : null, generic);
+  }
+
+  private void fillCommonMetaInformationen(TagRecord tagRecord, TagFields fields, boolean generic) {
+    if (fields != null) {
+      final Tag tag = fields.getTag();
+      tagRecord.setTaggingSystem(tag.getClass().getSimpleName());
+      fillTextFields(tagRecord, fields::getFirst);
+      tagRecord.setGenre(JAudiotaggerUtil.createGenre(tag.getFirstField(FieldKey.GENRE)));
+      createArtworkTag(tagRecord, tag.getArtworkList());
       if (generic) {
-        final String dateStr = tag.getFirst(FieldKey.YEAR);
+        final String dateStr = fields.getFirst(FieldKey.YEAR);
         if (dateStr != null) {
           if (dateStr.length() > 4) {
-            createDateFromISOString(tagFile, "DATE", dateStr);
+            createDateFromISOString(tagRecord, "DATE", dateStr);
           } else {
-            createYear(tagFile, dateStr);
+            createYear(tagRecord, dateStr);
           }
         }
-        createRating(tagFile, JAudiotaggerUtil.parseInt(tag.getFirst(FieldKey.RATING)));
+        createRating(tagRecord, JAudiotaggerUtil.parseInt(fields.getFirst(FieldKey.RATING)));
       }
     } else {
-      tagFile.setTaggingSystem("None");
+      tagRecord.setTaggingSystem("None");
     }
   }
 
-  private void fillAdvancedMetaInformationen(TagFile tagFile, final AbstractID3v2Tag tag) {
+  private static void fillTextFields(TagRecord tagRecord, Function<FieldKey, String> values) {
+    tagRecord.setTitle(trim(values.apply(FieldKey.TITLE), 150));
+    tagRecord.setArtist(trim(values.apply(FieldKey.ARTIST), 150));
+    tagRecord.setAlbum(trim(values.apply(FieldKey.ALBUM), 150));
+    tagRecord.setAlbumArtist(trim(values.apply(FieldKey.ALBUM_ARTIST), 150));
+    tagRecord.setComposer(trim(values.apply(FieldKey.COMPOSER), 150));
+    tagRecord.setTrack(JAudiotaggerUtil.parseInt(values.apply(FieldKey.TRACK)));
+    tagRecord.setTrackTotal(JAudiotaggerUtil.parseInt(values.apply(FieldKey.TRACK_TOTAL)));
+    tagRecord.setDisc(JAudiotaggerUtil.parseInt(values.apply(FieldKey.DISC_NO)));
+    tagRecord.setDiscTotal(JAudiotaggerUtil.parseInt(values.apply(FieldKey.DISC_TOTAL)));
+    tagRecord.setComment(trim(values.apply(FieldKey.COMMENT), 150));
+    tagRecord.setLyrics(trim(values.apply(FieldKey.LYRICS), 10000));
+    tagRecord.setCompilation(isBooleanStringTrue(values.apply(FieldKey.IS_COMPILATION)));
+    tagRecord.setLanguage(values.apply(FieldKey.LANGUAGE));
+  }
+
+  /**
+   * Fills the same metadata like <code>fillCommonMetaInformationen</code> and
+   * <code>fillAdvancedMetaInformationen</code> from a tag, which has been parsed
+   * without jaudiotagger.
+   */
+  private void fillFastMetaInformationen(TagRecord tagRecord, final FastID3v2Tag tag) {
+    tagRecord.setTaggingSystem(tag.getTaggingSystem());
+    fillTextFields(tagRecord, tag::getFirst);
+    tagRecord.setGenre(JAudiotaggerUtil.createGenre(tag.getGenre()));
+    createArtworkTag(tagRecord, tag.getFrontCover(), tag.getArtworkCount());
+    if (tag.getMajorVersion() == ID3v24Tag.MAJOR_VERSION) {
+      final String id = selectID3v24DateFrame(tag::hasDateFrame);
+      if (id != null) {
+        createDateFromISOString(tagRecord, id, tag.getDateValue(id));
+      }
+    } else {
+      if (tag.hasDateFrame("TYER")) {
+        createYear(tagRecord, tag.getDateValue("TYER"));
+      }
+      if (tag.hasDateFrame("TDAT")) {
+        createID3v23ReleaseDate(tagRecord, tag.getDateValue("TDAT"));
+      }
+    }
+    calculateRating(tagRecord, tag.getRatings());
+  }
+
+  /**
+   * Returns the ID3v24 frame, which contains the release date, by the configured order.
+   *
+   * @param hasFrame tests, if the tag contains a readable frame with the given id
+   * @return TDRL, TDOR, TDRC or null
+   */
+  private String selectID3v24DateFrame(Predicate<String> hasFrame) {
+    if (useTDRL && hasFrame.test("TDRL")) {
+      return "TDRL";
+    } else if (useTDOR && hasFrame.test("TDOR")) {
+      return "TDOR";
+    } else if (useTDRC && hasFrame.test("TDRC")) {
+      return "TDRC";
+    }
+    for (String id : ID3V24_DATE_FRAMES) {
+      if (hasFrame.test(id)) {
+        return id;
+      }
+    }
+    return null;
+  }
+
+  private void fillAdvancedMetaInformationen(TagRecord tagRecord, final AbstractID3v2Tag tag, final TagFields fields) {
     AbstractID3v2Frame frame = null;
     if (tag instanceof ID3v24Tag) {
       // TDRL: Release-Datum (ID3v24)
@@ -308,28 +746,16 @@ public class TagFileReader {
       // TDRC
       // Frame ersetzt!
 
-      if (useTDRL && tag.hasFrameAndBody("TDRL")) {
-        frame = tag.getFirstField("TDRL");
-      } else if (useTDOR && tag.hasFrameAndBody("TDOR")) {
-        frame = tag.getFirstField("TDOR");
-      } else if (useTDRC && tag.hasFrameAndBody("TDRC")) {
-        frame = tag.getFirstField("TDRC");
-      } else if (tag.hasFrameAndBody("TDRL")) {
-        frame = tag.getFirstField("TDRL");
-      } else if (tag.hasFrameAndBody("TDOR")) {
-        frame = tag.getFirstField("TDOR");
-      } else if (tag.hasFrameAndBody("TDRC")) {
-        frame = tag.getFirstField("TDRC");
-      }
-      if (frame != null) {
-        createDateFromISOString(tagFile,//
+      final String id = selectID3v24DateFrame(fields::hasDateFrameAndBody);
+      if (id != null) {
+        frame = fields.getDateFrame(id);
+        createDateFromISOString(tagRecord,//
                 frame.getIdentifier(), //
                 String.valueOf(frame.getBody().getObjectValue(DataTypes.OBJ_TEXT)));
       }
     } else {
-      if (tag.hasFrame("TYERTDAT")) {
-        List<TagField> tyertdat = tag.getFrame("TYERTDAT");
-        TyerTdatAggregatedFrame tyerTdatAggregatedFrame = (TyerTdatAggregatedFrame) tyertdat.getFirst();
+      TyerTdatAggregatedFrame tyerTdatAggregatedFrame = fields.getTyerTdatFrame();
+      if (tyerTdatAggregatedFrame != null) {
         String tyer = null;
         String tdat = null;
         for (AbstractID3v2Frame f : tyerTdatAggregatedFrame.getFrames()) {
@@ -340,22 +766,22 @@ public class TagFileReader {
           }
         }
         // ID3V23 : TYER
-        createYear(tagFile, tyer);
+        createYear(tagRecord, tyer);
         // ID3V23 : TDAT
         // The 'Date' frame is a numeric string in the DDMM format
         // containing the
         // date for the recording.
         // This field is always four characters long.
-        createID3v23ReleaseDate(tagFile, tdat);
+        createID3v23ReleaseDate(tagRecord, tdat);
       } else {
-        frame = tag.getFirstField("TYER");
+        frame = fields.getDateFrame("TYER");
         if (frame != null) {
-          createYear(tagFile, //
+          createYear(tagRecord, //
                   String.valueOf(frame.getBody().getObjectValue(DataTypes.OBJ_TEXT)));
         }
-        frame = tag.getFirstField("TDAT");
+        frame = fields.getDateFrame("TDAT");
         if (frame != null) {
-          createID3v23ReleaseDate(tagFile, //
+          createID3v23ReleaseDate(tagRecord, //
                   String.valueOf(frame.getBody().getObjectValue(DataTypes.OBJ_TEXT)));
         }
       }
@@ -364,7 +790,7 @@ public class TagFileReader {
     // Email to user <text string> $00
     // Rating $xx
     // Counter $xx xx xx xx (xx ...)
-    calculateRating(tagFile, tag);
+    calculateRating(tagRecord, tag);
   }
 
   private static boolean isBooleanStringTrue(String pvValue) {
@@ -387,53 +813,52 @@ public class TagFileReader {
     }
   }
 
-  private void createDateFromISOString(TagFile tagFile, String frame, String value) {
+  private void createDateFromISOString(TagRecord tagRecord, String frame, String value) {
     if (LOGGER.isLoggable(Level.FINE)) {
-      LOGGER.fine("read " + frame + " from file: " + tagFile.getPath());
+      LOGGER.fine("read " + frame + " from file: " + tagRecord.getPath());
     }
-    if (value != null && !value.isEmpty()) {
-      try {
-        for (DateTimeFormatter format : TDRL_FRAME_FORMATTERS) {
-          try {
-            tagFile.setDate(LocalDate.parse(value, format));
-            tagFile.setYear(tagFile.getDate().getYear());
-            if (LOGGER.isLoggable(Level.FINE)) {
-              LOGGER.fine(tagFile.getPath() + "\nFound " + frame + " Frame with date: " + tagFile.getDate());
-            }
-            return;
-          } catch (DateTimeParseException e) {
-            // Do nothing;
-          }
-        }
-      } catch (Exception e) {
-        infos.append("\nCannot parse ").append(frame).append(" Frame with Value '").append(value).append("' : ").append(e.getMessage());
+    if (value == null || value.isEmpty()) {
+      tagRecord.addEvent(new ReadEvent(Type.INVALID_FRAME, frame, value));
+      return;
+    }
+    LocalDate date = DateParser.parseDate(value);
+    if (date != null) {
+      tagRecord.setDate(date);
+      tagRecord.setYear(date.getYear());
+      if (LOGGER.isLoggable(Level.FINE)) {
+        LOGGER.fine(tagRecord.getPath() + "\nFound " + frame + " Frame with date: " + date);
       }
+      return;
+    }
+    // timestamp with year or month precision
+    int year = DateParser.parseYear(value);
+    if (year < 0) {
+      tagRecord.addEvent(new ReadEvent(Type.UNPARSABLE_FRAME, frame, value, "unsupported timestamp"));
     } else {
-      infos.append("\nInvalid ").append(frame).append(" Frame with Value '").append(value).append("'");
+      tagRecord.setYear(year);
+      if (LOGGER.isLoggable(Level.FINE)) {
+        LOGGER.fine(tagRecord.getPath() + "\nFound " + frame + " Frame with year: " + year);
+      }
     }
   }
 
-  private void createID3v23ReleaseDate(TagFile tagFile, String tdat) {
+  private void createID3v23ReleaseDate(TagRecord tagRecord, String tdat) {
     if (LOGGER.isLoggable(Level.FINE)) {
-      LOGGER.fine("read TDAT from file: " + tagFile.getPath());
+      LOGGER.fine("read TDAT from file: " + tagRecord.getPath());
     }
-    if (tdat != null && tdat.length() == 4) {
-      try {
-        if (tagFile.getYear() > 0) {
-          tdat = tdat + tagFile.getYear();
-        } else {
-          tdat = tdat + "1900";
-        }
-        DateTimeFormatter format = DateTimeFormatter.ofPattern("ddMMyyyy", Locale.UK);
-        tagFile.setDate(LocalDate.parse(tdat, format));
-        if (LOGGER.isLoggable(Level.FINE)) {
-          LOGGER.fine(tagFile.getPath() + "\nFound TDAT Frame with date: " + tagFile.getDate());
-        }
-      } catch (Exception e) {
-        infos.append("\nCannot parse TDAT Frame with Value '").append(tdat).append("' : ").append(e.getMessage());
-      }
+    if (tdat == null || tdat.length() != 4) {
+      tagRecord.addEvent(new ReadEvent(Type.INVALID_FRAME, "TDAT", tdat));
+      return;
+    }
+    Integer year = tagRecord.getYear();
+    LocalDate date = DateParser.parseDayMonth(tdat, year != null && year > 0 ? year : 1900);
+    if (date == null) {
+      tagRecord.addEvent(new ReadEvent(Type.UNPARSABLE_FRAME, "TDAT", tdat, "invalid day or month"));
     } else {
-      infos.append("\nInvalid TDAT Frame with Value '").append(tdat).append("'");
+      tagRecord.setDate(date);
+      if (LOGGER.isLoggable(Level.FINE)) {
+        LOGGER.fine(tagRecord.getPath() + "\nFound TDAT Frame with date: " + date);
+      }
     }
   }
 
@@ -442,43 +867,31 @@ public class TagFileReader {
    * The 'Year' frame is a numeric string with a year of the recording.
    * This frames is always four characters long (until the year 10000).
    */
-  private void createYear(TagFile tagFile, String year) {
+  private void createYear(TagRecord tagRecord, String year) {
     if (LOGGER.isLoggable(Level.FINE)) {
-      LOGGER.fine(tagFile.getPath() + "\nReading generic YEAR");
+      LOGGER.fine(tagRecord.getPath() + "\nReading generic YEAR");
     }
     if (year == null || year.isEmpty()) {
-      infos.append("\nMissing Year");
+      tagRecord.addEvent(new ReadEvent(Type.MISSING_YEAR));
       return;
     }
-    if (year.length() == 4) {
-      try {
-        int intValue = Integer.parseInt(year);
-        if (intValue < 999 || intValue > 2999) {
-          infos.append("\nInvalid Year with Value '").append(year).append("'");
-        } else {
-          tagFile.setYear(intValue);
-        }
-      } catch (Exception e) {
-        infos.append("\nInvalid Year with Value '").append(year).append("' : ").append(e.getMessage());
-      }
+    int intValue = year.length() == 4 ? DateParser.parseYear(year) : -1;
+    if (intValue < 999 || intValue > 2999) {
+      tagRecord.addEvent(new ReadEvent(Type.INVALID_YEAR, null, year));
     } else {
-      infos.append("\nInvalid Year with Value '").append(year).append("'");
+      tagRecord.setYear(intValue);
     }
   }
 
-  private void createRating(final TagFile tagFile, final int rating) {
+  private void createRating(final TagRecord tagRecord, final int rating) {
     if (rating > -1) {
-      tagFile.setRating(RatingConverter.internalToHalfStars(tagFile.getAudioFormat(), rating));
+      tagRecord.setRating(RatingConverter.internalToHalfStars(tagRecord.getAudioFormat(), rating));
     } else {
-      tagFile.setRating(-1);
+      tagRecord.setRating(-1);
     }
   }
 
-  private void calculateRating(TagFile tagFile, final AbstractID3v2Tag tag) {
-    final String email = getRatingEMail();
-    if (LOGGER.isLoggable(Level.FINE)) {
-      LOGGER.fine("read rating from file: " + tagFile.getPath());
-    }
+  private void calculateRating(TagRecord tagRecord, final AbstractID3v2Tag tag) {
     List<TagField> list;
     try {
       list = tag.getFields(FieldKey.RATING);
@@ -486,22 +899,36 @@ public class TagFileReader {
       return;
     }
     if (list != null && !list.isEmpty()) {
-      long ratingSum = 0;
+      List<FrameBodyPOPM> ratings = new ArrayList<>(list.size());
       for (TagField tagField : list) {
         if (tagField instanceof AbstractID3v2Frame frame) {
-          FrameBodyPOPM framePOPM = (FrameBodyPOPM) frame.getBody();
-          infos.append("\nFound Rating from '").append(framePOPM.getEmailToUser()).append("' with Rating Score '").append(framePOPM.getRating()).append("'");
-          if (email.equalsIgnoreCase(framePOPM.getEmailToUser())) {
-            createRating(tagFile, (int) framePOPM.getRating());
-            return;
-          } else {
-            ratingSum += framePOPM.getRating();
-          }
+          ratings.add((FrameBodyPOPM) frame.getBody());
         }
       }
-      createRating(tagFile, (int) ratingSum / list.size());
-      infos.append("\nCalculated Rating Score is: ").append(tagFile.getRating());
+      calculateRating(tagRecord, ratings);
+    }
+  }
+
+  private void calculateRating(TagRecord tagRecord, final List<FrameBodyPOPM> ratings) {
+    if (LOGGER.isLoggable(Level.FINE)) {
+      LOGGER.fine("read rating from file: " + tagRecord.getPath());
+    }
+    if (ratings.isEmpty()) {
+      return;
+    }
+    final String email = getRatingEMail();
+    long ratingSum = 0;
+    for (FrameBodyPOPM framePOPM : ratings) {
+      tagRecord.addEvent(new ReadEvent(Type.RATING_FOUND, framePOPM.getEmailToUser(), String.valueOf(framePOPM.getRating())));
+      if (email.equalsIgnoreCase(framePOPM.getEmailToUser())) {
+        createRating(tagRecord, (int) framePOPM.getRating());
+        return;
+      } else {
+        ratingSum += framePOPM.getRating();
+      }
     }
+    createRating(tagRecord, (int) ratingSum / ratings.size());
+    tagRecord.addEvent(new ReadEvent(Type.RATING_CALCULATED, null, String.valueOf(tagRecord.getRating())));
   }
 
   /**
@@ -510,43 +937,170 @@ public class TagFileReader {
    * <b>All other audio formats:</B><br>
    * MIME type, Picture data and default Picture type 0 'Other'
    */
-  private void createArtworkTag(final TagFile tagFile, final List<Artwork> tagArtList) {
+  private void createArtworkTag(final TagRecord tagRecord, final List<Artwork> tagArtList) {
     if (LOGGER.isLoggable(Level.FINE)) {
-      LOGGER.fine("read artwork from file: " + tagFile.getPath());
+      LOGGER.fine("read artwork from file: " + tagRecord.getPath());
     }
     if (tagArtList != null && !tagArtList.isEmpty()) {
-      Artwork frontCover = null;
-      for (Artwork artwork : tagArtList) {
-        if (artwork.getPictureType() == 3 && artwork.getBinaryData() != null && artwork.getBinaryData().length > 0) {
-          frontCover = artwork;
-          break;
-        }
+      createArtworkTag(tagRecord, findFrontCover(tagArtList), tagArtList.size());
+    }
+    if (LOGGER.isLoggable(Level.FINE)) {
+      LOGGER.fine("finished artwork from file: " + tagRecord.getPath());
+    }
+  }
+
+  private void createArtworkTag(final TagRecord tagRecord, final Artwork frontCover, int artworkCount) {
+    if (artworkCount == 0) {
+      return;
+    }
+    if (frontCover == null) {
+      tagRecord.addEvent(new ReadEvent(Type.INVALID_ARTWORK));
+    } else {
+      // Create ArtworkTag
+      try {
+        tagRecord.setArtwork(new ArtworkTag(frontCover, () -> readArtworkData(tagRecord)));
+        tagRecord.setSingleArtwork(artworkCount == 1);
+      } catch (IOException e) {
+        LOGGER.log(Level.SEVERE, "Error on processing artwork from file: %s".formatted(tagRecord.getPath()), e);
       }
-      // Fallback
-      for (Artwork artwork : tagArtList) {
-        if (artwork.getBinaryData() != null && artwork.getBinaryData().length > 0) {
-          frontCover = artwork;
-          break;
-        }
+    }
+  }
+
+  /**
+   * Creates the artwork of a picture, whose image data is read on first access.
+   */
+  private void createArtworkTag(final TagRecord tagRecord, final EmbeddedPicture frontCover, int artworkCount) {
+    if (artworkCount == 0) {
+      return;
+    }
+    if (frontCover == null) {
+      tagRecord.addEvent(new ReadEvent(Type.INVALID_ARTWORK));
+      return;
+    }
+    final ImageType imageType = ImageType.getByMimeType(frontCover.mimeType());
+    if (imageType == null) {
+      LOGGER.log(Level.SEVERE, "Error on processing artwork from file: %s".formatted(tagRecord.getPath()),
+          new IOException("MIME '%s' is not supported".formatted(frontCover.mimeType())));
+      return;
+    }
+    tagRecord.setArtwork(new ArtworkTag(imageType, frontCover.dataLength(), frontCover.dimension(), () -> readArtworkData(tagRecord)));
+    tagRecord.setSingleArtwork(artworkCount == 1);
+  }
+
+  private static Artwork findFrontCover(final List<Artwork> tagArtList) {
+    Artwork frontCover = null;
+    for (Artwork artwork : tagArtList) {
+      if (artwork.getPictureType() == 3 && artwork.getBinaryData() != null && artwork.getBinaryData().length > 0) {
+        frontCover = artwork;
+        break;
       }
-      if (frontCover == null) {
-        infos.append("\nFound invalid embedded artwork data!");
-      } else {
-        // Create ArtworkTag
-        try {
-          tagFile.setArtwork(new ArtworkTag(frontCover));
-          tagFile.setSingleArtwork(tagArtList.size() == 1);
-        } catch (IOException e) {
-          LOGGER.log(Level.SEVERE, "Error on processing artwork from file: %s".formatted(tagFile.getPath()), e);
-        }
+    }
+    // Fallback
+    for (Artwork artwork : tagArtList) {
+      if (artwork.getBinaryData() != null && artwork.getBinaryData().length > 0) {
+        frontCover = artwork;
+        break;
       }
     }
-    if (LOGGER.isLoggable(Level.FINE)) {
-      LOGGER.fine("finished artwork from file: " + tagFile.getPath());
+    return frontCover;
+  }
+
+  /**
+   * Reads the artwork data of a <code>TagRecord</code>, which has been restored from the tag cache.
+   */
+  static byte[] readArtworkData(final TagRecord tagRecord) throws IOException {
+    if (tagRecord.getAudioFile() == null
+        && (tagRecord.getAudioFormat() == AudioFormat.FLAC || tagRecord.getAudioFormat() == AudioFormat.MP4)) {
+      final byte[] data = readEmbeddedArtworkData(tagRecord);
+      if (data != null) {
+        return data;
+      }
+    }
+    final Tag tag;
+    try {
+      tag = readTag(tagRecord);
+    } catch (NTagException e) {
+      throw new IOException(e.getMessage(), e);
+    }
+    final Artwork frontCover = tag == null ? null : findFrontCover(tag.getArtworkList());
+    if (frontCover == null) {
+      throw new IOException("Artwork has been removed from file " + tagRecord.getPath());
+    }
+    return frontCover.getBinaryData();
+  }
+
+  /**
+   * Reads only the image data of the front cover from the FLAC metadata blocks or the MP4 boxes.
+   *
+   * @return the image data or null, if the file must be read by jaudiotagger
+   */
+  private static byte[] readEmbeddedArtworkData(final TagRecord tagRecord) throws IOException {
+    try {
+      tagRecord.verifyUnchanged();
+    } catch (NTagException e) {
+      throw new IOException(e.getMessage(), e);
+    }
+    final EmbeddedPicture frontCover;
+    if (tagRecord.getAudioFormat() == AudioFormat.FLAC) {
+      final FlacMetadata flac = FlacMetadata.read(tagRecord.getPath());
+      if (flac == null) {
+        return null;
+      }
+      frontCover = flac.getFrontCover();
+    } else {
+      final Mp4Metadata mp4 = Mp4Metadata.read(tagRecord.getPath());
+      if (mp4 == null) {
+        return null;
+      }
+      frontCover = mp4.getFrontCover();
+    }
+    if (frontCover == null) {
+      throw new IOException("Artwork has been removed from file " + tagRecord.getPath());
+    }
+    return frontCover.readData(tagRecord.getPath());
+  }
+
+  /**
+   * Returns the tag of the retained AudioFile or reads the tag without retaining
+   * the AudioFile. MP3 tags are read without analysing the audio header.
+   */
+  private static Tag readTag(final TagRecord tagRecord) throws NTagException {
+    AudioFile audioFile = tagRecord.getAudioFile();
+    if (audioFile == null) {
+      tagRecord.verifyUnchanged();
+      if (tagRecord.getAudioFormat() == AudioFormat.MP3) {
+        return JAudiotaggerUtil.readMP3Tag(tagRecord.getPath());
+      }
+      audioFile = JAudiotaggerUtil.readAudioFile(tagRecord.getPath());
+    }
+    if (audioFile instanceof MP3File mp3File && mp3File.hasID3v2Tag()) {
+      return mp3File.getID3v2Tag();
+    }
+    return audioFile.getTag();
+  }
+
+  /**
+   * Creates the file informations of a record on first access. Uses the retained
+   * AudioFile or reads the audiofile without retaining it.
+   */
+  static String readInfos(final TagRecord tagRecord) {
+    try {
+      AudioFile audioFile = tagRecord.getAudioFile();
+      if (audioFile == null) {
+        tagRecord.verifyUnchanged();
+        audioFile = JAudiotaggerUtil.readAudioFile(tagRecord.getPath());
+      }
+      if (audioFile instanceof MP3File mp3File) {
+        return createInfoString(mp3File).toString();
+      }
+      return createInfoString(audioFile).toString();
+    } catch (NTagException e) {
+      LOGGER.log(Level.WARNING, "Cannot read the file informations of " + tagRecord.getPath(), e);
+      return e.getMessage();
     }
   }
 
-  private StringBuilder createInfoString(AudioFile audioFile) {
+  private static StringBuilder createInfoString(AudioFile audioFile) {
     var sb = new StringBuilder();
     Tag tag = audioFile.getTag();
     AudioHeader header = audioFile.getAudioHeader();
@@ -569,7 +1123,7 @@ public class TagFileReader {
     return sb;
   }
 
-  private StringBuilder createInfoString(MP3File audioFile) {
+  private static StringBuilder createInfoString(MP3File audioFile) {
     MP3AudioHeader header = audioFile.getMP3AudioHeader();
 
     var sb = new StringBuilder();
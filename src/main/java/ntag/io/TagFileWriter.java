@@ -24,39 +24,43 @@ import ntag.io.util.RatingConverter;
 import ntag.model.ArtworkTag;
 import ntag.model.AudioFormat;
 import ntag.model.Genre;
+import ntag.model.MetadataField;
 import ntag.model.TagFile;
+import ntag.model.TagRecord;
 import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.mp3.MP3File;
 import org.jaudiotagger.tag.*;
 import org.jaudiotagger.tag.datatype.DataTypes;
+import org.jaudiotagger.tag.flac.FlacTag;
 import org.jaudiotagger.tag.id3.*;
 import org.jaudiotagger.tag.id3.framebody.*;
 import org.jaudiotagger.tag.images.Artwork;
 import org.jaudiotagger.tag.images.ArtworkFactory;
+import org.jaudiotagger.tag.vorbiscomment.VorbisCommentTag;
 
-import java.nio.file.Path;
+import java.io.IOException;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+/**
+ * Writes the metadata of <code>TagRecord</code>s to their audiofiles. The writer keeps
+ * only its configuration, the state of a write operation is held by the returned
+ * <code>WriteContext</code>. So a configured writer can be shared by several threads,
+ * as long as every thread writes different files. Configure the writer before it is
+ * shared, the setters are not synchronized.
+ */
 public final class TagFileWriter {
 
   public static final Logger LOGGER = Logger.getLogger(TagFileWriter.class.getName());
 
-  // ***
-  //
-  // Instance Attributes
-  //
-  // ***
-
-  private String fullPath;
-
-  private StringBuilder infos = null;
+  private static final DateTimeFormatter TDAT_FORMAT = DateTimeFormatter.ofPattern("ddMM", Locale.UK);
 
   // ***
   //
@@ -64,20 +68,6 @@ public final class TagFileWriter {
   //
   // ***
 
-  // *** Tag Infos
-
-  public StringBuilder getInfos() {
-    return infos;
-  }
-
-  // *** Change Count
-
-  private int changeCount;
-
-  public int getChangeCount() {
-    return changeCount;
-  }
-
   // *** ID3v1.1
 
   private boolean ID3v11;
@@ -188,6 +178,33 @@ public final class TagFileWriter {
     this.artworkEnforceSingleFrame = value;
   }
 
+  // *** Padding, which is reserved when a tag doesn't fit anymore
+
+  private PaddingPolicy paddingPolicy = PaddingPolicy.DEFAULT;
+
+  public PaddingPolicy getPaddingPolicy() {
+    return paddingPolicy;
+  }
+
+  public void setPaddingPolicy(PaddingPolicy paddingPolicy) {
+    if (paddingPolicy == null) {
+      throw new IllegalArgumentException("paddingPolicy cannot be null");
+    }
+    this.paddingPolicy = paddingPolicy;
+  }
+
+  // *** Release the AudioFile after writing
+
+  private boolean releaseAudioFile;
+
+  public boolean isReleaseAudioFile() {
+    return releaseAudioFile;
+  }
+
+  public void setReleaseAudioFile(boolean releaseAudioFile) {
+    this.releaseAudioFile = releaseAudioFile;
+  }
+
   // ***
   //
   // Construction
@@ -207,6 +224,8 @@ public final class TagFileWriter {
     setUnwantedID3Frames(props.getID3FrameBlackList());
     setRatingEnforceSingleFrame(props.isRatingEnforceSingleFrame());
     setArtworkEnforceSingleFrame(props.isArtworkEnforceSingle());
+    setReleaseAudioFile(props.isReleaseAudioFile());
+    setPaddingPolicy(props.getPaddingPolicy());
   }
 
   // ***
@@ -215,108 +234,204 @@ public final class TagFileWriter {
   //
   // ***
 
-  public void update(final TagFile tagFile) throws NTagException {
-    this.infos = new StringBuilder(1000);
-    this.changeCount = 0;
-    Path path = tagFile.getPath();
-    this.fullPath = tagFile.getPath().toString();
-
-    infos.append("Writing: '").append(path.getFileName()).append("' from Directory: ").append(path.getParent());
-
-    AudioFile audioFile = tagFile.getAudioFile();
+  /**
+   * Writes the metadata of the given <code>TagFile</code> to its audiofile and
+   * resets the dirty flag.
+   *
+   * @param tagFile the file to write
+   * @return the changes of this write operation
+   * @throws NTagException on IO Problems or if the audiofile has been changed
+   */
+  public WriteContext update(final TagFile tagFile) throws NTagException {
+    WriteContext ctx = update(tagFile.getRecord());
+    tagFile.setDirty(false);
+    return ctx;
+  }
+
+  /**
+   * Writes the metadata of the given <code>TagRecord</code> to its audiofile. Only the
+   * fields, which have been changed since the last read or write, are updated. Together
+   * with the removed tag fields, they are written with a single commit. The audiofile
+   * isn't opened at all, if nothing has been changed.
+   *
+   * @param tagRecord the record to write
+   * @return the changes of this write operation
+   * @throws NTagException on IO Problems or if the audiofile has been changed
+   */
+  public WriteContext update(final TagRecord tagRecord) throws NTagException {
+    if (!tagRecord.isLoaded()) {
+      throw new NTagException("Metadata of file '%s' has not been loaded".formatted(tagRecord.getPath()));
+    }
+    final WriteContext ctx = new WriteContext(tagRecord.getPath());
+    if (!tagRecord.hasPendingChanges()) {
+      // nothing has been edited since the last read or write
+      ctx.addMessage("No Changes Found!");
+      return ctx;
+    }
+
+    // detect external changes, before they are overwritten
+    tagRecord.verifyUnchanged();
+    AudioFile audioFile = tagRecord.openAudioFile();
 
     // UPDATE METADATA FRAMES
     try {
       if (audioFile instanceof MP3File mp3File) {
-        updateWithMP3Tag(mp3File, tagFile);
+        updateWithMP3Tag(ctx, mp3File, tagRecord);
       } else {
-        updateWithGenericTag(audioFile, tagFile);
+        updateWithGenericTag(ctx, audioFile, tagRecord);
       }
     } catch (Exception e) {
-      LOGGER.log(Level.SEVERE, "Cannot change tags in file " + fullPath, e);
+      LOGGER.log(Level.SEVERE, "Cannot change tags in file " + ctx.getPath(), e);
       throw new NTagException("Cannot change tags", e);
     }
+    // REMOVED TAG FIELDS
+    for (String fieldId : tagRecord.getRemovedFields()) {
+      ctx.addRemove(fieldId);
+    }
     // CHECK CHANGE COUNT
-    if (changeCount > 0) {
+    if (ctx.hasChanges()) {
       // UPDATE TO FILE
+      final TagLayout layout;
       try {
-        audioFile.commit();
-      } catch (CannotWriteException e) {
-        LOGGER.log(Level.SEVERE, "cannot write to audiofile " + fullPath, e);
+        layout = commit(ctx, audioFile);
+      } catch (CannotWriteException | IOException e) {
+        LOGGER.log(Level.SEVERE, "cannot write to audiofile " + ctx.getPath(), e);
         throw new NTagException("cannot write to audiofile", e);
       } catch (Exception e) {
-        LOGGER.log(Level.SEVERE, "An API error occured while updating the audiofile " + fullPath, e);
+        LOGGER.log(Level.SEVERE, "An API error occured while updating the audiofile " + ctx.getPath(), e);
         throw new NTagException("An API error occured while updating the audiofile.", e);
       }
+      if (layout != null) {
+        ctx.addTagLayout(layout);
+      }
+      tagRecord.refreshFileInformation();
     } else {
-      infos.append("\nNo Changes Found!");
+      ctx.addMessage("No Changes Found!");
+    }
+    tagRecord.clearPendingChanges();
+    if (releaseAudioFile) {
+      tagRecord.releaseAudioFile();
     }
-    tagFile.setDirty(false);
     if (LOGGER.isLoggable(Level.INFO)) {
-      LOGGER.info(infos.toString());
+      LOGGER.info(ctx.getInfos());
+    }
+    return ctx;
+  }
+
+  /**
+   * Writes the tag to the audiofile. FLAC metadata blocks and Ogg Vorbis comment headers
+   * are rewritten in place, if possible, all other tags are written by jaudiotagger.
+   *
+   * @return the layout of the written tag or null, if unknown
+   */
+  private TagLayout commit(final WriteContext ctx, final AudioFile audioFile) throws Exception {
+    if (audioFile instanceof MP3File mp3File) {
+      final ID3v2Padding padding = ID3v2Padding.install(mp3File, paddingPolicy);
+      try {
+        audioFile.commit();
+      } finally {
+        if (padding != null) {
+          padding.uninstall();
+        }
+      }
+      return padding != null ? padding.getLayout() : null;
+    }
+    TagLayout layout = null;
+    if (audioFile.getTag() instanceof FlacTag flacTag) {
+      layout = FlacMetadataWriter.write(ctx.getPath(), flacTag, paddingPolicy);
+    } else if (audioFile.getTag() instanceof VorbisCommentTag vorbisTag) {
+      layout = OggCommentWriter.write(ctx.getPath(), vorbisTag);
     }
+    if (layout == null || !layout.isInPlace()) {
+      // unsupported layout or an Ogg Vorbis comment header, which doesn't fit anymore
+      audioFile.commit();
+    }
+    return layout;
   }
 
   // ################################################################
   // # Generic Audio File Handling
   // ################################################################
 
-  private void updateWithGenericTag(final AudioFile file, final TagFile tagFile) {
+  private void updateWithGenericTag(final WriteContext ctx, final AudioFile file, final TagRecord tagRecord) {
     Tag tag = file.getTagOrCreateAndSetDefault();
 
     // TITLE
-    updateTextField(tag, FieldKey.TITLE, tagFile.getTitle());
+    if (tagRecord.isChanged(MetadataField.TITLE)) {
+      updateTextField(ctx, tag, FieldKey.TITLE, tagRecord.getTitle());
+    }
     // ARTIST
-    updateTextField(tag, FieldKey.ARTIST, tagFile.getArtist());
+    if (tagRecord.isChanged(MetadataField.ARTIST)) {
+      updateTextField(ctx, tag, FieldKey.ARTIST, tagRecord.getArtist());
+    }
     // ALBUM
-    updateTextField(tag, FieldKey.ALBUM, tagFile.getAlbum());
+    if (tagRecord.isChanged(MetadataField.ALBUM)) {
+      updateTextField(ctx, tag, FieldKey.ALBUM, tagRecord.getAlbum());
+    }
     // ALBUM ARTIST
-    updateTextField(tag, FieldKey.ALBUM_ARTIST, tagFile.getAlbumArtist());
+    if (tagRecord.isChanged(MetadataField.ALBUM_ARTIST)) {
+      updateTextField(ctx, tag, FieldKey.ALBUM_ARTIST, tagRecord.getAlbumArtist());
+    }
     // YEAR / DATE
-    if (tagFile.getDate() != null) {
-      // the date is be saved in ISO 8601 format
-      updateTextField(tag, FieldKey.YEAR, tagFile.getDate().format(TagFileConst.ISO_DATE_FORMAT));
-    } else {
-      updateTextField(tag, FieldKey.YEAR, (tagFile.getYear() != null && tagFile.getYear() > 0) ? String.valueOf(tagFile.getYear()) : "");
+    if (tagRecord.isChanged(MetadataField.YEAR) || tagRecord.isChanged(MetadataField.DATE)) {
+      if (tagRecord.getDate() != null) {
+        // the date is be saved in ISO 8601 format
+        updateTextField(ctx, tag, FieldKey.YEAR, tagRecord.getDate().format(TagFileConst.ISO_DATE_FORMAT));
+      } else {
+        updateTextField(ctx, tag, FieldKey.YEAR, (tagRecord.getYear() != null && tagRecord.getYear() > 0) ? String.valueOf(tagRecord.getYear()) : "");
+      }
     }
     // COMMENT
-    updateTextField(tag, FieldKey.COMMENT, tagFile.getComment());
+    if (tagRecord.isChanged(MetadataField.COMMENT)) {
+      updateTextField(ctx, tag, FieldKey.COMMENT, tagRecord.getComment());
+    }
     // COMPOSER
-    updateTextField(tag, FieldKey.COMPOSER, tagFile.getComposer());
+    if (tagRecord.isChanged(MetadataField.COMPOSER)) {
+      updateTextField(ctx, tag, FieldKey.COMPOSER, tagRecord.getComposer());
+    }
     // TRACK
-    updateTextField(tag, FieldKey.TRACK, trackToString(tagFile.getTrack()));
-
+    if (tagRecord.isChanged(MetadataField.TRACK)) {
+      updateTextField(ctx, tag, FieldKey.TRACK, trackToString(tagRecord.getTrack()));
+    }
     // TRACK TOTAL
-    updateTextField(tag, FieldKey.TRACK_TOTAL, trackToString(tagFile.getTrackTotal()));
-
+    if (tagRecord.isChanged(MetadataField.TRACK_TOTAL)) {
+      updateTextField(ctx, tag, FieldKey.TRACK_TOTAL, trackToString(tagRecord.getTrackTotal()));
+    }
     // DISC
-    updateTextField(tag, FieldKey.DISC_NO, trackToString(tagFile.getDisc()));
-
+    if (tagRecord.isChanged(MetadataField.DISC)) {
+      updateTextField(ctx, tag, FieldKey.DISC_NO, trackToString(tagRecord.getDisc()));
+    }
     // DISC TOTAL
-    updateTextField(tag, FieldKey.DISC_TOTAL, trackToString(tagFile.getDiscTotal()));
-
+    if (tagRecord.isChanged(MetadataField.DISC_TOTAL)) {
+      updateTextField(ctx, tag, FieldKey.DISC_TOTAL, trackToString(tagRecord.getDiscTotal()));
+    }
     // LYRICS
-    updateTextField(tag, FieldKey.LYRICS, tagFile.getLyrics());
-
+    if (tagRecord.isChanged(MetadataField.LYRICS)) {
+      updateTextField(ctx, tag, FieldKey.LYRICS, tagRecord.getLyrics());
+    }
     // COMPILATION
-    updateTextField(tag, FieldKey.IS_COMPILATION, tagFile.isCompilation() ? "1" : "0");
-
+    if (tagRecord.isChanged(MetadataField.COMPILATION)) {
+      updateTextField(ctx, tag, FieldKey.IS_COMPILATION, tagRecord.isCompilation() ? "1" : "0");
+    }
     // LANGUAGE
-    updateTextField(tag, FieldKey.LANGUAGE, tagFile.getLanguage());
-
+    if (tagRecord.isChanged(MetadataField.LANGUAGE)) {
+      updateTextField(ctx, tag, FieldKey.LANGUAGE, tagRecord.getLanguage());
+    }
     // GENRE
-    updateTextField(tag, FieldKey.GENRE, tagFile.getGenre());
-
+    if (tagRecord.isChanged(MetadataField.GENRE)) {
+      updateTextField(ctx, tag, FieldKey.GENRE, tagRecord.getGenre());
+    }
     // RATING
-    if (tagFile.getRating() > -1) {
-      updateTextField(tag, FieldKey.RATING, String.valueOf(RatingConverter.halfStarsToInternal(tagFile.getAudioFormat(), tagFile.getRating())));
+    if (tagRecord.isChanged(MetadataField.RATING) && tagRecord.getRating() > -1) {
+      updateTextField(ctx, tag, FieldKey.RATING, String.valueOf(RatingConverter.halfStarsToInternal(tagRecord.getAudioFormat(), tagRecord.getRating())));
     }
-
     // ARTWORK
-    updateArtworkWithGenericTag(tag, tagFile.getArtwork());
+    if (tagRecord.isChanged(MetadataField.ARTWORK)) {
+      updateArtworkWithGenericTag(ctx, tag, tagRecord.getArtwork());
+    }
   }
 
-  private void updateTextField(final Tag tag, final FieldKey key, final String value) {
+  private void updateTextField(final WriteContext ctx, final Tag tag, final FieldKey key, final String value) {
     String oldValue = null;
     try {
       oldValue = tag.getFirst(key);
@@ -338,16 +453,16 @@ public final class TagFileWriter {
       if (value == null || value.isEmpty()) {
         if (oldValue != null) {
           tag.deleteField(key);
-          addChange(key.toString(), value, oldValue);
+          ctx.addChange(key.toString(), value, oldValue);
         }
       } else {
         if (oldValue == null || !oldValue.equals(value)) {
           tag.setField(key, value);
-          addChange(key.toString(), value, oldValue);
+          ctx.addChange(key.toString(), value, oldValue);
         }
       }
     } catch (Exception e) {
-      addError(key.toString(), value, e.getMessage());
+      ctx.addError(key.toString(), value, e.getMessage());
     }
   }
 
@@ -359,32 +474,45 @@ public final class TagFileWriter {
     }
   }
 
+  /**
+   * @return true, if a field of the ID3v1 tag has been changed
+   */
+  private static boolean isID3v1Changed(final TagRecord tagRecord) {
+    return tagRecord.isChanged(MetadataField.TITLE) || tagRecord.isChanged(MetadataField.ARTIST)
+        || tagRecord.isChanged(MetadataField.ALBUM) || tagRecord.isChanged(MetadataField.YEAR)
+        || tagRecord.isChanged(MetadataField.COMMENT) || tagRecord.isChanged(MetadataField.TRACK)
+        || tagRecord.isChanged(MetadataField.GENRE);
+  }
+
   // ################################################################
   // # MP3 ID3v2 Handling
   // ################################################################
 
-  private void updateWithMP3Tag(final MP3File file, final TagFile tagFile) {
+  private void updateWithMP3Tag(final WriteContext ctx, final MP3File file, final TagRecord tagRecord) {
 
-    final String genre = tagFile.getGenre() != null ? tagFile.getGenre() : "";
+    final String genre = tagRecord.getGenre() != null ? tagRecord.getGenre() : "";
+    // a new ID3v2 tag or one, which replaces the removed ID3v1 tag, needs all fields
+    final boolean writeAll = !file.hasID3v2Tag() || (!isID3v11() && file.hasID3v1Tag());
+    final Predicate<MetadataField> changed = field -> writeAll || tagRecord.isChanged(field);
 
     // Create ID3v1 Tag
     if (!isID3v11()) {
       JAudiotaggerUtil.removeID3v1Tag(file);
-    } else {
+    } else if (!file.hasID3v1Tag() || isID3v1Changed(tagRecord)) {
       final ID3v1Tag v1tag = JAudiotaggerUtil.getID3v1Tag(file);
-      v1tag.setTitle(tagFile.getTitle());
-      v1tag.setArtist(tagFile.getArtist());
-      v1tag.setAlbum(tagFile.getAlbum());
-      v1tag.setYear((tagFile.getYear() != null && tagFile.getYear() > 0) ? tagFile.getYear().toString() : "");
-      v1tag.setComment(tagFile.getComment());
-      if (tagFile.getTrack() == null || tagFile.getTrack() <= 0) {
+      v1tag.setTitle(tagRecord.getTitle());
+      v1tag.setArtist(tagRecord.getArtist());
+      v1tag.setAlbum(tagRecord.getAlbum());
+      v1tag.setYear((tagRecord.getYear() != null && tagRecord.getYear() > 0) ? tagRecord.getYear().toString() : "");
+      v1tag.setComment(tagRecord.getComment());
+      if (tagRecord.getTrack() == null || tagRecord.getTrack() <= 0) {
         try {
           v1tag.setField(FieldKey.TRACK, "");
         } catch (Exception ignored) {
         }
       } else {
         try {
-          v1tag.setField(FieldKey.TRACK, trackToString(tagFile.getTrack()));
+          v1tag.setField(FieldKey.TRACK, trackToString(tagRecord.getTrack()));
         } catch (Exception ignored) {
         }
       }
@@ -400,96 +528,119 @@ public final class TagFileWriter {
     final AbstractID3v2Tag v2tag = JAudiotaggerUtil.getID3v2Tag(file, isID3v24());
 
     // TITLE
-    updateTextField(v2tag, FieldKey.TITLE, tagFile.getTitle());
+    if (changed.test(MetadataField.TITLE)) {
+      updateTextField(ctx, v2tag, FieldKey.TITLE, tagRecord.getTitle());
+    }
     // ARTIST
-    updateTextField(v2tag, FieldKey.ARTIST, tagFile.getArtist());
+    if (changed.test(MetadataField.ARTIST)) {
+      updateTextField(ctx, v2tag, FieldKey.ARTIST, tagRecord.getArtist());
+    }
     // ALBUM
-    updateTextField(v2tag, FieldKey.ALBUM, tagFile.getAlbum());
+    if (changed.test(MetadataField.ALBUM)) {
+      updateTextField(ctx, v2tag, FieldKey.ALBUM, tagRecord.getAlbum());
+    }
     // ALBUM ARTIST
-    updateTextField(v2tag, FieldKey.ALBUM_ARTIST, tagFile.getAlbumArtist());
+    if (changed.test(MetadataField.ALBUM_ARTIST)) {
+      updateTextField(ctx, v2tag, FieldKey.ALBUM_ARTIST, tagRecord.getAlbumArtist());
+    }
+    final boolean dateChanged = changed.test(MetadataField.YEAR) || changed.test(MetadataField.DATE);
     // YEAR : TYER
-    if (tagFile.getDate() == null) {
-      updateTextField(v2tag, FieldKey.YEAR, ((tagFile.getYear() != null && tagFile.getYear() > 0) ? tagFile.getYear().toString() : ""));
+    if (dateChanged && tagRecord.getDate() == null) {
+      updateTextField(ctx, v2tag, FieldKey.YEAR, ((tagRecord.getYear() != null && tagRecord.getYear() > 0) ? tagRecord.getYear().toString() : ""));
     }
     // COMMENT : COMM
-    updateTextField(v2tag, FieldKey.COMMENT, tagFile.getComment());
+    if (changed.test(MetadataField.COMMENT)) {
+      updateTextField(ctx, v2tag, FieldKey.COMMENT, tagRecord.getComment());
+    }
     // COMPOSER
-    updateTextField(v2tag, FieldKey.COMPOSER, tagFile.getComposer());
+    if (changed.test(MetadataField.COMPOSER)) {
+      updateTextField(ctx, v2tag, FieldKey.COMPOSER, tagRecord.getComposer());
+    }
     // TRACK
-    if (tagFile.getTrack() == null && tagFile.getTrackTotal() == null) {
-      v2tag.removeFrame("TRCK");
-      addRemove("TRCK");
-    } else {
-      // TRACK
-      updateTextField(v2tag, FieldKey.TRACK, trackToString(tagFile.getTrack()));
-      // TRACK TOTAL
-      updateTextField(v2tag, FieldKey.TRACK_TOTAL, trackToString(tagFile.getTrackTotal()));
+    if (changed.test(MetadataField.TRACK) || changed.test(MetadataField.TRACK_TOTAL)) {
+      if (tagRecord.getTrack() == null && tagRecord.getTrackTotal() == null) {
+        v2tag.removeFrame("TRCK");
+        ctx.addRemove("TRCK");
+      } else {
+        // TRACK
+        updateTextField(ctx, v2tag, FieldKey.TRACK, trackToString(tagRecord.getTrack()));
+        // TRACK TOTAL
+        updateTextField(ctx, v2tag, FieldKey.TRACK_TOTAL, trackToString(tagRecord.getTrackTotal()));
+      }
     }
     // DISC
-    if (tagFile.getDisc() == null && tagFile.getDiscTotal() == null) {
-      addRemove("TPOS");
-    } else {
-      // DISC
-      updateTextField(v2tag, FieldKey.DISC_NO, trackToString(tagFile.getDisc()));
-      // DISC TOTAL
-      updateTextField(v2tag, FieldKey.DISC_TOTAL, trackToString(tagFile.getDiscTotal()));
+    if (changed.test(MetadataField.DISC) || changed.test(MetadataField.DISC_TOTAL)) {
+      if (tagRecord.getDisc() == null && tagRecord.getDiscTotal() == null) {
+        ctx.addRemove("TPOS");
+      } else {
+        // DISC
+        updateTextField(ctx, v2tag, FieldKey.DISC_NO, trackToString(tagRecord.getDisc()));
+        // DISC TOTAL
+        updateTextField(ctx, v2tag, FieldKey.DISC_TOTAL, trackToString(tagRecord.getDiscTotal()));
+      }
     }
-
     // LYRICS : USLT
-    updateTextField(v2tag, FieldKey.LYRICS, tagFile.getLyrics());
-
+    if (changed.test(MetadataField.LYRICS)) {
+      updateTextField(ctx, v2tag, FieldKey.LYRICS, tagRecord.getLyrics());
+    }
     // COMPILATION
-    updateTextField(v2tag, FieldKey.IS_COMPILATION, tagFile.isCompilation() ? "1" : "0");
-
+    if (changed.test(MetadataField.COMPILATION)) {
+      updateTextField(ctx, v2tag, FieldKey.IS_COMPILATION, tagRecord.isCompilation() ? "1" : "0");
+    }
     // LANGUAGE : TLAN
-    updateTextField(v2tag, FieldKey.LANGUAGE, tagFile.getLanguage());
-
+    if (changed.test(MetadataField.LANGUAGE)) {
+      updateTextField(ctx, v2tag, FieldKey.LANGUAGE, tagRecord.getLanguage());
+    }
     // GENRE : TCON
-    updateTCON(v2tag, genre);
-
+    if (changed.test(MetadataField.GENRE)) {
+      updateTCON(ctx, v2tag, genre);
+    }
     // DATE OF RELEASE
-    if (v2tag instanceof ID3v23Tag v23Tag) {
-      // TDAT
-      updateID3v23ReleaseDate(tagFile, v23Tag);
-    } else {
-      if (useTDOR) {
-        updateID3v24ReleaseDate("TDOR", tagFile, (ID3v24Tag) v2tag);
-      }
-      if (useTDRC) {
-        updateID3v24ReleaseDate("TDRC", tagFile, (ID3v24Tag) v2tag);
-      }
-      if (useTDRL) {
-        updateID3v24ReleaseDate("TDRL", tagFile, (ID3v24Tag) v2tag);
+    if (dateChanged) {
+      if (v2tag instanceof ID3v23Tag v23Tag) {
+        // TDAT
+        updateID3v23ReleaseDate(ctx, tagRecord, v23Tag);
+      } else {
+        if (useTDOR) {
+          updateID3v24ReleaseDate(ctx, "TDOR", tagRecord, (ID3v24Tag) v2tag);
+        }
+        if (useTDRC) {
+          updateID3v24ReleaseDate(ctx, "TDRC", tagRecord, (ID3v24Tag) v2tag);
+        }
+        if (useTDRL) {
+          updateID3v24ReleaseDate(ctx, "TDRL", tagRecord, (ID3v24Tag) v2tag);
+        }
       }
     }
     // RATING : POPM
-    if (tagFile.getRating() > -1) {
-      updateID3v2Rating(tagFile.getAudioFormat(), tagFile.getRating(), v2tag);
+    if (changed.test(MetadataField.RATING) && tagRecord.getRating() > -1) {
+      updateID3v2Rating(ctx, tagRecord.getAudioFormat(), tagRecord.getRating(), v2tag);
     }
-
     // ARTWORK
-    updateArtworkWithMP3Tag(v2tag, tagFile.getArtwork());
+    if (changed.test(MetadataField.ARTWORK)) {
+      updateArtworkWithMP3Tag(ctx, v2tag, tagRecord.getArtwork());
+    }
 
     // Delete unwanted frames
     for (String frameName : getUnwantedID3Frames()) {
       if (v2tag.getFrame(frameName) != null) {
         v2tag.removeFrame(frameName);
-        addRemove(frameName);
+        ctx.addRemove(frameName);
       }
     }
 
     // Update Tagging System
-    tagFile.setTaggingSystem(v2tag.getClass().getSimpleName());
+    tagRecord.setTaggingSystem(v2tag.getClass().getSimpleName());
   }
 
-  private void updateID3v24ReleaseDate(final String frameName, final TagFile media, final ID3v24Tag tag) {
+  private void updateID3v24ReleaseDate(final WriteContext ctx, final String frameName, final TagRecord media, final ID3v24Tag tag) {
     ID3v24Frame frame = (ID3v24Frame) tag.getFirstField(frameName);
     if (media.getDate() != null) {
-      final String text = media.getDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd", Locale.UK));
+      final String text = media.getDate().format(TagFileConst.ISO_DATE_FORMAT);
       if (frame != null) {
         AbstractFrameBodyTextInfo body = ((AbstractFrameBodyTextInfo) frame.getBody());
         if (!text.equals(body.getObjectValue(DataTypes.OBJ_TEXT))) {
-          addChange(frameName, text, String.valueOf(body.getObjectValue(DataTypes.OBJ_TEXT)));
+          ctx.addChange(frameName, text, String.valueOf(body.getObjectValue(DataTypes.OBJ_TEXT)));
           body.setObjectValue(DataTypes.OBJ_TEXT, text);
         }
       } else {
@@ -498,22 +649,22 @@ public final class TagFileWriter {
         body.setObjectValue(DataTypes.OBJ_TEXT, text);
         try {
           tag.addField(frame);
-          addChange(frameName, text, null);
+          ctx.addChange(frameName, text, null);
         } catch (FieldDataInvalidException e) {
-          addError(frameName, text, e.getMessage());
+          ctx.addError(frameName, text, e.getMessage());
         }
       }
     } else {
       if (frame != null) {
         tag.removeFrame(frameName);
-        addRemove(frameName);
+        ctx.addRemove(frameName);
       }
     }
   }
 
-  private void updateID3v23ReleaseDate(final TagFile tagFile, final ID3v23Tag tag) {
-    if (tagFile.getDate() != null) {
-      final String text = tagFile.getDate().format(DateTimeFormatter.ofPattern("ddMM", Locale.UK));
+  private void updateID3v23ReleaseDate(final WriteContext ctx, final TagRecord tagRecord, final ID3v23Tag tag) {
+    if (tagRecord.getDate() != null) {
+      final String text = tagRecord.getDate().format(TDAT_FORMAT);
       ID3v23Frame frame = null;
 
       if (tag.hasFrame("TYERTDAT")) {
@@ -529,7 +680,7 @@ public final class TagFileWriter {
       if (frame != null) {
         FrameBodyTDAT tdat = ((FrameBodyTDAT) frame.getBody());
         if (!text.equals(tdat.getObjectValue(DataTypes.OBJ_TEXT))) {
-          addChange("TDAT", text, String.valueOf(tdat.getObjectValue(DataTypes.OBJ_TEXT)));
+          ctx.addChange("TDAT", text, String.valueOf(tdat.getObjectValue(DataTypes.OBJ_TEXT)));
           tdat.setObjectValue(DataTypes.OBJ_TEXT, text);
         }
       } else {
@@ -538,30 +689,30 @@ public final class TagFileWriter {
         tdat.setObjectValue(DataTypes.OBJ_TEXT, text);
         try {
           tag.addField(frame);
-          addChange("TDAT", text, null);
+          ctx.addChange("TDAT", text, null);
         } catch (FieldDataInvalidException e) {
-          addError("TDAT", text, e.getMessage());
+          ctx.addError("TDAT", text, e.getMessage());
         }
       }
     } else {
       if (tag.hasFrame("TYERTDAT")) {
         tag.removeFrame("TYERTDAT");
-        addRemove("TDAT");
-        if (tagFile.getYear() != null && tagFile.getYear() > 0) {
+        ctx.addRemove("TDAT");
+        if (tagRecord.getYear() != null && tagRecord.getYear() > 0) {
           try {
-            tag.setField(FieldKey.YEAR, tagFile.getYear().toString());
+            tag.setField(FieldKey.YEAR, tagRecord.getYear().toString());
           } catch (Exception e) {
-            addError("TYER", tagFile.getYear().toString(), e.getMessage());
+            ctx.addError("TYER", tagRecord.getYear().toString(), e.getMessage());
           }
         }
       } else if (tag.hasFrame("TDAT")) {
         tag.removeFrame("TDAT");
-        addRemove("TDAT");
+        ctx.addRemove("TDAT");
       }
     }
   }
 
-  private void updateID3v2Rating(final AudioFormat audioFormat, int rating, final AbstractID3v2Tag tag) {
+  private void updateID3v2Rating(final WriteContext ctx, final AudioFormat audioFormat, int rating, final AbstractID3v2Tag tag) {
     final String email = getRatingEMail();
     int convertedRating = RatingConverter.halfStarsToInternal(audioFormat, rating);
 
@@ -586,7 +737,7 @@ public final class TagFileWriter {
             framePOPM = tmpFrame;
             if (frameBodyPOPM.getRating() != convertedRating) {
               frameBodyPOPM.setRating(convertedRating);
-              addChange("POPM", String.valueOf(convertedRating), String.valueOf(frameBodyPOPM.getRating()));
+              ctx.addChange("POPM", String.valueOf(convertedRating), String.valueOf(frameBodyPOPM.getRating()));
               if (isRatingEnforceSingleFrame()) {
                 addFrameFlag = true;
               }
@@ -602,18 +753,18 @@ public final class TagFileWriter {
       frameBodyPOPM.setRating(convertedRating);
       frameBodyPOPM.setEmailToUser(email);
       addFrameFlag = true;
-      addChange("RATING", String.valueOf(convertedRating), null);
+      ctx.addChange("RATING", String.valueOf(convertedRating), null);
     }
     if (addFrameFlag) {
       try {
         tag.addField(framePOPM);
       } catch (FieldDataInvalidException e) {
-        addError("RATING", String.valueOf(convertedRating), e.getMessage());
+        ctx.addError("RATING", String.valueOf(convertedRating), e.getMessage());
       }
     }
   }
 
-  private void updateTCON(final AbstractID3v2Tag tag, final String genre) {
+  private void updateTCON(final WriteContext ctx, final AbstractID3v2Tag tag, final String genre) {
     List<TagField> list;
     try {
       list = tag.getFields("TCON");
@@ -623,7 +774,7 @@ public final class TagFileWriter {
     if (list != null && !list.isEmpty()) {
       if (genre == null || genre.isEmpty()) {
         tag.removeFrame("TCON");
-        addRemove("TCON");
+        ctx.addRemove("TCON");
         return;
       }
       if (list.size() > 1) {
@@ -651,7 +802,7 @@ public final class TagFileWriter {
             } else {
               String oldGenre = frameBodyTCON.getFirstTextValue();
               frameBodyTCON.setObjectValue(DataTypes.OBJ_TEXT, genre);
-              addChange("TCON", genre, oldGenre);
+              ctx.addChange("TCON", genre, oldGenre);
               return;
             }
           }
@@ -663,9 +814,9 @@ public final class TagFileWriter {
     body.setObjectValue(DataTypes.OBJ_TEXT, genre);
     try {
       tag.addField(frame);
-      addChange("TCON", genre, null);
+      ctx.addChange("TCON", genre, null);
     } catch (FieldDataInvalidException e) {
-      addError("TCON", genre, e.getMessage());
+      ctx.addError("TCON", genre, e.getMessage());
     }
   }
 
@@ -673,7 +824,7 @@ public final class TagFileWriter {
   // # MP3 ARTWORK HANDLING
   // #########################################################################
 
-  private void updateArtworkWithMP3Tag(final AbstractID3v2Tag v2tag, final ArtworkTag artworkTag) {
+  private void updateArtworkWithMP3Tag(final WriteContext ctx, final AbstractID3v2Tag v2tag, final ArtworkTag artworkTag) {
     List<TagField> coverartList;
     try {
       coverartList = v2tag.getFields(FieldKey.COVER_ART);
@@ -685,7 +836,7 @@ public final class TagFileWriter {
     if (artworkTag == null) {
       if (!coverartList.isEmpty()) {
         v2tag.deleteArtworkField();
-        addChange("APIC", null, "yes");
+        ctx.addChange("APIC", null, "yes");
       }
       return;
     }
@@ -693,16 +844,16 @@ public final class TagFileWriter {
     // APIC FRAME AUF EIN BILD BESCHRÄNKEN
     if (isArtworkEnforceSingleFrame() && coverartList.size() > 1) {
       v2tag.deleteArtworkField();
-      if (createFrameBodyAPIC(v2tag, artworkTag)) {
-        addChange("APIC", "yes", "yes");
+      if (createFrameBodyAPIC(ctx, v2tag, artworkTag)) {
+        ctx.addChange("APIC", "yes", "yes");
       }
       return;
     }
 
     if (coverartList.isEmpty()) {
       // NEUEN APIC FRAME ERZEUGEN
-      if (createFrameBodyAPIC(v2tag, artworkTag)) {
-        addChange("APIC", "yes", null);
+      if (createFrameBodyAPIC(ctx, v2tag, artworkTag)) {
+        ctx.addChange("APIC", "yes", null);
       }
     } else {
       // VORHANDENEN APIC FRAME UPDATEN
@@ -710,7 +861,7 @@ public final class TagFileWriter {
       for (TagField next : coverartList) {
         FrameBodyAPIC apicBody = (FrameBodyAPIC) ((AbstractID3v2Frame) next).getBody();
         if (apicBody.getPictureType() == 3) {
-          updateFrameBodyAPIC(artworkTag, apicBody);
+          updateFrameBodyAPIC(ctx, artworkTag, apicBody);
           return;
         }
       }
@@ -718,25 +869,25 @@ public final class TagFileWriter {
       for (TagField next : coverartList) {
         FrameBodyAPIC apicBody = (FrameBodyAPIC) ((AbstractID3v2Frame) next).getBody();
         if (apicBody.getPictureType() == 0) {
-          updateFrameBodyAPIC(artworkTag, apicBody);
+          updateFrameBodyAPIC(ctx, artworkTag, apicBody);
           return;
         }
       }
       // 3. Einfach den Ersten updaten
-      updateFrameBodyAPIC(artworkTag, (FrameBodyAPIC) ((AbstractID3v2Frame) coverartList.getFirst()).getBody());
+      updateFrameBodyAPIC(ctx, artworkTag, (FrameBodyAPIC) ((AbstractID3v2Frame) coverartList.getFirst()).getBody());
     }
   }
 
-  private void updateFrameBodyAPIC(final ArtworkTag artworkTag, final FrameBodyAPIC apicBody) {
+  private void updateFrameBodyAPIC(final WriteContext ctx, final ArtworkTag artworkTag, final FrameBodyAPIC apicBody) {
     final byte[] hash = HashUtil.createFromByteArray("MD5", apicBody.getImageData());
     if (!Arrays.equals(hash, artworkTag.getImageHash())) {
       apicBody.setMimeType(artworkTag.getImageType().getMimeTypes()[0]);
       apicBody.setImageData(artworkTag.getImageData());
-      addChange("APIC", "yes", "yes");
+      ctx.addChange("APIC", "yes", "yes");
     }
   }
 
-  private boolean createFrameBodyAPIC(final AbstractID3v2Tag v2tag, final ArtworkTag artworkTag) {
+  private boolean createFrameBodyAPIC(final WriteContext ctx, final AbstractID3v2Tag v2tag, final ArtworkTag artworkTag) {
     final TagField artworkField = switch (v2tag) {
       case ID3v24Tag tag -> tag.createArtworkField(artworkTag.getImageData(), artworkTag.getImageType().getMimeTypes()[0]);
       case ID3v23Tag tag -> tag.createArtworkField(artworkTag.getImageData(), artworkTag.getImageType().getMimeTypes()[0]);
@@ -747,7 +898,7 @@ public final class TagFileWriter {
       v2tag.addField(artworkField);
       return true;
     } catch (Exception e) {
-      addError("APIC", null, e.getMessage());
+      ctx.addError("APIC", null, e.getMessage());
       return false;
     }
   }
@@ -756,7 +907,7 @@ public final class TagFileWriter {
   // # GENERIC ARTWORK HANDLING (OGG, AAC, WMA ...)
   // #########################################################################
 
-  private void updateArtworkWithGenericTag(final Tag tag, final ArtworkTag artworkTag) {
+  private void updateArtworkWithGenericTag(final WriteContext ctx, final Tag tag, final ArtworkTag artworkTag) {
 
     List<Artwork> coverartList = tag.getArtworkList();
 
@@ -764,7 +915,7 @@ public final class TagFileWriter {
     if (artworkTag == null) {
       if (!coverartList.isEmpty()) {
         tag.deleteArtworkField();
-        addChange("Artwork", null, "yes");
+        ctx.addChange("Artwork", null, "yes");
       }
       return;
     }
@@ -772,28 +923,28 @@ public final class TagFileWriter {
     // ARTWORK AUF EIN BILD BESCHRÄNKEN
     if (isArtworkEnforceSingleFrame() && coverartList.size() > 1) {
       tag.deleteArtworkField();
-      if (createGenericArtwork(tag, artworkTag, true)) {
-        addChange("Artwork", "yes", "yes");
+      if (createGenericArtwork(ctx, tag, artworkTag, true)) {
+        ctx.addChange("Artwork", "yes", "yes");
       }
       return;
     }
 
     if (coverartList.isEmpty()) {
       // NEUEN APIC FRAME ERZEUGEN
-      if (createGenericArtwork(tag, artworkTag, true)) {
-        addChange("Artwork", "yes", null);
+      if (createGenericArtwork(ctx, tag, artworkTag, true)) {
+        ctx.addChange("Artwork", "yes", null);
       }
     } else {
       Artwork artwork = coverartList.getFirst();
       final byte[] hash = HashUtil.createFromByteArray("MD5", artwork.getBinaryData());
       if (!Arrays.equals(hash, artworkTag.getImageHash())) {
-        createGenericArtwork(tag, artworkTag, false);
-        addChange("Artwork", "yes", "yes");
+        createGenericArtwork(ctx, tag, artworkTag, false);
+        ctx.addChange("Artwork", "yes", "yes");
       }
     }
   }
 
-  private boolean createGenericArtwork(final Tag tag, final ArtworkTag artworkTag, boolean create) {
+  private boolean createGenericArtwork(final WriteContext ctx, final Tag tag, final ArtworkTag artworkTag, boolean create) {
     Artwork artwork = ArtworkFactory.getNew();
     artwork.setBinaryData(artworkTag.getImageData());
     artwork.setMimeType(artworkTag.getImageType().getMimeTypes()[0]);
@@ -806,28 +957,10 @@ public final class TagFileWriter {
       }
       return true;
     } catch (FieldDataInvalidException e) {
-      String msg = "Can't add Artwork Frame to file '" + fullPath + "'";
+      String msg = "Can't add Artwork Frame to file '" + ctx.getPath() + "'";
       LOGGER.log(Level.SEVERE, msg, e);
-      addError("Artwork", null, e.getMessage());
+      ctx.addError("Artwork", null, e.getMessage());
       return false;
     }
   }
-
-  // #########################################################################
-  // # Logging
-  // #########################################################################
-
-  private void addChange(String frame, String value, String oldValue) {
-    infos.append("\nChanging Frame '").append(frame).append("' from '").append(oldValue).append("' to '").append(value).append("'");
-    changeCount++;
-  }
-
-  private void addRemove(String frame) {
-    infos.append("\nRemoving Frame '").append(frame).append("'");
-    changeCount++;
-  }
-
-  private void addError(String frame, String value, String msg) {
-    infos.append("\nError on Frame '").append(frame).append(" with value '").append(value).append("' : ").append(msg);
-  }
-}
\ No newline at end of file
+}
@@ -0,0 +1,49 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.io;
+
+/**
+ * The space, which a written tag needed and found in its audiofile.
+ *
+ * @param tagName       name of the tag system, e.g. ID3v2
+ * @param requiredSize  size of the new tag without padding
+ * @param availableSize space of the existing tag including its padding
+ * @param writtenSize   size of the written tag including its padding
+ */
+record TagLayout(String tagName, int requiredSize, int availableSize, int writtenSize) {
+
+  /**
+   * @return true, if only the tag region has been overwritten
+   */
+  boolean isInPlace() {
+    return requiredSize <= availableSize;
+  }
+
+  /**
+   * @return human readable description of the write operation
+   */
+  String getMessage() {
+    if (isInPlace()) {
+      return "%s tag written in place: %d of %d bytes used".formatted(tagName, requiredSize, availableSize);
+    }
+    return "%s tag of %d bytes exceeds %d bytes, rewrote the whole file with %d bytes padding".formatted(
+        tagName, requiredSize, availableSize, writtenSize - requiredSize);
+  }
+}
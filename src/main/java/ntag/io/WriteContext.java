@@ -0,0 +1,114 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.io;
+
+import java.nio.file.Path;
+
+/**
+ * The state of a single write operation of the <code>TagFileWriter</code>: the
+ * changed, removed and failed frames. A new context is created for every file and
+ * returned by <code>TagFileWriter.update</code>, so one writer can update several
+ * files concurrently.
+ */
+public final class WriteContext {
+
+  private final Path path;
+  private final StringBuilder infos = new StringBuilder(1000);
+  private int changeCount;
+  private boolean rewritten;
+
+  WriteContext(Path path) {
+    if (path == null) {
+      throw new IllegalArgumentException("path cannot be null");
+    }
+    this.path = path;
+    infos.append("Writing: '").append(path.getFileName()).append("' from Directory: ").append(path.getParent());
+  }
+
+  // ***
+  //
+  // public API
+  //
+  // ***
+
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * @return the number of changed and removed frames
+   */
+  public int getChangeCount() {
+    return changeCount;
+  }
+
+  public boolean hasChanges() {
+    return changeCount > 0;
+  }
+
+  /**
+   * @return true, if the whole audiofile has been rewritten, because the tag didn't fit
+   * into the space of the existing tag
+   */
+  public boolean isRewritten() {
+    return rewritten;
+  }
+
+  /**
+   * @return human readable protocol of the write operation
+   */
+  public String getInfos() {
+    return infos.toString();
+  }
+
+  @Override
+  public String toString() {
+    return getInfos();
+  }
+
+  // ***
+  //
+  // TagFileWriter API
+  //
+  // ***
+
+  void addChange(String frame, String value, String oldValue) {
+    infos.append("\nChanging Frame '").append(frame).append("' from '").append(oldValue).append("' to '").append(value).append("'");
+    changeCount++;
+  }
+
+  void addRemove(String frame) {
+    infos.append("\nRemoving Frame '").append(frame).append("'");
+    changeCount++;
+  }
+
+  void addError(String frame, String value, String msg) {
+    infos.append("\nError on Frame '").append(frame).append(" with value '").append(value).append("' : ").append(msg);
+  }
+
+  void addTagLayout(TagLayout layout) {
+    rewritten = !layout.isInPlace();
+    addMessage(layout.getMessage());
+  }
+
+  void addMessage(String message) {
+    infos.append('\n').append(message);
+  }
+}
@@ -36,7 +36,7 @@ public class IniFile {
 
   }
 
-  public void read(Path path) throws IOException {
+  public synchronized void read(Path path) throws IOException {
     if (path == null) {
       throw new IllegalArgumentException("path cannot be null");
     }
@@ -65,7 +65,7 @@ public class IniFile {
     }
   }
 
-  public void write(Path path) throws IOException {
+  public synchronized void write(Path path) throws IOException {
     if (path == null) {
       throw new IllegalArgumentException("path cannot be null");
     }
@@ -92,27 +92,27 @@ public class IniFile {
     }
   }
 
-  public void setValue(String section, String key, Double value) {
+  public synchronized void setValue(String section, String key, Double value) {
     setValue(section, key, value != null ? value.toString() : null, false);
   }
 
-  public void setValue(String section, String key, Float value) {
+  public synchronized void setValue(String section, String key, Float value) {
     setValue(section, key, value != null ? value.toString() : null, false);
   }
 
-  public void setValue(String section, String key, Integer value) {
+  public synchronized void setValue(String section, String key, Integer value) {
     setValue(section, key, value != null ? value.toString() : null, false);
   }
 
-  public void setValue(String section, String key, Boolean value) {
+  public synchronized void setValue(String section, String key, Boolean value) {
     setValue(section, key, value ? "1" : "0", false);
   }
 
-  public void setValue(String section, String key, String value) {
+  public synchronized void setValue(String section, String key, String value) {
     setValue(section, key, value, false);
   }
 
-  public void setValue(String section, String key, String value, boolean append) {
+  public synchronized void setValue(String section, String key, String value, boolean append) {
     if (section == null) {
       throw new IllegalArgumentException("section cannot be null");
     }
@@ -128,7 +128,7 @@ public class IniFile {
     }
   }
 
-  public void setValues(String section, String key, List<String> values, boolean append) {
+  public synchronized void setValues(String section, String key, List<String> values, boolean append) {
     if (section == null) {
       throw new IllegalArgumentException("section cannot be null");
     }
@@ -145,7 +145,7 @@ public class IniFile {
     valueList.addAll(values);
   }
 
-  public void setDoubleValues(String section, String key, List<Double> values, boolean append) {
+  public synchronized void setDoubleValues(String section, String key, List<Double> values, boolean append) {
     if (section == null) {
       throw new IllegalArgumentException("section cannot be null");
     }
@@ -164,7 +164,7 @@ public class IniFile {
     }
   }
 
-  public void setIntegerValues(String section, String key, List<Integer> values, boolean append) {
+  public synchronized void setIntegerValues(String section, String key, List<Integer> values, boolean append) {
     if (section == null) {
       throw new IllegalArgumentException("section cannot be null");
     }
@@ -183,7 +183,7 @@ public class IniFile {
     }
   }
 
-  public Map<String, List<String>> getSection(String name) {
+  public synchronized Map<String, List<String>> getSection(String name) {
     if (name == null) {
       throw new IllegalArgumentException("section cannot be null");
     }
@@ -191,7 +191,7 @@ public class IniFile {
     return sections.computeIfAbsent(name, k -> new LinkedHashMap<>());
   }
 
-  public List<String> getValues(String section, String key, String... defaultValues) {
+  public synchronized List<String> getValues(String section, String key, String... defaultValues) {
     if (section == null) {
       throw new IllegalArgumentException("section cannot be null");
     }
@@ -207,7 +207,7 @@ public class IniFile {
     return values;
   }
 
-  public List<Double> getDoubleValues(String name, String key) {
+  public synchronized List<Double> getDoubleValues(String name, String key) {
     List<String> values = getValues(name, key);
     var doubleValues = new ArrayList<Double>();
     for (String value : values) {
@@ -216,7 +216,7 @@ public class IniFile {
     return doubleValues;
   }
 
-  public List<Integer> getIntegerValues(String name, String key, Integer... defaultValues) {
+  public synchronized List<Integer> getIntegerValues(String name, String key, Integer... defaultValues) {
     List<String> values = getValues(name, key);
     var integerValues = new ArrayList<Integer>();
     for (String value : values) {
@@ -228,7 +228,7 @@ public class IniFile {
     return integerValues;
   }
 
-  public String getValue(String name, String key, String defaultValue) {
+  public synchronized String getValue(String name, String key, String defaultValue) {
     List<String> values = getValues(name, key);
     if (values.isEmpty()) {
       if (defaultValue != null) {
@@ -240,7 +240,7 @@ public class IniFile {
     }
   }
 
-  public Integer getInteger(String name, String key, Integer defaultValue) {
+  public synchronized Integer getInteger(String name, String key, Integer defaultValue) {
     List<String> values = getValues(name, key);
     if (values.isEmpty()) {
       if (defaultValue != null) {
@@ -252,7 +252,7 @@ public class IniFile {
     }
   }
 
-  public Float getFloat(String name, String key, Float defaultValue) {
+  public synchronized Float getFloat(String name, String key, Float defaultValue) {
     List<String> values = getValues(name, key);
     if (values.isEmpty()) {
       if (defaultValue != null) {
@@ -264,7 +264,7 @@ public class IniFile {
     }
   }
 
-  public Double getDouble(String name, String key, Double defaultValue) {
+  public synchronized Double getDouble(String name, String key, Double defaultValue) {
     List<String> values = getValues(name, key);
     if (values.isEmpty()) {
       if (defaultValue != null) {
@@ -276,7 +276,7 @@ public class IniFile {
     }
   }
 
-  public Boolean getBoolean(String name, String key, Boolean defaultValue) {
+  public synchronized Boolean getBoolean(String name, String key, Boolean defaultValue) {
     List<String> values = getValues(name, key);
     if (values.isEmpty()) {
       if (defaultValue != null) {
@@ -54,7 +54,7 @@ public class ArtworkAdjuster {
     }
     float quality = getQuality();
     int size = artwork.getWidth();
-    fileSizeKB = artwork.getImageData().length / 1000;
+    fileSizeKB = artwork.getSize() / 1000;
     // (2): adjust fileSize if required
     if (fileSizeKB > getMaxKilobytes()) {
       while (true) {
@@ -78,7 +78,7 @@ public class ArtworkAdjuster {
       artwork = encode(quality, artwork);
     }
     // (4): check max fileSize
-    if ((artwork.getImageData().length / 1000) > getMaxKilobytes()) {
+    if ((artwork.getSize() / 1000) > getMaxKilobytes()) {
       throw new IOException("Cannot shrink artwork to %d KB!".formatted(getMaxKilobytes()));
     }
     return artwork;
@@ -88,7 +88,7 @@ public class ArtworkAdjuster {
     BufferedImage image = ImageIO.read(new ByteArrayInputStream(data));
     image = ImageUtil.scale(image, size, size);
     ArtworkTag scalledArtwork = new ArtworkTag(image, getImageType());
-    fileSizeKB = scalledArtwork.getImageData().length / 1000;
+    fileSizeKB = scalledArtwork.getSize() / 1000;
     return scalledArtwork;
   }
 
@@ -97,7 +97,7 @@ public class ArtworkAdjuster {
     ByteArrayOutputStream bos = new ByteArrayOutputStream();
     ImageUtil.write(image, bos, getImageType(), quality);
     ArtworkTag encodedArtwork = new ArtworkTag(bos.toByteArray(), artwork.getWidth(), artwork.getHeight(), getImageType());
-    fileSizeKB = encodedArtwork.getImageData().length / 1000;
+    fileSizeKB = encodedArtwork.getSize() / 1000;
     return encodedArtwork;
   }
 
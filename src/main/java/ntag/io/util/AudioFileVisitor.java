@@ -26,35 +26,92 @@ import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 public class AudioFileVisitor extends SimpleFileVisitor<Path> {
 
+  /**
+   * Receives the audio files in the order they are found by the visitor.
+   */
+  @FunctionalInterface
+  public interface AudioFileConsumer {
+    void accept(Path file, BasicFileAttributes attr) throws InterruptedException;
+  }
+
   private final List<Path> audioFiles = new ArrayList<>();
+  private final Set<Object> visitedFiles = new HashSet<>();
   private final Set<String> extensions = AudioFormat.getFileExtensions();
   private final int maxFiles;
+  private final AudioFileConsumer consumer;
+  private int fileCount;
 
   public AudioFileVisitor(int maxFiles) {
+    this(maxFiles, null);
+  }
+
+  /**
+   * Creates a visitor that hands every audio file over to the given consumer
+   * instead of collecting it, so the files can be processed while the walk is
+   * still running. The walk terminates if the consumer is interrupted.
+   *
+   * @param maxFiles maximum number of audio files
+   * @param consumer receives the audio files, e.g. by putting them into a bounded queue
+   */
+  public AudioFileVisitor(int maxFiles, AudioFileConsumer consumer) {
     this.maxFiles = maxFiles;
+    this.consumer = consumer;
   }
 
   @Override
   public FileVisitResult visitFile(Path file, BasicFileAttributes attr) {
-    if (attr.isRegularFile() && matches(file) && !audioFiles.contains(file)) {
-      audioFiles.add(file);
+    if (attr.isRegularFile() && matches(file) && visitedFiles.add(createFileKey(file, attr))) {
+      if (consumer == null) {
+        audioFiles.add(file);
+        fileCount++;
+      } else {
+        try {
+          consumer.accept(file, attr);
+          fileCount++;
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return FileVisitResult.TERMINATE;
+        }
+      }
     }
-    if (audioFiles.size() < maxFiles) {
+    if (fileCount < maxFiles) {
       return FileVisitResult.CONTINUE;
     } else {
       return FileVisitResult.TERMINATE;
     }
   }
 
+  /**
+   * Returns the collected audio files. The list is always empty, if the
+   * visitor was created with an <code>AudioFileConsumer</code>.
+   *
+   * @return List of audio files
+   */
   public List<Path> getAudioFiles() {
     return audioFiles;
   }
 
+  public int getFileCount() {
+    return fileCount;
+  }
+
+  /**
+   * Returns the key used to detect files, which have already been visited. The file key
+   * (e.g. device and inode) also identifies a file reached by symbolic links or by
+   * overlapping start directories. If the file system doesn't provide a file key,
+   * the normalized absolute path is used instead.
+   */
+  private static Object createFileKey(Path file, BasicFileAttributes attr) {
+    Object fileKey = attr.fileKey();
+    return fileKey != null ? fileKey : file.toAbsolutePath().normalize();
+  }
+
   private boolean matches(Path file) {
     String name = file.toString().toLowerCase();
     for (String extension : extensions) {
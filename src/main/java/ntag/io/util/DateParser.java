@@ -0,0 +1,140 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.io.util;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * Parses the date and year values of the ID3 frames TDRC, TDRL, TDOR, TYER and TDAT
+ * and of the generic YEAR field. Unlike a chain of <code>DateTimeFormatter</code>
+ * patterns, the parser reads the digits directly and reports invalid values by its
+ * return value, so partial dates don't throw any exceptions.
+ */
+public final class DateParser {
+
+  private DateParser() {
+
+  }
+
+  /**
+   * Parses an ID3v24 timestamp or a Vorbis DATE with day precision:
+   * yyyy-MM-dd, yyyy-MM-ddTHH, yyyy-MM-ddTHH:mm or yyyy-MM-ddTHH:mm:ss.
+   * A blank is accepted as date and time separator. The time is validated,
+   * but not returned.
+   *
+   * @param value timestamp, may be null
+   * @return the date or null, if the value has no day precision or is invalid
+   */
+  public static LocalDate parseDate(CharSequence value) {
+    if (value == null || value.length() < 10 || value.charAt(4) != '-' || value.charAt(7) != '-') {
+      return null;
+    }
+    int year = parseDigits(value, 0, 4);
+    int month = parseDigits(value, 5, 7);
+    int day = parseDigits(value, 8, 10);
+    if (year < 0 || !isValidDay(year, month, day) || !isValidTime(value)) {
+      return null;
+    }
+    return LocalDate.of(year, month, day);
+  }
+
+  /**
+   * Parses the year of an ID3v24 timestamp of any precision (yyyy, yyyy-MM, ...)
+   * or of a TYER frame.
+   *
+   * @param value timestamp or year, may be null
+   * @return the year or -1, if the value doesn't start with a four digit year
+   */
+  public static int parseYear(CharSequence value) {
+    if (value == null || value.length() < 4 || (value.length() > 4 && value.charAt(4) != '-')) {
+      return -1;
+    }
+    return parseDigits(value, 0, 4);
+  }
+
+  /**
+   * Parses the DDMM value of an ID3v23 TDAT frame.
+   *
+   * @param value day and month, may be null
+   * @param year  the year of the TYER frame
+   * @return the date or null, if the value is invalid
+   */
+  public static LocalDate parseDayMonth(CharSequence value, int year) {
+    if (value == null || value.length() != 4) {
+      return null;
+    }
+    int day = parseDigits(value, 0, 2);
+    int month = parseDigits(value, 2, 4);
+    if (!isValidDay(year, month, day)) {
+      return null;
+    }
+    return LocalDate.of(year, month, day);
+  }
+
+  // ***
+  //
+  // hidden implementation
+  //
+  // ***
+
+  private static boolean isValidDay(int year, int month, int day) {
+    return month >= 1 && month <= 12 && day >= 1 && day <= Month.of(month).length(Year.isLeap(year));
+  }
+
+  private static boolean isValidTime(CharSequence value) {
+    int length = value.length();
+    if (length == 10) {
+      return true;
+    }
+    char separator = value.charAt(10);
+    if (separator != 'T' && separator != ' ') {
+      return false;
+    }
+    return switch (length) {
+      case 13 -> isInRange(value, 11, 23);
+      case 16 -> isInRange(value, 11, 23) && value.charAt(13) == ':' && isInRange(value, 14, 59);
+      case 19 -> isInRange(value, 11, 23) && value.charAt(13) == ':' && isInRange(value, 14, 59)
+          && value.charAt(16) == ':' && isInRange(value, 17, 59);
+      default -> false;
+    };
+  }
+
+  private static boolean isInRange(CharSequence value, int offset, int max) {
+    int number = parseDigits(value, offset, offset + 2);
+    return number >= 0 && number <= max;
+  }
+
+  /**
+   * @return the non-negative number or -1, if a character isn't an ASCII digit
+   */
+  private static int parseDigits(CharSequence value, int from, int to) {
+    int number = 0;
+    for (int i = from; i < to; i++) {
+      int digit = value.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      number = number * 10 + digit;
+    }
+    return number;
+  }
+}
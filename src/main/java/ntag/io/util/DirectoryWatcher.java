@@ -0,0 +1,255 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.io.util;
+
+import ntag.model.AudioFormat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches the scanned directories for created, modified and deleted audiofiles.
+ * Events are collected until no further event arrives within the debounce time,
+ * then the listener receives the changed and deleted paths at once. Directories
+ * created below a watched directory are registered, as long as they don't exceed
+ * the scan depth.
+ */
+public class DirectoryWatcher implements Closeable {
+
+  public static final Logger LOGGER = Logger.getLogger(DirectoryWatcher.class.getName());
+
+  /**
+   * Receives the collected changes. Called from the watcher thread.
+   */
+  @FunctionalInterface
+  public interface Listener {
+    /**
+     * @param changed created or modified audiofiles
+     * @param deleted deleted audiofiles or directories
+     */
+    void filesChanged(Set<Path> changed, Set<Path> deleted);
+  }
+
+  private final WatchService watchService;
+  private final Map<WatchKey, Path> directories = new HashMap<>();
+  private final Map<Path, Integer> depths = new HashMap<>();
+  private final Set<String> extensions = AudioFormat.getFileExtensions();
+  private final Set<Path> changed = new LinkedHashSet<>();
+  private final Set<Path> deleted = new LinkedHashSet<>();
+  private final int maxDepth;
+  private final long debounceMillis;
+  private final Listener listener;
+  private final Thread thread;
+
+  /**
+   * Registers all directories of the given paths up to the scan depth.
+   *
+   * @param pathList       the scanned directories
+   * @param maxDepth       the scan depth as used for <code>Files.walkFileTree</code>
+   * @param debounceMillis quiet period in milliseconds before the changes are reported
+   * @param listener       receives the changes
+   * @throws IOException on IO Errors
+   */
+  public DirectoryWatcher(List<Path> pathList, int maxDepth, long debounceMillis, Listener listener) throws IOException {
+    if (pathList == null) {
+      throw new IllegalArgumentException("pathList cannot be null");
+    }
+    if (listener == null) {
+      throw new IllegalArgumentException("listener cannot be null");
+    }
+    this.maxDepth = maxDepth;
+    this.debounceMillis = debounceMillis;
+    this.listener = listener;
+    this.watchService = FileSystems.getDefault().newWatchService();
+    try {
+      for (Path path : pathList) {
+        if (Files.isDirectory(path)) {
+          registerAll(path, 0, false);
+        }
+      }
+    } catch (IOException e) {
+      watchService.close();
+      throw e;
+    }
+    this.thread = new Thread(this::run, "ntag-watcher");
+    this.thread.setDaemon(true);
+  }
+
+  public void start() {
+    thread.start();
+  }
+
+  public int getDirectoryCount() {
+    return directories.size();
+  }
+
+  @Override
+  public void close() throws IOException {
+    watchService.close();
+  }
+
+  // ***
+  //
+  // hidden implementation
+  //
+  // ***
+
+  private void run() {
+    try {
+      while (true) {
+        final WatchKey key;
+        if (changed.isEmpty() && deleted.isEmpty()) {
+          key = watchService.take();
+        } else {
+          key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+        }
+        if (key == null) {
+          fireFilesChanged();
+        } else {
+          processEvents(key);
+        }
+      }
+    } catch (ClosedWatchServiceException | InterruptedException e) {
+      LOGGER.fine("Directory watcher stopped");
+    }
+  }
+
+  private void processEvents(WatchKey key) {
+    final Path dir = directories.get(key);
+    for (WatchEvent<?> event : key.pollEvents()) {
+      if (dir == null) {
+        continue;
+      }
+      if (event.kind() == OVERFLOW) {
+        LOGGER.warning("Lost events for directory " + dir);
+        rescan(dir);
+        continue;
+      }
+      final Path path = dir.resolve((Path) event.context());
+      if (event.kind() == ENTRY_DELETE) {
+        changed.remove(path);
+        deleted.add(path);
+      } else if (Files.isDirectory(path)) {
+        if (event.kind() == ENTRY_CREATE) {
+          try {
+            registerAll(path, depths.get(dir) + 1, true);
+          } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Cannot watch directory " + path, e);
+          }
+        }
+      } else if (matches(path)) {
+        deleted.remove(path);
+        changed.add(path);
+      }
+    }
+    if (!key.reset()) {
+      directories.remove(key);
+      depths.remove(dir);
+    }
+  }
+
+  private void fireFilesChanged() {
+    final Set<Path> changedFiles = new LinkedHashSet<>(changed);
+    final Set<Path> deletedFiles = new LinkedHashSet<>(deleted);
+    changed.clear();
+    deleted.clear();
+    try {
+      listener.filesChanged(changedFiles, deletedFiles);
+    } catch (RuntimeException e) {
+      LOGGER.log(Level.SEVERE, "Error while processing file changes", e);
+    }
+  }
+
+  /**
+   * Registers the given directory and its subdirectories up to the scan depth.
+   * Audiofiles found in new directories are reported as changed, because they
+   * may have been created before the directory was registered.
+   */
+  private void registerAll(Path start, int startDepth, boolean created) throws IOException {
+    if (startDepth >= maxDepth) {
+      return;
+    }
+    Files.walkFileTree(start, Set.of(FileVisitOption.FOLLOW_LINKS), maxDepth - startDepth, new SimpleFileVisitor<>() {
+      @Override
+      public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+        WatchKey key = dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        directories.put(key, dir);
+        depths.put(dir, dir.equals(start) ? startDepth : startDepth + start.relativize(dir).getNameCount());
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+        if (created && attrs.isRegularFile() && matches(file)) {
+          changed.add(file);
+        }
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFileFailed(Path file, IOException exc) {
+        LOGGER.log(Level.WARNING, "Cannot visit " + file, exc);
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  private void rescan(Path dir) {
+    try (var files = Files.list(dir)) {
+      files.filter(file -> Files.isRegularFile(file) && matches(file)).forEach(changed::add);
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Cannot rescan directory " + dir, e);
+    }
+  }
+
+  private boolean matches(Path file) {
+    String name = file.getFileName().toString().toLowerCase();
+    for (String extension : extensions) {
+      if (name.endsWith(extension)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -21,14 +21,19 @@ package ntag.io.util;
 
 import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
 import javax.imageio.ImageWriteParam;
 import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
 import javax.imageio.stream.MemoryCacheImageOutputStream;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Arrays;
+import java.util.Iterator;
 
 public final class ImageUtil {
 
@@ -140,4 +145,27 @@ public final class ImageUtil {
     bufferedScaledImage.getGraphics().drawImage(scaledImage, 0, 0, null);
     return bufferedScaledImage;
   }
+
+  /**
+   * Reads the dimension of an encoded image from its header without decoding the pixels.
+   *
+   * @param data encoded image data
+   * @return the dimension or null, if the image format is unknown
+   * @throws IOException on IO Error
+   */
+  public static Dimension readDimension(byte[] data) throws IOException {
+    try (ImageInputStream input = new MemoryCacheImageInputStream(new ByteArrayInputStream(data))) {
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+      if (!readers.hasNext()) {
+        return null;
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(input, true, true);
+        return new Dimension(reader.getWidth(0), reader.getHeight(0));
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
 }
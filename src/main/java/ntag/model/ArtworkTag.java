@@ -22,6 +22,7 @@ package ntag.model;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import javafx.embed.swing.SwingFXUtils;
 import javafx.scene.image.Image;
+import ntag.io.ArtworkCache;
 import ntag.io.HashUtil;
 import ntag.io.NTagProperties;
 import ntag.io.util.ImageUtil;
@@ -32,16 +33,24 @@ import javax.annotation.Nonnull;
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.Arrays;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class ArtworkTag implements Comparable<ArtworkTag> {
 
+  /**
+   * Loads the image data of an artwork, which has been created without its data.
+   */
+  @FunctionalInterface
+  public interface Loader {
+    byte[] load() throws IOException;
+  }
+
   // ***
   //
   // instance attributes
@@ -53,7 +62,9 @@ public class ArtworkTag implements Comparable<ArtworkTag> {
   private byte[] imageData;
   private ImageType imageType;
   private byte[] imageHash;
+  private int size = -1;
   private Dimension dimension;
+  private Loader loader;
 
   // ***
   //
@@ -77,13 +88,79 @@ public class ArtworkTag implements Comparable<ArtworkTag> {
     setImageType(imageType);
   }
 
-  public ArtworkTag(Artwork artwork) throws IOException {
-    setImageData(artwork.getBinaryData());
+  /**
+   * Creates an artwork, whose image data is loaded on first access. Used for
+   * artworks restored from the tag cache, which only stores the descriptor.
+   *
+   * @param imageHash MD5 hash of the image data
+   * @param imageType image type
+   * @param size      size of the image data in bytes or -1, if unknown
+   * @param dimension dimension of the image or null, if unknown
+   * @param loader    loads the image data
+   */
+  public ArtworkTag(byte[] imageHash, ImageType imageType, int size, Dimension dimension, Loader loader) {
+    if (imageHash == null || imageHash.length == 0) {
+      throw new IllegalArgumentException("imageHash cannot be null");
+    }
+    if (imageType == null) {
+      throw new IllegalArgumentException("imageType cannot be null");
+    }
+    if (loader == null) {
+      throw new IllegalArgumentException("loader cannot be null");
+    }
+    this.imageHash = imageHash;
+    this.size = size;
+    this.dimension = dimension;
+    this.loader = loader;
+    setImageType(imageType);
+  }
+
+  /**
+   * Creates an artwork, whose image data hasn't been read yet. The MD5 hash is
+   * computed, when the data or the hash is accessed for the first time. Used for
+   * artworks, which are located in the audiofile without reading their data.
+   *
+   * @param imageType image type
+   * @param size      size of the image data in bytes or -1, if unknown
+   * @param dimension dimension of the image or null, if unknown
+   * @param loader    loads the image data
+   */
+  public ArtworkTag(ImageType imageType, int size, Dimension dimension, Loader loader) {
+    if (imageType == null) {
+      throw new IllegalArgumentException("imageType cannot be null");
+    }
+    if (loader == null) {
+      throw new IllegalArgumentException("loader cannot be null");
+    }
+    this.size = size;
+    this.dimension = dimension;
+    this.loader = loader;
+    setImageType(imageType);
+  }
+
+  /**
+   * Creates an artwork from a tag, which keeps only the descriptor. The image data
+   * is handed to the <code>ArtworkCache</code> and reloaded by the loader, after it
+   * has been evicted.
+   *
+   * @param artwork the artwork read from the tag
+   * @param loader  loads the image data again
+   * @throws IOException if the MIME type is not supported
+   */
+  public ArtworkTag(Artwork artwork, Loader loader) throws IOException {
+    if (loader == null) {
+      throw new IllegalArgumentException("loader cannot be null");
+    }
     setImageType(ImageType.getByMimeType(artwork.getMimeType()));
-    this.dimension = new Dimension(artwork.getWidth(), artwork.getHeight());
     if (getImageType() == null) {
       throw new IOException("MIME '%s' is not supported".formatted(artwork.getMimeType()));
     }
+    final byte[] data = artwork.getBinaryData();
+    this.imageHash = HashUtil.createFromByteArray("MD5", data);
+    this.size = data.length;
+    this.dimension = ImageUtil.readDimension(data);
+    this.loader = loader;
+    ArtworkCache.instance().put(imageHash, data);
   }
 
   public ArtworkTag(Image image) throws IOException {
@@ -143,24 +220,76 @@ public class ArtworkTag implements Comparable<ArtworkTag> {
   //
   // ***
 
+  /**
+   * Returns the image data. The data of an artwork created with a loader is taken
+   * from the <code>ArtworkCache</code> or loaded again, it is not retained by the
+   * artwork itself.
+   *
+   * @return the image data or an empty array, if the data cannot be loaded
+   */
   @SuppressFBWarnings("EI_EXPOSE_REP")
-  public byte[] getImageData() {
-    return imageData;
+  public synchronized byte[] getImageData() {
+    if (imageData != null || loader == null) {
+      return imageData;
+    }
+    final ArtworkCache cache = ArtworkCache.instance();
+    byte[] data = imageHash == null ? null : cache.get(imageHash);
+    if (data == null) {
+      try {
+        data = loader.load();
+      } catch (IOException e) {
+        LOGGER.log(Level.SEVERE, "Cannot load artwork data", e);
+        return new byte[0];
+      }
+      size = data.length;
+      if (imageHash == null) {
+        imageHash = HashUtil.createFromByteArray("MD5", data);
+      }
+      cache.put(imageHash, data);
+    }
+    return data;
   }
 
-  protected void setImageData(byte[] imageData) {
+  protected synchronized void setImageData(byte[] imageData) {
     this.imageData = imageData;
+    this.loader = null;
     if (imageData == null) {
       imageHash = null;
+      size = -1;
     } else {
       imageHash = HashUtil.createFromByteArray("MD5", imageData);
+      size = imageData.length;
+    }
+  }
+
+  /**
+   * @return the size of the image data in bytes, without loading the data if possible
+   */
+  public int getSize() {
+    if (size < 0) {
+      byte[] data = getImageData();
+      return data == null ? 0 : data.length;
     }
+    return size;
   }
 
-  public byte[] getImageHash() {
+  /**
+   * @return the MD5 hash of the image data, loads the data of a lazily created artwork
+   */
+  public synchronized byte[] getImageHash() {
+    if (imageHash == null && loader != null) {
+      getImageData();
+    }
     return imageHash;
   }
 
+  /**
+   * @return true, if the MD5 hash is computed on the first access of the image data
+   */
+  public synchronized boolean isImageHashPending() {
+    return imageHash == null && loader != null;
+  }
+
   public ImageType getImageType() {
     return imageType;
   }
@@ -177,12 +306,18 @@ public class ArtworkTag implements Comparable<ArtworkTag> {
     return getDimension().width;
   }
 
+  /**
+   * @return the dimension without reading the image data or null, if unknown
+   */
+  public Dimension getKnownDimension() {
+    return dimension;
+  }
+
   public Dimension getDimension() throws IOException {
-    if ((dimension == null || dimension.width == 0) && imageData.length > 0) {
-      ByteArrayInputStream bis = new ByteArrayInputStream(imageData);
-      BufferedImage image = ImageIO.read(bis);
-      if (image != null) {
-        this.dimension = new Dimension(image.getWidth(), image.getHeight());
+    if ((dimension == null || dimension.width == 0) && getSize() > 0) {
+      Dimension imageDimension = ImageUtil.readDimension(getImageData());
+      if (imageDimension != null) {
+        this.dimension = imageDimension;
       }
     }
     return dimension;
@@ -192,7 +327,8 @@ public class ArtworkTag implements Comparable<ArtworkTag> {
   public int hashCode() {
     final int prime = 31;
     int result = 1;
-    result = prime * result + ((imageHash == null) ? 0 : Arrays.hashCode(imageHash));
+    final byte[] hash = getImageHash();
+    result = prime * result + ((hash == null) ? 0 : Arrays.hashCode(hash));
     return result;
   }
 
@@ -205,17 +341,18 @@ public class ArtworkTag implements Comparable<ArtworkTag> {
     if (getClass() != obj.getClass())
       return false;
     ArtworkTag other = (ArtworkTag) obj;
-    if (imageHash == null) {
-      return other.imageHash == null;
-    } else return Arrays.equals(imageHash, other.imageHash);
+    final byte[] hash = getImageHash();
+    if (hash == null) {
+      return other.getImageHash() == null;
+    } else return Arrays.equals(hash, other.getImageHash());
   }
 
   @Override
   public int compareTo(@Nonnull ArtworkTag other) {
-    if (imageData == null) {
+    if (getImageHash() == null) {
       return -1;
     } else {
-      return Integer.compare(imageData.length, other.getImageData().length);
+      return Integer.compare(getSize(), other.getSize());
     }
   }
 
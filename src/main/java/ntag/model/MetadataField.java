@@ -0,0 +1,46 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.model;
+
+/**
+ * The metadata properties of a <code>TagRecord</code>, which are written to the
+ * audiofile. A record remembers the fields, which have been changed since the last
+ * read or write, so the <code>TagFileWriter</code> updates only these fields.
+ */
+public enum MetadataField {
+  TITLE, //
+  ARTIST, //
+  ALBUM, //
+  ALBUM_ARTIST, //
+  COMPOSER, //
+  YEAR, //
+  DATE, //
+  GENRE, //
+  TRACK, //
+  TRACK_TOTAL, //
+  DISC, //
+  DISC_TOTAL, //
+  COMMENT, //
+  LANGUAGE, //
+  RATING, //
+  LYRICS, //
+  COMPILATION, //
+  ARTWORK
+}
@@ -0,0 +1,70 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.model;
+
+/**
+ * A diagnostic event, which occurred while the metadata of an audiofile was read.
+ * The event keeps references to the read values and formats its message only on
+ * demand, so reading doesn't build any text for files nobody inspects.
+ *
+ * @param type    event type
+ * @param subject frame identifier or rating e-mail, may be null
+ * @param value   the affected value, may be null
+ * @param detail  error message, may be null
+ */
+public record ReadEvent(Type type, String subject, String value, String detail) {
+
+  public enum Type {
+    INVALID_FRAME("Invalid %1$s Frame with Value '%2$s'"), //
+    UNPARSABLE_FRAME("Cannot parse %1$s Frame with Value '%2$s' : %3$s"), //
+    MISSING_YEAR("Missing Year"), //
+    INVALID_YEAR("Invalid Year with Value '%2$s'"), //
+    RATING_FOUND("Found Rating from '%1$s' with Rating Score '%2$s'"), //
+    RATING_CALCULATED("Calculated Rating Score is: %2$s"), //
+    INVALID_ARTWORK("Found invalid embedded artwork data!");
+
+    private final String format;
+
+    Type(String format) {
+      this.format = format;
+    }
+  }
+
+  public ReadEvent {
+    if (type == null) {
+      throw new IllegalArgumentException("type cannot be null");
+    }
+  }
+
+  public ReadEvent(Type type) {
+    this(type, null, null, null);
+  }
+
+  public ReadEvent(Type type, String subject, String value) {
+    this(type, subject, value, null);
+  }
+
+  /**
+   * @return the human readable message
+   */
+  public String getMessage() {
+    return type.format.formatted(subject, value, detail);
+  }
+}
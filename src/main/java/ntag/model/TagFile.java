@@ -24,13 +24,11 @@ import ntag.NTagException;
 import ntag.io.JAudiotaggerUtil;
 import ntag.io.NTagProperties;
 import org.jaudiotagger.audio.AudioFile;
-import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.mp3.MP3File;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.TagField;
 import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
 
-import java.io.File;
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -40,20 +38,69 @@ import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+/**
+ * Adapts a <code>TagRecord</code> for the user interface: adds the JavaFX properties,
+ * the dirty flag and the status.<br>
+ * <br>
+ * The values are stored in the record. A property is created on the first call of
+ * its property method, e.g. for a bound table row, and writes changes through to
+ * the record. Getters and setters don't create properties.
+ */
 public class TagFile {
 
   public static final Logger LOGGER = Logger.getLogger(TagFile.class.getName());
 
-  // *** jaudiotagger AudioFile representation
+  // *** the adapted record
 
-  private AudioFile audioFile;
+  private final TagRecord record;
+
+  public TagRecord getRecord() {
+    return record;
+  }
+
+  // *** jaudiotagger AudioFile representation
 
   public AudioFile getAudioFile() {
-    return audioFile;
+    return record.getAudioFile();
+  }
+
+  /**
+   * Returns the jaudiotagger representation of this file. Reads the audiofile again,
+   * if this <code>TagFile</code> was restored from the tag cache or the AudioFile
+   * has been released. Before reading, the audiofile is checked for external changes.
+   *
+   * @return AudioFile
+   * @throws NTagException on IO Problems or if the audiofile has been changed
+   */
+  public AudioFile openAudioFile() throws NTagException {
+    return record.openAudioFile();
   }
 
   public void setAudioFile(AudioFile audioFile) {
-    this.audioFile = audioFile;
+    record.setAudioFile(audioFile);
+  }
+
+  /**
+   * Releases the jaudiotagger representation with its parsed tag frames.
+   * It is read again by <code>openAudioFile</code> on demand.
+   */
+  public void releaseAudioFile() {
+    record.releaseAudioFile();
+  }
+
+  /**
+   * @throws NTagException if the audiofile has been changed or cannot be accessed
+   * @see TagRecord#verifyUnchanged()
+   */
+  public void verifyUnchanged() throws NTagException {
+    record.verifyUnchanged();
+  }
+
+  /**
+   * Updates size and last modified time after this file has been written.
+   */
+  public void refreshFileInformation() {
+    record.refreshFileInformation();
   }
 
   // ***
@@ -64,14 +111,12 @@ public class TagFile {
 
   // *** human readable file informations
 
-  private String infos;
-
   public String getInfos() {
-    return infos;
+    return record.getInfos();
   }
 
   public void setInfos(String infos) {
-    this.infos = infos;
+    record.setInfos(infos);
   }
 
   // *** dirty flag for unsafed changes
@@ -87,20 +132,49 @@ public class TagFile {
     updateStatus();
   }
 
+  // *** loaded flag, false if only the file informations have been read
+
+  public boolean isLoaded() {
+    return record.isLoaded();
+  }
+
+  public void setLoaded(boolean loaded) {
+    record.setLoaded(loaded);
+    updateStatus();
+  }
+
+  // *** header loaded flag, false if the audio header analysis has been deferred
+
+  public boolean isHeaderLoaded() {
+    return record.isHeaderLoaded();
+  }
+
+  public void setHeaderLoaded(boolean headerLoaded) {
+    record.setHeaderLoaded(headerLoaded);
+  }
+
   // *** status (contains char codes)
 
-  private final StringProperty status = new SimpleStringProperty(this, "status", "");
+  private String status = "";
+  private StringProperty statusProperty;
 
   public final StringProperty statusProperty() {
-    return this.status;
+    if (statusProperty == null) {
+      statusProperty = new SimpleStringProperty(this, "status", status);
+    }
+    return statusProperty;
   }
 
-  public final java.lang.String getStatus() {
-    return this.statusProperty().get();
+  public final String getStatus() {
+    return statusProperty == null ? status : statusProperty.get();
   }
 
-  public final void setStatus(final java.lang.String status) {
-    this.statusProperty().set(status);
+  public final void setStatus(final String status) {
+    if (statusProperty == null) {
+      this.status = status;
+    } else {
+      statusProperty.set(status);
+    }
   }
 
   // ***
@@ -111,119 +185,110 @@ public class TagFile {
 
   // *** Origin Path
 
-  private String path;
-
   /**
    * Returns the Path of this audiofile
    *
    * @return the Path of this AudioFile
    */
   public Path getPath() {
-    if (path != null) {
-      return Path.of(path);
-    } else {
-      return null;
-    }
+    return record.getPath();
   }
 
   public void setPath(Path path) {
-    if (path == null) {
-      this.path = null;
-    } else {
-      this.path = path.toString();
-      if (this.audioFile != null) {
-        this.audioFile.setFile(new File(this.path));
-      }
-    }
+    record.setPath(path);
   }
 
   // *** Filename
 
-  private final StringProperty name = new SimpleStringProperty(this, "name", "");
+  private StringProperty nameProperty;
 
   public final StringProperty nameProperty() {
-    return this.name;
+    if (nameProperty == null) {
+      nameProperty = new SimpleStringProperty(this, "name", record.getName());
+      nameProperty.addListener((observable, oldValue, newValue) -> record.setName(newValue));
+    }
+    return nameProperty;
   }
 
-  public final java.lang.String getName() {
-    return this.nameProperty().get();
+  public final String getName() {
+    return record.getName();
   }
 
-  public final void setName(final java.lang.String name) {
-    this.nameProperty().set(name);
+  public final void setName(final String name) {
+    if (nameProperty == null) {
+      record.setName(name);
+    } else {
+      nameProperty.set(name);
+    }
   }
 
   // *** Directory
 
-  private String directory;
-
   public String getDirectory() {
-    return directory;
+    return record.getDirectory();
   }
 
   public void setDirectory(String directory) {
-    this.directory = directory;
+    record.setDirectory(directory);
   }
 
   // *** File Size in Bytes
 
-  private long size;
-
   public long getSize() {
-    return size;
+    return record.getSize();
   }
 
   public void setSize(long size) {
-    this.size = size;
+    record.setSize(size);
   }
 
   // *** file extension
 
-  private String extension;
-
   public String getExtension() {
-    return extension;
+    return record.getExtension();
   }
 
   public void setExtension(String extension) {
-    this.extension = extension;
+    record.setExtension(extension);
   }
 
   // *** file creation timestamp
 
-  private LocalDateTime created;
-
   public LocalDateTime getCreated() {
-    return created;
+    return record.getCreated();
   }
 
-  public void setCreated(LocalDateTime created) {
-    this.created = created;
+  public long getCreatedMillis() {
+    return record.getCreatedMillis();
   }
 
-  // *** file modified timestamp
+  public void setCreatedMillis(long created) {
+    record.setCreatedMillis(created);
+  }
 
-  private LocalDateTime modified;
+  // *** file modified timestamp
 
   @SuppressWarnings("unused")
   public LocalDateTime getModified() {
-    return modified;
+    return record.getModified();
   }
 
-  public void setModified(LocalDateTime modified) {
-    this.modified = modified;
+  public long getModifiedMillis() {
+    return record.getModifiedMillis();
   }
 
-  // *** file read-only flag
+  public void setModifiedMillis(long modified) {
+    record.setModifiedMillis(modified);
+  }
 
-  private boolean readOnly;
+  // *** file read-only flag
 
   public boolean isReadOnly() {
-    return readOnly;
+    return record.isReadOnly();
   }
 
   public void setReadOnly(boolean readOnly) {
-    this.readOnly = readOnly;
+    record.setReadOnly(readOnly);
   }
 
   // ***
@@ -234,124 +299,104 @@ public class TagFile {
 
   // *** audioformat like AAC, MP3, OGG or MP4
 
-  private AudioFormat audioFormat;
-
   public AudioFormat getAudioFormat() {
-    return audioFormat;
+    return record.getAudioFormat();
   }
 
   public void setAudioFormat(AudioFormat audioFormat) {
-    this.audioFormat = audioFormat;
+    record.setAudioFormat(audioFormat);
   }
 
   // *** audio codec
 
-  private String codec;
-
   public String getCodec() {
-    return codec;
+    return record.getCodec();
   }
 
   public void setCodec(String codec) {
-    this.codec = codec;
+    record.setCodec(codec);
   }
 
   // *** audio channels like mono, stereo amd joint stereo
 
-  private String channels;
-
   public String getChannels() {
-    return channels;
+    return record.getChannels();
   }
 
   public void setChannels(String channels) {
-    this.channels = channels;
+    record.setChannels(channels);
   }
 
   // *** Tagging System like AiffTag, AsfTag, FlacTag, GenericTag, ID3vXXTag,
   // Mp4Tag, RealTag, VorbisCommentTag, WavTag
 
-  private String taggingSystem;
-
   public String getTaggingSystem() {
-    return taggingSystem;
+    return record.getTaggingSystem();
   }
 
   public void setTaggingSystem(String taggingSystem) {
-    this.taggingSystem = taggingSystem;
+    record.setTaggingSystem(taggingSystem);
   }
 
   // *** software encoder
 
-  private String encoder;
-
   public String getEncoder() {
-    return encoder;
+    return record.getEncoder();
   }
 
   public void setEncoder(String encoder) {
-    this.encoder = encoder;
+    record.setEncoder(encoder);
   }
 
   // *** VBR flag
 
-  private boolean vbr;
-
   @SuppressWarnings("unused")
   public boolean isVbr() {
-    return vbr;
+    return record.isVbr();
   }
 
   public void setVbr(boolean vbr) {
-    this.vbr = vbr;
+    record.setVbr(vbr);
   }
 
   // *** lossless flag
 
-  private boolean lossless;
-
   public boolean isLossless() {
-    return lossless;
+    return record.isLossless();
   }
 
   public void setLossless(boolean lossless) {
-    this.lossless = lossless;
+    record.setLossless(lossless);
   }
 
   // *** Bitrate (kBit/s)
 
-  private long bitrate;
-
   public long getBitrate() {
-    return bitrate;
+    return record.getBitrate();
   }
 
   public void setBitrate(long bitrate) {
-    this.bitrate = bitrate;
+    record.setBitrate(bitrate);
   }
 
   // *** sampling rate in Hz
 
-  private long samplingRate;
-
   public long getSamplingRate() {
-    return samplingRate;
+    return record.getSamplingRate();
   }
 
   public void setSamplingRate(long samplingRate) {
-    this.samplingRate = samplingRate;
+    record.setSamplingRate(samplingRate);
   }
 
   // *** playtime in seconds
 
-  private long playtime;
-
   public long getPlaytime() {
-    return playtime;
+    return record.getPlaytime();
   }
 
   public void setPlaytime(long playtime) {
-    this.playtime = playtime;
+    record.setPlaytime(playtime);
   }
 
   // ***
@@ -362,332 +407,492 @@ public class TagFile {
 
   // *** Title
 
-  private final StringProperty title = new SimpleStringProperty(this, "title", "");
+  private StringProperty titleProperty;
 
   public final StringProperty titleProperty() {
-    return this.title;
+    if (titleProperty == null) {
+      titleProperty = new SimpleStringProperty(this, "title", record.getTitle());
+      titleProperty.addListener((observable, oldValue, newValue) -> record.setTitle(newValue));
+    }
+    return titleProperty;
   }
 
   public final String getTitle() {
-    return this.titleProperty().get();
+    return record.getTitle();
   }
 
   public final void setTitle(final String title) {
-    this.titleProperty().set(title);
+    if (titleProperty == null) {
+      record.setTitle(title);
+    } else {
+      titleProperty.set(title);
+    }
     updateStatus();
   }
 
   // *** Artist
 
-  private final StringProperty artist = new SimpleStringProperty(this, "artist", "");
+  private StringProperty artistProperty;
 
   public final StringProperty artistProperty() {
-    return this.artist;
+    if (artistProperty == null) {
+      artistProperty = new SimpleStringProperty(this, "artist", record.getArtist());
+      artistProperty.addListener((observable, oldValue, newValue) -> record.setArtist(newValue));
+    }
+    return artistProperty;
   }
 
-  public final java.lang.String getArtist() {
-    return this.artistProperty().get();
+  public final String getArtist() {
+    return record.getArtist();
   }
 
-  public final void setArtist(final java.lang.String artist) {
-    this.artistProperty().set(artist);
+  public final void setArtist(final String artist) {
+    if (artistProperty == null) {
+      record.setArtist(artist);
+    } else {
+      artistProperty.set(artist);
+    }
     updateStatus();
   }
 
   // *** Album
 
-  private final StringProperty album = new SimpleStringProperty(this, "album", "");
+  private StringProperty albumProperty;
 
   public final StringProperty albumProperty() {
-    return this.album;
+    if (albumProperty == null) {
+      albumProperty = new SimpleStringProperty(this, "album", record.getAlbum());
+      albumProperty.addListener((observable, oldValue, newValue) -> record.setAlbum(newValue));
+    }
+    return albumProperty;
   }
 
-  public final java.lang.String getAlbum() {
-    return this.albumProperty().get();
+  public final String getAlbum() {
+    return record.getAlbum();
   }
 
-  public final void setAlbum(final java.lang.String album) {
-    this.albumProperty().set(album);
+  public final void setAlbum(final String album) {
+    if (albumProperty == null) {
+      record.setAlbum(album);
+    } else {
+      albumProperty.set(album);
+    }
     updateStatus();
   }
 
   // *** AlbumArtist
 
-  private final StringProperty albumArtist = new SimpleStringProperty(this, "albumArtist", "");
+  private StringProperty albumArtistProperty;
 
   public final StringProperty albumArtistProperty() {
-    return this.albumArtist;
+    if (albumArtistProperty == null) {
+      albumArtistProperty = new SimpleStringProperty(this, "albumArtist", record.getAlbumArtist());
+      albumArtistProperty.addListener((observable, oldValue, newValue) -> record.setAlbumArtist(newValue));
+    }
+    return albumArtistProperty;
   }
 
-  public final java.lang.String getAlbumArtist() {
-    return this.albumArtistProperty().get();
+  public final String getAlbumArtist() {
+    return record.getAlbumArtist();
   }
 
-  public final void setAlbumArtist(final java.lang.String albumArtist) {
-    this.albumArtistProperty().set(albumArtist);
+  public final void setAlbumArtist(final String albumArtist) {
+    if (albumArtistProperty == null) {
+      record.setAlbumArtist(albumArtist);
+    } else {
+      albumArtistProperty.set(albumArtist);
+    }
   }
 
   // *** Composer
 
-  private final StringProperty composer = new SimpleStringProperty(this, "composer", "");
+  private StringProperty composerProperty;
 
   public final StringProperty composerProperty() {
-    return this.composer;
+    if (composerProperty == null) {
+      composerProperty = new SimpleStringProperty(this, "composer", record.getComposer());
+      composerProperty.addListener((observable, oldValue, newValue) -> record.setComposer(newValue));
+    }
+    return composerProperty;
   }
 
-  public final java.lang.String getComposer() {
-    return this.composerProperty().get();
+  public final String getComposer() {
+    return record.getComposer();
   }
 
-  public final void setComposer(final java.lang.String composer) {
-    this.composerProperty().set(composer);
+  public final void setComposer(final String composer) {
+    if (composerProperty == null) {
+      record.setComposer(composer);
+    } else {
+      composerProperty.set(composer);
+    }
   }
 
   // *** Year
 
-  private final ObjectProperty<Integer> year = new SimpleObjectProperty<>(this, "year", null);
+  private ObjectProperty<Integer> yearProperty;
 
   public final ObjectProperty<Integer> yearProperty() {
-    return this.year;
+    if (yearProperty == null) {
+      yearProperty = new SimpleObjectProperty<>(this, "year", record.getYear());
+      yearProperty.addListener((observable, oldValue, newValue) -> record.setYear(newValue));
+    }
+    return yearProperty;
   }
 
-  public final java.lang.Integer getYear() {
-    return this.yearProperty().get();
+  public final Integer getYear() {
+    return record.getYear();
   }
 
-  public final void setYear(final java.lang.Integer year) {
-    this.yearProperty().set(year);
+  public final void setYear(final Integer year) {
+    if (yearProperty == null) {
+      record.setYear(year);
+    } else {
+      yearProperty.set(year);
+    }
     updateStatus();
   }
 
   // *** date
 
-  private final ObjectProperty<LocalDate> date = new SimpleObjectProperty<>(this, "date", null);
+  private ObjectProperty<LocalDate> dateProperty;
 
   public final ObjectProperty<LocalDate> dateProperty() {
-    return this.date;
+    if (dateProperty == null) {
+      dateProperty = new SimpleObjectProperty<>(this, "date", record.getDate());
+      dateProperty.addListener((observable, oldValue, newValue) -> record.setDate(newValue));
+    }
+    return dateProperty;
   }
 
-  public final java.time.LocalDate getDate() {
-    return this.dateProperty().get();
+  public final LocalDate getDate() {
+    return record.getDate();
   }
 
-  public final void setDate(final java.time.LocalDate date) {
-    this.dateProperty().set(date);
+  public final void setDate(final LocalDate date) {
+    if (dateProperty == null) {
+      record.setDate(date);
+    } else {
+      dateProperty.set(date);
+    }
   }
 
   // *** Genre
 
-  private final StringProperty genre = new SimpleStringProperty(this, "genre", "");
+  private StringProperty genreProperty;
 
   public final StringProperty genreProperty() {
-    return this.genre;
+    if (genreProperty == null) {
+      genreProperty = new SimpleStringProperty(this, "genre", record.getGenre());
+      genreProperty.addListener((observable, oldValue, newValue) -> record.setGenre(newValue));
+    }
+    return genreProperty;
   }
 
-  public final java.lang.String getGenre() {
-    return this.genreProperty().get();
+  public final String getGenre() {
+    return record.getGenre();
   }
 
-  public final void setGenre(final java.lang.String genre) {
-    this.genreProperty().set(genre);
+  public final void setGenre(final String genre) {
+    if (genreProperty == null) {
+      record.setGenre(genre);
+    } else {
+      genreProperty.set(genre);
+    }
   }
 
   // *** Track
 
-  private final ObjectProperty<Integer> track = new SimpleObjectProperty<>(this, "track", null);
+  private ObjectProperty<Integer> trackProperty;
 
   public final ObjectProperty<Integer> trackProperty() {
-    return this.track;
+    if (trackProperty == null) {
+      trackProperty = new SimpleObjectProperty<>(this, "track", record.getTrack());
+      trackProperty.addListener((observable, oldValue, newValue) -> record.setTrack(newValue));
+    }
+    return trackProperty;
   }
 
-  public final java.lang.Integer getTrack() {
-    return this.trackProperty().get();
+  public final Integer getTrack() {
+    return record.getTrack();
   }
 
-  public final void setTrack(final java.lang.Integer track) {
-    this.trackProperty().set(track);
+  public final void setTrack(final Integer track) {
+    if (trackProperty == null) {
+      record.setTrack(track);
+    } else {
+      trackProperty.set(track);
+    }
   }
 
   // *** TrackTotal
 
-  private final ObjectProperty<Integer> trackTotal = new SimpleObjectProperty<>(this, "trackTotal", null);
+  private ObjectProperty<Integer> trackTotalProperty;
 
   public final ObjectProperty<Integer> trackTotalProperty() {
-    return this.trackTotal;
+    if (trackTotalProperty == null) {
+      trackTotalProperty = new SimpleObjectProperty<>(this, "trackTotal", record.getTrackTotal());
+      trackTotalProperty.addListener((observable, oldValue, newValue) -> record.setTrackTotal(newValue));
+    }
+    return trackTotalProperty;
   }
 
-  public final java.lang.Integer getTrackTotal() {
-    return this.trackTotalProperty().get();
+  public final Integer getTrackTotal() {
+    return record.getTrackTotal();
   }
 
-  public final void setTrackTotal(final java.lang.Integer trackTotal) {
-    this.trackTotalProperty().set(trackTotal);
+  public final void setTrackTotal(final Integer trackTotal) {
+    if (trackTotalProperty == null) {
+      record.setTrackTotal(trackTotal);
+    } else {
+      trackTotalProperty.set(trackTotal);
+    }
   }
 
   // *** Disc
 
-  private final ObjectProperty<Integer> disc = new SimpleObjectProperty<>(this, "disc", null);
+  private ObjectProperty<Integer> discProperty;
 
   public final ObjectProperty<Integer> discProperty() {
-    return this.disc;
+    if (discProperty == null) {
+      discProperty = new SimpleObjectProperty<>(this, "disc", record.getDisc());
+      discProperty.addListener((observable, oldValue, newValue) -> record.setDisc(newValue));
+    }
+    return discProperty;
   }
 
-  public final java.lang.Integer getDisc() {
-    return this.discProperty().get();
+  public final Integer getDisc() {
+    return record.getDisc();
   }
 
-  public final void setDisc(final java.lang.Integer disc) {
-    this.discProperty().set(disc);
+  public final void setDisc(final Integer disc) {
+    if (discProperty == null) {
+      record.setDisc(disc);
+    } else {
+      discProperty.set(disc);
+    }
   }
 
   // *** DiscTotal
 
-  private final ObjectProperty<Integer> discTotal = new SimpleObjectProperty<>(this, "discTotal", null);
+  private ObjectProperty<Integer> discTotalProperty;
 
   public final ObjectProperty<Integer> discTotalProperty() {
-    return this.discTotal;
+    if (discTotalProperty == null) {
+      discTotalProperty = new SimpleObjectProperty<>(this, "discTotal", record.getDiscTotal());
+      discTotalProperty.addListener((observable, oldValue, newValue) -> record.setDiscTotal(newValue));
+    }
+    return discTotalProperty;
   }
 
-  public final java.lang.Integer getDiscTotal() {
-    return this.discTotalProperty().get();
+  public final Integer getDiscTotal() {
+    return record.getDiscTotal();
   }
 
-  public final void setDiscTotal(final java.lang.Integer discTotal) {
-    this.discTotalProperty().set(discTotal);
+  public final void setDiscTotal(final Integer discTotal) {
+    if (discTotalProperty == null) {
+      record.setDiscTotal(discTotal);
+    } else {
+      discTotalProperty.set(discTotal);
+    }
   }
 
   // *** Comment
 
-  private final StringProperty comment = new SimpleStringProperty(this, "comment", "");
+  private StringProperty commentProperty;
 
   public final StringProperty commentProperty() {
-    return this.comment;
+    if (commentProperty == null) {
+      commentProperty = new SimpleStringProperty(this, "comment", record.getComment());
+      commentProperty.addListener((observable, oldValue, newValue) -> record.setComment(newValue));
+    }
+    return commentProperty;
   }
 
-  public final java.lang.String getComment() {
-    return this.commentProperty().get();
+  public final String getComment() {
+    return record.getComment();
   }
 
-  public final void setComment(final java.lang.String comment) {
-    this.commentProperty().set(comment);
+  public final void setComment(final String comment) {
+    if (commentProperty == null) {
+      record.setComment(comment);
+    } else {
+      commentProperty.set(comment);
+    }
   }
 
-  // Language
+  // *** Language
 
-  private final StringProperty language = new SimpleStringProperty(this, "language", "");
+  private StringProperty languageProperty;
 
   public final StringProperty languageProperty() {
-    return this.language;
+    if (languageProperty == null) {
+      languageProperty = new SimpleStringProperty(this, "language", record.getLanguage());
+      languageProperty.addListener((observable, oldValue, newValue) -> record.setLanguage(newValue));
+    }
+    return languageProperty;
   }
 
-  public final java.lang.String getLanguage() {
-    return this.languageProperty().get();
+  public final String getLanguage() {
+    return record.getLanguage();
   }
 
-  public final void setLanguage(final java.lang.String language) {
-    this.languageProperty().set(language);
+  public final void setLanguage(final String language) {
+    if (languageProperty == null) {
+      record.setLanguage(language);
+    } else {
+      languageProperty.set(language);
+    }
   }
 
   // *** Rating from 0 (unrated) to 10
 
-  private final ObjectProperty<Integer> rating = new SimpleObjectProperty<>(this, "rating", null);
+  private ObjectProperty<Integer> ratingProperty;
 
   public final ObjectProperty<Integer> ratingProperty() {
-    return this.rating;
+    if (ratingProperty == null) {
+      ratingProperty = new SimpleObjectProperty<>(this, "rating", record.getRating());
+      ratingProperty.addListener((observable, oldValue, newValue) -> record.setRating(newValue));
+    }
+    return ratingProperty;
   }
 
-  public final java.lang.Integer getRating() {
-    return this.ratingProperty().get();
+  public final Integer getRating() {
+    return record.getRating();
   }
 
-  public final void setRating(final java.lang.Integer rating) {
-    this.ratingProperty().set(rating);
+  public final void setRating(final Integer rating) {
+    if (ratingProperty == null) {
+      record.setRating(rating);
+    } else {
+      ratingProperty.set(rating);
+    }
     updateStatus();
   }
 
   // *** Lyrics
 
-  private final StringProperty lyrics = new SimpleStringProperty(this, "lyrics", "");
+  private StringProperty lyricsProperty;
 
   public final StringProperty lyricsProperty() {
-    return this.lyrics;
+    if (lyricsProperty == null) {
+      lyricsProperty = new SimpleStringProperty(this, "lyrics", record.getLyrics());
+      lyricsProperty.addListener((observable, oldValue, newValue) -> record.setLyrics(newValue));
+    }
+    return lyricsProperty;
   }
 
   public final String getLyrics() {
-    return this.lyricsProperty().get();
+    return record.getLyrics();
   }
 
-  public final void setLyrics(final java.lang.String lyrics) {
-    this.lyricsProperty().set(lyrics);
+  public final void setLyrics(final String lyrics) {
+    if (lyricsProperty == null) {
+      record.setLyrics(lyrics);
+    } else {
+      lyricsProperty.set(lyrics);
+    }
     updateStatus();
   }
 
   // *** compilation
 
-  private final BooleanProperty compilation = new SimpleBooleanProperty(this, "compilation", false);
+  private BooleanProperty compilationProperty;
 
   public final BooleanProperty compilationProperty() {
-    return this.compilation;
+    if (compilationProperty == null) {
+      compilationProperty = new SimpleBooleanProperty(this, "compilation", record.isCompilation());
+      compilationProperty.addListener((observable, oldValue, newValue) -> record.setCompilation(newValue));
+    }
+    return compilationProperty;
   }
 
   public final boolean isCompilation() {
-    return this.compilationProperty().get();
+    return record.isCompilation();
   }
 
   public final void setCompilation(final boolean compilation) {
-    this.compilationProperty().set(compilation);
-  }
-
-  // *** incomplete
-
-  private final BooleanProperty incomplete = new SimpleBooleanProperty(this, "incomplete", false);
-
-  public final BooleanProperty incompleteProperty() {
-    return this.incomplete;
-  }
-
-  public final boolean isIncomplete() {
-    return this.incompleteProperty().get();
-  }
-
-  public final void setIncomplete(final boolean incomplete) {
-    this.incompleteProperty().set(incomplete);
+    if (compilationProperty == null) {
+      record.setCompilation(compilation);
+    } else {
+      compilationProperty.set(compilation);
+    }
   }
 
   // *** SingleArtwork
 
-  private final BooleanProperty singleArtwork = new SimpleBooleanProperty(this, "singleArtwork", false);
+  private BooleanProperty singleArtworkProperty;
 
   public final BooleanProperty singleArtworkProperty() {
-    return this.singleArtwork;
+    if (singleArtworkProperty == null) {
+      singleArtworkProperty = new SimpleBooleanProperty(this, "singleArtwork", record.isSingleArtwork());
+      singleArtworkProperty.addListener((observable, oldValue, newValue) -> record.setSingleArtwork(newValue));
+    }
+    return singleArtworkProperty;
   }
 
   @SuppressWarnings("unused")
   public final boolean isSingleArtwork() {
-    return this.singleArtworkProperty().get();
+    return record.isSingleArtwork();
   }
 
   public final void setSingleArtwork(final boolean singleArtwork) {
-    this.singleArtworkProperty().set(singleArtwork);
+    if (singleArtworkProperty == null) {
+      record.setSingleArtwork(singleArtwork);
+    } else {
+      singleArtworkProperty.set(singleArtwork);
+    }
   }
 
   // *** Artwork
 
-  private final ObjectProperty<ArtworkTag> artwork = new SimpleObjectProperty<>(this, "artwork", null);
+  private ObjectProperty<ArtworkTag> artworkProperty;
 
   public final ObjectProperty<ArtworkTag> artworkProperty() {
-    return this.artwork;
+    if (artworkProperty == null) {
+      artworkProperty = new SimpleObjectProperty<>(this, "artwork", record.getArtwork());
+      artworkProperty.addListener((observable, oldValue, newValue) -> record.setArtwork(newValue));
+    }
+    return artworkProperty;
   }
 
-  public final ntag.model.ArtworkTag getArtwork() {
-    return this.artworkProperty().get();
+  public final ArtworkTag getArtwork() {
+    return record.getArtwork();
   }
 
-  public final void setArtwork(final ntag.model.ArtworkTag artwork) {
-    this.artworkProperty().set(artwork);
+  public final void setArtwork(final ArtworkTag artwork) {
+    if (artworkProperty == null) {
+      record.setArtwork(artwork);
+    } else {
+      artworkProperty.set(artwork);
+    }
     updateStatus();
   }
 
+  // *** incomplete
+
+  private boolean incomplete;
+  private BooleanProperty incompleteProperty;
+
+  public final BooleanProperty incompleteProperty() {
+    if (incompleteProperty == null) {
+      incompleteProperty = new SimpleBooleanProperty(this, "incomplete", incomplete);
+    }
+    return incompleteProperty;
+  }
+
+  public final boolean isIncomplete() {
+    return incompleteProperty == null ? incomplete : incompleteProperty.get();
+  }
+
+  public final void setIncomplete(final boolean incomplete) {
+    if (incompleteProperty == null) {
+      this.incomplete = incomplete;
+    } else {
+      incompleteProperty.set(incomplete);
+    }
+  }
+
   // ***
   //
   // Construction
@@ -695,25 +900,16 @@ public class TagFile {
   // ***
 
   public TagFile() {
+    this(new TagRecord());
+  }
+
+  public TagFile(TagRecord record) {
     super();
-    this.infos = "";
-    this.setArtist("");
-    this.setAlbum("");
-    this.setAlbumArtist("");
-    this.setGenre("");
-    this.setComposer("");
-    this.setYear(0);
-    this.setTrack(0);
-    this.setTrackTotal(0);
-    this.setDisc(0);
-    this.setDiscTotal(0);
-    this.setComment("");
-    this.setLyrics("");
-    this.setCompilation(false);
-    this.setLanguage(null);
-    this.setRating(-1);
-    this.setDate(null);
-    this.setArtwork(null);
+    if (record == null) {
+      throw new IllegalArgumentException("record cannot be null");
+    }
+    this.record = record;
+    updateStatus();
   }
 
   // ***
@@ -728,7 +924,7 @@ public class TagFile {
    * @return true, if artwork data is missing.
    */
   public boolean isArtworkMissing() {
-    return getArtwork() == null;
+    return record.isArtworkMissing();
   }
 
   /**
@@ -741,10 +937,13 @@ public class TagFile {
    * R - Rating is missing<br>
    */
   public void updateStatus() {
+    if (!isLoaded()) {
+      setStatus("");
+      return;
+    }
     NTagProperties settings = NTagProperties.instance();
     StringBuilder buffer = new StringBuilder(4);
-    this.setIncomplete(getGenre() == null || getGenre().isEmpty() || getTitle() == null || getTitle().isEmpty() || getAlbum() == null || getAlbum().isEmpty() || getArtist() == null
-        || getArtist().isEmpty() || getYear() == null || getYear() < 1800);
+    this.setIncomplete(record.isIncomplete());
     if (isReadOnly()) {
       buffer.append("ro ");
     }
@@ -766,13 +965,82 @@ public class TagFile {
     setStatus(buffer.toString());
   }
 
+  /**
+   * Updates the created properties and the status after the record has been
+   * changed directly, e.g. by <code>TagFileReader.updateTagRecord</code>.
+   */
+  public void updateProperties() {
+    if (nameProperty != null) {
+      nameProperty.set(record.getName());
+    }
+    if (titleProperty != null) {
+      titleProperty.set(record.getTitle());
+    }
+    if (artistProperty != null) {
+      artistProperty.set(record.getArtist());
+    }
+    if (albumProperty != null) {
+      albumProperty.set(record.getAlbum());
+    }
+    if (albumArtistProperty != null) {
+      albumArtistProperty.set(record.getAlbumArtist());
+    }
+    if (composerProperty != null) {
+      composerProperty.set(record.getComposer());
+    }
+    if (yearProperty != null) {
+      yearProperty.set(record.getYear());
+    }
+    if (dateProperty != null) {
+      dateProperty.set(record.getDate());
+    }
+    if (genreProperty != null) {
+      genreProperty.set(record.getGenre());
+    }
+    if (trackProperty != null) {
+      trackProperty.set(record.getTrack());
+    }
+    if (trackTotalProperty != null) {
+      trackTotalProperty.set(record.getTrackTotal());
+    }
+    if (discProperty != null) {
+      discProperty.set(record.getDisc());
+    }
+    if (discTotalProperty != null) {
+      discTotalProperty.set(record.getDiscTotal());
+    }
+    if (commentProperty != null) {
+      commentProperty.set(record.getComment());
+    }
+    if (languageProperty != null) {
+      languageProperty.set(record.getLanguage());
+    }
+    if (ratingProperty != null) {
+      ratingProperty.set(record.getRating());
+    }
+    if (lyricsProperty != null) {
+      lyricsProperty.set(record.getLyrics());
+    }
+    if (compilationProperty != null) {
+      compilationProperty.set(record.isCompilation());
+    }
+    if (singleArtworkProperty != null) {
+      singleArtworkProperty.set(record.isSingleArtwork());
+    }
+    if (artworkProperty != null) {
+      artworkProperty.set(record.getArtwork());
+    }
+    updateStatus();
+  }
+
   /**
    * Returns all native Tags
    *
    * @return List<TagField>
+   * @throws NTagException on IO Problems
    */
-  public List<TagField> getTags() {
-    final AudioFile audioFile = getAudioFile();
+  public List<TagField> getTags() throws NTagException {
+    final AudioFile audioFile = openAudioFile();
     Iterator<TagField> iterator = null;
     if (audioFile instanceof MP3File mp3File) {
       if (mp3File.hasID3v2Tag()) {
@@ -798,24 +1066,49 @@ public class TagFile {
   }
 
   /**
-   * Removes the given Tag from AudioFile and saves changes to disk.
+   * Removes the given Tag from the AudioFile and marks this file as dirty. The removal
+   * is written by <code>TagFileWriter.update</code> together with the other changes.
    *
    * @param tagField Tag to remove
    * @throws NTagException on IO Problems
    */
   public void removeTag(final TagField tagField) throws NTagException {
-    final AudioFile audioFile = getAudioFile();
+    final AudioFile audioFile = openAudioFile();
     final Tag tag = audioFile.getTag();
     JAudiotaggerUtil.removeTagField(tag, tagField);
-    try {
-      audioFile.commit();
-    } catch (CannotWriteException e) {
-      LOGGER.log(Level.SEVERE, "cannot write to audiofile " + path, e);
-      throw new NTagException("cannot write to audiofile", e);
-    }
+    record.addRemovedField(tagField.getId());
+    setDirty(true);
     if (LOGGER.isLoggable(Level.INFO)) {
-      LOGGER.info("Deleted %s Tag from file '%s'".formatted(tagField.getId(), name));
+      LOGGER.info("Removed %s Tag from file '%s', pending until saved".formatted(tagField.getId(), getName()));
+    }
+  }
+
+  /**
+   * Copies the header informations and metadata of the given <code>TagRecord</code>,
+   * which has been read from the same audiofile. Used to complete a
+   * <code>TagFile</code>, which contains only the file informations.
+   *
+   * @param source a completely read TagRecord
+   */
+  public void copyFrom(final TagRecord source) {
+    if (source == null) {
+      throw new IllegalArgumentException("source cannot be null");
+    }
+    record.copyFrom(source);
+    updateProperties();
+  }
+
+  /**
+   * Copies the audio header informations of the given <code>TagRecord</code>,
+   * which has been read completely, into this file. The metadata is kept.
+   *
+   * @param source record with header informations
+   */
+  public void copyHeaderFrom(final TagRecord source) {
+    if (source == null) {
+      throw new IllegalArgumentException("source cannot be null");
     }
+    record.copyHeaderFrom(source);
   }
 
   @Override
@@ -0,0 +1,984 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.model;
+
+import ntag.NTagException;
+import ntag.io.JAudiotaggerUtil;
+import org.jaudiotagger.audio.AudioFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The file informations, header informations and metadata of an audiofile without
+ * any JavaFX dependency. <code>TagFileReader</code>, <code>TagFileWriter</code> and
+ * the <code>TagCache</code> work on records, so batch processing doesn't allocate
+ * observable properties or compute the status. <code>TagFile</code> adapts a record
+ * for the user interface.<br>
+ * <br>
+ * Numbers are stored as primitives and timestamps as epoch milliseconds, because
+ * large libraries hold a record per track.
+ */
+public class TagRecord {
+
+  public static final Logger LOGGER = Logger.getLogger(TagRecord.class.getName());
+
+  private static final int NULL_INT = Integer.MIN_VALUE;
+  private static final long NULL_TIME = Long.MIN_VALUE;
+
+  // *** jaudiotagger AudioFile representation
+
+  private AudioFile audioFile;
+
+  public AudioFile getAudioFile() {
+    return audioFile;
+  }
+
+  /**
+   * Returns the jaudiotagger representation of this file. Reads the audiofile again,
+   * if this record was restored from the tag cache or the AudioFile has been released.
+   * Before reading, the audiofile is checked for external changes.
+   *
+   * @return AudioFile
+   * @throws NTagException on IO Problems or if the audiofile has been changed
+   */
+  public AudioFile openAudioFile() throws NTagException {
+    if (audioFile == null && path != null) {
+      verifyUnchanged();
+      audioFile = JAudiotaggerUtil.readAudioFile(getPath());
+    }
+    return audioFile;
+  }
+
+  public void setAudioFile(AudioFile audioFile) {
+    this.audioFile = audioFile;
+  }
+
+  /**
+   * Releases the jaudiotagger representation with its parsed tag frames.
+   * It is read again by <code>openAudioFile</code> on demand. The AudioFile
+   * is kept, while it contains removed tag fields, which have not been written.
+   */
+  public void releaseAudioFile() {
+    if (removedFields == null) {
+      this.audioFile = null;
+    }
+  }
+
+  /**
+   * Checks, that size and last modified time of the audiofile still match
+   * the file informations, which have been read with the metadata.
+   *
+   * @throws NTagException if the audiofile has been changed or cannot be accessed
+   */
+  public void verifyUnchanged() throws NTagException {
+    if (path == null || modified == NULL_TIME) {
+      return;
+    }
+    final BasicFileAttributes fileAttr;
+    try {
+      fileAttr = Files.readAttributes(getPath(), BasicFileAttributes.class);
+    } catch (IOException e) {
+      throw new NTagException("Cannot read the file attributes of '%s'".formatted(path), e);
+    }
+    if (fileAttr.size() != getSize() || fileAttr.lastModifiedTime().toMillis() != modified) {
+      throw new NTagException("The file '%s' has been changed by another application, please reload it".formatted(path));
+    }
+  }
+
+  /**
+   * Updates size and last modified time after this file has been written.
+   */
+  public void refreshFileInformation() {
+    if (path == null) {
+      return;
+    }
+    try {
+      BasicFileAttributes fileAttr = Files.readAttributes(getPath(), BasicFileAttributes.class);
+      setSize(fileAttr.size());
+      setModifiedMillis(fileAttr.lastModifiedTime().toMillis());
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Cannot read file attributes of " + path, e);
+    }
+  }
+
+  // ***
+  //
+  // Status Properties
+  //
+  // ***
+
+  // *** human readable file informations, created on first access
+
+  /**
+   * Creates the human readable file informations of a record.
+   */
+  @FunctionalInterface
+  public interface InfosLoader {
+    String load(TagRecord tagRecord);
+  }
+
+  private String infos = "";
+  private InfosLoader infosLoader;
+
+  /**
+   * Returns the human readable file informations followed by the read events.
+   * The informations are created by the loader on first access.
+   *
+   * @return file informations
+   */
+  public String getInfos() {
+    if (infos == null) {
+      final StringBuilder sb = new StringBuilder(infosLoader == null ? "" : infosLoader.load(this));
+      if (!getEvents().isEmpty()) {
+        sb.append(String.format("%n%nRead Events%n-----------------------------------"));
+        for (ReadEvent event : getEvents()) {
+          sb.append(System.lineSeparator()).append(event.getMessage());
+        }
+      }
+      infos = sb.toString();
+    }
+    return infos;
+  }
+
+  public void setInfos(String infos) {
+    this.infos = infos;
+    this.infosLoader = null;
+  }
+
+  public InfosLoader getInfosLoader() {
+    return infosLoader;
+  }
+
+  /**
+   * Sets the loader, which creates the file informations on the next access.
+   *
+   * @param infosLoader loader or null
+   */
+  public void setInfosLoader(InfosLoader infosLoader) {
+    this.infosLoader = infosLoader;
+    this.infos = null;
+  }
+
+  // *** diagnostic events of the last read
+
+  private List<ReadEvent> events;
+
+  public List<ReadEvent> getEvents() {
+    return events == null ? List.of() : Collections.unmodifiableList(events);
+  }
+
+  public void addEvent(ReadEvent event) {
+    if (events == null) {
+      events = new ArrayList<>(2);
+    }
+    events.add(event);
+  }
+
+  public void clearEvents() {
+    events = null;
+  }
+
+  // *** loaded flag, false if only the file informations have been read
+
+  private boolean loaded = true;
+
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  public void setLoaded(boolean loaded) {
+    this.loaded = loaded;
+  }
+
+  // *** header loaded flag, false if the audio header analysis has been deferred
+
+  private boolean headerLoaded = true;
+
+  public boolean isHeaderLoaded() {
+    return headerLoaded;
+  }
+
+  public void setHeaderLoaded(boolean headerLoaded) {
+    this.headerLoaded = headerLoaded;
+  }
+
+  // ***
+  //
+  // File Properties
+  //
+  // ***
+
+  // *** Origin Path
+
+  private String path;
+
+  /**
+   * Returns the Path of this audiofile
+   *
+   * @return the Path of this AudioFile
+   */
+  public Path getPath() {
+    if (path != null) {
+      return Path.of(path);
+    } else {
+      return null;
+    }
+  }
+
+  public void setPath(Path path) {
+    if (path == null) {
+      this.path = null;
+    } else {
+      this.path = path.toString();
+      if (this.audioFile != null) {
+        this.audioFile.setFile(new File(this.path));
+      }
+    }
+  }
+
+  // *** Filename
+
+  private String name = "";
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  // *** Directory
+
+  private String directory;
+
+  public String getDirectory() {
+    return directory;
+  }
+
+  public void setDirectory(String directory) {
+    this.directory = directory;
+  }
+
+  // *** File Size in Bytes
+
+  private long size;
+
+  public long getSize() {
+    return size;
+  }
+
+  public void setSize(long size) {
+    this.size = size;
+  }
+
+  // *** file extension
+
+  private String extension;
+
+  public String getExtension() {
+    return extension;
+  }
+
+  public void setExtension(String extension) {
+    this.extension = extension;
+  }
+
+  // *** file creation timestamp in milliseconds since the epoch
+
+  private long created = NULL_TIME;
+
+  public LocalDateTime getCreated() {
+    return toLocalDateTime(created);
+  }
+
+  public long getCreatedMillis() {
+    return created;
+  }
+
+  public void setCreatedMillis(long created) {
+    this.created = created;
+  }
+
+  // *** file modified timestamp in milliseconds since the epoch
+
+  private long modified = NULL_TIME;
+
+  public LocalDateTime getModified() {
+    return toLocalDateTime(modified);
+  }
+
+  public long getModifiedMillis() {
+    return modified;
+  }
+
+  public void setModifiedMillis(long modified) {
+    this.modified = modified;
+  }
+
+  // *** file read-only flag
+
+  private boolean readOnly;
+
+  public boolean isReadOnly() {
+    return readOnly;
+  }
+
+  public void setReadOnly(boolean readOnly) {
+    this.readOnly = readOnly;
+  }
+
+  // ***
+  //
+  // Header Information Properties
+  //
+  // ***
+
+  // *** audioformat like AAC, MP3, OGG or MP4
+
+  private AudioFormat audioFormat;
+
+  public AudioFormat getAudioFormat() {
+    return audioFormat;
+  }
+
+  public void setAudioFormat(AudioFormat audioFormat) {
+    this.audioFormat = audioFormat;
+  }
+
+  // *** audio codec
+
+  private String codec;
+
+  public String getCodec() {
+    return codec;
+  }
+
+  public void setCodec(String codec) {
+    this.codec = codec;
+  }
+
+  // *** audio channels like mono, stereo amd joint stereo
+
+  private String channels;
+
+  public String getChannels() {
+    return channels;
+  }
+
+  public void setChannels(String channels) {
+    this.channels = channels;
+  }
+
+  // *** Tagging System like AiffTag, AsfTag, FlacTag, GenericTag, ID3vXXTag,
+  // Mp4Tag, RealTag, VorbisCommentTag, WavTag
+
+  private String taggingSystem;
+
+  public String getTaggingSystem() {
+    return taggingSystem;
+  }
+
+  public void setTaggingSystem(String taggingSystem) {
+    this.taggingSystem = taggingSystem;
+  }
+
+  // *** software encoder
+
+  private String encoder;
+
+  public String getEncoder() {
+    return encoder;
+  }
+
+  public void setEncoder(String encoder) {
+    this.encoder = encoder;
+  }
+
+  // *** VBR flag
+
+  private boolean vbr;
+
+  public boolean isVbr() {
+    return vbr;
+  }
+
+  public void setVbr(boolean vbr) {
+    this.vbr = vbr;
+  }
+
+  // *** lossless flag
+
+  private boolean lossless;
+
+  public boolean isLossless() {
+    return lossless;
+  }
+
+  public void setLossless(boolean lossless) {
+    this.lossless = lossless;
+  }
+
+  // *** Bitrate (kBit/s)
+
+  private long bitrate;
+
+  public long getBitrate() {
+    return bitrate;
+  }
+
+  public void setBitrate(long bitrate) {
+    this.bitrate = bitrate;
+  }
+
+  // *** sampling rate in Hz
+
+  private long samplingRate;
+
+  public long getSamplingRate() {
+    return samplingRate;
+  }
+
+  public void setSamplingRate(long samplingRate) {
+    this.samplingRate = samplingRate;
+  }
+
+  // *** playtime in seconds
+
+  private long playtime;
+
+  public long getPlaytime() {
+    return playtime;
+  }
+
+  public void setPlaytime(long playtime) {
+    this.playtime = playtime;
+  }
+
+  // ***
+  //
+  // Metadata Properties
+  //
+  // ***
+
+  // *** Title
+
+  private String title = "";
+
+  public String getTitle() {
+    return title;
+  }
+
+  public void setTitle(String title) {
+    markChanged(MetadataField.TITLE, !Objects.equals(this.title, title));
+    this.title = title;
+  }
+
+  // *** Artist
+
+  private String artist = "";
+
+  public String getArtist() {
+    return artist;
+  }
+
+  public void setArtist(String artist) {
+    markChanged(MetadataField.ARTIST, !Objects.equals(this.artist, artist));
+    this.artist = artist;
+  }
+
+  // *** Album
+
+  private String album = "";
+
+  public String getAlbum() {
+    return album;
+  }
+
+  public void setAlbum(String album) {
+    markChanged(MetadataField.ALBUM, !Objects.equals(this.album, album));
+    this.album = album;
+  }
+
+  // *** AlbumArtist
+
+  private String albumArtist = "";
+
+  public String getAlbumArtist() {
+    return albumArtist;
+  }
+
+  public void setAlbumArtist(String albumArtist) {
+    markChanged(MetadataField.ALBUM_ARTIST, !Objects.equals(this.albumArtist, albumArtist));
+    this.albumArtist = albumArtist;
+  }
+
+  // *** Composer
+
+  private String composer = "";
+
+  public String getComposer() {
+    return composer;
+  }
+
+  public void setComposer(String composer) {
+    markChanged(MetadataField.COMPOSER, !Objects.equals(this.composer, composer));
+    this.composer = composer;
+  }
+
+  // *** Year
+
+  private int year = 0;
+
+  public Integer getYear() {
+    return year == NULL_INT ? null : year;
+  }
+
+  public void setYear(Integer year) {
+    final int value = year == null ? NULL_INT : year;
+    markChanged(MetadataField.YEAR, this.year != value);
+    this.year = value;
+  }
+
+  // *** date
+
+  private LocalDate date;
+
+  public LocalDate getDate() {
+    return date;
+  }
+
+  public void setDate(LocalDate date) {
+    markChanged(MetadataField.DATE, !Objects.equals(this.date, date));
+    this.date = date;
+  }
+
+  // *** Genre
+
+  private String genre = "";
+
+  public String getGenre() {
+    return genre;
+  }
+
+  public void setGenre(String genre) {
+    markChanged(MetadataField.GENRE, !Objects.equals(this.genre, genre));
+    this.genre = genre;
+  }
+
+  // *** Track
+
+  private int track = 0;
+
+  public Integer getTrack() {
+    return track == NULL_INT ? null : track;
+  }
+
+  public void setTrack(Integer track) {
+    final int value = track == null ? NULL_INT : track;
+    markChanged(MetadataField.TRACK, this.track != value);
+    this.track = value;
+  }
+
+  // *** TrackTotal
+
+  private int trackTotal = 0;
+
+  public Integer getTrackTotal() {
+    return trackTotal == NULL_INT ? null : trackTotal;
+  }
+
+  public void setTrackTotal(Integer trackTotal) {
+    final int value = trackTotal == null ? NULL_INT : trackTotal;
+    markChanged(MetadataField.TRACK_TOTAL, this.trackTotal != value);
+    this.trackTotal = value;
+  }
+
+  // *** Disc
+
+  private int disc = 0;
+
+  public Integer getDisc() {
+    return disc == NULL_INT ? null : disc;
+  }
+
+  public void setDisc(Integer disc) {
+    final int value = disc == null ? NULL_INT : disc;
+    markChanged(MetadataField.DISC, this.disc != value);
+    this.disc = value;
+  }
+
+  // *** DiscTotal
+
+  private int discTotal = 0;
+
+  public Integer getDiscTotal() {
+    return discTotal == NULL_INT ? null : discTotal;
+  }
+
+  public void setDiscTotal(Integer discTotal) {
+    final int value = discTotal == null ? NULL_INT : discTotal;
+    markChanged(MetadataField.DISC_TOTAL, this.discTotal != value);
+    this.discTotal = value;
+  }
+
+  // *** Comment
+
+  private String comment = "";
+
+  public String getComment() {
+    return comment;
+  }
+
+  public void setComment(String comment) {
+    markChanged(MetadataField.COMMENT, !Objects.equals(this.comment, comment));
+    this.comment = comment;
+  }
+
+  // *** Language
+
+  private String language;
+
+  public String getLanguage() {
+    return language;
+  }
+
+  public void setLanguage(String language) {
+    markChanged(MetadataField.LANGUAGE, !Objects.equals(this.language, language));
+    this.language = language;
+  }
+
+  // *** Rating from 0 (unrated) to 10, -1 if missing
+
+  private int rating = -1;
+
+  public Integer getRating() {
+    return rating == NULL_INT ? null : rating;
+  }
+
+  public void setRating(Integer rating) {
+    final int value = rating == null ? NULL_INT : rating;
+    markChanged(MetadataField.RATING, this.rating != value);
+    this.rating = value;
+  }
+
+  // *** Lyrics
+
+  private String lyrics = "";
+
+  public String getLyrics() {
+    return lyrics;
+  }
+
+  public void setLyrics(String lyrics) {
+    markChanged(MetadataField.LYRICS, !Objects.equals(this.lyrics, lyrics));
+    this.lyrics = lyrics;
+  }
+
+  // *** compilation
+
+  private boolean compilation;
+
+  public boolean isCompilation() {
+    return compilation;
+  }
+
+  public void setCompilation(boolean compilation) {
+    markChanged(MetadataField.COMPILATION, this.compilation != compilation);
+    this.compilation = compilation;
+  }
+
+  // *** SingleArtwork
+
+  private boolean singleArtwork;
+
+  public boolean isSingleArtwork() {
+    return singleArtwork;
+  }
+
+  public void setSingleArtwork(boolean singleArtwork) {
+    this.singleArtwork = singleArtwork;
+  }
+
+  // *** Artwork
+
+  private ArtworkTag artwork;
+
+  public ArtworkTag getArtwork() {
+    return artwork;
+  }
+
+  public void setArtwork(ArtworkTag artwork) {
+    markChanged(MetadataField.ARTWORK, !Objects.equals(this.artwork, artwork));
+    this.artwork = artwork;
+  }
+
+  // *** metadata fields, which have been changed since the last read or write
+
+  private int changedFields;
+
+  /**
+   * @param field the metadata field
+   * @return true, if the field has been changed since the last read or write
+   */
+  public boolean isChanged(final MetadataField field) {
+    return (changedFields & (1 << field.ordinal())) != 0;
+  }
+
+  /**
+   * @return true, if any metadata field has been changed since the last read or write
+   */
+  public boolean hasChangedFields() {
+    return changedFields != 0;
+  }
+
+  /**
+   * @return the metadata fields, which have been changed since the last read or write
+   */
+  public Set<MetadataField> getChangedFields() {
+    final Set<MetadataField> fields = EnumSet.noneOf(MetadataField.class);
+    for (MetadataField field : MetadataField.values()) {
+      if (isChanged(field)) {
+        fields.add(field);
+      }
+    }
+    return fields;
+  }
+
+  /**
+   * Marks all metadata fields as unchanged, after they have been read from or written to the audiofile.
+   */
+  public void clearChangedFields() {
+    changedFields = 0;
+  }
+
+  // *** tag fields, which have been removed from the AudioFile, but not written
+
+  private List<String> removedFields;
+
+  /**
+   * Registers a tag field, which has been removed from the tag of the AudioFile.
+   * The removal is written with the next update of this record.
+   *
+   * @param fieldId the identifier of the removed field, e.g. the ID3v2 frame name
+   */
+  public void addRemovedField(final String fieldId) {
+    if (fieldId == null) {
+      throw new IllegalArgumentException("fieldId cannot be null");
+    }
+    if (removedFields == null) {
+      removedFields = new ArrayList<>(2);
+    }
+    removedFields.add(fieldId);
+  }
+
+  public List<String> getRemovedFields() {
+    return removedFields == null ? Collections.emptyList() : Collections.unmodifiableList(removedFields);
+  }
+
+  /**
+   * @return true, if changed metadata fields or removed tag fields have not been written yet
+   */
+  public boolean hasPendingChanges() {
+    return changedFields != 0 || removedFields != null;
+  }
+
+  /**
+   * Discards the changed metadata fields and the removed tag fields, after they have
+   * been written or the AudioFile has been read again.
+   */
+  public void clearPendingChanges() {
+    changedFields = 0;
+    removedFields = null;
+  }
+
+  private void markChanged(final MetadataField field, final boolean changed) {
+    if (changed) {
+      changedFields |= 1 << field.ordinal();
+    }
+  }
+
+  // ***
+  //
+  // public API
+  //
+  // ***
+
+  /**
+   * Returns true, if artwork data is missing.
+   *
+   * @return true, if artwork data is missing.
+   */
+  public boolean isArtworkMissing() {
+    return artwork == null;
+  }
+
+  /**
+   * Returns true, if genre, title, album, artist or a valid year is missing.
+   *
+   * @return true, if the common metadata is incomplete
+   */
+  public boolean isIncomplete() {
+    return isNullOrEmpty(genre) || isNullOrEmpty(title) || isNullOrEmpty(album) || isNullOrEmpty(artist)
+        || year == NULL_INT || year < 1800;
+  }
+
+  /**
+   * Copies the header informations and metadata of the given record, which has been
+   * read from the same audiofile. Used to complete a record, which contains only the
+   * file informations.
+   *
+   * @param source a completely read record
+   */
+  public void copyFrom(final TagRecord source) {
+    if (source == null) {
+      throw new IllegalArgumentException("source cannot be null");
+    }
+    this.audioFile = source.getAudioFile();
+    // file
+    setSize(source.getSize());
+    setCreatedMillis(source.getCreatedMillis());
+    setModifiedMillis(source.getModifiedMillis());
+    setReadOnly(source.isReadOnly());
+    // header
+    setAudioFormat(source.getAudioFormat());
+    setTaggingSystem(source.getTaggingSystem());
+    copyHeaderFrom(source);
+    // metadata
+    setTitle(source.getTitle());
+    setArtist(source.getArtist());
+    setAlbum(source.getAlbum());
+    setAlbumArtist(source.getAlbumArtist());
+    setComposer(source.getComposer());
+    setYear(source.getYear());
+    setDate(source.getDate());
+    setGenre(source.getGenre());
+    setTrack(source.getTrack());
+    setTrackTotal(source.getTrackTotal());
+    setDisc(source.getDisc());
+    setDiscTotal(source.getDiscTotal());
+    setComment(source.getComment());
+    setLanguage(source.getLanguage());
+    setRating(source.getRating());
+    setLyrics(source.getLyrics());
+    setCompilation(source.isCompilation());
+    setSingleArtwork(source.isSingleArtwork());
+    setArtwork(source.getArtwork());
+    this.events = source.events == null ? null : new ArrayList<>(source.events);
+    this.changedFields = source.changedFields;
+    this.removedFields = source.removedFields == null ? null : new ArrayList<>(source.removedFields);
+    setLoaded(true);
+  }
+
+  /**
+   * Applies the changed metadata fields of the given record to this record, e.g. to keep
+   * unsaved edits, after this record has been read again from its AudioFile.
+   *
+   * @param source a record with changed metadata fields
+   */
+  public void copyChangedFieldsFrom(final TagRecord source) {
+    if (source == null) {
+      throw new IllegalArgumentException("source cannot be null");
+    }
+    for (MetadataField field : source.getChangedFields()) {
+      switch (field) {
+        case TITLE -> setTitle(source.getTitle());
+        case ARTIST -> setArtist(source.getArtist());
+        case ALBUM -> setAlbum(source.getAlbum());
+        case ALBUM_ARTIST -> setAlbumArtist(source.getAlbumArtist());
+        case COMPOSER -> setComposer(source.getComposer());
+        case YEAR -> setYear(source.getYear());
+        case DATE -> setDate(source.getDate());
+        case GENRE -> setGenre(source.getGenre());
+        case TRACK -> setTrack(source.getTrack());
+        case TRACK_TOTAL -> setTrackTotal(source.getTrackTotal());
+        case DISC -> setDisc(source.getDisc());
+        case DISC_TOTAL -> setDiscTotal(source.getDiscTotal());
+        case COMMENT -> setComment(source.getComment());
+        case LANGUAGE -> setLanguage(source.getLanguage());
+        case RATING -> setRating(source.getRating());
+        case LYRICS -> setLyrics(source.getLyrics());
+        case COMPILATION -> setCompilation(source.isCompilation());
+        case ARTWORK -> setArtwork(source.getArtwork());
+      }
+    }
+  }
+
+  /**
+   * Copies the audio header informations of the given record, which has been
+   * read completely, into this record. The metadata is kept.
+   *
+   * @param source record with header informations
+   */
+  public void copyHeaderFrom(final TagRecord source) {
+    if (source == null) {
+      throw new IllegalArgumentException("source cannot be null");
+    }
+    this.infos = source.infos;
+    this.infosLoader = source.infosLoader;
+    setCodec(source.getCodec());
+    setChannels(source.getChannels());
+    setEncoder(source.getEncoder());
+    setVbr(source.isVbr());
+    setLossless(source.isLossless());
+    setBitrate(source.getBitrate());
+    setSamplingRate(source.getSamplingRate());
+    setPlaytime(source.getPlaytime());
+    setHeaderLoaded(source.isHeaderLoaded());
+  }
+
+  // ***
+  //
+  // hidden implementation
+  //
+  // ***
+
+  private static boolean isNullOrEmpty(String value) {
+    return value == null || value.isEmpty();
+  }
+
+  private static LocalDateTime toLocalDateTime(long epochMillis) {
+    if (epochMillis == NULL_TIME) {
+      return null;
+    }
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+}
@@ -33,6 +33,7 @@ import java.util.List;
 public class AdjustArtworkTask extends Task<List<TagFile>> {
 
   private final List<String> errors = new ArrayList<>();
+  private final List<TagFile> updatedFiles = new ArrayList<>();
 
   private final AdjustArtworkViewModel viewModel;
   private final TagFileWriter writer = new TagFileWriter();
@@ -61,7 +62,7 @@ public class AdjustArtworkTask extends Task<List<TagFile>> {
       updateMessage(Resources.format("ntag", "msg_checking_artwork", i, viewModel.getFiles().size()));
       TagFile tagFile = viewModel.getFiles().get(i);
       ArtworkTag artwork = tagFile.getArtwork();
-      int fileSize = artwork.getImageData().length / 1000;
+      int fileSize = artwork.getSize() / 1000;
       if ((artwork.getHeight() <= viewModel.getMaxResolution() && artwork.getWidth() <= viewModel.getMaxResolution() && //
               fileSize <= viewModel.getMaxKilobytes()) && //
               (!viewModel.isEnforceImageType() || viewModel.getImageType() == artwork.getImageType())) {
@@ -72,10 +73,11 @@ public class AdjustArtworkTask extends Task<List<TagFile>> {
       try {
         // adjust artwork
         artwork = adjuster.adjust(artwork);
-        // write image data back to audiofile
+        // stage the artwork with the unsaved edits of the file and write them with one commit
         tagFile.setArtwork(artwork);
         updateMessage(Resources.format("ntag", "msg_writing_file", i, viewModel.getFiles().size()));
         writer.update(tagFile);
+        updatedFiles.add(tagFile);
       } catch (Exception e) {
         errors.add("%s%n%s".formatted(viewModel.getFiles().get(i).getPath(), e.getMessage()));
       }
@@ -91,4 +93,11 @@ public class AdjustArtworkTask extends Task<List<TagFile>> {
   public List<String> getErrors() {
     return errors;
   }
+
+  /**
+   * @return the written files, including their unsaved edits
+   */
+  public List<TagFile> getUpdatedFiles() {
+    return updatedFiles;
+  }
 }
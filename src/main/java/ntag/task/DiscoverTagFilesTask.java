@@ -0,0 +1,90 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.task;
+
+import javafx.concurrent.Task;
+import ntag.commons.StringPool;
+import ntag.io.Resources;
+import ntag.io.TagFileReader;
+import ntag.io.util.AudioFileVisitor;
+import ntag.model.TagFile;
+
+import java.nio.file.FileVisitOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Walks the file tree and creates a <code>TagFile</code> for every audiofile, which
+ * contains only the file informations. No audiofile is opened, so even large
+ * libraries are discovered quickly. The header informations and metadata are loaded
+ * on demand by the <code>TagFileLoader</code>.
+ */
+public class DiscoverTagFilesTask extends Task<List<TagFile>> {
+
+  public static final Logger LOGGER = Logger.getLogger(DiscoverTagFilesTask.class.getName());
+
+  private final List<Path> pathList;
+  private final int maxFiles;
+  private final int maxDepth;
+
+  public DiscoverTagFilesTask(List<Path> pathList, int maxFiles, int maxDepth) {
+    if (pathList == null || pathList.isEmpty()) {
+      throw new IllegalArgumentException("pathList cannot be null or empty");
+    }
+    this.pathList = pathList;
+    this.maxFiles = maxFiles;
+    this.maxDepth = maxDepth;
+  }
+
+  @Override
+  protected List<TagFile> call() throws Exception {
+    updateMessage(Resources.get("ntag", "msg_creating_filelist"));
+
+    final List<TagFile> resultList = new ArrayList<>();
+    final TagFileReader reader = new TagFileReader();
+    final StringPool stringPool = new StringPool();
+    reader.setStringPool(stringPool);
+    AudioFileVisitor visitor = new AudioFileVisitor(maxFiles, (file, attr) -> {
+      if (isCancelled()) {
+        throw new InterruptedException("Cancelled");
+      }
+      resultList.add(reader.createStubTagFile(file, attr));
+      if (resultList.size() % 1000 == 0) {
+        updateMessage("%s (%d)".formatted(Resources.get("ntag", "msg_creating_filelist"), resultList.size()));
+      }
+    });
+    var options = Set.of(FileVisitOption.FOLLOW_LINKS);
+    for (Path path : pathList) {
+      Files.walkFileTree(path, options, maxDepth, visitor);
+      if (isCancelled() || visitor.getFileCount() >= maxFiles) {
+        break;
+      }
+    }
+    if (LOGGER.isLoggable(Level.INFO)) {
+      LOGGER.info("String pool: " + stringPool);
+    }
+    return resultList;
+  }
+}
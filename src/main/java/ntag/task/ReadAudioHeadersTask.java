@@ -0,0 +1,220 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.task;
+
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+import ntag.commons.StringPool;
+import ntag.io.Resources;
+import ntag.io.TagCache;
+import ntag.io.TagFileReader;
+import ntag.model.TagFile;
+import ntag.model.TagRecord;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Second phase of the "tags first" read mode: analyses the audio headers of all files,
+ * which have been read without header informations, and completes bitrate, VBR,
+ * playtime, codec and encoder. The completed headers are applied in batches on the
+ * JavaFX Application Thread, so the table is not updated once per file.
+ */
+public class ReadAudioHeadersTask extends Task<Integer> {
+
+  public static final Logger LOGGER = Logger.getLogger(ReadAudioHeadersTask.class.getName());
+
+  private static final int BATCH_SIZE = 100;
+
+  private final List<TagFile> files;
+  private final List<String> errors = new ArrayList<>();
+  private final StringPool stringPool = new StringPool();
+  private final int threads;
+  private final Executor fxExecutor;
+  private TagCache tagCache;
+  private Consumer<List<TagFile>> onLoaded;
+
+  public ReadAudioHeadersTask(List<TagFile> files, int threads) {
+    this(files, threads, Platform::runLater);
+  }
+
+  ReadAudioHeadersTask(List<TagFile> files, int threads, Executor fxExecutor) {
+    if (files == null) {
+      throw new IllegalArgumentException("files cannot be null");
+    }
+    if (threads < 1) {
+      throw new IllegalArgumentException("threads must be greater than 0");
+    }
+    this.files = new ArrayList<>(files);
+    this.threads = threads;
+    this.fxExecutor = fxExecutor;
+  }
+
+  /**
+   * Sets the tag cache, which receives the completely read files. The cache
+   * is saved after all headers have been read.
+   *
+   * @param tagCache tag cache or null
+   */
+  public void setTagCache(TagCache tagCache) {
+    this.tagCache = tagCache;
+  }
+
+  /**
+   * Sets a callback, which is called on the JavaFX Application Thread after
+   * a batch of headers has been applied, e.g. to refresh the aggregates. The
+   * callback receives the completed files.
+   *
+   * @param onLoaded callback or null
+   */
+  public void setOnLoaded(Consumer<List<TagFile>> onLoaded) {
+    this.onLoaded = onLoaded;
+  }
+
+  @Override
+  protected Integer call() throws Exception {
+    errors.clear();
+    final List<TagFile> pending = files.stream().filter(tagFile -> !tagFile.isHeaderLoaded()).toList();
+    updateMessage(Resources.format("ntag", "msg_reading_header", 0, pending.size()));
+    if (pending.isEmpty()) {
+      return 0;
+    }
+    int count = read(pending);
+    if (LOGGER.isLoggable(Level.INFO)) {
+      LOGGER.info("String pool: " + stringPool);
+    }
+    if (tagCache != null) {
+      try {
+        tagCache.save();
+      } catch (IOException e) {
+        LOGGER.log(Level.WARNING, "Cannot save tag cache " + tagCache.getCacheFile(), e);
+      }
+    }
+    return count;
+  }
+
+  public boolean hasErrors() {
+    return !errors.isEmpty();
+  }
+
+  public List<String> getErrors() {
+    return errors;
+  }
+
+  // ***
+  //
+  // hidden implementation
+  //
+  // ***
+
+  private int read(List<TagFile> pending) throws InterruptedException, ExecutionException {
+    final ExecutorService executor = Executors.newFixedThreadPool(threads, createThreadFactory());
+    final TagFileReader reader = createReader();
+    final CompletionService<HeaderResult> completionService = new ExecutorCompletionService<>(executor);
+    int count = 0;
+    try {
+      for (TagFile tagFile : pending) {
+        completionService.submit(() -> read(reader, tagFile));
+      }
+      List<HeaderResult> batch = new ArrayList<>();
+      for (int i = 1; i <= pending.size(); i++) {
+        if (isCancelled()) {
+          updateMessage("Cancelled");
+          break;
+        }
+        HeaderResult result = completionService.take().get();
+        if (result.tagRecord() != null) {
+          batch.add(result);
+          count++;
+        } else {
+          errors.add(result.error());
+        }
+        if (batch.size() >= BATCH_SIZE) {
+          apply(batch);
+          batch = new ArrayList<>();
+        }
+        updateMessage(Resources.format("ntag", "msg_reading_header", i, pending.size()));
+        updateProgress(i, pending.size());
+      }
+      apply(batch);
+    } finally {
+      executor.shutdownNow();
+    }
+    return count;
+  }
+
+  private static HeaderResult read(TagFileReader reader, TagFile stub) {
+    try {
+      return new HeaderResult(stub, reader.readAudioHeader(stub.getRecord()), null);
+    } catch (Exception e) {
+      LOGGER.log(Level.SEVERE, "%s%n%s".formatted(stub.getPath().toString(), e.getClass().getName()), e);
+      return new HeaderResult(stub, null, "%s%n%s: %s".formatted(stub.getPath().toString(), e.getClass().getName(), e.getMessage()));
+    }
+  }
+
+  private void apply(List<HeaderResult> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    fxExecutor.execute(() -> {
+      final List<TagFile> completed = new ArrayList<>();
+      for (HeaderResult result : batch) {
+        if (!result.stub().isHeaderLoaded()) {
+          result.stub().copyHeaderFrom(result.tagRecord());
+          completed.add(result.stub());
+        }
+      }
+      if (onLoaded != null) {
+        onLoaded.accept(completed);
+      }
+    });
+  }
+
+  private TagFileReader createReader() {
+    TagFileReader reader = new TagFileReader();
+    reader.setTagCache(tagCache);
+    reader.setStringPool(stringPool);
+    return reader;
+  }
+
+  private static ThreadFactory createThreadFactory() {
+    final AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "ntag-header-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private record HeaderResult(TagFile stub, TagRecord tagRecord, String error) {
+  }
+}
@@ -20,17 +20,33 @@
 package ntag.task;
 
 import javafx.concurrent.Task;
+import ntag.commons.StringPool;
 import ntag.io.Resources;
+import ntag.io.TagCache;
 import ntag.io.TagFileReader;
 import ntag.io.util.AudioFileVisitor;
 import ntag.model.TagFile;
 
+import java.io.IOException;
 import java.nio.file.FileVisitOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -38,53 +54,85 @@ public class ReadTagFilesTask extends Task<List<TagFile>> {
 
   public static final Logger LOGGER = Logger.getLogger(ReadTagFilesTask.class.getName());
 
+  private static final int QUEUE_CAPACITY = 256;
+  private static final long POLL_TIMEOUT_MILLIS = 100;
+
   private final List<Path> pathList;
   private final List<String> errors = new ArrayList<>();
+  private final StringPool stringPool = new StringPool();
   private final int maxFiles;
   private final int maxDepth;
+  private final int threads;
+  private Consumer<TagFile> tagFileConsumer;
+  private TagCache tagCache;
+  private boolean deferHeader;
 
   public ReadTagFilesTask(List<Path> pathList, int maxFiles, int maxDepth) {
+    this(pathList, maxFiles, maxDepth, 1);
+  }
+
+  public ReadTagFilesTask(List<Path> pathList, int maxFiles, int maxDepth, int threads) {
     if (pathList == null || pathList.isEmpty()) {
       throw new IllegalArgumentException("pathList cannot be null or empty");
     }
+    if (threads < 1) {
+      throw new IllegalArgumentException("threads must be greater than 0");
+    }
     this.pathList = pathList;
     this.maxFiles = maxFiles;
     this.maxDepth = maxDepth;
+    this.threads = threads;
+  }
+
+  /**
+   * Sets a consumer, which receives every successfully read <code>TagFile</code>
+   * as soon as it is available. The consumer is called from the task thread in
+   * the order the files were found, so it must not touch the scene graph directly.
+   *
+   * @param tagFileConsumer consumer or null
+   */
+  public void setTagFileConsumer(Consumer<TagFile> tagFileConsumer) {
+    this.tagFileConsumer = tagFileConsumer;
+  }
+
+  /**
+   * Sets the tag cache used to skip parsing of unchanged files. The cache
+   * is saved after all files have been read.
+   *
+   * @param tagCache tag cache or null
+   */
+  public void setTagCache(TagCache tagCache) {
+    this.tagCache = tagCache;
+  }
+
+  /**
+   * Reads only the tags of MP3 files, the audio headers must be read afterwards
+   * with a <code>ReadAudioHeadersTask</code>.
+   *
+   * @param deferHeader true to defer the audio header analysis
+   */
+  public void setDeferHeader(boolean deferHeader) {
+    this.deferHeader = deferHeader;
   }
 
   @Override
   protected List<TagFile> call() throws Exception {
     errors.clear();
 
-    var resultList = new ArrayList<TagFile>();
-
     updateMessage(Resources.get("ntag", "msg_creating_filelist"));
 
-    AudioFileVisitor visitor = new AudioFileVisitor(maxFiles);
-
-    var options = Set.of(FileVisitOption.FOLLOW_LINKS);
-    for (Path path : pathList) {
-      Files.walkFileTree(path, options, maxDepth, visitor);
+    List<TagFile> result = scan();
+    if (LOGGER.isLoggable(Level.INFO)) {
+      LOGGER.info("String pool: " + stringPool);
     }
-
-    List<Path> files = visitor.getAudioFiles();
-
-    TagFileReader reader = new TagFileReader();
-    for (int i = 0; i < files.size(); i++) {
-      if (isCancelled()) {
-        updateMessage("Cancelled");
-        break;
-      }
-      updateMessage(Resources.format("ntag", "msg_reading_file", i, files.size()));
+    if (tagCache != null) {
       try {
-        resultList.add(reader.createTagFile(files.get(i)));
-      } catch (Exception e) {
-        LOGGER.log(Level.SEVERE, "%s%n%s".formatted(files.get(i).toString(), e.getClass().getName()), e);
-        errors.add("%s%n%s: %s".formatted(files.get(i).toString(), e.getClass().getName(), e.getMessage()));
+        tagCache.save();
+      } catch (IOException e) {
+        LOGGER.log(Level.WARNING, "Cannot save tag cache " + tagCache.getCacheFile(), e);
       }
-      updateProgress(i + 1, files.size());
     }
-    return resultList;
+    return result;
   }
 
   public boolean hasErrors() {
@@ -94,4 +142,161 @@ public class ReadTagFilesTask extends Task<List<TagFile>> {
   public List<String> getErrors() {
     return errors;
   }
+
+  /**
+   * @return the pool, which deduplicates artists, albums, directories etc. of this scan
+   */
+  public StringPool getStringPool() {
+    return stringPool;
+  }
+
+  // ***
+  //
+  // hidden implementation
+  //
+  // ***
+
+  /**
+   * Walks the file tree and reads the audio files at the same time. The walker thread
+   * puts every found audio file into a bounded queue, from which the reader threads
+   * take their work. So the first tags are read while the tree is still being walked
+   * and the number of pending paths never exceeds the queue capacity. The reader
+   * threads share one configured <code>TagFileReader</code>.
+   * The results are reordered by file index, so the returned list and the error list
+   * keep the order in which the files were found, regardless of the completion order.
+   */
+  private List<TagFile> scan() throws IOException {
+    final BlockingQueue<ScanItem> scanQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    final BlockingQueue<ReadResult> resultQueue = new LinkedBlockingQueue<>();
+    final AtomicInteger discovered = new AtomicInteger();
+    final AtomicBoolean walkDone = new AtomicBoolean();
+    final AtomicReference<IOException> walkError = new AtomicReference<>();
+    final ExecutorService executor = Executors.newFixedThreadPool(threads + 1, createThreadFactory());
+    final Map<Integer, ReadResult> pending = new HashMap<>();
+    final var resultList = new ArrayList<TagFile>();
+    final TagFileReader reader = createReader();
+    int received = 0;
+    try {
+      executor.execute(() -> walk(scanQueue, discovered, walkDone, walkError));
+      for (int i = 0; i < threads; i++) {
+        executor.execute(() -> consume(scanQueue, resultQueue, reader));
+      }
+      while (!walkDone.get() || received < discovered.get()) {
+        if (isCancelled()) {
+          updateMessage("Cancelled");
+          break;
+        }
+        ReadResult result = resultQueue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (result == null) {
+          continue;
+        }
+        received++;
+        pending.put(result.index(), result);
+        // emit the results in the order the files were found
+        while (pending.containsKey(resultList.size() + errors.size())) {
+          ReadResult next = pending.remove(resultList.size() + errors.size());
+          if (next.tagFile() != null) {
+            resultList.add(next.tagFile());
+            if (tagFileConsumer != null) {
+              tagFileConsumer.accept(next.tagFile());
+            }
+          } else {
+            errors.add(next.error());
+          }
+        }
+        int total = walkDone.get() ? discovered.get() : Math.max(discovered.get(), received);
+        updateMessage(Resources.format("ntag", deferHeader ? "msg_reading_tags" : "msg_reading_file", received, total));
+        updateProgress(received, total);
+      }
+    } catch (InterruptedException e) {
+      // the task has been cancelled while waiting for the next result
+      updateMessage("Cancelled");
+      Thread.currentThread().interrupt();
+    } finally {
+      executor.shutdownNow();
+    }
+    if (walkError.get() != null) {
+      throw walkError.get();
+    }
+    return resultList;
+  }
+
+  private void walk(BlockingQueue<ScanItem> scanQueue, AtomicInteger discovered,
+                    AtomicBoolean walkDone, AtomicReference<IOException> walkError) {
+    AudioFileVisitor visitor = new AudioFileVisitor(maxFiles, (file, attr) -> {
+      scanQueue.put(new ScanItem(discovered.get(), file));
+      discovered.incrementAndGet();
+    });
+    var options = Set.of(FileVisitOption.FOLLOW_LINKS);
+    try {
+      for (Path path : pathList) {
+        Files.walkFileTree(path, options, maxDepth, visitor);
+        if (visitor.getFileCount() >= maxFiles || Thread.currentThread().isInterrupted()) {
+          break;
+        }
+      }
+    } catch (IOException e) {
+      LOGGER.log(Level.SEVERE, "Error while walking the file tree", e);
+      walkError.set(e);
+    } finally {
+      walkDone.set(true);
+    }
+    try {
+      for (int i = 0; i < threads; i++) {
+        scanQueue.put(ScanItem.POISON);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  TagFileReader createReader() {
+    TagFileReader reader = new TagFileReader();
+    reader.setTagCache(tagCache);
+    reader.setDeferHeader(deferHeader);
+    reader.setStringPool(stringPool);
+    return reader;
+  }
+
+  private static void consume(BlockingQueue<ScanItem> scanQueue, BlockingQueue<ReadResult> resultQueue,
+                              TagFileReader reader) {
+    try {
+      ScanItem item;
+      while ((item = scanQueue.take()) != ScanItem.POISON) {
+        resultQueue.put(read(reader, item.index(), item.path()));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static ReadResult read(TagFileReader reader, int index, Path file) {
+    try {
+      return new ReadResult(index, reader.createTagFile(file), null);
+    } catch (Throwable e) {
+      // every found file must deliver a result, otherwise the collector waits forever
+      LOGGER.log(Level.SEVERE, "%s%n%s".formatted(file.toString(), e.getClass().getName()), e);
+      return new ReadResult(index, null, createErrorMessage(file, e));
+    }
+  }
+
+  private static String createErrorMessage(Path file, Throwable e) {
+    return "%s%n%s: %s".formatted(file.toString(), e.getClass().getName(), e.getMessage());
+  }
+
+  private static ThreadFactory createThreadFactory() {
+    final AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "ntag-reader-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private record ReadResult(int index, TagFile tagFile, String error) {
+  }
+
+  private record ScanItem(int index, Path path) {
+    static final ScanItem POISON = new ScanItem(-1, null);
+  }
 }
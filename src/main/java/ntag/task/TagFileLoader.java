@@ -0,0 +1,298 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+package ntag.task;
+
+import javafx.application.Platform;
+import ntag.commons.StringPool;
+import ntag.io.TagCache;
+import ntag.io.TagFileReader;
+import ntag.model.TagFile;
+import ntag.model.TagRecord;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Loads the header informations and metadata of <code>TagFile</code>s, which contain
+ * only the file informations, on demand. The table requests the files of its visible
+ * rows and the loader reads them plus a prefetch margin with a pool of worker threads.
+ * The most recent requests are served first, so scrolling doesn't wait for rows which
+ * are no longer visible. A separate low priority pass completes all other files, so
+ * the aggregates cover the whole file list.
+ */
+public class TagFileLoader implements Closeable {
+
+  public static final Logger LOGGER = Logger.getLogger(TagFileLoader.class.getName());
+
+  private static final int MAX_REQUESTS = 1000;
+
+  private final BlockingDeque<TagFile> requests = new LinkedBlockingDeque<>();
+  private final Set<TagFile> pending = ConcurrentHashMap.newKeySet();
+  private final Queue<LoadResult> results = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean applyScheduled = new AtomicBoolean();
+  private final StringPool stringPool = new StringPool();
+  private final ExecutorService executor;
+  private final Executor fxExecutor;
+  private final TagFileReader reader;
+  private final int prefetch;
+  private final List<String> errors = new ArrayList<>();
+  private Consumer<List<TagFile>> onLoaded;
+  private Consumer<List<String>> onFailed;
+
+  // ***
+  //
+  // Construction
+  //
+  // ***
+
+  public TagFileLoader(int threads, int prefetch, TagCache tagCache) {
+    this(threads, prefetch, tagCache, Platform::runLater);
+  }
+
+  TagFileLoader(int threads, int prefetch, TagCache tagCache, Executor fxExecutor) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("threads must be greater than 0");
+    }
+    this.prefetch = prefetch;
+    this.reader = new TagFileReader();
+    this.reader.setTagCache(tagCache);
+    this.reader.setStringPool(stringPool);
+    this.fxExecutor = fxExecutor;
+    this.executor = Executors.newFixedThreadPool(threads + 1, createThreadFactory());
+    for (int i = 0; i < threads; i++) {
+      executor.execute(this::load);
+    }
+  }
+
+  // ***
+  //
+  // public API
+  //
+  // ***
+
+  /**
+   * Sets a callback, which is called on the JavaFX Application Thread after
+   * loaded files have been completed, e.g. to refresh the table. The callback
+   * receives the completed files.
+   *
+   * @param onLoaded callback or null
+   */
+  public void setOnLoaded(Consumer<List<TagFile>> onLoaded) {
+    this.onLoaded = onLoaded;
+  }
+
+  /**
+   * Sets a callback, which is called on the JavaFX Application Thread after
+   * files could not be loaded. The callback receives the error messages of
+   * these files, which stay unloaded for the rest of the session.
+   *
+   * @param onFailed callback or null
+   */
+  public void setOnFailed(Consumer<List<String>> onFailed) {
+    this.onFailed = onFailed;
+  }
+
+  /**
+   * @return true, if files could not be loaded
+   */
+  public boolean hasErrors() {
+    return !errors.isEmpty();
+  }
+
+  /**
+   * @return the error messages of all files, which could not be loaded,
+   * must be called on the JavaFX Application Thread
+   */
+  public List<String> getErrors() {
+    return errors;
+  }
+
+  /**
+   * Requests the file at the given index and its neighbours within the
+   * prefetch margin. The requested file itself is loaded first.
+   *
+   * @param items the displayed files
+   * @param index index of the displayed file
+   */
+  public void request(List<TagFile> items, int index) {
+    if (index < 0 || index >= items.size()) {
+      return;
+    }
+    for (int distance = prefetch; distance > 0; distance--) {
+      enqueue(items, index + distance);
+      enqueue(items, index - distance);
+    }
+    enqueue(items, index);
+    while (requests.size() > MAX_REQUESTS) {
+      TagFile dropped = requests.pollLast();
+      if (dropped != null) {
+        pending.remove(dropped);
+      }
+    }
+  }
+
+  /**
+   * Completes all files, which are not loaded, in the background, so that the
+   * aggregates like the total playtime cover the whole file list.
+   *
+   * @param files all files
+   */
+  public void loadAggregates(List<TagFile> files) {
+    final List<TagFile> snapshot = new ArrayList<>(files);
+    executor.execute(() -> loadRemaining(snapshot));
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+    if (LOGGER.isLoggable(Level.INFO)) {
+      LOGGER.info("String pool: " + stringPool);
+    }
+  }
+
+  // ***
+  //
+  // hidden implementation
+  //
+  // ***
+
+  private void enqueue(List<TagFile> items, int index) {
+    if (index >= 0 && index < items.size()) {
+      TagFile tagFile = items.get(index);
+      if (!tagFile.isLoaded() && pending.add(tagFile)) {
+        requests.addFirst(tagFile);
+      }
+    }
+  }
+
+  private void load() {
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        TagFile stub = requests.takeFirst();
+        results.add(read(stub));
+        scheduleApply();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * The read records are applied like the requested ones, the stubs are added to the
+   * pending set, so that a request doesn't read the same file again.
+   */
+  private void loadRemaining(List<TagFile> files) {
+    int count = 0;
+    Thread.currentThread().setPriority(Thread.MIN_PRIORITY);
+    for (TagFile stub : files) {
+      if (Thread.currentThread().isInterrupted()) {
+        return;
+      }
+      if (stub.isLoaded() || !pending.add(stub)) {
+        continue;
+      }
+      results.add(read(stub));
+      if (++count % 100 == 0) {
+        scheduleApply();
+      }
+    }
+    scheduleApply();
+    if (LOGGER.isLoggable(Level.INFO)) {
+      LOGGER.info("Read %d files in the background".formatted(count));
+    }
+  }
+
+  private LoadResult read(TagFile stub) {
+    try {
+      return new LoadResult(stub, reader.readTagRecord(stub.getPath()), null);
+    } catch (Exception e) {
+      LOGGER.log(Level.WARNING, "Cannot load file " + stub.getPath(), e);
+      return new LoadResult(stub, null, "%s%n%s: %s".formatted(stub.getPath().toString(), e.getClass().getName(), e.getMessage()));
+    }
+  }
+
+  private void scheduleApply() {
+    if (applyScheduled.compareAndSet(false, true)) {
+      fxExecutor.execute(this::apply);
+    }
+  }
+
+  /**
+   * Completes the loaded files, called on the JavaFX Application Thread.
+   */
+  private void apply() {
+    applyScheduled.set(false);
+    final List<TagFile> completed = new ArrayList<>();
+    final List<String> failed = new ArrayList<>();
+    LoadResult result;
+    while ((result = results.poll()) != null) {
+      TagFile stub = result.stub();
+      if (result.error() != null) {
+        // the file stays in the pending set, so it is not requested again
+        failed.add(result.error());
+        continue;
+      }
+      pending.remove(stub);
+      if (stub.isDirty()) {
+        LOGGER.warning("Cannot complete file with unsaved changes: " + stub.getPath());
+      } else if (!stub.isLoaded()) {
+        stub.copyFrom(result.tagRecord());
+        completed.add(stub);
+      }
+    }
+    if (onLoaded != null) {
+      onLoaded.accept(completed);
+    }
+    if (!failed.isEmpty()) {
+      errors.addAll(failed);
+      if (onFailed != null) {
+        onFailed.accept(failed);
+      }
+    }
+  }
+
+  private static ThreadFactory createThreadFactory() {
+    final AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "ntag-loader-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private record LoadResult(TagFile stub, TagRecord tagRecord, String error) {
+  }
+}
@@ -24,39 +24,90 @@ import ntag.io.Resources;
 import ntag.io.TagFileWriter;
 import ntag.model.TagFile;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+/**
+ * Writes the changed files with a bounded pool of writer threads. The files are
+ * grouped by device and directory: a directory is always written by one thread in
+ * the given order and at most <code>writersPerDevice</code> threads write to the same
+ * device, so a single disk is not thrashed by concurrent rewrites, while the files of
+ * different devices are written in parallel. The updated files and the errors keep
+ * the order of the given files, regardless of the completion order.
+ */
 public class WriteTagFilesTask extends Task<Integer> {
 
+  public static final Logger LOGGER = Logger.getLogger(WriteTagFilesTask.class.getName());
+
+  private static final long POLL_TIMEOUT_MILLIS = 100;
+
   private final List<TagFile> files;
   private final List<TagFile> updatedFiles = new ArrayList<>();
   private final List<String> errors = new ArrayList<>();
+  private final List<DeviceStatistics> deviceStatistics = new ArrayList<>();
+  private final int threads;
+  private int writersPerDevice = 1;
 
   public WriteTagFilesTask(List<TagFile> files) {
+    this(files, 1);
+  }
+
+  public WriteTagFilesTask(List<TagFile> files, int threads) {
     if (files == null || files.isEmpty()) {
       throw new IllegalArgumentException("files cannot be null or empty");
     }
-    this.files = files;
+    if (threads < 1) {
+      throw new IllegalArgumentException("threads must be greater than 0");
+    }
+    this.files = new ArrayList<>(files);
+    this.threads = threads;
+  }
+
+  /**
+   * Sets the number of threads, which may write to the same device at the same time.
+   * Keep the default of 1 for spinning disks, SSDs may benefit from more writers.
+   *
+   * @param writersPerDevice number of writers per device, greater than 0
+   */
+  public void setWritersPerDevice(int writersPerDevice) {
+    if (writersPerDevice < 1) {
+      throw new IllegalArgumentException("writersPerDevice must be greater than 0");
+    }
+    this.writersPerDevice = writersPerDevice;
   }
 
   @Override
   protected Integer call() {
     errors.clear();
-    TagFileWriter writer = new TagFileWriter();
-    for (int i = 0; i < files.size(); i++) {
-      if (isCancelled()) {
-        updateMessage("Cancelled");
-        break;
+    updatedFiles.clear();
+    deviceStatistics.clear();
+    updateMessage(Resources.format("ntag", "msg_writing_file", 0, files.size()));
+    List<DeviceGroup> devices = groupByDevice();
+    write(devices);
+    for (DeviceGroup device : devices) {
+      DeviceStatistics statistics = device.getStatistics();
+      deviceStatistics.add(statistics);
+      if (LOGGER.isLoggable(Level.INFO)) {
+        LOGGER.info(statistics.toString());
       }
-      updateMessage(Resources.format("ntag", "msg_writing_file", i, files.size()));
-      try {
-        writer.update(files.get(i));
-        updatedFiles.add(files.get(i));
-      } catch (Exception e) {
-        errors.add("%s%n%s: %s".formatted(files.get(i).toString(), e.getClass().getName(), e.getMessage()));
-      }
-      updateProgress(i + 1, files.size());
     }
     return 0;
   }
@@ -72,4 +123,215 @@ public class WriteTagFilesTask extends Task<Integer> {
   public List<TagFile> getUpdatedFiles() {
     return updatedFiles;
   }
+
+  /**
+   * @return the throughput of every device, which has been written to
+   */
+  public List<DeviceStatistics> getDeviceStatistics() {
+    return deviceStatistics;
+  }
+
+  /**
+   * Throughput of the writers of one device.
+   *
+   * @param device the file store, e.g. <code>/home (/dev/sda2)</code>
+   * @param files  number of successfully written files
+   * @param bytes  total size of the successfully written files
+   * @param nanos  elapsed time from the first to the last write on this device
+   */
+  public record DeviceStatistics(String device, int files, long bytes, long nanos) {
+
+    public double getFilesPerSecond() {
+      return nanos == 0 ? 0 : files * 1e9 / nanos;
+    }
+
+    public double getMegabytesPerSecond() {
+      return nanos == 0 ? 0 : bytes * 1e9 / nanos / (1024 * 1024);
+    }
+
+    @Override
+    public String toString() {
+      return "Device %s: %d files, %.1f MB in %d ms, %.1f files/s, %.1f MB/s".formatted(device, files,
+          bytes / (1024.0 * 1024.0), TimeUnit.NANOSECONDS.toMillis(nanos), getFilesPerSecond(), getMegabytesPerSecond());
+    }
+  }
+
+  // ***
+  //
+  // hidden implementation
+  //
+  // ***
+
+  /**
+   * Distributes the files to their devices. The device of a directory is looked up
+   * only once, the directories of a device keep the order of their first file.
+   */
+  private List<DeviceGroup> groupByDevice() {
+    final Map<Path, String> deviceByDirectory = new HashMap<>();
+    final Map<String, Map<Path, List<Integer>>> directoriesByDevice = new LinkedHashMap<>();
+    for (int i = 0; i < files.size(); i++) {
+      Path directory = files.get(i).getPath().toAbsolutePath().getParent();
+      String device = deviceByDirectory.computeIfAbsent(directory, WriteTagFilesTask::getDevice);
+      directoriesByDevice.computeIfAbsent(device, key -> new LinkedHashMap<>())
+          .computeIfAbsent(directory, key -> new ArrayList<>()).add(i);
+    }
+    final List<DeviceGroup> devices = new ArrayList<>();
+    directoriesByDevice.forEach((device, directories) -> devices.add(new DeviceGroup(device, directories.values())));
+    return devices;
+  }
+
+  private static String getDevice(Path directory) {
+    try {
+      return Files.getFileStore(directory).toString();
+    } catch (IOException e) {
+      LOGGER.log(Level.FINE, "Cannot determine the file store of " + directory, e);
+      return String.valueOf(directory.getRoot());
+    }
+  }
+
+  private void write(List<DeviceGroup> devices) {
+    final BlockingQueue<WriteResult> resultQueue = new LinkedBlockingQueue<>();
+    final ExecutorService executor = Executors.newFixedThreadPool(threads, createThreadFactory());
+    final TagFileWriter writer = new TagFileWriter();
+    final String[] results = new String[files.size()];
+    final boolean[] done = new boolean[files.size()];
+    int received = 0;
+    try {
+      for (DeviceGroup device : devices) {
+        int workers = Math.min(writersPerDevice, device.directories().size());
+        for (int i = 0; i < workers; i++) {
+          executor.execute(() -> drain(device, writer, resultQueue));
+        }
+      }
+      while (received < files.size()) {
+        if (isCancelled()) {
+          updateMessage("Cancelled");
+          break;
+        }
+        WriteResult result = resultQueue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (result == null) {
+          continue;
+        }
+        received++;
+        done[result.index()] = true;
+        results[result.index()] = result.error();
+        updateMessage(Resources.format("ntag", "msg_writing_file", received, files.size()));
+        updateProgress(received, files.size());
+      }
+    } catch (InterruptedException e) {
+      // the task has been cancelled while waiting for the next result
+      updateMessage("Cancelled");
+      Thread.currentThread().interrupt();
+    } finally {
+      // never interrupt a running write, this could leave a truncated audiofile
+      executor.shutdown();
+      awaitTermination(executor);
+    }
+    // collect the files, which have been completed after the cancellation
+    for (WriteResult result : resultQueue) {
+      done[result.index()] = true;
+      results[result.index()] = result.error();
+    }
+    for (int i = 0; i < files.size(); i++) {
+      if (done[i] && results[i] == null) {
+        updatedFiles.add(files.get(i));
+      } else if (done[i]) {
+        errors.add(results[i]);
+      }
+    }
+  }
+
+  private void drain(DeviceGroup device, TagFileWriter writer, BlockingQueue<WriteResult> resultQueue) {
+    List<Integer> directory;
+    while ((directory = device.directories().poll()) != null) {
+      for (int index : directory) {
+        if (isCancelled()) {
+          return;
+        }
+        resultQueue.add(write(writer, device, index));
+      }
+    }
+  }
+
+  private WriteResult write(TagFileWriter writer, DeviceGroup device, int index) {
+    final TagFile tagFile = files.get(index);
+    final long start = System.nanoTime();
+    try {
+      writer.update(tagFile);
+      device.record(size(tagFile.getPath()), start, System.nanoTime());
+      return new WriteResult(index, null);
+    } catch (Exception e) {
+      LOGGER.log(Level.SEVERE, "%s%n%s".formatted(tagFile.getPath().toString(), e.getClass().getName()), e);
+      return new WriteResult(index, "%s%n%s: %s".formatted(tagFile.toString(), e.getClass().getName(), e.getMessage()));
+    }
+  }
+
+  private static long size(Path path) {
+    try {
+      return Files.size(path);
+    } catch (IOException e) {
+      return 0;
+    }
+  }
+
+  private static void awaitTermination(ExecutorService executor) {
+    boolean interrupted = false;
+    while (true) {
+      try {
+        if (executor.awaitTermination(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+          break;
+        }
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static ThreadFactory createThreadFactory() {
+    final AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "ntag-writer-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private record WriteResult(int index, String error) {
+  }
+
+  /**
+   * The pending directories of one device and the throughput of its writers.
+   */
+  private static final class DeviceGroup {
+
+    private final String device;
+    private final Queue<List<Integer>> directories;
+    private int fileCount;
+    private long byteCount;
+    private long firstStart = Long.MAX_VALUE;
+    private long lastEnd = Long.MIN_VALUE;
+
+    DeviceGroup(String device, Collection<List<Integer>> directories) {
+      this.device = device;
+      this.directories = new ConcurrentLinkedQueue<>(directories);
+    }
+
+    Queue<List<Integer>> directories() {
+      return directories;
+    }
+
+    synchronized void record(long bytes, long start, long end) {
+      fileCount++;
+      byteCount += bytes;
+      firstStart = Math.min(firstStart, start);
+      lastEnd = Math.max(lastEnd, end);
+    }
+
+    synchronized DeviceStatistics getStatistics() {
+      return new DeviceStatistics(device, fileCount, byteCount, fileCount == 0 ? 0 : lastEnd - firstStart);
+    }
+  }
 }
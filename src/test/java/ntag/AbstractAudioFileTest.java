@@ -21,8 +21,13 @@
 package ntag;
 
 import ntag.io.NTagProperties;
+import ntag.io.TagFileReader;
+import ntag.io.TagFileWriter;
 import ntag.io.util.ImageUtil;
 import ntag.model.ArtworkTag;
+import ntag.model.ReadEvent;
+import ntag.model.TagFile;
+import ntag.model.TagRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -31,8 +36,11 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 public abstract class AbstractAudioFileTest {
 
   protected static final String SAMPLE_FLAC = "sample.flac";
@@ -84,6 +92,92 @@ public abstract class AbstractAudioFileTest {
         return new ArtworkTag(Files.readAllBytes(getArtwork()), 500, 500, ImageUtil.ImageType.JPG);
     }
 
+  /**
+   * Creates a reader, which uses the fast parsers for ID3v2, FLAC and MP4 or, if false,
+   * only jaudiotagger. The MP3 header is deferred, because the ID3v2 parser is used
+   * only for the tag.
+   */
+  protected static TagFileReader createReader(boolean fast) {
+    TagFileReader reader = new TagFileReader();
+    reader.setReleaseAudioFile(true);
+    reader.setDeferHeader(true);
+    reader.setFastID3v2(fast);
+    reader.setFastFlac(fast);
+    reader.setFastMp4(fast);
+    return reader;
+  }
+
+  /**
+   * Writes all supported metadata fields and the artwork sample to the given file.
+   */
+  protected static void writeTag(Path path) throws Exception {
+    writeTag(path, true, "Tïtle ♫", LocalDate.of(2019, 5, 12));
+  }
+
+  protected static void writeTag(Path path, boolean id3v24, String title, LocalDate date) throws Exception {
+    TagFile tagFile = new TagFileReader().createTagFile(path);
+    tagFile.setTitle(title);
+    tagFile.setArtist("Artist");
+    tagFile.setAlbum("Album");
+    tagFile.setAlbumArtist("Album Artist");
+    tagFile.setComposer("Composer");
+    tagFile.setDate(date);
+    tagFile.setYear(2019);
+    tagFile.setGenre("Rock");
+    tagFile.setLanguage("ENG");
+    tagFile.setRating(3);
+    tagFile.setDisc(1);
+    tagFile.setDiscTotal(2);
+    tagFile.setTrack(3);
+    tagFile.setTrackTotal(12);
+    tagFile.setComment("Comment");
+    tagFile.setLyrics("Lyrics\nwith two lines");
+    tagFile.setCompilation(true);
+    tagFile.setArtwork(getArtworkTagSample());
+    TagFileWriter writer = new TagFileWriter();
+    writer.setID3v24(id3v24);
+    writer.update(tagFile);
+  }
+
+  /**
+   * Compares the header informations, metadata and read events of two records read
+   * from the same file, e.g. by jaudiotagger and by a fast parser.
+   */
+  protected static void assertRecordEquals(TagRecord expected, TagRecord actual) {
+    assertEquals(expected.isVbr(), actual.isVbr());
+    assertEquals(expected.isLossless(), actual.isLossless());
+    assertEquals(expected.getBitrate(), actual.getBitrate());
+    assertEquals(expected.getSamplingRate(), actual.getSamplingRate());
+    assertEquals(expected.getChannels(), actual.getChannels());
+    assertEquals(expected.getAudioFormat(), actual.getAudioFormat());
+    assertEquals(expected.getCodec(), actual.getCodec());
+    assertEquals(expected.getEncoder(), actual.getEncoder());
+    assertEquals(expected.getPlaytime(), actual.getPlaytime());
+    assertEquals(expected.getTaggingSystem(), actual.getTaggingSystem());
+    assertEquals(expected.getTitle(), actual.getTitle());
+    assertEquals(expected.getArtist(), actual.getArtist());
+    assertEquals(expected.getAlbum(), actual.getAlbum());
+    assertEquals(expected.getAlbumArtist(), actual.getAlbumArtist());
+    assertEquals(expected.getComposer(), actual.getComposer());
+    assertEquals(expected.getGenre(), actual.getGenre());
+    assertEquals(expected.getTrack(), actual.getTrack());
+    assertEquals(expected.getTrackTotal(), actual.getTrackTotal());
+    assertEquals(expected.getDisc(), actual.getDisc());
+    assertEquals(expected.getDiscTotal(), actual.getDiscTotal());
+    assertEquals(expected.getComment(), actual.getComment());
+    assertEquals(expected.getLyrics(), actual.getLyrics());
+    assertEquals(expected.isCompilation(), actual.isCompilation());
+    assertEquals(expected.getLanguage(), actual.getLanguage());
+    assertEquals(expected.getYear(), actual.getYear());
+    assertEquals(expected.getDate(), actual.getDate());
+    assertEquals(expected.getRating(), actual.getRating());
+    assertEquals(expected.getArtwork(), actual.getArtwork());
+    assertEquals(expected.isSingleArtwork(), actual.isSingleArtwork());
+    assertEquals(expected.getInfos(), actual.getInfos());
+    assertEquals(expected.getEvents().stream().map(ReadEvent::getMessage).toList(),
+        actual.getEvents().stream().map(ReadEvent::getMessage).toList());
+  }
+
   protected static Path getIniSample() {
     return getPathFromResources(SAMPLE_INI);
   }
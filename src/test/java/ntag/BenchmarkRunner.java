@@ -0,0 +1,71 @@
+package ntag;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Times two implementations of the same operation for the benchmarks tagged with
+ * <code>Category.Benchmark</code>. Both are warmed up first, so the JIT has compiled
+ * them, then each one is timed for the given number of rounds.
+ */
+public final class BenchmarkRunner {
+
+  /**
+   * One round of a benchmark.
+   */
+  @FunctionalInterface
+  public interface Round {
+    /**
+     * @return a checksum of the round, e.g. the number of found values
+     */
+    int run() throws Exception;
+  }
+
+  /**
+   * The measured times of the baseline and the candidate.
+   */
+  public record Result(long baselineNanos, long candidateNanos, int rounds) {
+
+    public double baselineNanosPerRound() {
+      return (double) baselineNanos / rounds;
+    }
+
+    public double candidateNanosPerRound() {
+      return (double) candidateNanos / rounds;
+    }
+  }
+
+  private BenchmarkRunner() {
+
+  }
+
+  /**
+   * Compares the candidate with the baseline. Every round of both must return the
+   * checksum of the first baseline round, so that both do the same work.
+   *
+   * @param warmupRounds untimed rounds of each implementation
+   * @param rounds       timed rounds of each implementation
+   * @param baseline     the former or library implementation
+   * @param candidate    the implementation of this project
+   * @return the measured times
+   * @throws Exception if a round fails
+   */
+  public static Result compare(int warmupRounds, int rounds, Round baseline, Round candidate) throws Exception {
+    final int checksum = baseline.run();
+    run(baseline, warmupRounds, checksum);
+    run(candidate, warmupRounds, checksum);
+    final long baselineNanos = run(baseline, rounds, checksum);
+    final long candidateNanos = run(candidate, rounds, checksum);
+    return new Result(baselineNanos, candidateNanos, rounds);
+  }
+
+  private static long run(Round round, int rounds, int checksum) throws Exception {
+    long sum = 0;
+    final long start = System.nanoTime();
+    for (int i = 0; i < rounds; i++) {
+      sum += round.run();
+    }
+    final long nanos = System.nanoTime() - start;
+    assertEquals((long) checksum * rounds, sum);
+    return nanos;
+  }
+}
@@ -22,4 +22,5 @@ package ntag;
 
 public class Category {
     public static final String Unit = "Unit";
+    public static final String Benchmark = "Benchmark";
 }
@@ -0,0 +1,61 @@
+package ntag.commons;
+
+import ntag.Category;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag(Category.Unit)
+class StringPoolTest {
+
+  @Test
+  @DisplayName("equal values share one instance")
+  void intern() {
+    // given
+    StringPool pool = new StringPool();
+    String first = new String("Artist");
+    String second = new String("Artist");
+    // when
+    String actual1 = pool.intern(first);
+    String actual2 = pool.intern(second);
+    // then
+    assertThat(actual1).isSameAs(first);
+    assertThat(actual2).isSameAs(first);
+    assertThat(pool.size()).isEqualTo(1);
+    assertThat(pool.getHits()).isEqualTo(1);
+    assertThat(pool.getMisses()).isEqualTo(1);
+    assertThat(pool.getHitRatio()).isEqualTo(0.5);
+  }
+
+  @Test
+  @DisplayName("null and empty values are not counted")
+  void intern_nullOrEmpty() {
+    // given
+    StringPool pool = new StringPool();
+    // when
+    String actual1 = pool.intern(null);
+    String actual2 = pool.intern("");
+    // then
+    assertThat(actual1).isNull();
+    assertThat(actual2).isEmpty();
+    assertThat(pool.size()).isZero();
+    assertThat(pool.getHitRatio()).isZero();
+  }
+
+  @Test
+  @DisplayName("the pool stops growing at its maximum size")
+  void intern_maxSize() {
+    // given
+    StringPool pool = new StringPool(1);
+    pool.intern("a");
+    String value = new String("b");
+    // when
+    String actual = pool.intern(value);
+    // then
+    assertThat(actual).isSameAs(value);
+    assertThat(pool.intern(new String("b"))).isNotSameAs(value);
+    assertThat(pool.size()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,60 @@
+package ntag.io;
+
+import ntag.Category;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@Tag(Category.Unit)
+class ArtworkCacheTest {
+
+  private static final byte[] HASH_1 = {1};
+  private static final byte[] HASH_2 = {2};
+  private static final byte[] HASH_3 = {3};
+
+  @Test
+  void get() {
+    // given
+    ArtworkCache cache = new ArtworkCache(100);
+    byte[] data = new byte[10];
+    // when
+    cache.put(HASH_1, data);
+    // then
+    assertArrayEquals(data, cache.get(new byte[]{1}));
+    assertNull(cache.get(HASH_2));
+    assertEquals(10, cache.getBytes());
+  }
+
+  @Test
+  void put_evictLeastRecentlyUsed() {
+    // given
+    ArtworkCache cache = new ArtworkCache(100);
+    cache.put(HASH_1, new byte[40]);
+    cache.put(HASH_2, new byte[40]);
+    cache.get(HASH_1);
+    // when
+    cache.put(HASH_3, new byte[40]);
+    // then
+    assertEquals(2, cache.size());
+    assertEquals(80, cache.getBytes());
+    assertNotNull(cache.get(HASH_1));
+    assertNull(cache.get(HASH_2));
+    assertNotNull(cache.get(HASH_3));
+  }
+
+  @Test
+  void put_exceedsBudget() {
+    // given
+    ArtworkCache cache = new ArtworkCache(100);
+    cache.put(HASH_1, new byte[40]);
+    // when
+    cache.put(HASH_2, new byte[101]);
+    // then
+    assertEquals(1, cache.size());
+    assertNull(cache.get(HASH_2));
+  }
+}
@@ -0,0 +1,56 @@
+package ntag.io;
+
+import ntag.AbstractAudioFileTest;
+import ntag.BenchmarkRunner;
+import ntag.BenchmarkRunner.Result;
+import ntag.Category;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.logging.Logger;
+
+/**
+ * Compares <code>FastID3v2Tag</code> with reading the tag by jaudiotagger.
+ * Not part of the unit tests, run it with <code>mvn test -Dtest.groups=Benchmark</code>.
+ */
+@Tag(Category.Benchmark)
+class FastID3v2TagBenchmarkTest extends AbstractAudioFileTest {
+
+  private static final Logger LOGGER = Logger.getLogger(FastID3v2TagBenchmarkTest.class.getName());
+
+  private static final int WARMUP_ROUNDS = 2_000;
+  private static final int ROUNDS = 10_000;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    super.setUp();
+    copyFilesToTempDir();
+  }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_ID3V23_MP3 + ",false", SAMPLE_ID3V24_MP3 + ",true"})
+  void compare(String file, boolean id3v24) throws Exception {
+    // given
+    Path path = tempDirPath.resolve(file);
+    writeTag(path, id3v24, "Title", LocalDate.of(2019, 5, 12));
+    // when
+    Result result = BenchmarkRunner.compare(WARMUP_ROUNDS, ROUNDS, () -> readTitle(path, true), () -> readTitle(path, false));
+    // then
+    LOGGER.info("%s: jaudiotagger: %.1f us/file, FastID3v2Tag: %.1f us/file".formatted(file,
+        result.baselineNanosPerRound() / 1000.0, result.candidateNanosPerRound() / 1000.0));
+  }
+
+  private static int readTitle(Path path, boolean jaudiotagger) throws Exception {
+    String title = jaudiotagger
+        ? TagFields.read((AbstractID3v2Tag) JAudiotaggerUtil.readMP3Tag(path)).getFirst(FieldKey.TITLE)
+        : FastID3v2Tag.read(path).getFirst(FieldKey.TITLE);
+    return "Title".equals(title) ? 1 : 0;
+  }
+}
@@ -0,0 +1,87 @@
+package ntag.io;
+
+import ntag.AbstractAudioFileTest;
+import ntag.Category;
+import ntag.model.TagRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag(Category.Unit)
+class FastID3v2TagTest extends AbstractAudioFileTest {
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    super.setUp();
+    copyFilesToTempDir();
+  }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_ID3V23_MP3 + ",false", SAMPLE_ID3V24_MP3 + ",true"})
+  void read_equalsJaudiotagger(String file, boolean id3v24) throws Exception {
+    // given
+    Path path = tempDirPath.resolve(file);
+    writeTag(path, id3v24, "Tïtle ♫", LocalDate.of(2019, 5, 12));
+    // when
+    TagRecord expected = createReader(false).readTagRecord(path);
+    TagRecord actual = createReader(true).readTagRecord(path);
+    // then
+    assertNotNull(FastID3v2Tag.read(path));
+    assertEquals("Tïtle ♫", actual.getTitle());
+    assertRecordEquals(expected, actual);
+  }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_ID3V23_MP3, SAMPLE_ID3V24_MP3})
+  void read_sample(String file) throws Exception {
+    // given
+    Path path = tempDirPath.resolve(file);
+    // when
+    FastID3v2Tag tag = FastID3v2Tag.read(path);
+    TagRecord expected = createReader(false).readTagRecord(path);
+    TagRecord actual = createReader(true).readTagRecord(path);
+    // then
+    assertNotNull(tag);
+    assertRecordEquals(expected, actual);
+  }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_FLAC, SAMPLE_WMA, SAMPLE_M4A})
+  void read_noID3v2Tag(String file) throws Exception {
+    assertNull(FastID3v2Tag.read(tempDirPath.resolve(file)));
+  }
+
+  @Test
+  void read_unsynchronisation() throws Exception {
+    // given
+    Path path = tempDirPath.resolve(SAMPLE_ID3V24_MP3);
+    writeTag(path, true, "Title", null);
+    try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+      file.seek(5);
+      file.write(0x80);
+    }
+    // when
+    FastID3v2Tag tag = FastID3v2Tag.read(path);
+    TagRecord actual = createReader(true).readTagRecord(path);
+    // then
+    assertNull(tag);
+    assertEquals("Title", actual.getTitle());
+  }
+
+  @Test
+  void read_null() {
+    assertThrows(IllegalArgumentException.class, () -> FastID3v2Tag.read(null));
+  }
+}
@@ -0,0 +1,91 @@
+package ntag.io;
+
+import ntag.AbstractAudioFileTest;
+import ntag.Category;
+import ntag.model.ArtworkTag;
+import ntag.model.TagRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag(Category.Unit)
+class FlacMetadataTest extends AbstractAudioFileTest {
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    super.setUp();
+    copyFilesToTempDir();
+  }
+
+  @Test
+  void read_sample() throws Exception {
+    // given
+    Path path = tempDirPath.resolve(SAMPLE_FLAC);
+    // when
+    FlacMetadata flac = FlacMetadata.read(path);
+    TagRecord expected = createReader(false).readTagRecord(path);
+    TagRecord actual = createReader(true).readTagRecord(path);
+    // then
+    assertNotNull(flac);
+    assertEquals(11025, flac.getSampleRate());
+    assertEquals(1, flac.getChannels());
+    assertEquals(16, flac.getBitsPerSample());
+    assertEquals(37478, flac.getTotalSamples());
+    assertRecordEquals(expected, actual);
+  }
+
+  @Test
+  void read_equalsJaudiotagger() throws Exception {
+    // given
+    Path path = tempDirPath.resolve(SAMPLE_FLAC);
+    writeTag(path);
+    // when
+    FlacMetadata flac = FlacMetadata.read(path);
+    TagRecord expected = createReader(false).readTagRecord(path);
+    TagRecord actual = createReader(true).readTagRecord(path);
+    // then
+    assertNotNull(flac);
+    assertEquals(1, flac.getPictures().size());
+    assertEquals("Tïtle ♫", actual.getTitle());
+    assertRecordEquals(expected, actual);
+  }
+
+  @Test
+  void read_pictureOnDemand() throws Exception {
+    // given
+    Path path = tempDirPath.resolve(SAMPLE_FLAC);
+    writeTag(path);
+    byte[] expected = getArtworkTagSample().getImageData();
+    // when
+    FlacMetadata.Picture picture = FlacMetadata.read(path).getFrontCover();
+    ArtworkTag artwork = createReader(true).readTagRecord(path).getArtwork();
+    // then
+    assertEquals(expected.length, picture.dataLength());
+    assertEquals(expected.length, artwork.getSize());
+    assertArrayEquals(expected, picture.readData(path));
+    assertArrayEquals(expected, artwork.getImageData());
+    assertArrayEquals(getArtworkTagSample().getImageHash(), artwork.getImageHash());
+  }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_ID3V23_MP3, SAMPLE_WMA, SAMPLE_M4A})
+  void read_noFlac(String file) throws Exception {
+    assertNull(FlacMetadata.read(tempDirPath.resolve(file)));
+  }
+
+  @Test
+  void read_null() {
+    assertThrows(IllegalArgumentException.class, () -> FlacMetadata.read(null));
+  }
+}
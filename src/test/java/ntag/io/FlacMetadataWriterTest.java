@@ -0,0 +1,113 @@
+package ntag.io;
+
+import ntag.AbstractAudioFileTest;
+import ntag.Category;
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.generic.GenericAudioHeader;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.flac.FlacTag;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag(Category.Unit)
+class FlacMetadataWriterTest extends AbstractAudioFileTest {
+
+  private static final PaddingPolicy POLICY = new PaddingPolicy(8192, 8192, 0);
+
+  private Path path;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    super.setUp();
+    copyFilesToTempDir();
+    path = tempDirPath.resolve(SAMPLE_FLAC);
+  }
+
+  @Test
+  void write_inPlace() throws Exception {
+    // given
+    long size = Files.size(path);
+    byte[] audio = readAudio(path);
+    FlacTag tag = readTag(path);
+    tag.setField(FieldKey.TITLE, "Tïtle ♫");
+    // when
+    TagLayout layout = FlacMetadataWriter.write(path, tag, POLICY);
+    // then
+    assertNotNull(layout);
+    assertTrue(layout.isInPlace());
+    assertEquals(size, Files.size(path));
+    assertArrayEquals(audio, readAudio(path));
+    assertEquals("Tïtle ♫", readTag(path).getFirst(FieldKey.TITLE));
+  }
+
+  @Test
+  void write_rewrite() throws Exception {
+    // given
+    byte[] audio = readAudio(path);
+    FlacTag tag = readTag(path);
+    tag.setField(FieldKey.LYRICS, "a".repeat(20000));
+    tag.setField(tag.createArtworkField(getArtworkTagSample().getImageData(), 3, "image/jpeg", "", 0, 0, 0, 0));
+    // when
+    TagLayout first = FlacMetadataWriter.write(path, tag, POLICY);
+    long paddedSize = Files.size(path);
+    tag = readTag(path);
+    tag.setField(FieldKey.LYRICS, "b".repeat(25000));
+    TagLayout second = FlacMetadataWriter.write(path, tag, POLICY);
+    // then
+    assertFalse(first.isInPlace());
+    assertEquals(first.requiredSize() + 8192, first.writtenSize());
+    assertTrue(first.getMessage().contains("8192 bytes padding"));
+    assertTrue(second.isInPlace());
+    assertEquals(paddedSize, Files.size(path));
+    assertArrayEquals(audio, readAudio(path));
+    FlacTag actual = readTag(path);
+    assertEquals("b".repeat(25000), actual.getFirst(FieldKey.LYRICS));
+    assertArrayEquals(getArtworkTagSample().getImageData(), actual.getFirstArtwork().getBinaryData());
+  }
+
+  @Test
+  void write_noFlac() throws Exception {
+    // given
+    Path mp3 = tempDirPath.resolve(SAMPLE_ID3V23_MP3);
+    byte[] expected = Files.readAllBytes(mp3);
+    // when
+    TagLayout layout = FlacMetadataWriter.write(mp3, readTag(path), POLICY);
+    // then
+    assertNull(layout);
+    assertArrayEquals(expected, Files.readAllBytes(mp3));
+  }
+
+  @Test
+  void write_invalidArguments() throws Exception {
+    FlacTag tag = readTag(path);
+    assertThrows(IllegalArgumentException.class, () -> FlacMetadataWriter.write(null, tag, POLICY));
+    assertThrows(IllegalArgumentException.class, () -> FlacMetadataWriter.write(path, null, POLICY));
+    assertThrows(IllegalArgumentException.class, () -> FlacMetadataWriter.write(path, tag, null));
+  }
+
+  private static FlacTag readTag(Path path) throws Exception {
+    return (FlacTag) AudioFileIO.read(path.toFile()).getTagOrCreateAndSetDefault();
+  }
+
+  private static byte[] readAudio(Path path) throws Exception {
+    AudioFile audioFile = AudioFileIO.read(path.toFile());
+    long start = ((GenericAudioHeader) audioFile.getAudioHeader()).getAudioDataStartPosition();
+    byte[] bytes = Files.readAllBytes(path);
+    return Arrays.copyOfRange(bytes, (int) start, bytes.length);
+  }
+}
@@ -0,0 +1,51 @@
+package ntag.io;
+
+import ntag.AbstractAudioFileTest;
+import ntag.BenchmarkRunner;
+import ntag.BenchmarkRunner.Result;
+import ntag.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.logging.Logger;
+
+/**
+ * Compares reading a MP4 file with artwork by <code>Mp4Metadata</code> and by jaudiotagger.
+ * Not part of the unit tests, run it with <code>mvn test -Dtest.groups=Benchmark</code>.
+ */
+@Tag(Category.Benchmark)
+class Mp4MetadataBenchmarkTest extends AbstractAudioFileTest {
+
+  private static final Logger LOGGER = Logger.getLogger(Mp4MetadataBenchmarkTest.class.getName());
+
+  private static final int WARMUP_ROUNDS = 1_000;
+  private static final int ROUNDS = 5_000;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    super.setUp();
+    copyFilesToTempDir();
+  }
+
+  @Test
+  void compare() throws Exception {
+    // given
+    Path path = tempDirPath.resolve(SAMPLE_M4A);
+    writeTag(path);
+    // when
+    TagFileReader jaudiotagger = createReader(false);
+    TagFileReader fast = createReader(true);
+    Result result = BenchmarkRunner.compare(WARMUP_ROUNDS, ROUNDS, () -> readArtwork(jaudiotagger, path),
+        () -> readArtwork(fast, path));
+    // then
+    LOGGER.info("jaudiotagger: %.1f us/file, Mp4Metadata: %.1f us/file".formatted(
+        result.baselineNanosPerRound() / 1000.0, result.candidateNanosPerRound() / 1000.0));
+  }
+
+  private static int readArtwork(TagFileReader reader, Path path) throws Exception {
+    return reader.readTagRecord(path).getArtwork() != null ? 1 : 0;
+  }
+}
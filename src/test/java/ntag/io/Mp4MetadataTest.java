@@ -0,0 +1,106 @@
+package ntag.io;
+
+import ntag.AbstractAudioFileTest;
+import ntag.Category;
+import ntag.model.ArtworkTag;
+import ntag.model.TagRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag(Category.Unit)
+class Mp4MetadataTest extends AbstractAudioFileTest {
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    super.setUp();
+    copyFilesToTempDir();
+  }
+
+  @Test
+  void read_sample() throws Exception {
+    // given
+    Path path = tempDirPath.resolve(SAMPLE_M4A);
+    // when
+    Mp4Metadata mp4 = Mp4Metadata.read(path);
+    TagRecord expected = createReader(false).readTagRecord(path);
+    TagRecord actual = createReader(true).readTagRecord(path);
+    // then
+    assertNotNull(mp4);
+    assertEquals(44100, mp4.getAudioHeader().getSampleRateAsNumber());
+    assertEquals(3.414, mp4.getAudioHeader().getPreciseTrackLength(), 0.001);
+    assertRecordEquals(expected, actual);
+  }
+
+  @Test
+  void read_equalsJaudiotagger() throws Exception {
+    // given
+    Path path = tempDirPath.resolve(SAMPLE_M4A);
+    writeTag(path);
+    // when
+    Mp4Metadata mp4 = Mp4Metadata.read(path);
+    TagRecord expected = createReader(false).readTagRecord(path);
+    TagRecord actual = createReader(true).readTagRecord(path);
+    // then
+    assertNotNull(mp4);
+    assertEquals(1, mp4.getCovers().size());
+    assertEquals("Tïtle ♫", actual.getTitle());
+    assertRecordEquals(expected, actual);
+  }
+
+  @Test
+  void read_coverOnDemand() throws Exception {
+    // given
+    Path path = tempDirPath.resolve(SAMPLE_M4A);
+    writeTag(path);
+    byte[] expected = getArtworkTagSample().getImageData();
+    // when
+    Mp4Metadata.Cover cover = Mp4Metadata.read(path).getFrontCover();
+    ArtworkTag artwork = createReader(true).readTagRecord(path).getArtwork();
+    // then
+    assertEquals("image/jpeg", cover.mimeType());
+    assertEquals(expected.length, cover.dataLength());
+    assertEquals(expected.length, artwork.getSize());
+    assertArrayEquals(expected, cover.readData(path));
+    assertArrayEquals(expected, artwork.getImageData());
+  }
+
+  @Test
+  void read_videoTrack() throws Exception {
+    // given
+    Path path = tempDirPath.resolve(SAMPLE_M4A);
+    byte[] data = Files.readAllBytes(path);
+    String content = new String(data, StandardCharsets.ISO_8859_1);
+    int index = content.indexOf("smhd");
+    data[index] = 'v';
+    Files.write(path, data);
+    // when
+    Mp4Metadata mp4 = Mp4Metadata.read(path);
+    // then
+    assertNull(mp4);
+  }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_ID3V23_MP3, SAMPLE_FLAC, SAMPLE_WMA})
+  void read_noMp4(String file) throws Exception {
+    assertNull(Mp4Metadata.read(tempDirPath.resolve(file)));
+  }
+
+  @Test
+  void read_null() {
+    assertThrows(IllegalArgumentException.class, () -> Mp4Metadata.read(null));
+  }
+}
@@ -0,0 +1,158 @@
+package ntag.io;
+
+import ntag.AbstractAudioFileTest;
+import ntag.Category;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.ogg.OggVorbisCommentTagCreator;
+import org.jaudiotagger.audio.ogg.util.OggCRCFactory;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.vorbiscomment.VorbisCommentTag;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag(Category.Unit)
+class OggCommentWriterTest extends AbstractAudioFileTest {
+
+  private static final byte[] AUDIO_PACKET = "audio packet".getBytes(StandardCharsets.US_ASCII);
+
+  private Path path;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    super.setUp();
+    path = tempDirPath.resolve("sample.ogg");
+  }
+
+  @Test
+  void write_inPlace() throws Exception {
+    // given
+    Files.write(path, createOggVorbis(createTag("t".repeat(400))));
+    long size = Files.size(path);
+    VorbisCommentTag tag = createTag("Tïtle ♫");
+    // when
+    TagLayout layout = OggCommentWriter.write(path, tag);
+    // then
+    assertNotNull(layout);
+    assertTrue(layout.isInPlace());
+    assertEquals(size, Files.size(path));
+    byte[] bytes = Files.readAllBytes(path);
+    assertArrayEquals(AUDIO_PACKET, Arrays.copyOfRange(bytes, bytes.length - AUDIO_PACKET.length, bytes.length));
+    assertChecksums(bytes);
+    assertEquals("Tïtle ♫", AudioFileIO.read(path.toFile()).getTag().getFirst(FieldKey.TITLE));
+  }
+
+  @Test
+  void write_tooLarge() throws Exception {
+    // given
+    Files.write(path, createOggVorbis(createTag("Title")));
+    byte[] expected = Files.readAllBytes(path);
+    VorbisCommentTag tag = createTag("t".repeat(400));
+    // when
+    TagLayout layout = OggCommentWriter.write(path, tag);
+    // then
+    assertNotNull(layout);
+    assertFalse(layout.isInPlace());
+    assertArrayEquals(expected, Files.readAllBytes(path));
+  }
+
+  @Test
+  void write_noOgg() throws Exception {
+    // given
+    copyFilesToTempDir();
+    Path flac = tempDirPath.resolve(SAMPLE_FLAC);
+    byte[] expected = Files.readAllBytes(flac);
+    // when
+    TagLayout layout = OggCommentWriter.write(flac, createTag("Title"));
+    // then
+    assertNull(layout);
+    assertArrayEquals(expected, Files.readAllBytes(flac));
+  }
+
+  @Test
+  void write_invalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> OggCommentWriter.write(null, createTag("Title")));
+    assertThrows(IllegalArgumentException.class, () -> OggCommentWriter.write(path, null));
+  }
+
+  private static VorbisCommentTag createTag(String title) throws Exception {
+    VorbisCommentTag tag = VorbisCommentTag.createNewTag();
+    tag.setField(FieldKey.TITLE, title);
+    tag.setField(FieldKey.ARTIST, "Artist");
+    return tag;
+  }
+
+  /**
+   * Creates a minimal Ogg Vorbis stream with the identification header on the first page,
+   * the comment and setup headers on the second page and one audio packet on the last page.
+   */
+  private static byte[] createOggVorbis(VorbisCommentTag tag) throws Exception {
+    ByteBuffer identification = ByteBuffer.allocate(30).order(ByteOrder.LITTLE_ENDIAN);
+    identification.put((byte) 1).put("vorbis".getBytes(StandardCharsets.US_ASCII));
+    identification.putInt(0).put((byte) 2).putInt(44100).putInt(0).putInt(128000).putInt(0);
+    identification.put((byte) 0xB8).put((byte) 1);
+    ByteBuffer comment = new OggVorbisCommentTagCreator().convert(tag);
+    byte[] commentPacket = new byte[comment.limit()];
+    comment.get(commentPacket);
+    byte[] setupPacket = new byte[20];
+    setupPacket[0] = 5;
+    System.arraycopy("vorbis".getBytes(StandardCharsets.US_ASCII), 0, setupPacket, 1, 6);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write(createPage(0x02, 0, 0, identification.array()));
+    out.write(createPage(0x00, 0, 1, commentPacket, setupPacket));
+    out.write(createPage(0x04, 44100, 2, AUDIO_PACKET));
+    return out.toByteArray();
+  }
+
+  private static byte[] createPage(int flags, long granule, int sequence, byte[]... packets) {
+    ByteArrayOutputStream segments = new ByteArrayOutputStream();
+    ByteArrayOutputStream data = new ByteArrayOutputStream();
+    for (byte[] packet : packets) {
+      for (int i = 0; i < packet.length / 255; i++) {
+        segments.write(255);
+      }
+      segments.write(packet.length % 255);
+      data.writeBytes(packet);
+    }
+    ByteBuffer page = ByteBuffer.allocate(27 + segments.size() + data.size()).order(ByteOrder.LITTLE_ENDIAN);
+    page.put("OggS".getBytes(StandardCharsets.US_ASCII)).put((byte) 0).put((byte) flags);
+    page.putLong(granule).putInt(4711).putInt(sequence).putInt(0).put((byte) segments.size());
+    page.put(segments.toByteArray()).put(data.toByteArray());
+    byte[] bytes = page.array();
+    System.arraycopy(OggCRCFactory.computeCRC(bytes), 0, bytes, 22, 4);
+    return bytes;
+  }
+
+  private static void assertChecksums(byte[] bytes) {
+    int pos = 0;
+    while (pos < bytes.length) {
+      int count = bytes[pos + 26] & 0xFF;
+      int length = 27 + count;
+      for (int i = 0; i < count; i++) {
+        length += bytes[pos + 27 + i] & 0xFF;
+      }
+      byte[] page = Arrays.copyOfRange(bytes, pos, pos + length);
+      byte[] expected = Arrays.copyOfRange(page, 22, 26);
+      Arrays.fill(page, 22, 26, (byte) 0);
+      assertArrayEquals(expected, OggCRCFactory.computeCRC(page), "checksum of page at " + pos);
+      pos += length;
+    }
+  }
+}
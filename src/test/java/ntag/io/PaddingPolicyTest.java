@@ -0,0 +1,43 @@
+package ntag.io;
+
+import ntag.Category;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag(Category.Unit)
+class PaddingPolicyTest {
+
+  @ParameterizedTest
+  @CsvSource({"0, 1000", "10000, 1000", "50000, 5000", "200000, 10000"})
+  void getPadding(int tagSize, int expected) {
+    // given
+    PaddingPolicy policy = new PaddingPolicy(1000, 10000, 10);
+    // when
+    int actual = policy.getPadding(tagSize);
+    // then
+    assertEquals(expected, actual);
+  }
+
+  @ParameterizedTest
+  @CsvSource({"500, 2000, 2000", "2000, 2000, 2000", "2001, 2000, 3001", "50000, 0, 55000"})
+  void getTagSize(int requiredSize, int availableSize, int expected) {
+    // given
+    PaddingPolicy policy = new PaddingPolicy(1000, 10000, 10);
+    // when
+    int actual = policy.getTagSize(requiredSize, availableSize);
+    // then
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  void create_invalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new PaddingPolicy(-1, 0, 0));
+    assertThrows(IllegalArgumentException.class, () -> new PaddingPolicy(100, 99, 0));
+    assertThrows(IllegalArgumentException.class, () -> new PaddingPolicy(0, 0, -1));
+  }
+}
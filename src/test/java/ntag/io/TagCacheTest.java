@@ -0,0 +1,175 @@
+package ntag.io;
+
+import ntag.AbstractAudioFileTest;
+import ntag.Category;
+import ntag.io.util.ImageUtil.ImageType;
+import ntag.model.ArtworkTag;
+import ntag.model.TagFile;
+import ntag.model.TagRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.awt.Dimension;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag(Category.Unit)
+class TagCacheTest extends AbstractAudioFileTest {
+
+  @TempDir
+  Path cacheDir;
+
+  private Path cacheFile;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    super.setUp();
+    copyFilesToTempDir();
+    cacheFile = cacheDir.resolve(TagCache.CACHE_FILENAME);
+  }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_FLAC, SAMPLE_WMA, SAMPLE_M4A, SAMPLE_ID3V23_MP3, SAMPLE_ID3V24_MP3})
+  void createTagFile_cached(String file) throws Exception {
+    // given
+    Path path = tempDirPath.resolve(file);
+    TagFileReader reader = new TagFileReader();
+    reader.setTagCache(new TagCache(cacheFile, 10));
+    TagFile expected = reader.createTagFile(path);
+    reader.getTagCache().save();
+    // when
+    TagCache tagCache = new TagCache(cacheFile, 10);
+    reader.setTagCache(tagCache);
+    TagFile actual = reader.createTagFile(path);
+    // then
+    assertEquals(1, tagCache.size());
+    assertNull(actual.getAudioFile());
+    assertEquals(expected, actual);
+    assertEquals(expected.getTitle(), actual.getTitle());
+    assertEquals(expected.getArtist(), actual.getArtist());
+    assertEquals(expected.getAlbum(), actual.getAlbum());
+    assertEquals(expected.getYear(), actual.getYear());
+    assertEquals(expected.getDate(), actual.getDate());
+    assertEquals(expected.getTrack(), actual.getTrack());
+    assertEquals(expected.getRating(), actual.getRating());
+    assertEquals(expected.getPlaytime(), actual.getPlaytime());
+    assertEquals(expected.getBitrate(), actual.getBitrate());
+    assertEquals(expected.getAudioFormat(), actual.getAudioFormat());
+    assertEquals(expected.getTaggingSystem(), actual.getTaggingSystem());
+    assertEquals(expected.getInfos(), actual.getInfos());
+    assertEquals(expected.getStatus(), actual.getStatus());
+    assertEquals(expected.getArtwork(), actual.getArtwork());
+    if (expected.getArtwork() != null) {
+      assertArrayEquals(expected.getArtwork().getImageData(), actual.getArtwork().getImageData());
+    }
+    assertNotNull(actual.openAudioFile());
+  }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_FLAC, SAMPLE_M4A})
+  void put_artworkNotLoaded(String file) throws Exception {
+    // given
+    Path path = tempDirPath.resolve(file);
+    writeTag(path);
+    TagFileReader reader = new TagFileReader();
+    reader.setReleaseAudioFile(true);
+    reader.setFastFlac(true);
+    reader.setFastMp4(true);
+    reader.setTagCache(new TagCache(cacheFile, 10));
+    // when
+    ArtworkTag scanned = reader.readTagRecord(path).getArtwork();
+    reader.getTagCache().save();
+    TagCache tagCache = new TagCache(cacheFile, 10);
+    reader.setTagCache(tagCache);
+    ArtworkTag cached = reader.readTagRecord(path).getArtwork();
+    // then
+    assertEquals(1, tagCache.size());
+    assertTrue(scanned.isImageHashPending());
+    assertTrue(cached.isImageHashPending());
+    assertEquals(getArtworkTagSample().getSize(), cached.getSize());
+    assertArrayEquals(getArtworkTagSample().getImageData(), cached.getImageData());
+    assertArrayEquals(getArtworkTagSample().getImageHash(), cached.getImageHash());
+  }
+
+  @Test
+  void put_loaderNotCalled() throws Exception {
+    // given
+    Path path = tempDirPath.resolve(SAMPLE_FLAC);
+    TagRecord tagRecord = new TagFileReader().readTagRecord(path);
+    AtomicInteger calls = new AtomicInteger();
+    tagRecord.setArtwork(new ArtworkTag(ImageType.JPG, 1000, new Dimension(10, 10), () -> {
+      calls.incrementAndGet();
+      return new byte[0];
+    }));
+    TagCache tagCache = new TagCache(cacheFile, 10);
+    // when
+    tagCache.put(tagRecord, Files.readAttributes(path, BasicFileAttributes.class));
+    TagRecord actual = tagCache.get(path, Files.readAttributes(path, BasicFileAttributes.class));
+    // then
+    assertEquals(0, calls.get());
+    assertTrue(actual.getArtwork().isImageHashPending());
+    assertEquals(1000, actual.getArtwork().getSize());
+    assertEquals(new Dimension(10, 10), actual.getArtwork().getKnownDimension());
+  }
+
+  @Test
+  void get_modified() throws Exception {
+    // given
+    Path path = tempDirPath.resolve(SAMPLE_ID3V24_MP3);
+    TagCache tagCache = new TagCache(cacheFile, 10);
+    TagFileReader reader = new TagFileReader();
+    reader.setTagCache(tagCache);
+    reader.createTagFile(path);
+    // when
+    Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis() - 60000));
+    // then
+    assertNull(tagCache.get(path, Files.readAttributes(path, BasicFileAttributes.class)));
+    assertEquals(0, tagCache.size());
+  }
+
+  @Test
+  void put_evictLeastRecentlyUsed() throws Exception {
+    // given
+    TagCache tagCache = new TagCache(cacheFile, 2);
+    TagFileReader reader = new TagFileReader();
+    reader.setTagCache(tagCache);
+    Path first = tempDirPath.resolve(SAMPLE_FLAC);
+    Path second = tempDirPath.resolve(SAMPLE_M4A);
+    Path third = tempDirPath.resolve(SAMPLE_WMA);
+    // when
+    reader.createTagFile(first);
+    reader.createTagFile(second);
+    reader.createTagFile(first);
+    reader.createTagFile(third);
+    // then
+    assertEquals(2, tagCache.size());
+    assertNotNull(tagCache.get(first, Files.readAttributes(first, BasicFileAttributes.class)));
+    assertNull(tagCache.get(second, Files.readAttributes(second, BasicFileAttributes.class)));
+  }
+
+  @Test
+  void get_invalidCacheFile() throws Exception {
+    // given
+    Files.writeString(cacheFile, "invalid");
+    Path path = tempDirPath.resolve(SAMPLE_FLAC);
+    // when
+    TagCache tagCache = new TagCache(cacheFile, 10);
+    // then
+    assertNull(tagCache.get(path, Files.readAttributes(path, BasicFileAttributes.class)));
+    assertEquals(0, tagCache.size());
+  }
+}
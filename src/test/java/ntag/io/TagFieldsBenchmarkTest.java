@@ -0,0 +1,61 @@
+package ntag.io;
+
+import ntag.AbstractAudioFileTest;
+import ntag.BenchmarkRunner;
+import ntag.BenchmarkRunner.Result;
+import ntag.Category;
+import org.jaudiotagger.tag.FieldKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Compares the single pass of <code>TagFields</code> with a <code>Tag.getFirst</code> lookup per key.
+ * Not part of the unit tests, run it with <code>mvn test -Dtest.groups=Benchmark</code>.
+ */
+@Tag(Category.Benchmark)
+class TagFieldsBenchmarkTest extends AbstractAudioFileTest {
+
+  private static final Logger LOGGER = Logger.getLogger(TagFieldsBenchmarkTest.class.getName());
+
+  /**
+   * The keys, which the reader resolves with <code>getFirst</code> for ID3v2 tags.
+   */
+  private static final List<FieldKey> KEYS = List.of(FieldKey.TITLE, FieldKey.ARTIST, FieldKey.ALBUM,
+      FieldKey.ALBUM_ARTIST, FieldKey.COMPOSER, FieldKey.TRACK, FieldKey.TRACK_TOTAL, FieldKey.DISC_NO,
+      FieldKey.DISC_TOTAL, FieldKey.COMMENT, FieldKey.LYRICS, FieldKey.IS_COMPILATION, FieldKey.LANGUAGE);
+  private static final int WARMUP_ROUNDS = 20_000;
+  private static final int ROUNDS = 100_000;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    super.setUp();
+    copyFilesToTempDir();
+  }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_ID3V23_MP3 + ",false", SAMPLE_ID3V24_MP3 + ",true"})
+  void compare(String file, boolean id3v24) throws Exception {
+    // given
+    org.jaudiotagger.tag.Tag tag = TagFieldsTest.writeAndReadTag(tempDirPath.resolve(file), id3v24);
+    // when
+    Result result = BenchmarkRunner.compare(WARMUP_ROUNDS, ROUNDS, () -> readKeys(tag, true), () -> readKeys(tag, false));
+    // then
+    LOGGER.info("%s: Tag.getFirst: %.1f ns/tag, TagFields: %.1f ns/tag".formatted(file,
+        result.baselineNanosPerRound(), result.candidateNanosPerRound()));
+  }
+
+  private static int readKeys(org.jaudiotagger.tag.Tag tag, boolean getFirst) {
+    TagFields fields = getFirst ? null : TagFields.read(tag);
+    int length = 0;
+    for (FieldKey key : KEYS) {
+      length += (getFirst ? tag.getFirst(key) : fields.getFirst(key)).length();
+    }
+    return length;
+  }
+}
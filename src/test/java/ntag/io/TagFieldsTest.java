@@ -0,0 +1,138 @@
+package ntag.io;
+
+import ntag.AbstractAudioFileTest;
+import ntag.Category;
+import ntag.model.TagFile;
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.mp3.MP3File;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
+import org.jaudiotagger.tag.id3.ID3v23Tag;
+import org.jaudiotagger.tag.id3.ID3v24Tag;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag(Category.Unit)
+class TagFieldsTest extends AbstractAudioFileTest {
+
+  static final List<FieldKey> KEYS = List.of(FieldKey.TITLE, FieldKey.ARTIST, FieldKey.ALBUM, FieldKey.ALBUM_ARTIST,
+      FieldKey.COMPOSER, FieldKey.TRACK, FieldKey.TRACK_TOTAL, FieldKey.DISC_NO, FieldKey.DISC_TOTAL, FieldKey.COMMENT,
+      FieldKey.LYRICS, FieldKey.IS_COMPILATION, FieldKey.LANGUAGE, FieldKey.YEAR, FieldKey.RATING, FieldKey.GENRE);
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    super.setUp();
+    copyFilesToTempDir();
+  }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_FLAC, SAMPLE_WMA, SAMPLE_M4A, SAMPLE_ID3V23_MP3, SAMPLE_ID3V24_MP3})
+  void getFirst_equalsTag(String file) throws Exception {
+    // given
+    org.jaudiotagger.tag.Tag tag = writeAndReadTag(tempDirPath.resolve(file), false);
+    // when
+    TagFields fields = TagFields.read(tag);
+    // then
+    for (FieldKey key : KEYS) {
+      assertEquals(tag.getFirst(key), fields.getFirst(key), key.name());
+    }
+    assertEquals("Title", fields.getFirst(FieldKey.TITLE));
+  }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_FLAC, SAMPLE_WMA, SAMPLE_M4A, SAMPLE_ID3V23_MP3, SAMPLE_ID3V24_MP3})
+  void getFirst_emptyTag(String file) throws Exception {
+    // given
+    org.jaudiotagger.tag.Tag tag = readTag(tempDirPath.resolve(file));
+    // when
+    TagFields fields = TagFields.read(tag);
+    // then
+    for (FieldKey key : KEYS) {
+      assertEquals(tag.getFirst(key), fields.getFirst(key), key.name());
+    }
+  }
+
+  @Test
+  void getDateFrame_ID3v24() throws Exception {
+    // given
+    AbstractID3v2Tag tag = (AbstractID3v2Tag) writeAndReadTag(tempDirPath.resolve(SAMPLE_ID3V24_MP3), true);
+    // when
+    TagFields fields = TagFields.read(tag);
+    // then
+    assertInstanceOf(ID3v24Tag.class, tag);
+    for (String id : List.of("TDRL", "TDOR", "TDRC")) {
+      assertEquals(tag.hasFrameAndBody(id), fields.hasDateFrameAndBody(id), id);
+      assertSame(tag.getFirstField(id), fields.getDateFrame(id), id);
+    }
+    assertTrue(fields.hasDateFrameAndBody("TDRL"));
+    assertNull(fields.getTyerTdatFrame());
+  }
+
+  @Test
+  void getDateFrame_ID3v23() throws Exception {
+    // given
+    AbstractID3v2Tag tag = (AbstractID3v2Tag) writeAndReadTag(tempDirPath.resolve(SAMPLE_ID3V23_MP3), false);
+    // when
+    TagFields fields = TagFields.read(tag);
+    // then
+    assertInstanceOf(ID3v23Tag.class, tag);
+    assertEquals(tag.hasFrame("TYERTDAT"), fields.getTyerTdatFrame() != null);
+    assertSame(tag.getFirstField("TYER"), fields.getDateFrame("TYER"));
+    assertSame(tag.getFirstField("TDAT"), fields.getDateFrame("TDAT"));
+    assertNotNull(fields.getDateFrame("TDAT"));
+  }
+
+  @Test
+  void read_null() {
+    assertThrows(IllegalArgumentException.class, () -> TagFields.read(null));
+  }
+
+  static org.jaudiotagger.tag.Tag writeAndReadTag(Path path, boolean id3v24) throws Exception {
+    TagFile tagFile = new TagFileReader().createTagFile(path);
+    tagFile.setTitle("Title");
+    tagFile.setArtist("Artist");
+    tagFile.setAlbum("Album");
+    tagFile.setAlbumArtist("Album Artist");
+    tagFile.setComposer("Composer");
+    tagFile.setDate(LocalDate.of(2019, 5, 12));
+    tagFile.setYear(2019);
+    tagFile.setGenre("Rock");
+    tagFile.setLanguage("ENG");
+    tagFile.setRating(3);
+    tagFile.setDisc(1);
+    tagFile.setDiscTotal(2);
+    tagFile.setTrack(3);
+    tagFile.setTrackTotal(12);
+    tagFile.setComment("Comment");
+    tagFile.setLyrics("Lyrics");
+    tagFile.setCompilation(true);
+    TagFileWriter writer = new TagFileWriter();
+    writer.setID3v24(id3v24);
+    writer.update(tagFile);
+    return readTag(path);
+  }
+
+  static org.jaudiotagger.tag.Tag readTag(Path path) throws Exception {
+    AudioFile audioFile = JAudiotaggerUtil.readAudioFile(path);
+    if (audioFile instanceof MP3File mp3File && mp3File.hasID3v2Tag()) {
+      return mp3File.getID3v2Tag();
+    }
+    return audioFile.getTag();
+  }
+}
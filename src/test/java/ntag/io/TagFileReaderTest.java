@@ -2,16 +2,24 @@ package ntag.io;
 
 import ntag.AbstractAudioFileTest;
 import ntag.Category;
+import ntag.model.ArtworkTag;
 import ntag.model.TagFile;
+import ntag.model.TagRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Tag(Category.Unit)
 class TagFileReaderTest extends AbstractAudioFileTest {
@@ -32,6 +40,36 @@ class TagFileReaderTest extends AbstractAudioFileTest {
     assertNotNull(tagFile);
   }
 
+  @ParameterizedTest
+  @CsvSource({SAMPLE_FLAC, SAMPLE_WMA, SAMPLE_M4A, SAMPLE_ID3V23_MP3, SAMPLE_ID3V24_MP3})
+  void readTagRecord(String file) throws Exception {
+    // given
+    TagFile expected = reader.createTagFile(tempDirPath.resolve(file));
+    // when
+    TagRecord actual = new TagFileReader().readTagRecord(tempDirPath.resolve(file));
+    // then
+    assertEquals(expected.getTitle(), actual.getTitle());
+    assertEquals(expected.getArtist(), actual.getArtist());
+    assertEquals(expected.getYear(), actual.getYear());
+    assertEquals(expected.getRating(), actual.getRating());
+    assertEquals(expected.getPlaytime(), actual.getPlaytime());
+    assertEquals(expected.getModifiedMillis(), actual.getModifiedMillis());
+    assertEquals(expected.isIncomplete(), actual.isIncomplete());
+  }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_FLAC, SAMPLE_M4A, SAMPLE_ID3V23_MP3, SAMPLE_ID3V24_MP3})
+  void readTagRecord_lazyInfos(String file) throws Exception {
+    // given
+    TagRecord tagRecord = reader.readTagRecord(tempDirPath.resolve(file));
+    tagRecord.releaseAudioFile();
+    // when
+    String infos = tagRecord.getInfos();
+    // then
+    assertTrue(infos.contains("Samplerate"));
+    assertNull(tagRecord.getAudioFile());
+  }
+
   @ParameterizedTest
   @CsvSource({SAMPLE_FLAC, SAMPLE_WMA, SAMPLE_M4A, SAMPLE_ID3V23_MP3, SAMPLE_ID3V24_MP3})
   void updateTagFile(String file) throws Exception {
@@ -41,4 +79,106 @@ class TagFileReaderTest extends AbstractAudioFileTest {
     assertEquals("", tagFile.getTitle());
   }
 
+  @ParameterizedTest
+  @CsvSource({SAMPLE_ID3V23_MP3 + ",false", SAMPLE_ID3V24_MP3 + ",false", SAMPLE_ID3V23_MP3 + ",true", SAMPLE_ID3V24_MP3 + ",true"})
+  void createTagFile_deferHeader(String file, boolean fastID3v2) throws Exception {
+    // given
+    TagFile expected = reader.createTagFile(tempDirPath.resolve(file));
+    reader.setDeferHeader(true);
+    reader.setFastID3v2(fastID3v2);
+    // when
+    TagFile actual = reader.createTagFile(tempDirPath.resolve(file));
+    // then
+    assertFalse(actual.isHeaderLoaded());
+    assertEquals(0, actual.getPlaytime());
+    assertEquals(expected.getTitle(), actual.getTitle());
+    assertEquals(expected.getArtist(), actual.getArtist());
+    assertEquals(expected.getAlbum(), actual.getAlbum());
+    assertEquals(expected.getYear(), actual.getYear());
+    assertEquals(expected.getDate(), actual.getDate());
+    assertEquals(expected.getTrack(), actual.getTrack());
+    assertEquals(expected.getRating(), actual.getRating());
+    assertEquals(expected.getTaggingSystem(), actual.getTaggingSystem());
+    assertEquals(expected.getArtwork(), actual.getArtwork());
+    // when
+    actual.copyHeaderFrom(expected.getRecord());
+    // then
+    assertTrue(actual.isHeaderLoaded());
+    assertEquals(expected.getPlaytime(), actual.getPlaytime());
+    assertEquals(expected.getBitrate(), actual.getBitrate());
+    assertEquals(expected.getEncoder(), actual.getEncoder());
+  }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_ID3V23_MP3, SAMPLE_ID3V24_MP3})
+  void readAudioHeader(String file) throws Exception {
+    // given
+    TagRecord expected = reader.readTagRecord(tempDirPath.resolve(file));
+    TagCache tagCache = new TagCache(tempDirPath.resolve("tags.cache"), 10);
+    reader.setDeferHeader(true);
+    TagRecord stub = reader.readTagRecord(tempDirPath.resolve(file));
+    stub.setTitle("unsaved");
+    stub.clearChangedFields();
+    reader.setTagCache(tagCache);
+    // when
+    TagRecord actual = reader.readAudioHeader(stub);
+    // then
+    assertTrue(actual.isHeaderLoaded());
+    assertEquals(expected.getPlaytime(), actual.getPlaytime());
+    assertEquals(expected.getBitrate(), actual.getBitrate());
+    assertEquals(expected.getSamplingRate(), actual.getSamplingRate());
+    assertEquals(expected.isVbr(), actual.isVbr());
+    assertEquals(expected.getCodec(), actual.getCodec());
+    assertEquals(expected.getEncoder(), actual.getEncoder());
+    // the tag isn't parsed again, the metadata of the stub is cached with the header
+    assertEquals("unsaved", actual.getTitle());
+    assertEquals(expected.getArtist(), actual.getArtist());
+    TagRecord cached = tagCache.get(actual.getPath(), Files.readAttributes(actual.getPath(), BasicFileAttributes.class));
+    assertNotNull(cached);
+    assertEquals("unsaved", cached.getTitle());
+    assertEquals(expected.getPlaytime(), cached.getPlaytime());
+  }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_ID3V23_MP3, SAMPLE_ID3V24_MP3})
+  void readAudioHeader_pendingChanges(String file) throws Exception {
+    // given
+    TagCache tagCache = new TagCache(tempDirPath.resolve("tags.cache"), 10);
+    reader.setDeferHeader(true);
+    TagRecord stub = reader.readTagRecord(tempDirPath.resolve(file));
+    stub.setTitle("unsaved");
+    reader.setTagCache(tagCache);
+    // when
+    TagRecord actual = reader.readAudioHeader(stub);
+    // then
+    assertTrue(actual.isHeaderLoaded());
+    assertEquals(0, tagCache.size());
+  }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_FLAC, SAMPLE_M4A})
+  void createTagFile_deferHeaderNotMP3(String file) throws Exception {
+    reader.setDeferHeader(true);
+    TagFile tagFile = reader.createTagFile(tempDirPath.resolve(file));
+    assertTrue(tagFile.isHeaderLoaded());
+  }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_FLAC, SAMPLE_M4A, SAMPLE_ID3V23_MP3, SAMPLE_ID3V24_MP3})
+  void createTagFile_lazyArtwork(String file) throws Exception {
+    // given
+    TagFile written = reader.createTagFile(tempDirPath.resolve(file));
+    written.setArtwork(getArtworkTagSample());
+    new TagFileWriter().update(written);
+    TagFile tagFile = new TagFileReader().createTagFile(tempDirPath.resolve(file));
+    ArtworkTag artwork = tagFile.getArtwork();
+    assertNotNull(artwork);
+    byte[] expected = artwork.getImageData();
+    // when
+    ArtworkCache.instance().clear();
+    // then
+    assertEquals(expected.length, artwork.getSize());
+    assertNotNull(artwork.getDimension());
+    assertArrayEquals(expected, artwork.getImageData());
+  }
 }
@@ -2,15 +2,34 @@ package ntag.io;
 
 import ntag.AbstractAudioFileTest;
 import ntag.Category;
+import ntag.NTagException;
 import ntag.model.TagFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.mp3.MP3File;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.id3.ID3v1Tag;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Tag(Category.Unit)
 class TagFileWriterTest extends AbstractAudioFileTest {
@@ -66,4 +85,199 @@ class TagFileWriterTest extends AbstractAudioFileTest {
     assertEquals("test", tagFile.getComment());
     assertEquals("bla bla bla", tagFile.getLyrics());
   }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_FLAC, SAMPLE_ID3V24_MP3})
+  void update_releasedAudioFile(String file) throws Exception {
+    // given
+    reader.setReleaseAudioFile(true);
+    writer.setReleaseAudioFile(true);
+    TagFile tagFile = reader.createTagFile(tempDirPath.resolve(file));
+    assertNull(tagFile.getAudioFile());
+    // when
+    tagFile.setTitle("first");
+    writer.update(tagFile);
+    tagFile.setTitle("second");
+    writer.update(tagFile);
+    // then
+    assertNull(tagFile.getAudioFile());
+    assertEquals("second", reader.createTagFile(tempDirPath.resolve(file)).getTitle());
+  }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_FLAC, SAMPLE_ID3V24_MP3})
+  void update_changedExternally(String file) throws Exception {
+    // given
+    Path path = tempDirPath.resolve(file);
+    TagFile tagFile = reader.createTagFile(path);
+    Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis() - 60000));
+    // when
+    tagFile.setTitle("changed");
+    // then
+    assertThrows(NTagException.class, () -> writer.update(tagFile));
+  }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_FLAC, SAMPLE_M4A})
+  void update_writeContext(String file) throws Exception {
+    // given
+    TagFile tagFile = reader.createTagFile(tempDirPath.resolve(file));
+    tagFile.setTitle("context");
+    // when
+    WriteContext first = writer.update(tagFile);
+    WriteContext second = writer.update(tagFile);
+    // then
+    assertEquals(tagFile.getPath(), first.getPath());
+    assertTrue(first.hasChanges());
+    assertTrue(first.getInfos().contains("TITLE"));
+    assertFalse(second.hasChanges());
+    assertTrue(second.getInfos().contains("No Changes Found!"));
+  }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_FLAC, SAMPLE_WMA, SAMPLE_M4A, SAMPLE_ID3V23_MP3, SAMPLE_ID3V24_MP3})
+  void update_changedFieldsOnly(String file) throws Exception {
+    // given
+    Path path = tempDirPath.resolve(file);
+    TagFile tagFile = reader.createTagFile(path);
+    String artist = tagFile.getArtist();
+    tagFile.setArtist("not written");
+    tagFile.getRecord().clearChangedFields();
+    tagFile.setRating(4);
+    // when
+    WriteContext ctx = writer.update(tagFile);
+    TagFile actual = reader.createTagFile(path);
+    // then
+    assertTrue(ctx.hasChanges());
+    assertFalse(ctx.getInfos().contains("ARTIST"));
+    assertFalse(tagFile.getRecord().hasChangedFields());
+    assertEquals(4, actual.getRating());
+    assertEquals(artist, actual.getArtist());
+  }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_FLAC, SAMPLE_M4A, SAMPLE_ID3V23_MP3, SAMPLE_ID3V24_MP3})
+  void update_removedField(String file) throws Exception {
+    // given
+    Path path = tempDirPath.resolve(file);
+    TagFile tagFile = reader.createTagFile(path);
+    tagFile.setTitle("Title");
+    writer.update(tagFile);
+    tagFile.removeTag(tagFile.openAudioFile().getTag().getFirstField(FieldKey.TITLE));
+    tagFile.setAlbum("Album");
+    // when
+    boolean pending = tagFile.getRecord().hasPendingChanges();
+    String titleBeforeUpdate = reader.createTagFile(path).getTitle();
+    WriteContext ctx = writer.update(tagFile);
+    TagFile actual = reader.createTagFile(path);
+    // then
+    assertTrue(pending);
+    assertEquals("Title", titleBeforeUpdate);
+    assertTrue(ctx.getInfos().contains("Removing Frame"));
+    assertTrue(ctx.getInfos().contains("ALBUM"));
+    assertFalse(tagFile.getRecord().hasPendingChanges());
+    assertEquals("", actual.getTitle());
+    assertEquals("Album", actual.getAlbum());
+  }
+
+  @ParameterizedTest
+  @CsvSource({"false,false", "false,true", "true,false", "true,true"})
+  void update_id3v1Only(boolean id3v11, boolean id3v24) throws Exception {
+    // given
+    Path path = tempDirPath.resolve(SAMPLE_ID3V23_MP3);
+    MP3File mp3File = (MP3File) AudioFileIO.read(path.toFile());
+    ID3v1Tag v1tag = new ID3v1Tag();
+    v1tag.setTitle("Title");
+    v1tag.setArtist("Artist");
+    v1tag.setAlbum("Album");
+    v1tag.setYear("2019");
+    v1tag.setComment("Comment");
+    mp3File.setID3v1Tag(v1tag);
+    mp3File.setID3v2Tag(null);
+    mp3File.commit();
+    TagFile tagFile = reader.createTagFile(path);
+    writer.setID3v11(id3v11);
+    writer.setID3v24(id3v24);
+    // when
+    tagFile.setTitle("Changed");
+    writer.update(tagFile);
+    TagFile actual = reader.createTagFile(path);
+    // then
+    assertTrue(((MP3File) actual.openAudioFile()).hasID3v2Tag());
+    assertEquals("Changed", actual.getTitle());
+    assertEquals("Artist", actual.getArtist());
+    assertEquals("Album", actual.getAlbum());
+    assertEquals(2019, actual.getYear());
+    assertEquals("Comment", actual.getComment());
+  }
+
+  @Test
+  void update_noChangedFields() throws Exception {
+    // given
+    Path path = tempDirPath.resolve(SAMPLE_ID3V24_MP3);
+    TagFile tagFile = reader.createTagFile(path);
+    tagFile.setTitle(tagFile.getTitle());
+    Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis() - 60000));
+    FileTime modified = Files.getLastModifiedTime(path);
+    // when
+    WriteContext ctx = writer.update(tagFile);
+    // then
+    assertFalse(ctx.hasChanges());
+    assertTrue(ctx.getInfos().contains("No Changes Found!"));
+    assertEquals(modified, Files.getLastModifiedTime(path));
+  }
+
+  @ParameterizedTest
+  @CsvSource({SAMPLE_ID3V23_MP3, SAMPLE_ID3V24_MP3})
+  void update_padding(String file) throws Exception {
+    // given
+    Path path = tempDirPath.resolve(file);
+    long size = Files.size(path);
+    writer.setPaddingPolicy(new PaddingPolicy(8192, 8192, 0));
+    TagFile tagFile = reader.createTagFile(path);
+    tagFile.setLyrics("a".repeat(6000));
+    // when
+    WriteContext first = writer.update(tagFile);
+    long paddedSize = Files.size(path);
+    tagFile = reader.createTagFile(path);
+    tagFile.setLyrics("b".repeat(9000));
+    WriteContext second = writer.update(tagFile);
+    // then
+    assertTrue(first.isRewritten());
+    assertTrue(first.getInfos().contains("8192 bytes padding"));
+    assertTrue(paddedSize > size + 6000 + 8000);
+    assertFalse(second.isRewritten());
+    assertTrue(second.getInfos().contains("in place"));
+    assertEquals(paddedSize, Files.size(path));
+    assertEquals("b".repeat(9000), reader.createTagFile(path).getLyrics());
+  }
+
+  @Test
+  void update_sharedWriter() throws Exception {
+    // given
+    List<String> files = List.of(SAMPLE_FLAC, SAMPLE_WMA, SAMPLE_M4A, SAMPLE_ID3V23_MP3, SAMPLE_ID3V24_MP3);
+    List<Callable<WriteContext>> updates = new ArrayList<>();
+    for (String file : files) {
+      updates.add(() -> {
+        TagFile tagFile = reader.createTagFile(tempDirPath.resolve(file));
+        tagFile.setTitle(file);
+        return writer.update(tagFile);
+      });
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(files.size());
+    // when
+    List<Future<WriteContext>> results;
+    try {
+      results = executor.invokeAll(updates);
+    } finally {
+      executor.shutdown();
+    }
+    // then
+    for (int i = 0; i < files.size(); i++) {
+      WriteContext ctx = results.get(i).get();
+      assertEquals(tempDirPath.resolve(files.get(i)), ctx.getPath());
+      assertTrue(ctx.hasChanges());
+      assertEquals(files.get(i), reader.createTagFile(ctx.getPath()).getTitle());
+    }
+  }
 }
@@ -5,12 +5,16 @@ import ntag.Category;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.nio.file.FileVisitOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -39,4 +43,33 @@ class AudioFileVisitorTest extends AbstractAudioFileTest {
         assertThat(actual).isNotNull();
         assertThat((long) actual.size()).isEqualTo(expected);
     }
-}
\ No newline at end of file
+
+    @Test
+    void visitFile_consumer() throws IOException {
+        // given
+        long expected = getFileCount();
+        List<Path> consumed = new ArrayList<>();
+        AudioFileVisitor visitor = new AudioFileVisitor(MAX_FILES, (file, attr) -> consumed.add(file));
+        // when
+        Files.walkFileTree(getTempDir(), new HashSet<>(), 100, visitor);
+        Files.walkFileTree(getTempDir(), new HashSet<>(), 100, visitor);
+        // then
+        assertThat(visitor.getAudioFiles()).isEmpty();
+        assertThat((long) consumed.size()).isEqualTo(expected);
+        assertThat((long) visitor.getFileCount()).isEqualTo(expected);
+    }
+
+    @Test
+    void visitFile_symbolicLink(@TempDir Path linkDir) throws IOException {
+        // given
+        long expected = getFileCount();
+        Path link = linkDir.resolve("link");
+        Files.createSymbolicLink(link, getTempDir());
+        // when
+        Set<FileVisitOption> options = Set.of(FileVisitOption.FOLLOW_LINKS);
+        Files.walkFileTree(getTempDir(), options, 100, audioFileVisitor);
+        Files.walkFileTree(link, options, 100, audioFileVisitor);
+        // then
+        assertThat((long) audioFileVisitor.getAudioFiles().size()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,75 @@
+package ntag.io.util;
+
+import ntag.BenchmarkRunner;
+import ntag.BenchmarkRunner.Result;
+import ntag.Category;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the <code>DateParser</code> with the former <code>DateTimeFormatter</code> chain.
+ * Not part of the unit tests, run it with <code>mvn test -Dtest.groups=Benchmark</code>.
+ */
+@Tag(Category.Benchmark)
+class DateParserBenchmarkTest {
+
+  private static final Logger LOGGER = Logger.getLogger(DateParserBenchmarkTest.class.getName());
+
+  private static final String[] VALUES = {"2003", "2003-05", "2003-05-12", "2003-05-12T10", "2003-05-12T10:30",
+      "2003-05-12T10:30:59", "1999-12-31", "2003-13-01"};
+  private static final int WARMUP_ROUNDS = 10_000;
+  private static final int ROUNDS = 50_000;
+
+  private static final List<DateTimeFormatter> FORMATTERS = List.of(
+      DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss", Locale.UK),
+      DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm", Locale.UK),
+      DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH", Locale.UK),
+      DateTimeFormatter.ofPattern("yyyy-MM-dd", Locale.UK));
+
+  @Test
+  void compare() throws Exception {
+    // given
+    for (String value : VALUES) {
+      LocalDate expected = parseWithFormatters(value);
+      if (expected != null) {
+        assertEquals(expected, DateParser.parseDate(value), value);
+      }
+    }
+    // when
+    Result result = BenchmarkRunner.compare(WARMUP_ROUNDS, ROUNDS, () -> parse(true), () -> parse(false));
+    // then
+    LOGGER.info("DateTimeFormatter chain: %.1f ns/op, DateParser: %.1f ns/op".formatted(
+        result.baselineNanosPerRound() / VALUES.length, result.candidateNanosPerRound() / VALUES.length));
+  }
+
+  private static int parse(boolean formatters) {
+    int found = 0;
+    for (String value : VALUES) {
+      LocalDate date = formatters ? parseWithFormatters(value) : DateParser.parseDate(value);
+      if (date != null) {
+        found++;
+      }
+    }
+    return found;
+  }
+
+  private static LocalDate parseWithFormatters(String value) {
+    for (DateTimeFormatter format : FORMATTERS) {
+      try {
+        return LocalDate.parse(value, format);
+      } catch (DateTimeParseException e) {
+        // next pattern
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,73 @@
+package ntag.io.util;
+
+import ntag.Category;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@Tag(Category.Unit)
+class DateParserTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {"2003-05-12", "2003-05-12T10", "2003-05-12T10:30", "2003-05-12T10:30:59", "2003-05-12 10:30"})
+  void parseDate(String value) {
+    // when
+    LocalDate actual = DateParser.parseDate(value);
+    // then
+    assertEquals(LocalDate.of(2003, 5, 12), actual);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"2003", "2003-05", "2003-13-01", "2003-02-29", "2003-05-12T24", "2003-05-12T10:60",
+      "2003-05-12T10:30:5", "2003-05-12X10", "2003/05/12", "20o3-05-12", "2003-05-12T10:30:00Z"})
+  void parseDate_invalid(String value) {
+    // when
+    LocalDate actual = DateParser.parseDate(value);
+    // then
+    assertNull(actual);
+  }
+
+  @Test
+  void parseDate_leapYear() {
+    // when
+    LocalDate actual = DateParser.parseDate("2004-02-29");
+    // then
+    assertEquals(LocalDate.of(2004, 2, 29), actual);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"2003", "2003-05", "2003-05-12T10:30"})
+  void parseYear(String value) {
+    // when
+    int actual = DateParser.parseYear(value);
+    // then
+    assertEquals(2003, actual);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "203", "20o3", "2003/05", "20031"})
+  void parseYear_invalid(String value) {
+    // when
+    int actual = DateParser.parseYear(value);
+    // then
+    assertEquals(-1, actual);
+  }
+
+  @Test
+  void parseDayMonth() {
+    // when
+    LocalDate actual = DateParser.parseDayMonth("3112", 1999);
+    // then
+    assertEquals(LocalDate.of(1999, 12, 31), actual);
+    assertNull(DateParser.parseDayMonth("2902", 1999));
+    assertNull(DateParser.parseDayMonth("1231", 1999));
+    assertNull(DateParser.parseDayMonth("311", 1999));
+    assertNull(DateParser.parseDayMonth(null, 1999));
+  }
+}
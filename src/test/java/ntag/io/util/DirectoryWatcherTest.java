@@ -0,0 +1,101 @@
+package ntag.io.util;
+
+import ntag.AbstractAudioFileTest;
+import ntag.Category;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag(Category.Unit)
+class DirectoryWatcherTest extends AbstractAudioFileTest {
+
+  private final BlockingQueue<Set<Path>> changes = new LinkedBlockingQueue<>();
+  private final BlockingQueue<Set<Path>> deletions = new LinkedBlockingQueue<>();
+  private DirectoryWatcher watcher;
+
+  @BeforeEach
+  protected void setUp() throws IOException {
+    super.setUp();
+    watcher = new DirectoryWatcher(Collections.singletonList(tempDirPath), 2, 100, (changed, deleted) -> {
+      changes.add(changed);
+      deletions.add(deleted);
+    });
+    watcher.start();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    watcher.close();
+  }
+
+  @Test
+  void filesChanged() throws Exception {
+    // when
+    copyFilesToTempDir();
+    Files.writeString(tempDirPath.resolve("readme.txt"), "ignored");
+    // then
+    Set<Path> changed = awaitChanges(ALL_AUDIO_FILES.length);
+    assertThat(changed).hasSize(ALL_AUDIO_FILES.length);
+    assertThat(changed).contains(tempDirPath.resolve(SAMPLE_FLAC));
+  }
+
+  @Test
+  void filesChanged_deleted() throws Exception {
+    // given
+    copyFilesToTempDir();
+    awaitChanges(ALL_AUDIO_FILES.length);
+    // when
+    Files.delete(tempDirPath.resolve(SAMPLE_FLAC));
+    // then
+    Set<Path> deleted = awaitDeletions();
+    assertThat(deleted).containsExactly(tempDirPath.resolve(SAMPLE_FLAC));
+  }
+
+  @Test
+  void filesChanged_newDirectory() throws Exception {
+    // given
+    Path subDir = Files.createDirectory(tempDirPath.resolve("sub"));
+    Path subSubDir = Files.createDirectory(subDir.resolve("sub"));
+    Thread.sleep(300);
+    // when
+    Files.copy(getFlacSample(), subDir.resolve(SAMPLE_FLAC));
+    Files.copy(getFlacSample(), subSubDir.resolve(SAMPLE_FLAC));
+    // then
+    Set<Path> changed = awaitChanges(1);
+    assertThat(changed).containsExactly(subDir.resolve(SAMPLE_FLAC));
+    assertThat(changes.poll(500, TimeUnit.MILLISECONDS)).isNull();
+  }
+
+  private Set<Path> awaitDeletions() throws InterruptedException {
+    Set<Path> deleted;
+    do {
+      deleted = deletions.poll(5, TimeUnit.SECONDS);
+    } while (deleted != null && deleted.isEmpty());
+    return deleted;
+  }
+
+  private Set<Path> awaitChanges(int count) throws InterruptedException {
+    Set<Path> result = new HashSet<>();
+    while (result.size() < count) {
+      Set<Path> changed = changes.poll(5, TimeUnit.SECONDS);
+      if (changed == null) {
+        break;
+      }
+      result.addAll(changed);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,105 @@
+package ntag.model;
+
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.StringProperty;
+import ntag.Category;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@Tag(Category.Unit)
+class TagFileTest {
+
+  @Test
+  void property_createdWithValue() {
+    // given
+    TagFile tagFile = new TagFile();
+    tagFile.setTitle("Title");
+    tagFile.setTrack(7);
+    // when
+    StringProperty title = tagFile.titleProperty();
+    ObjectProperty<Integer> track = tagFile.trackProperty();
+    // then
+    assertEquals("Title", title.get());
+    assertEquals(7, track.get());
+    assertSame(title, tagFile.titleProperty());
+  }
+
+  @Test
+  void property_holdsValue() {
+    // given
+    TagFile tagFile = new TagFile();
+    StringProperty title = tagFile.titleProperty();
+    ObjectProperty<Integer> year = tagFile.yearProperty();
+    // when
+    tagFile.setTitle("Setter");
+    year.set(1999);
+    // then
+    assertEquals("Setter", title.get());
+    assertEquals(1999, tagFile.getYear());
+    // when
+    title.set("Property");
+    tagFile.setYear(null);
+    // then
+    assertEquals("Property", tagFile.getTitle());
+    assertNull(year.get());
+  }
+
+  @Test
+  void property_writesThroughToRecord() {
+    // given
+    TagFile tagFile = new TagFile();
+    StringProperty artist = tagFile.artistProperty();
+    // when
+    artist.set("Artist");
+    // then
+    assertEquals("Artist", tagFile.getRecord().getArtist());
+  }
+
+  @Test
+  void updateProperties() {
+    // given
+    TagRecord record = new TagRecord();
+    TagFile tagFile = new TagFile(record);
+    StringProperty album = tagFile.albumProperty();
+    // when
+    record.setAlbum("Album");
+    tagFile.updateProperties();
+    // then
+    assertEquals("Album", album.get());
+    assertEquals("Album", tagFile.getAlbum());
+  }
+
+  @Test
+  void nullableNumbers() {
+    // given
+    TagFile tagFile = new TagFile();
+    // when
+    tagFile.setDisc(null);
+    tagFile.setRating(0);
+    // then
+    assertNull(tagFile.getDisc());
+    assertEquals(0, tagFile.getRating());
+    assertEquals(0, tagFile.getTrack());
+  }
+
+  @Test
+  void timestamps() {
+    // given
+    TagFile tagFile = new TagFile();
+    long millis = 1700000000123L;
+    // when
+    tagFile.setModifiedMillis(millis);
+    // then
+    assertNull(tagFile.getCreated());
+    assertEquals(LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault()), tagFile.getModified());
+    assertEquals(millis, tagFile.getModifiedMillis());
+  }
+}
@@ -0,0 +1,131 @@
+package ntag.model;
+
+import ntag.Category;
+import ntag.model.ReadEvent.Type;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag(Category.Unit)
+class TagRecordTest {
+
+  @Test
+  void getInfos_loadedOnce() {
+    // given
+    TagRecord tagRecord = new TagRecord();
+    AtomicInteger calls = new AtomicInteger();
+    tagRecord.setInfosLoader(record -> "header " + calls.incrementAndGet());
+    // when
+    String first = tagRecord.getInfos();
+    String second = tagRecord.getInfos();
+    // then
+    assertEquals("header 1", first);
+    assertEquals(first, second);
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  void getInfos_events() {
+    // given
+    TagRecord tagRecord = new TagRecord();
+    tagRecord.addEvent(new ReadEvent(Type.INVALID_YEAR, null, "99"));
+    tagRecord.addEvent(new ReadEvent(Type.UNPARSABLE_FRAME, "TDAT", "3112", "invalid"));
+    // when
+    tagRecord.setInfosLoader(record -> "header");
+    String infos = tagRecord.getInfos();
+    // then
+    assertTrue(infos.startsWith("header"));
+    assertTrue(infos.contains("Invalid Year with Value '99'"));
+    assertTrue(infos.contains("Cannot parse TDAT Frame with Value '3112' : invalid"));
+  }
+
+  @Test
+  void copyFrom_events() {
+    // given
+    TagRecord source = new TagRecord();
+    source.addEvent(new ReadEvent(Type.MISSING_YEAR));
+    TagRecord target = new TagRecord();
+    // when
+    target.copyFrom(source);
+    source.clearEvents();
+    // then
+    assertEquals(1, target.getEvents().size());
+    assertEquals("Missing Year", target.getEvents().getFirst().getMessage());
+  }
+
+  @Test
+  void setTitle_changedFields() {
+    // given
+    TagRecord tagRecord = new TagRecord();
+    tagRecord.setTitle("Title");
+    tagRecord.setRating(3);
+    tagRecord.clearChangedFields();
+    // when
+    tagRecord.setTitle("Title");
+    tagRecord.setArtist("Artist");
+    tagRecord.setRating(5);
+    // then
+    assertTrue(tagRecord.hasChangedFields());
+    assertFalse(tagRecord.isChanged(MetadataField.TITLE));
+    assertEquals(Set.of(MetadataField.ARTIST, MetadataField.RATING), tagRecord.getChangedFields());
+  }
+
+  @Test
+  void clearChangedFields() {
+    // given
+    TagRecord tagRecord = new TagRecord();
+    tagRecord.setYear(null);
+    tagRecord.setArtwork(null);
+    tagRecord.setCompilation(true);
+    // when
+    tagRecord.clearChangedFields();
+    // then
+    assertFalse(tagRecord.hasChangedFields());
+    assertTrue(tagRecord.getChangedFields().isEmpty());
+  }
+
+  @Test
+  void copyChangedFieldsFrom() {
+    // given
+    TagRecord edits = new TagRecord();
+    edits.setTitle("Edited");
+    edits.setTrack(null);
+    TagRecord tagRecord = new TagRecord();
+    tagRecord.setTitle("Read");
+    tagRecord.setArtist("Artist");
+    tagRecord.clearChangedFields();
+    // when
+    tagRecord.copyChangedFieldsFrom(edits);
+    // then
+    assertEquals("Edited", tagRecord.getTitle());
+    assertEquals("Artist", tagRecord.getArtist());
+    assertNull(tagRecord.getTrack());
+    assertEquals(Set.of(MetadataField.TITLE, MetadataField.TRACK), tagRecord.getChangedFields());
+  }
+
+  @Test
+  void addRemovedField_pendingChanges() {
+    // given
+    TagRecord tagRecord = new TagRecord();
+    tagRecord.clearChangedFields();
+    // when
+    tagRecord.addRemovedField("COMM");
+    // then
+    assertTrue(tagRecord.hasPendingChanges());
+    assertFalse(tagRecord.hasChangedFields());
+    assertEquals(List.of("COMM"), tagRecord.getRemovedFields());
+    // when
+    tagRecord.clearPendingChanges();
+    // then
+    assertFalse(tagRecord.hasPendingChanges());
+    assertTrue(tagRecord.getRemovedFields().isEmpty());
+  }
+}
@@ -25,15 +25,18 @@ import ntag.Category;
 import ntag.fx.scene.AdjustArtworkViewModel;
 import ntag.io.NTagProperties;
 import ntag.io.TagFileReader;
+import ntag.io.TagFileWriter;
 import ntag.io.util.ImageUtil;
 import ntag.model.ArtworkTag;
 import ntag.model.TagFile;
+import org.jaudiotagger.tag.FieldKey;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -148,6 +151,38 @@ class AdjustArtworkTaskTest extends AbstractAudioFileTest {
     assertEquals(expected, tagFile.getArtwork().getImageType());
   }
 
+  @Test
+  @DisplayName("unsaved edits are written together with the adjusted artwork")
+  void adjust_pendingChanges() throws Exception {
+    // given
+    TagFile tagFile = reader.createTagFile(tempDirPath.resolve(SAMPLE_ID3V24_MP3));
+    tagFile.setAlbum("Album");
+    new TagFileWriter().update(tagFile);
+    tagFile.setArtwork(artworkTag);
+    tagFile.setTitle("Pending");
+    tagFile.removeTag(tagFile.openAudioFile().getTag().getFirstField(FieldKey.ALBUM));
+    AdjustArtworkViewModel viewModel = new AdjustArtworkViewModel();
+    viewModel.setQuality(appProperties.getArtworkQuality());
+    viewModel.setMaxResolution(200);
+    viewModel.setMaxKilobytes(appProperties.getArtworkMaxKilobytes());
+    viewModel.setImageType(appProperties.getArtworkImageType());
+    viewModel.setEnforceImageType(appProperties.isArtworkEnforceImageFormat());
+    viewModel.setEnforceSingle(appProperties.isArtworkEnforceSingle());
+    viewModel.getFiles().add(tagFile);
+    // when
+    AdjustArtworkTask task = new AdjustArtworkTaskWithoutRunLater(viewModel);
+    task.call();
+    TagFile actual = reader.createTagFile(tempDirPath.resolve(SAMPLE_ID3V24_MP3));
+    // then
+    assertFalse(task.hasErrors());
+    assertEquals(List.of(tagFile), task.getUpdatedFiles());
+    assertFalse(tagFile.isDirty());
+    assertFalse(tagFile.getRecord().hasPendingChanges());
+    assertEquals("Pending", actual.getTitle());
+    assertEquals("", actual.getAlbum());
+    assertEquals(200, actual.getArtwork().getWidth());
+  }
+
   // avoid java.lang.IllegalStateException: Toolkit not initialized from
   // com.sun.javafx.application.PlatformImpl.runLater
   private static class AdjustArtworkTaskWithoutRunLater extends AdjustArtworkTask {
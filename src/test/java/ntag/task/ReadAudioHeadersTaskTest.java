@@ -0,0 +1,99 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+
+package ntag.task;
+
+import ntag.AbstractAudioFileTest;
+import ntag.Category;
+import ntag.model.TagFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag(Category.Unit)
+class ReadAudioHeadersTaskTest extends AbstractAudioFileTest {
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    super.setUp();
+    copyFilesToTempDir();
+  }
+
+  @Test
+  void call() throws Exception {
+    // given
+    List<Path> pathList = Collections.singletonList(tempDirPath);
+    ReadTagFilesTask readTask = new ReadTagFilesTaskWithoutRunLater(pathList);
+    readTask.setDeferHeader(true);
+    List<TagFile> files = readTask.call();
+    assertEquals(2, files.stream().filter(tagFile -> !tagFile.isHeaderLoaded()).count());
+    ReadAudioHeadersTask task = new ReadAudioHeadersTaskWithoutRunLater(files);
+    // when
+    int count = task.call();
+    // then
+    assertFalse(task.hasErrors());
+    assertEquals(2, count);
+    assertTrue(files.stream().allMatch(TagFile::isHeaderLoaded));
+    assertTrue(files.stream().allMatch(tagFile -> tagFile.getPlaytime() > 0));
+  }
+
+  // avoid java.lang.IllegalStateException: Toolkit not initialized from
+  // com.sun.javafx.application.PlatformImpl.runLater
+  private static class ReadTagFilesTaskWithoutRunLater extends ReadTagFilesTask {
+    public ReadTagFilesTaskWithoutRunLater(List<Path> pathList) {
+      super(pathList, 10, 100, 2);
+    }
+
+    @Override
+    protected void updateProgress(double workDone, double max) {
+
+    }
+
+    @Override
+    protected void updateMessage(String message) {
+
+    }
+  }
+
+  private static class ReadAudioHeadersTaskWithoutRunLater extends ReadAudioHeadersTask {
+    public ReadAudioHeadersTaskWithoutRunLater(List<TagFile> files) {
+      super(files, 2, Runnable::run);
+    }
+
+    @Override
+    protected void updateProgress(double workDone, double max) {
+
+    }
+
+    @Override
+    protected void updateMessage(String message) {
+
+    }
+  }
+}
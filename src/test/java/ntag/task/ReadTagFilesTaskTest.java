@@ -22,6 +22,8 @@ package ntag.task;
 
 import ntag.AbstractAudioFileTest;
 import ntag.Category;
+import ntag.NTagException;
+import ntag.io.TagFileReader;
 import ntag.model.TagFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -29,11 +31,16 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Tag(Category.Unit)
 class ReadTagFilesTaskTest extends AbstractAudioFileTest {
@@ -56,6 +63,70 @@ class ReadTagFilesTaskTest extends AbstractAudioFileTest {
     assertEquals(ALL_AUDIO_FILES.length, files.size());
   }
 
+  @Test
+  void call_parallel() throws Exception {
+    // given
+    List<Path> pathList = Collections.singletonList(tempDirPath);
+    List<TagFile> expected = new ReadTagFilesTaskWithoutRunLater(pathList, 10, 100, 1).call();
+    ReadTagFilesTask task = new ReadTagFilesTaskWithoutRunLater(pathList, 10, 100, 3);
+    // when
+    List<TagFile> files = task.call();
+    // then
+    assertFalse(task.hasErrors());
+    assertEquals(expected, files);
+  }
+
+  @Test
+  void call_tagFileConsumer() throws Exception {
+    // given
+    List<Path> pathList = Collections.singletonList(tempDirPath);
+    List<TagFile> consumed = new ArrayList<>();
+    ReadTagFilesTask task = new ReadTagFilesTaskWithoutRunLater(pathList, 10, 100, 2);
+    task.setTagFileConsumer(consumed::add);
+    // when
+    List<TagFile> files = task.call();
+    // then
+    assertEquals(files, consumed);
+  }
+
+  @Test
+  void call_stringPool() throws Exception {
+    // given
+    List<Path> pathList = Collections.singletonList(tempDirPath);
+    ReadTagFilesTask task = new ReadTagFilesTaskWithoutRunLater(pathList, 10, 100, 2);
+    // when
+    List<TagFile> files = task.call();
+    // then
+    assertSame(files.get(0).getDirectory(), files.get(1).getDirectory());
+    assertTrue(task.getStringPool().getHitRatio() > 0);
+  }
+
+  @Test
+  void call_error() {
+    // given
+    List<Path> pathList = Collections.singletonList(tempDirPath);
+    ReadTagFilesTask task = new ReadTagFilesTaskWithoutRunLater(pathList, 10, 100, 2) {
+      @Override
+      TagFileReader createReader() {
+        return new TagFileReader() {
+          @Override
+          public TagFile createTagFile(Path filePath) throws NTagException, IOException {
+            if (filePath.endsWith(SAMPLE_FLAC)) {
+              throw new StackOverflowError();
+            }
+            return super.createTagFile(filePath);
+          }
+        };
+      }
+    };
+    // when
+    List<TagFile> files = assertTimeoutPreemptively(Duration.ofSeconds(30), task::call);
+    // then
+    assertEquals(ALL_AUDIO_FILES.length - 1, files.size());
+    assertEquals(1, task.getErrors().size());
+    assertTrue(task.getErrors().get(0).contains("StackOverflowError"));
+  }
+
   // avoid java.lang.IllegalStateException: Toolkit not initialized from
   // com.sun.javafx.application.PlatformImpl.runLater
   private static class ReadTagFilesTaskWithoutRunLater extends ReadTagFilesTask {
@@ -63,6 +134,10 @@ class ReadTagFilesTaskTest extends AbstractAudioFileTest {
       super(pathList, maxFiles, maxDepth);
     }
 
+    public ReadTagFilesTaskWithoutRunLater(List<Path> pathList, int maxFiles, int maxDepth, int threads) {
+      super(pathList, maxFiles, maxDepth, threads);
+    }
+
     @Override
     protected void updateProgress(double workDone, double max) {
 
@@ -0,0 +1,154 @@
+/*
+ *   This file is part of NTag (audio file tag editor).
+ *
+ *   NTag is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   NTag is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with NTag.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   Copyright 2026, Nico Rittstieg
+ *
+ */
+
+package ntag.task;
+
+import ntag.AbstractAudioFileTest;
+import ntag.Category;
+import ntag.io.TagFileReader;
+import ntag.model.TagFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag(Category.Unit)
+class TagFileLoaderTest extends AbstractAudioFileTest {
+
+  private static final long TIMEOUT_MILLIS = 10000;
+
+  private List<TagFile> stubs;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    super.setUp();
+    copyFilesToTempDir();
+    TagFileReader reader = new TagFileReader();
+    stubs = new ArrayList<>();
+    for (String file : ALL_AUDIO_FILES) {
+      Path path = tempDirPath.resolve(file);
+      stubs.add(reader.createStubTagFile(path, Files.readAttributes(path, BasicFileAttributes.class)));
+    }
+  }
+
+  @Test
+  void request() throws Exception {
+    // given
+    TagFile expected = new TagFileReader().createTagFile(stubs.get(0).getPath());
+    // when
+    try (TagFileLoader loader = new TagFileLoader(2, 0, null, Runnable::run)) {
+      loader.request(stubs, 0);
+      // then
+      assertTrue(await(() -> stubs.get(0).isLoaded()));
+    }
+    TagFile actual = stubs.get(0);
+    assertEquals(expected.getTitle(), actual.getTitle());
+    assertEquals(expected.getArtist(), actual.getArtist());
+    assertEquals(expected.getPlaytime(), actual.getPlaytime());
+    assertEquals(expected.getAudioFormat(), actual.getAudioFormat());
+    assertFalse(stubs.get(stubs.size() - 1).isLoaded());
+  }
+
+  @Test
+  void request_prefetch() throws Exception {
+    // when
+    try (TagFileLoader loader = new TagFileLoader(2, 1, null, Runnable::run)) {
+      loader.request(stubs, 1);
+      // then
+      assertTrue(await(() -> stubs.get(0).isLoaded() && stubs.get(1).isLoaded() && stubs.get(2).isLoaded()));
+    }
+    assertFalse(stubs.get(stubs.size() - 1).isLoaded());
+  }
+
+  @Test
+  void request_dirty() throws Exception {
+    // given
+    TagFile stub = stubs.get(0);
+    stub.setTitle("changed");
+    stub.setDirty(true);
+    List<TagFile> completed = new ArrayList<>();
+    // when
+    try (TagFileLoader loader = new TagFileLoader(1, 0, null, Runnable::run)) {
+      loader.setOnLoaded(completed::addAll);
+      loader.request(stubs, 0);
+      loader.loadAggregates(List.of());
+      Thread.sleep(500);
+    }
+    // then
+    assertFalse(stub.isLoaded());
+    assertEquals("changed", stub.getTitle());
+    assertTrue(completed.isEmpty());
+  }
+
+  @Test
+  void request_failed() throws Exception {
+    // given
+    Files.write(stubs.get(0).getPath(), new byte[]{1, 2, 3});
+    List<String> failed = new ArrayList<>();
+    // when
+    try (TagFileLoader loader = new TagFileLoader(1, 0, null, Runnable::run)) {
+      loader.setOnFailed(failed::addAll);
+      loader.loadAggregates(stubs);
+      // then
+      assertTrue(await(() -> stubs.stream().skip(1).allMatch(TagFile::isLoaded) && !failed.isEmpty()));
+      loader.request(stubs, 0);
+      Thread.sleep(200);
+      assertEquals(1, failed.size());
+      assertEquals(failed, loader.getErrors());
+    }
+    assertFalse(stubs.get(0).isLoaded());
+    assertTrue(failed.get(0).contains(stubs.get(0).getPath().toString()));
+  }
+
+  @Test
+  void loadAggregates() throws Exception {
+    // when
+    try (TagFileLoader loader = new TagFileLoader(1, 0, null, Runnable::run)) {
+      loader.loadAggregates(stubs);
+      // then
+      assertTrue(await(() -> stubs.stream().allMatch(TagFile::isLoaded)));
+    }
+    // the read records are applied completely, not only their playtime
+    assertTrue(stubs.stream().allMatch(tagFile -> tagFile.getPlaytime() > 0));
+    assertTrue(stubs.stream().allMatch(TagFile::isHeaderLoaded));
+  }
+
+  private static boolean await(BooleanSupplier condition) throws InterruptedException {
+    long end = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (!condition.getAsBoolean()) {
+      if (System.currentTimeMillis() > end) {
+        return false;
+      }
+      Thread.sleep(20);
+    }
+    return true;
+  }
+}
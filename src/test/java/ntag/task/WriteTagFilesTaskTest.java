@@ -30,11 +30,16 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Tag(Category.Unit)
 class WriteTagFilesTaskTest extends AbstractAudioFileTest {
@@ -59,6 +64,64 @@ class WriteTagFilesTaskTest extends AbstractAudioFileTest {
     assertEquals(tagFileList, task.getUpdatedFiles());
   }
 
+  @Test
+  void call_parallel() throws IOException, NTagException {
+    // given
+    List<TagFile> tagFileList = createTagFiles("a", "b", "c");
+    WriteTagFilesTask task = new WriteTagFilesTaskTestWithoutRunLater(tagFileList, 4);
+    task.setWritersPerDevice(2);
+    // when
+    task.call();
+    // then
+    assertFalse(task.hasErrors());
+    assertEquals(tagFileList, task.getUpdatedFiles());
+    for (TagFile tagFile : tagFileList) {
+      assertEquals(tagFile.getPath().getFileName().toString(),
+          new TagFileReader().createTagFile(tagFile.getPath()).getTitle());
+    }
+    assertEquals(tagFileList.size(), task.getDeviceStatistics().stream()
+        .mapToInt(WriteTagFilesTask.DeviceStatistics::files).sum());
+  }
+
+  @Test
+  void call_parallelWithErrors() throws IOException, NTagException {
+    // given
+    List<TagFile> tagFileList = createTagFiles("a", "b");
+    TagFile missing = tagFileList.get(3);
+    Files.delete(missing.getPath());
+    List<TagFile> expected = new ArrayList<>(tagFileList);
+    expected.remove(missing);
+    WriteTagFilesTask task = new WriteTagFilesTaskTestWithoutRunLater(tagFileList, 4);
+    // when
+    task.call();
+    // then
+    assertTrue(task.hasErrors());
+    assertEquals(1, task.getErrors().size());
+    assertTrue(task.getErrors().getFirst().startsWith(missing.toString()));
+    assertEquals(expected, task.getUpdatedFiles());
+  }
+
+  @Test
+  void create_invalidArguments() {
+    List<TagFile> tagFileList = List.of(new TagFile());
+    assertThrows(IllegalArgumentException.class, () -> new WriteTagFilesTask(tagFileList, 0));
+    assertThrows(IllegalArgumentException.class, () -> new WriteTagFilesTask(tagFileList).setWritersPerDevice(0));
+  }
+
+  private List<TagFile> createTagFiles(String... directories) throws IOException, NTagException {
+    List<TagFile> tagFileList = new ArrayList<>();
+    for (String directory : directories) {
+      Path dir = Files.createDirectory(tempDirPath.resolve(directory));
+      for (String sample : List.of(SAMPLE_FLAC, SAMPLE_M4A, SAMPLE_ID3V23_MP3, SAMPLE_ID3V24_MP3)) {
+        Path path = Files.copy(tempDirPath.resolve(sample), dir.resolve(sample));
+        TagFile tagFile = new TagFileReader().createTagFile(path);
+        tagFile.setTitle(path.getFileName().toString());
+        tagFileList.add(tagFile);
+      }
+    }
+    return tagFileList;
+  }
+
   // avoid java.lang.IllegalStateException: Toolkit not initialized from
   // com.sun.javafx.application.PlatformImpl.runLater
   private static class WriteTagFilesTaskTestWithoutRunLater extends WriteTagFilesTask {
@@ -66,6 +129,10 @@ class WriteTagFilesTaskTest extends AbstractAudioFileTest {
       super(viewModel);
     }
 
+    public WriteTagFilesTaskTestWithoutRunLater(List<TagFile> viewModel, int threads) {
+      super(viewModel, threads);
+    }
+
     @Override
     protected void updateProgress(double workDone, double max) {
 